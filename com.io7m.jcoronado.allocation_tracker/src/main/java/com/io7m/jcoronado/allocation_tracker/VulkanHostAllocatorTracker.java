@@ -20,15 +20,32 @@ import com.io7m.jcoronado.api.VulkanHostAllocatorCallbacks;
 import com.io7m.jcoronado.api.VulkanHostAllocatorType;
 import com.io7m.jcoronado.api.VulkanInternalAllocation;
 import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_CACHE;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_COMMAND;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_DEVICE;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_INSTANCE;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_OBJECT;
 
 /**
- * A delegating allocation tracker that logs and tracks allocations.
+ * <p>A delegating allocation tracker that logs and tracks allocations.</p>
+ *
+ * <p>Vulkan implementations may call the allocation functions from any
+ * thread, so the tracker is thread-safe. Live allocations are recorded in
+ * a set of maps striped by address, each guarded by its own lock, so that
+ * threads allocating different addresses rarely contend. Per-scope totals
+ * are maintained with atomic counters and can be read at any time without
+ * locking, either individually or as a {@link #snapshot()}.</p>
  */
 
 public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
@@ -36,18 +53,11 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
   private static final Logger LOG = LoggerFactory.getLogger(
     VulkanHostAllocatorTracker.class);
 
+  private static final int STRIPE_COUNT = 32;
+
   private final VulkanHostAllocatorType delegate;
-  private final Long2ReferenceOpenHashMap<VulkanSystemAllocationScope> allocation_scopes;
-  private final Long2LongOpenHashMap allocated_command;
-  private final Long2LongOpenHashMap allocated_object;
-  private final Long2LongOpenHashMap allocated_cache;
-  private final Long2LongOpenHashMap allocated_device;
-  private final Long2LongOpenHashMap allocated_instance;
-  private long allocated_command_size;
-  private long allocated_object_size;
-  private long allocated_cache_size;
-  private long allocated_device_size;
-  private long allocated_instance_size;
+  private final Stripe[] stripes;
+  private final ScopeCounters[] counters;
 
   /**
    * Create an allocator tracker.
@@ -60,17 +70,22 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
   {
     this.delegate = Objects.requireNonNull(in_delegate, "delegate");
 
-    this.allocated_command_size = 0L;
-    this.allocated_command = new Long2LongOpenHashMap();
-    this.allocated_object_size = 0L;
-    this.allocated_object = new Long2LongOpenHashMap();
-    this.allocated_cache_size = 0L;
-    this.allocated_cache = new Long2LongOpenHashMap();
-    this.allocated_device_size = 0L;
-    this.allocated_device = new Long2LongOpenHashMap();
-    this.allocated_instance_size = 0L;
-    this.allocated_instance = new Long2LongOpenHashMap();
-    this.allocation_scopes = new Long2ReferenceOpenHashMap<>();
+    this.stripes = new Stripe[STRIPE_COUNT];
+    for (var index = 0; index < STRIPE_COUNT; ++index) {
+      this.stripes[index] = new Stripe();
+    }
+
+    final var scopes = VulkanSystemAllocationScope.values();
+    this.counters = new ScopeCounters[scopes.length];
+    for (final var scope : scopes) {
+      this.counters[scope.ordinal()] = new ScopeCounters();
+    }
+  }
+
+  private Stripe stripeFor(
+    final long address)
+  {
+    return this.stripes[(int) HashCommon.mix(address) & (STRIPE_COUNT - 1)];
   }
 
   private void rememberAddressAndSize(
@@ -78,36 +93,30 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
     final long address,
     final long size)
   {
-    this.allocation_scopes.put(address, scope);
-
-    switch (scope) {
-      case VK_SYSTEM_ALLOCATION_SCOPE_COMMAND:
-        this.allocated_command.put(address, size);
-        this.allocated_command_size += size;
-        break;
-      case VK_SYSTEM_ALLOCATION_SCOPE_OBJECT:
-        this.allocated_object.put(address, size);
-        this.allocated_object_size += size;
-        break;
-      case VK_SYSTEM_ALLOCATION_SCOPE_CACHE:
-        this.allocated_cache.put(address, size);
-        this.allocated_cache_size += size;
-        break;
-      case VK_SYSTEM_ALLOCATION_SCOPE_DEVICE:
-        this.allocated_device.put(address, size);
-        this.allocated_device_size += size;
-        break;
-      case VK_SYSTEM_ALLOCATION_SCOPE_INSTANCE:
-        this.allocated_instance.put(address, size);
-        this.allocated_instance_size += size;
-        break;
+    final var stripe = this.stripeFor(address);
+    synchronized (stripe) {
+      stripe.scopes.put(address, scope);
+      stripe.sizes.put(address, size);
     }
+
+    this.counters[scope.ordinal()].add(size);
   }
 
-  private void forgetAddressAndSize(
-    final long address,
-    final VulkanSystemAllocationScope scope)
+  private Allocation forgetAddressAndSize(
+    final long address)
   {
+    if (address == 0L) {
+      return null;
+    }
+
+    final VulkanSystemAllocationScope scope;
+    final long size;
+    final var stripe = this.stripeFor(address);
+    synchronized (stripe) {
+      scope = stripe.scopes.remove(address);
+      size = stripe.sizes.remove(address);
+    }
+
     if (scope == null) {
       final var separator = System.lineSeparator();
       throw new IllegalStateException(
@@ -120,50 +129,21 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
           .toString());
     }
 
-    this.allocation_scopes.remove(address);
+    this.counters[scope.ordinal()].remove(size);
+    return new Allocation(scope, size);
+  }
 
-    switch (scope) {
-      case VK_SYSTEM_ALLOCATION_SCOPE_COMMAND: {
-        final var size = this.allocated_command.get(address);
-        this.allocated_command_size = Math.max(
-          0L,
-          this.allocated_command_size - size);
-        this.allocated_command.remove(address);
-        break;
-      }
-      case VK_SYSTEM_ALLOCATION_SCOPE_OBJECT: {
-        final var size = this.allocated_object.get(address);
-        this.allocated_object_size = Math.max(
-          0L,
-          this.allocated_object_size - size);
-        this.allocated_object.remove(address);
-        break;
-      }
-      case VK_SYSTEM_ALLOCATION_SCOPE_CACHE: {
-        final var size = this.allocated_cache.get(address);
-        this.allocated_cache_size = Math.max(
-          0L,
-          this.allocated_cache_size - size);
-        this.allocated_cache.remove(address);
-        break;
-      }
-      case VK_SYSTEM_ALLOCATION_SCOPE_DEVICE: {
-        final var size = this.allocated_device.get(address);
-        this.allocated_device_size = Math.max(
-          0L,
-          this.allocated_device_size - size);
-        this.allocated_device.remove(address);
-        break;
-      }
-      case VK_SYSTEM_ALLOCATION_SCOPE_INSTANCE: {
-        final var size = this.allocated_instance.get(address);
-        this.allocated_instance_size = Math.max(
-          0L,
-          this.allocated_instance_size - size);
-        this.allocated_instance.remove(address);
-        break;
-      }
+  private void restoreAddressAndSize(
+    final long address,
+    final Allocation allocation)
+  {
+    final var stripe = this.stripeFor(address);
+    synchronized (stripe) {
+      stripe.scopes.put(address, allocation.scope);
+      stripe.sizes.put(address, allocation.size);
     }
+
+    this.counters[allocation.scope.ordinal()].restore(allocation.size);
   }
 
   @Override
@@ -182,7 +162,9 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
         Long.toUnsignedString(address, 16));
     }
 
-    this.rememberAddressAndSize(scope, address, size);
+    if (address != 0L) {
+      this.rememberAddressAndSize(scope, address, size);
+    }
     return address;
   }
 
@@ -202,13 +184,25 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
         Long.valueOf(alignment));
     }
 
-    this.forgetAddressAndSize(address, scope);
+    /*
+     * The original address is forgotten before the delegate is called: if
+     * the allocation moves, the original address may be handed out to
+     * another thread as soon as the delegate returns. If the delegate fails
+     * to reallocate a non-zero size, the original allocation is still live
+     * and must be tracked again.
+     */
+
+    final var original = this.forgetAddressAndSize(address);
     final var new_address = this.delegate.reallocate(
       address,
       size,
       alignment,
       scope);
-    this.rememberAddressAndSize(scope, new_address, size);
+    if (new_address != 0L) {
+      this.rememberAddressAndSize(scope, new_address, size);
+    } else if (original != null && size != 0L) {
+      this.restoreAddressAndSize(address, original);
+    }
     return new_address;
   }
 
@@ -220,7 +214,7 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
       LOG.trace("deallocate: 0x{}", Long.toUnsignedString(address, 16));
     }
 
-    this.forgetAddressAndSize(address, this.allocation_scopes.get(address));
+    this.forgetAddressAndSize(address);
     this.delegate.deallocate(address);
   }
 
@@ -265,13 +259,38 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
       this, this, this, this, this);
   }
 
+  /**
+   * Take a snapshot of the current allocation statistics. This method may
+   * be called from any thread.
+   *
+   * @return A snapshot of the statistics for all scopes
+   */
+
+  public VulkanHostAllocatorTrackerSnapshot snapshot()
+  {
+    final var scopes =
+      new EnumMap<VulkanSystemAllocationScope, VulkanHostAllocatorTrackerScopeStatistics>(
+        VulkanSystemAllocationScope.class);
+
+    for (final var scope : VulkanSystemAllocationScope.values()) {
+      scopes.put(scope, this.counters[scope.ordinal()].snapshot(scope));
+    }
+    return new VulkanHostAllocatorTrackerSnapshot(scopes);
+  }
+
+  private long allocatedOctets(
+    final VulkanSystemAllocationScope scope)
+  {
+    return this.counters[scope.ordinal()].octets.get();
+  }
+
   /**
    * @return The number of octets allocated at command scope
    */
 
   public long allocatedCommandScopeOctets()
   {
-    return this.allocated_command_size;
+    return this.allocatedOctets(VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
   }
 
   /**
@@ -280,7 +299,7 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
 
   public long allocatedCacheScopeOctets()
   {
-    return this.allocated_cache_size;
+    return this.allocatedOctets(VK_SYSTEM_ALLOCATION_SCOPE_CACHE);
   }
 
   /**
@@ -289,7 +308,7 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
 
   public long allocatedDeviceScopeOctets()
   {
-    return this.allocated_device_size;
+    return this.allocatedOctets(VK_SYSTEM_ALLOCATION_SCOPE_DEVICE);
   }
 
   /**
@@ -298,7 +317,7 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
 
   public long allocatedInstanceScopeOctets()
   {
-    return this.allocated_instance_size;
+    return this.allocatedOctets(VK_SYSTEM_ALLOCATION_SCOPE_INSTANCE);
   }
 
   /**
@@ -307,6 +326,94 @@ public final class VulkanHostAllocatorTracker implements VulkanHostAllocatorType
 
   public long allocatedObjectScopeOctets()
   {
-    return this.allocated_object_size;
+    return this.allocatedOctets(VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+  }
+
+  /**
+   * A subset of the live allocations, guarded by its own monitor.
+   */
+
+  private static final class Stripe
+  {
+    private final Long2LongOpenHashMap sizes;
+    private final Long2ReferenceOpenHashMap<VulkanSystemAllocationScope> scopes;
+
+    Stripe()
+    {
+      this.sizes = new Long2LongOpenHashMap();
+      this.scopes = new Long2ReferenceOpenHashMap<>();
+    }
+  }
+
+  /**
+   * The scope and size of a forgotten allocation.
+   */
+
+  private record Allocation(
+    VulkanSystemAllocationScope scope,
+    long size)
+  {
+
+  }
+
+  /**
+   * The counters for a single scope.
+   */
+
+  private static final class ScopeCounters
+  {
+    private final AtomicLong octets;
+    private final AtomicLong octets_peak;
+    private final AtomicLong count;
+    private final LongAdder total;
+
+    ScopeCounters()
+    {
+      this.octets = new AtomicLong();
+      this.octets_peak = new AtomicLong();
+      this.count = new AtomicLong();
+      this.total = new LongAdder();
+    }
+
+    void add(
+      final long size)
+    {
+      final var now = this.octets.addAndGet(size);
+      this.count.incrementAndGet();
+      this.total.increment();
+
+      var peak = this.octets_peak.get();
+      while (now > peak) {
+        if (this.octets_peak.compareAndSet(peak, now)) {
+          break;
+        }
+        peak = this.octets_peak.get();
+      }
+    }
+
+    void remove(
+      final long size)
+    {
+      this.octets.addAndGet(-size);
+      this.count.decrementAndGet();
+    }
+
+    void restore(
+      final long size)
+    {
+      this.octets.addAndGet(size);
+      this.count.incrementAndGet();
+    }
+
+    VulkanHostAllocatorTrackerScopeStatistics snapshot(
+      final VulkanSystemAllocationScope scope)
+    {
+      return new VulkanHostAllocatorTrackerScopeStatistics(
+        scope,
+        this.octets.get(),
+        this.octets_peak.get(),
+        this.count.get(),
+        this.total.sum());
+    }
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.allocation_tracker;
+
+import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+
+import java.util.Objects;
+
+/**
+ * Allocation statistics for a single allocation scope.
+ *
+ * @param scope            The allocation scope
+ * @param allocatedOctets  The number of octets currently allocated
+ * @param peakOctets       The largest number of octets that have been
+ *                         allocated at any one time
+ * @param allocationCount  The number of allocations currently live
+ * @param allocationsTotal The total number of allocations that have been
+ *                         made
+ */
+
+public record VulkanHostAllocatorTrackerScopeStatistics(
+  VulkanSystemAllocationScope scope,
+  long allocatedOctets,
+  long peakOctets,
+  long allocationCount,
+  long allocationsTotal)
+{
+  /**
+   * Allocation statistics for a single allocation scope.
+   *
+   * @param scope            The allocation scope
+   * @param allocatedOctets  The number of octets currently allocated
+   * @param peakOctets       The largest number of octets that have been
+   *                         allocated at any one time
+   * @param allocationCount  The number of allocations currently live
+   * @param allocationsTotal The total number of allocations that have been
+   *                         made
+   */
+
+  public VulkanHostAllocatorTrackerScopeStatistics
+  {
+    Objects.requireNonNull(scope, "scope");
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.allocation_tracker;
+
+import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>A snapshot of the allocation statistics of a tracker.</p>
+ *
+ * <p>Each value in a snapshot is accurate, but a snapshot taken while other
+ * threads are allocating is not atomic across values: The statistics of
+ * two scopes may reflect slightly different points in time.</p>
+ *
+ * @param scopes The statistics for each allocation scope
+ */
+
+public record VulkanHostAllocatorTrackerSnapshot(
+  Map<VulkanSystemAllocationScope, VulkanHostAllocatorTrackerScopeStatistics> scopes)
+{
+  /**
+   * <p>A snapshot of the allocation statistics of a tracker.</p>
+   *
+   * <p>Each value in a snapshot is accurate, but a snapshot taken while
+   * other threads are allocating is not atomic across values: The statistics
+   * of two scopes may reflect slightly different points in time.</p>
+   *
+   * @param scopes The statistics for each allocation scope
+   */
+
+  public VulkanHostAllocatorTrackerSnapshot
+  {
+    scopes = Map.copyOf(Objects.requireNonNull(scopes, "scopes"));
+  }
+
+  /**
+   * @param scope The allocation scope
+   *
+   * @return The statistics for the given scope
+   */
+
+  public VulkanHostAllocatorTrackerScopeStatistics scope(
+    final VulkanSystemAllocationScope scope)
+  {
+    Objects.requireNonNull(scope, "scope");
+    return this.scopes.get(scope);
+  }
+
+  /**
+   * @return The number of octets currently allocated across all scopes
+   */
+
+  public long allocatedOctets()
+  {
+    return this.scopes.values()
+      .stream()
+      .mapToLong(VulkanHostAllocatorTrackerScopeStatistics::allocatedOctets)
+      .sum();
+  }
+
+  /**
+   * @return The number of allocations currently live across all scopes
+   */
+
+  public long allocationCount()
+  {
+    return this.scopes.values()
+      .stream()
+      .mapToLong(VulkanHostAllocatorTrackerScopeStatistics::allocationCount)
+      .sum();
+  }
+}
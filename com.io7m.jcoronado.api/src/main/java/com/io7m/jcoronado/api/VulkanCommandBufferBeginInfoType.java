@@ -19,6 +19,7 @@ package com.io7m.jcoronado.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -38,4 +39,11 @@ public interface VulkanCommandBufferBeginInfoType
 
   @Value.Parameter
   Set<VulkanCommandBufferUsageFlag> flags();
+
+  /**
+   * @return The inheritance information, required for secondary command
+   * buffers
+   */
+
+  Optional<VulkanCommandBufferInheritanceInfo> inheritanceInfo();
 }
@@ -16,6 +16,7 @@
 
 package com.io7m.jcoronado.api;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Set;
 
@@ -93,6 +94,26 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     Set<VulkanQueryControlFlag> flags)
     throws VulkanException;
 
+  /**
+   * Begin a query. This is equivalent to
+   * {@link #beginQuery(VulkanQueryPoolType, int, Set)}, but takes the flags
+   * as a packed flag set.
+   *
+   * @param pool  The query pool
+   * @param query The query index
+   * @param flags Control flags for the query
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdBeginQuery")
+  @VulkanExternallySynchronizedType
+  void beginQuery(
+    VulkanQueryPoolType pool,
+    int query,
+    VulkanFlagSet<VulkanQueryControlFlag> flags)
+    throws VulkanException;
+
   /**
    * End a query.
    *
@@ -164,6 +185,35 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     List<Long> offsets)
     throws VulkanException;
 
+  /**
+   * Bind vertex buffers to a command buffer. This variant of the function
+   * takes buffer offsets from a primitive array and does not require boxing
+   * any values.
+   *
+   * @param first_binding  The index of the first vertex input binding whose
+   *                       state is updated by the command
+   * @param binding_count  The number of vertex input bindings whose state is
+   *                       updated by the command
+   * @param buffers        A list of buffer handles, of which the first
+   *                       {@code binding_count} elements are used
+   * @param offsets        An array of buffer offsets
+   * @param offsets_offset The index of the first element of {@code offsets}
+   *                       that will be used; {@code binding_count} elements
+   *                       are consumed
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdBindVertexBuffers")
+  @VulkanExternallySynchronizedType
+  void bindVertexBuffers(
+    int first_binding,
+    int binding_count,
+    List<VulkanBufferType> buffers,
+    long[] offsets,
+    int offsets_offset)
+    throws VulkanException;
+
   /**
    * Bind index buffer to a command buffer.
    *
@@ -206,6 +256,37 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     List<Integer> dynamic_offsets)
     throws VulkanException;
 
+  /**
+   * Bind descriptor sets to a command buffer. This variant of the function
+   * takes dynamic offsets from a primitive array and does not require boxing
+   * any values.
+   *
+   * @param pipeline_bind_point    The pipeline bind point
+   * @param layout                 The pipeline layout
+   * @param first_set              The set number of the first descriptor set
+   *                               to be bound
+   * @param descriptor_sets        The descriptor sets
+   * @param dynamic_offsets        An array of dynamic offsets
+   * @param dynamic_offsets_offset The index of the first element of {@code
+   *                               dynamic_offsets} that will be used
+   * @param dynamic_offsets_count  The number of dynamic offsets that will be
+   *                               used
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdBindDescriptorSets")
+  @VulkanExternallySynchronizedType
+  void bindDescriptorSets(
+    VulkanPipelineBindPoint pipeline_bind_point,
+    VulkanPipelineLayoutType layout,
+    int first_set,
+    List<VulkanDescriptorSetType> descriptor_sets,
+    int[] dynamic_offsets,
+    int dynamic_offsets_offset,
+    int dynamic_offsets_count)
+    throws VulkanException;
+
   /**
    * Copy regions of an image, potentially performing format conversion.
    *
@@ -612,6 +693,21 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     List<VulkanCommandBufferType> commandBuffers)
     throws VulkanException;
 
+  /**
+   * Replay all of the commands recorded in the given command list into this
+   * command buffer. The command list is not modified and may be replayed
+   * again later.
+   *
+   * @param list The command list
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanExternallySynchronizedType
+  void executeCommandList(
+    VulkanCommandListType list)
+    throws VulkanException;
+
   /**
    * Fill a region of a buffer with a fixed value.
    *
@@ -639,6 +735,54 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     int data)
     throws VulkanException;
 
+  /**
+   * Update a buffer's contents from host memory. The bytes between the
+   * position and limit of {@code data} are passed to Vulkan directly, without
+   * being copied, and the position of the buffer is not modified. Vulkan
+   * copies the data into the command buffer, so the buffer may be reused as
+   * soon as this method returns.
+   *
+   * @param buffer The buffer to be updated
+   * @param offset The byte offset into the buffer to start updating, which
+   *               must be a multiple of 4
+   * @param data   The data, which must be a direct buffer whose remaining size
+   *               is a non-zero multiple of 4 and at most 65536 bytes
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdUpdateBuffer")
+  @VulkanExternallySynchronizedType
+  void updateBuffer(
+    VulkanBufferType buffer,
+    long offset,
+    ByteBuffer data)
+    throws VulkanException;
+
+  /**
+   * Update a buffer's contents from native memory. The memory is passed to
+   * Vulkan directly, without being copied, and only needs to remain valid for
+   * the duration of the call.
+   *
+   * @param buffer  The buffer to be updated
+   * @param offset  The byte offset into the buffer to start updating, which
+   *                must be a multiple of 4
+   * @param address The native address of the data
+   * @param size    The size of the data in bytes, which must be a non-zero
+   *                multiple of 4 and at most 65536
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdUpdateBuffer")
+  @VulkanExternallySynchronizedType
+  void updateBuffer(
+    VulkanBufferType buffer,
+    long offset,
+    long address,
+    int size)
+    throws VulkanException;
+
   /**
    * End a render pass.
    *
@@ -675,6 +819,144 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     List<VulkanImageMemoryBarrier> image_memory_barriers)
     throws VulkanException;
 
+  /**
+   * Insert a memory dependency. This is equivalent to
+   * {@link #pipelineBarrier(Set, Set, Set, List, List, List)}, but takes the
+   * stage masks and dependency flags as packed flag sets.
+   *
+   * @param source_stage_mask      The source stage mask
+   * @param target_stage_mask      The target state mask
+   * @param dependency_flags       Flags specifying how execution and memory
+   *                               dependencies are formed.
+   * @param memory_barriers        A list of memory barriers
+   * @param buffer_memory_barriers A list of buffer memory barriers
+   * @param image_memory_barriers  A list of image memory barriers
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdPipelineBarrier")
+  @VulkanExternallySynchronizedType
+  void pipelineBarrier(
+    VulkanFlagSet<VulkanPipelineStageFlag> source_stage_mask,
+    VulkanFlagSet<VulkanPipelineStageFlag> target_stage_mask,
+    VulkanFlagSet<VulkanDependencyFlag> dependency_flags,
+    List<VulkanMemoryBarrier> memory_barriers,
+    List<VulkanBufferMemoryBarrier> buffer_memory_barriers,
+    List<VulkanImageMemoryBarrier> image_memory_barriers)
+    throws VulkanException;
+
+  /**
+   * Update the values of push constants. The bytes between the position and
+   * limit of {@code values} are passed to Vulkan directly, without being
+   * copied, and the position of the buffer is not modified. Vulkan copies
+   * the values into the command buffer, so the buffer may be reused as soon
+   * as this method returns.
+   *
+   * @param layout The pipeline layout used to program the push constant
+   *               updates
+   * @param stages The shader stages that will use the push constants in the
+   *               updated range
+   * @param offset The start offset of the updated range in bytes, which must
+   *               be a multiple of 4
+   * @param values The new push constant values, which must be a direct
+   *               buffer whose remaining size is a non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdPushConstants")
+  @VulkanExternallySynchronizedType
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    Set<VulkanShaderStageFlag> stages,
+    int offset,
+    ByteBuffer values)
+    throws VulkanException;
+
+  /**
+   * Update the values of push constants from native memory. The memory is
+   * passed to Vulkan directly, without being copied, and only needs to
+   * remain valid for the duration of the call.
+   *
+   * @param layout  The pipeline layout used to program the push constant
+   *                updates
+   * @param stages  The shader stages that will use the push constants in the
+   *                updated range
+   * @param offset  The start offset of the updated range in bytes, which must
+   *                be a multiple of 4
+   * @param address The native address of the new push constant values
+   * @param size    The size of the updated range in bytes, which must be a
+   *                non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdPushConstants")
+  @VulkanExternallySynchronizedType
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    Set<VulkanShaderStageFlag> stages,
+    int offset,
+    long address,
+    int size)
+    throws VulkanException;
+
+  /**
+   * Update the values of push constants. This is equivalent to
+   * {@link #pushConstants(VulkanPipelineLayoutType, Set, int, ByteBuffer)},
+   * but takes the shader stages as a packed flag set.
+   *
+   * @param layout The pipeline layout used to program the push constant
+   *               updates
+   * @param stages The shader stages that will use the push constants in the
+   *               updated range
+   * @param offset The start offset of the updated range in bytes, which must
+   *               be a multiple of 4
+   * @param values The new push constant values, which must be a direct
+   *               buffer whose remaining size is a non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdPushConstants")
+  @VulkanExternallySynchronizedType
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    VulkanFlagSet<VulkanShaderStageFlag> stages,
+    int offset,
+    ByteBuffer values)
+    throws VulkanException;
+
+  /**
+   * Update the values of push constants from native memory. This is
+   * equivalent to
+   * {@link #pushConstants(VulkanPipelineLayoutType, Set, int, long, int)},
+   * but takes the shader stages as a packed flag set.
+   *
+   * @param layout  The pipeline layout used to program the push constant
+   *                updates
+   * @param stages  The shader stages that will use the push constants in the
+   *                updated range
+   * @param offset  The start offset of the updated range in bytes, which must
+   *                be a multiple of 4
+   * @param address The native address of the new push constant values
+   * @param size    The size of the updated range in bytes, which must be a
+   *                non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdPushConstants")
+  @VulkanExternallySynchronizedType
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    VulkanFlagSet<VulkanShaderStageFlag> stages,
+    int offset,
+    long address,
+    int size)
+    throws VulkanException;
+
   /**
    * Transition to the next subpass of a render pass.
    *
@@ -876,6 +1158,33 @@ public interface VulkanCommandBufferType extends VulkanHandleDispatchableType
     Set<VulkanPipelineStageFlag> mask)
     throws VulkanException;
 
+  /**
+   * Copy the results of a range of queries into a buffer.
+   *
+   * @param pool          The query pool
+   * @param first_query   The initial query index
+   * @param query_count   The number of queries
+   * @param target_buffer The buffer that will receive the results
+   * @param target_offset The offset in bytes into the target buffer
+   * @param stride        The stride in bytes between the results for
+   *                      individual queries
+   * @param flags         Flags specifying how and when results are returned
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCmdCopyQueryPoolResults")
+  @VulkanExternallySynchronizedType
+  void copyQueryPoolResults(
+    VulkanQueryPoolType pool,
+    int first_query,
+    int query_count,
+    VulkanBufferType target_buffer,
+    long target_offset,
+    long stride,
+    Set<VulkanQueryResultFlag> flags)
+    throws VulkanException;
+
   /**
    * Reset a query pool.
    *
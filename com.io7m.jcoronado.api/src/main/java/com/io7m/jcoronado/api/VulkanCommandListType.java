@@ -0,0 +1,436 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>A command list.</p>
+ *
+ * <p>A command list records a subset of the commands available on
+ * {@link VulkanCommandBufferType} into a compact, off-heap representation in
+ * which all object handles have already been resolved. The recorded commands
+ * can then be replayed into any number of command buffers with
+ * {@link VulkanCommandBufferType#executeCommandList(VulkanCommandListType)},
+ * any number of times.</p>
+ *
+ * <p>A command list is not associated with any particular command buffer and
+ * may be recorded on any thread. Command lists are not thread-safe; a given
+ * command list must be accessed by at most one thread at any given time.</p>
+ */
+
+public interface VulkanCommandListType extends AutoCloseable
+{
+  /**
+   * Free any resources held by the command list.
+   */
+
+  @Override
+  void close();
+
+  /**
+   * @return {@code true} iff the command list has been closed
+   */
+
+  boolean isClosed();
+
+  /**
+   * Discard all recorded commands. The underlying storage is retained so
+   * that the list can be re-recorded without allocating.
+   *
+   * @throws VulkanException On errors
+   */
+
+  void reset()
+    throws VulkanException;
+
+  /**
+   * @return The number of commands recorded
+   */
+
+  int commandCount();
+
+  /**
+   * @return The size in bytes of the encoded commands
+   */
+
+  long sizeBytes();
+
+  /**
+   * Record a command to bind a rendering pipeline.
+   *
+   * @param bind_point The bind point
+   * @param pipeline   The pipeline
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#bindPipeline(VulkanPipelineBindPoint,
+   * VulkanPipelineType)
+   */
+
+  void bindPipeline(
+    VulkanPipelineBindPoint bind_point,
+    VulkanPipelineType pipeline)
+    throws VulkanException;
+
+  /**
+   * Record a command to bind vertex buffers.
+   *
+   * @param first_binding  The index of the first vertex input binding whose
+   *                       state is updated by the command
+   * @param binding_count  The number of vertex input bindings whose state is
+   *                       updated by the command
+   * @param buffers        A list of buffer handles, of which the first
+   *                       {@code binding_count} elements are used
+   * @param offsets        An array of buffer offsets
+   * @param offsets_offset The index of the first element of {@code offsets}
+   *                       that will be used
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#bindVertexBuffers(int, int, List, long[],
+   * int)
+   */
+
+  void bindVertexBuffers(
+    int first_binding,
+    int binding_count,
+    List<VulkanBufferType> buffers,
+    long[] offsets,
+    int offsets_offset)
+    throws VulkanException;
+
+  /**
+   * Record a command to bind an index buffer.
+   *
+   * @param buffer     The index buffer
+   * @param offset     The starting offset in bytes within buffer used in index
+   *                   buffer address calculations
+   * @param index_type The type of indices
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#bindIndexBuffer(VulkanBufferType, long,
+   * VulkanIndexType)
+   */
+
+  void bindIndexBuffer(
+    VulkanBufferType buffer,
+    long offset,
+    VulkanIndexType index_type)
+    throws VulkanException;
+
+  /**
+   * Record a command to bind descriptor sets.
+   *
+   * @param pipeline_bind_point    The pipeline bind point
+   * @param layout                 The pipeline layout
+   * @param first_set              The set number of the first descriptor set
+   *                               to be bound
+   * @param descriptor_sets        The descriptor sets
+   * @param dynamic_offsets        An array of dynamic offsets
+   * @param dynamic_offsets_offset The index of the first element of {@code
+   *                               dynamic_offsets} that will be used
+   * @param dynamic_offsets_count  The number of dynamic offsets that will be
+   *                               used
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#bindDescriptorSets(VulkanPipelineBindPoint,
+   * VulkanPipelineLayoutType, int, List, int[], int, int)
+   */
+
+  void bindDescriptorSets(
+    VulkanPipelineBindPoint pipeline_bind_point,
+    VulkanPipelineLayoutType layout,
+    int first_set,
+    List<VulkanDescriptorSetType> descriptor_sets,
+    int[] dynamic_offsets,
+    int dynamic_offsets_offset,
+    int dynamic_offsets_count)
+    throws VulkanException;
+
+  /**
+   * Record a command to set the viewport.
+   *
+   * @param first_viewport The index of the first viewport whose state is
+   *                       updated by the command.
+   * @param viewports      An array of structures defining viewport rectangles.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#setViewport(int, List)
+   */
+
+  void setViewport(
+    int first_viewport,
+    List<VulkanViewport> viewports)
+    throws VulkanException;
+
+  /**
+   * Record a command to set the dynamic scissor rectangles.
+   *
+   * @param first_scissor The index of the first scissor whose state is updated
+   *                      by the command.
+   * @param rectangles    An array of structures defining scissor rectangles.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#setScissor(int, List)
+   */
+
+  void setScissor(
+    int first_scissor,
+    List<VulkanRectangle2D> rectangles)
+    throws VulkanException;
+
+  /**
+   * Record a command to set the stencil reference.
+   *
+   * @param face_mask A set of flags specifying the set of stencil state for
+   *                  which to update the reference value.
+   * @param reference The new value to use as the stencil reference value.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#setStencilReference(Set, int)
+   */
+
+  void setStencilReference(
+    Set<VulkanStencilFaceFlag> face_mask,
+    int reference)
+    throws VulkanException;
+
+  /**
+   * Record a command to update the values of push constants. The values are
+   * copied into the command list, so the buffer may be reused as soon as
+   * this method returns. The position of the buffer is not modified.
+   *
+   * @param layout The pipeline layout used to program the push constant
+   *               updates
+   * @param stages The shader stages that will use the push constants in the
+   *               updated range
+   * @param offset The start offset of the updated range in bytes, which must
+   *               be a multiple of 4
+   * @param values The new push constant values, which must be a direct
+   *               buffer whose remaining size is a non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#pushConstants(VulkanPipelineLayoutType, Set,
+   * int, ByteBuffer)
+   */
+
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    Set<VulkanShaderStageFlag> stages,
+    int offset,
+    ByteBuffer values)
+    throws VulkanException;
+
+  /**
+   * Record a command to update the values of push constants from native
+   * memory. The values are copied into the command list, so the memory only
+   * needs to remain valid for the duration of the call.
+   *
+   * @param layout  The pipeline layout used to program the push constant
+   *                updates
+   * @param stages  The shader stages that will use the push constants in the
+   *                updated range
+   * @param offset  The start offset of the updated range in bytes, which must
+   *                be a multiple of 4
+   * @param address The native address of the new push constant values
+   * @param size    The size of the updated range in bytes, which must be a
+   *                non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#pushConstants(VulkanPipelineLayoutType, Set,
+   * int, long, int)
+   */
+
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    Set<VulkanShaderStageFlag> stages,
+    int offset,
+    long address,
+    int size)
+    throws VulkanException;
+
+  /**
+   * Record a command to update the values of push constants. This is
+   * equivalent to
+   * {@link #pushConstants(VulkanPipelineLayoutType, Set, int, ByteBuffer)},
+   * but takes the shader stages as a packed flag set.
+   *
+   * @param layout The pipeline layout used to program the push constant
+   *               updates
+   * @param stages The shader stages that will use the push constants in the
+   *               updated range
+   * @param offset The start offset of the updated range in bytes, which must
+   *               be a multiple of 4
+   * @param values The new push constant values, which must be a direct
+   *               buffer whose remaining size is a non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    VulkanFlagSet<VulkanShaderStageFlag> stages,
+    int offset,
+    ByteBuffer values)
+    throws VulkanException;
+
+  /**
+   * Record a command to update the values of push constants from native
+   * memory. This is equivalent to
+   * {@link #pushConstants(VulkanPipelineLayoutType, Set, int, long, int)},
+   * but takes the shader stages as a packed flag set.
+   *
+   * @param layout  The pipeline layout used to program the push constant
+   *                updates
+   * @param stages  The shader stages that will use the push constants in the
+   *                updated range
+   * @param offset  The start offset of the updated range in bytes, which must
+   *                be a multiple of 4
+   * @param address The native address of the new push constant values
+   * @param size    The size of the updated range in bytes, which must be a
+   *                non-zero multiple of 4
+   *
+   * @throws VulkanException On errors
+   */
+
+  void pushConstants(
+    VulkanPipelineLayoutType layout,
+    VulkanFlagSet<VulkanShaderStageFlag> stages,
+    int offset,
+    long address,
+    int size)
+    throws VulkanException;
+
+  /**
+   * Record a command to draw primitives.
+   *
+   * @param vertex_count   The number of vertices to draw.
+   * @param instance_count The number of instances to draw.
+   * @param first_vertex   The index of the first vertex to draw.
+   * @param first_instance The instance ID of the first instance to draw.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#draw(int, int, int, int)
+   */
+
+  void draw(
+    int vertex_count,
+    int instance_count,
+    int first_vertex,
+    int first_instance)
+    throws VulkanException;
+
+  /**
+   * Record a command to draw primitives using an index buffer.
+   *
+   * @param vertex_count   The number of vertices to draw.
+   * @param instance_count The number of instances to draw.
+   * @param first_vertex   The index of the first vertex to draw.
+   * @param vertex_offset  The value added to the vertex index before indexing
+   *                       into the vertex buffer.
+   * @param first_instance The instance ID of the first instance to draw.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#drawIndexed(int, int, int, int, int)
+   */
+
+  void drawIndexed(
+    int vertex_count,
+    int instance_count,
+    int first_vertex,
+    int vertex_offset,
+    int first_instance)
+    throws VulkanException;
+
+  /**
+   * Record a command to draw primitives indirectly.
+   *
+   * @param buffer     The buffer containing draw parameters.
+   * @param offset     The byte offset into buffer where parameters begin.
+   * @param draw_count The number of draws to execute, and can be zero.
+   * @param stride     The byte stride between successive sets of draw
+   *                   parameters.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#drawIndirect(VulkanBufferType, long, int,
+   * int)
+   */
+
+  void drawIndirect(
+    VulkanBufferType buffer,
+    long offset,
+    int draw_count,
+    int stride)
+    throws VulkanException;
+
+  /**
+   * Record a command to draw indexed primitives indirectly.
+   *
+   * @param buffer     The buffer containing draw parameters.
+   * @param offset     The byte offset into buffer where parameters begin.
+   * @param draw_count The number of draws to execute, and can be zero.
+   * @param stride     The byte stride between successive sets of draw
+   *                   parameters.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#drawIndexedIndirect(VulkanBufferType, long,
+   * int, int)
+   */
+
+  void drawIndexedIndirect(
+    VulkanBufferType buffer,
+    long offset,
+    int draw_count,
+    int stride)
+    throws VulkanException;
+
+  /**
+   * Record a command to dispatch compute work items.
+   *
+   * @param group_count_x The number of local workgroups to dispatch in the X
+   *                      dimension.
+   * @param group_count_y The number of local workgroups to dispatch in the Y
+   *                      dimension.
+   * @param group_count_z The number of local workgroups to dispatch in the Z
+   *                      dimension.
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandBufferType#dispatch(int, int, int)
+   */
+
+  void dispatch(
+    int group_count_x,
+    int group_count_y,
+    int group_count_z)
+    throws VulkanException;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * Information required to create a descriptor update template. Templates
+ * are always created with {@code VK_DESCRIPTOR_UPDATE_TEMPLATE_TYPE_DESCRIPTOR_SET};
+ * push descriptor templates require an extension that is not supported.
+ *
+ * @see "VkDescriptorUpdateTemplateCreateInfo"
+ */
+
+@VulkanAPIStructType(vulkanStruct = "VkDescriptorUpdateTemplateCreateInfo")
+@ImmutablesStyleType
+@Value.Immutable
+public interface VulkanDescriptorUpdateTemplateCreateInfoType
+{
+  /**
+   * @return The descriptors to be updated by the template
+   */
+
+  @Value.Parameter
+  List<VulkanDescriptorUpdateTemplateEntry> descriptorUpdateEntries();
+
+  /**
+   * @return The layout of the descriptor sets that will be updated with
+   * the template
+   */
+
+  @Value.Parameter
+  VulkanDescriptorSetLayoutType descriptorSetLayout();
+}
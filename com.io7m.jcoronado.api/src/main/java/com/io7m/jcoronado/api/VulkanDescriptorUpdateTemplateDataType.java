@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * <p>A reusable block of host memory holding the data used to update a
+ * descriptor set with a descriptor update template.</p>
+ *
+ * <p>The data consists of packed {@code VkDescriptorBufferInfo},
+ * {@code VkDescriptorImageInfo} and {@code VkBufferView} values at the
+ * offsets and strides given by the template entries. Values are written
+ * directly into the block, so a block can be filled and reused for any
+ * number of updates without creating intermediate objects.</p>
+ *
+ * @see VulkanLogicalDeviceType#updateDescriptorSetWithTemplate(
+ * VulkanDescriptorSetType, VulkanDescriptorUpdateTemplateType,
+ * VulkanDescriptorUpdateTemplateDataType)
+ */
+
+public interface VulkanDescriptorUpdateTemplateDataType extends AutoCloseable
+{
+  /**
+   * The size in bytes of a {@code VkDescriptorBufferInfo} value.
+   */
+
+  long BUFFER_INFO_SIZE = 24L;
+
+  /**
+   * The size in bytes of a {@code VkDescriptorImageInfo} value.
+   */
+
+  long IMAGE_INFO_SIZE = 24L;
+
+  /**
+   * The size in bytes of a {@code VkBufferView} value.
+   */
+
+  long BUFFER_VIEW_SIZE = 8L;
+
+  /**
+   * @return The size of the block in bytes
+   */
+
+  long size();
+
+  /**
+   * Write a {@code VkDescriptorBufferInfo} value.
+   *
+   * @param offset        The offset in bytes within the block
+   * @param buffer        The buffer
+   * @param buffer_offset The offset in bytes within the buffer
+   * @param range         The size in bytes of the range of the buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  void putBufferInfo(
+    long offset,
+    VulkanBufferType buffer,
+    long buffer_offset,
+    long range)
+    throws VulkanException;
+
+  /**
+   * Write a {@code VkDescriptorBufferInfo} value.
+   *
+   * @param offset The offset in bytes within the block
+   * @param info   The buffer info
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void putBufferInfo(
+    final long offset,
+    final VulkanDescriptorBufferInfo info)
+    throws VulkanException
+  {
+    this.putBufferInfo(offset, info.buffer(), info.offset(), info.range());
+  }
+
+  /**
+   * Write a {@code VkDescriptorImageInfo} value.
+   *
+   * @param offset       The offset in bytes within the block
+   * @param sampler      The sampler
+   * @param image_view   The image view
+   * @param image_layout The layout of the image when it is accessed
+   *
+   * @throws VulkanException On errors
+   */
+
+  void putImageInfo(
+    long offset,
+    VulkanSamplerType sampler,
+    VulkanImageViewType image_view,
+    VulkanImageLayout image_layout)
+    throws VulkanException;
+
+  /**
+   * Write a {@code VkDescriptorImageInfo} value.
+   *
+   * @param offset The offset in bytes within the block
+   * @param info   The image info
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void putImageInfo(
+    final long offset,
+    final VulkanDescriptorImageInfo info)
+    throws VulkanException
+  {
+    this.putImageInfo(
+      offset,
+      info.sampler(),
+      info.imageView(),
+      info.imageLayout());
+  }
+
+  /**
+   * Write a {@code VkBufferView} value.
+   *
+   * @param offset      The offset in bytes within the block
+   * @param buffer_view The buffer view
+   *
+   * @throws VulkanException On errors
+   */
+
+  void putBufferView(
+    long offset,
+    VulkanBufferViewType buffer_view)
+    throws VulkanException;
+
+  /**
+   * Release the block.
+   */
+
+  @Override
+  void close();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * An entry in a descriptor update template, describing where the
+ * descriptors for a single binding are located within the template data.
+ *
+ * @see "VkDescriptorUpdateTemplateEntry"
+ */
+
+@VulkanAPIStructType(vulkanStruct = "VkDescriptorUpdateTemplateEntry")
+@ImmutablesStyleType
+@Value.Immutable
+public interface VulkanDescriptorUpdateTemplateEntryType
+{
+  /**
+   * @return The descriptor binding to update when using this template
+   */
+
+  @Value.Parameter
+  int destinationBinding();
+
+  /**
+   * @return The starting element in the binding's array
+   */
+
+  @Value.Parameter
+  int destinationArrayElement();
+
+  /**
+   * @return The number of descriptors to update
+   */
+
+  @Value.Parameter
+  int descriptorCount();
+
+  /**
+   * @return The type of the descriptors to update
+   */
+
+  @Value.Parameter
+  VulkanDescriptorType descriptorType();
+
+  /**
+   * @return The offset in bytes of the first descriptor info in the
+   * template data
+   */
+
+  @Value.Parameter
+  long offset();
+
+  /**
+   * @return The stride in bytes between consecutive descriptor infos in the
+   * template data
+   */
+
+  @Value.Parameter
+  long stride();
+}
@@ -23,6 +23,9 @@ package com.io7m.jcoronado.api;
 public interface VulkanDescriptorUpdateTemplateType extends
   VulkanHandleNonDispatchableType
 {
-
+  @VulkanAPIFunctionType(vulkanFunction = "vkDestroyDescriptorUpdateTemplate")
+  @Override
+  @VulkanExternallySynchronizedType void close()
+    throws VulkanException;
 }
 
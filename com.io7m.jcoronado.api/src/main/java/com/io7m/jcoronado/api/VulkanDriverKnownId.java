@@ -109,6 +109,9 @@ public enum VulkanDriverKnownId
    */
   VK_DRIVER_ID_SAMSUNG_PROPRIETARY(21);
 
+  private static final VulkanEnumIntegerMap<VulkanDriverKnownId> VALUES =
+    VulkanEnumIntegerMap.of(values());
+
   private final int value;
 
   VulkanDriverKnownId(final int i)
@@ -128,11 +131,9 @@ public enum VulkanDriverKnownId
     final int driverID)
     throws IllegalArgumentException
   {
-    final var values = values();
-    for (final var value : values) {
-      if (value.value == driverID) {
-        return value;
-      }
+    final var value = VALUES.getOrNull(driverID);
+    if (value != null) {
+      return value;
     }
 
     throw new IllegalArgumentException(
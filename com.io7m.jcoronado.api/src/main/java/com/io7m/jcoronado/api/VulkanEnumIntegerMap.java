@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>An immutable map from integer values to enum constants.</p>
+ *
+ * <p>Values in the range {@code [0, 4096)} are held in an array indexed
+ * directly by value. Any other values, such as the {@code 1000xxxxxx} values
+ * assigned to extension constants, are held in a table addressed by a
+ * collision-free multiplicative hash that is found when the map is created.
+ * Either way, a lookup is a range check, at most one multiplication, and an
+ * array load; integers are never boxed.</p>
+ *
+ * @param <T> The precise type of enum
+ */
+
+public final class VulkanEnumIntegerMap<T extends Enum<T> & VulkanEnumIntegerType>
+{
+  private static final int DENSE_LIMIT = 4096;
+  private static final int HASH_ATTEMPTS = 64;
+  private static final int HASH_SIZE_BITS_MAXIMUM = 30;
+
+  private final T[] dense;
+  private final int[] sparse_keys;
+  private final T[] sparse_values;
+  private final int sparse_multiplier;
+  private final int sparse_shift;
+
+  private VulkanEnumIntegerMap(
+    final T[] in_dense,
+    final int[] in_sparse_keys,
+    final T[] in_sparse_values,
+    final int in_sparse_multiplier,
+    final int in_sparse_shift)
+  {
+    this.dense = in_dense;
+    this.sparse_keys = in_sparse_keys;
+    this.sparse_values = in_sparse_values;
+    this.sparse_multiplier = in_sparse_multiplier;
+    this.sparse_shift = in_sparse_shift;
+  }
+
+  /**
+   * Produce a map of integers to enum constants.
+   *
+   * @param values The list of enum values
+   * @param <T>    The precise type of enum
+   *
+   * @return The resulting map
+   *
+   * @throws IllegalStateException If two constants share an integer value
+   */
+
+  public static <T extends Enum<T> & VulkanEnumIntegerType> VulkanEnumIntegerMap<T> of(
+    final T[] values)
+    throws IllegalStateException
+  {
+    Objects.requireNonNull(values, "values");
+
+    var dense_size = 0;
+    var sparse_count = 0;
+    for (final var value : values) {
+      final var vv = value.value();
+      if (isDense(vv)) {
+        dense_size = Math.max(dense_size, vv + 1);
+      } else {
+        ++sparse_count;
+      }
+    }
+
+    final var dense = Arrays.copyOf(values, dense_size);
+    Arrays.fill(dense, null);
+
+    final var sparse = new int[sparse_count];
+    var sparse_index = 0;
+    for (final var value : values) {
+      final var vv = value.value();
+      if (isDense(vv)) {
+        if (dense[vv] != null) {
+          throw duplicate(vv);
+        }
+        dense[vv] = value;
+      } else {
+        sparse[sparse_index] = vv;
+        ++sparse_index;
+      }
+    }
+
+    if (sparse_count == 0) {
+      return new VulkanEnumIntegerMap<>(
+        dense, new int[0], Arrays.copyOf(values, 0), 0, 0);
+    }
+
+    return createWithSparse(values, dense, sparse);
+  }
+
+  private static <T extends Enum<T> & VulkanEnumIntegerType> VulkanEnumIntegerMap<T> createWithSparse(
+    final T[] values,
+    final T[] dense,
+    final int[] sparse)
+  {
+    final var bits_minimum =
+      Math.max(1, 32 - Integer.numberOfLeadingZeros(sparse.length - 1));
+
+    for (var bits = bits_minimum; bits <= HASH_SIZE_BITS_MAXIMUM; ++bits) {
+      final var size = 1 << bits;
+      final var shift = 32 - bits;
+      final var keys = new int[size];
+      final var occupied = new boolean[size];
+
+      for (var attempt = 0; attempt < HASH_ATTEMPTS; ++attempt) {
+        final var multiplier = (0x9E3779B9 + attempt * 0x632BE5AB) | 1;
+        Arrays.fill(occupied, false);
+        if (tryHash(sparse, keys, occupied, multiplier, shift)) {
+          final var slots = Arrays.copyOf(values, size);
+          Arrays.fill(slots, null);
+          for (final var value : values) {
+            final var vv = value.value();
+            if (!isDense(vv)) {
+              slots[(vv * multiplier) >>> shift] = value;
+            }
+          }
+          return new VulkanEnumIntegerMap<>(
+            dense, keys, slots, multiplier, shift);
+        }
+      }
+    }
+
+    throw new IllegalStateException(
+      "Unable to construct a hash table for the given values");
+  }
+
+  private static boolean tryHash(
+    final int[] sparse,
+    final int[] keys,
+    final boolean[] occupied,
+    final int multiplier,
+    final int shift)
+  {
+    for (final var key : sparse) {
+      final var index = (key * multiplier) >>> shift;
+      if (occupied[index]) {
+        if (keys[index] == key) {
+          throw duplicate(key);
+        }
+        return false;
+      }
+      occupied[index] = true;
+      keys[index] = key;
+    }
+    return true;
+  }
+
+  private static IllegalStateException duplicate(
+    final int value)
+  {
+    return new IllegalStateException("Duplicate integer value: " + value);
+  }
+
+  private static boolean isDense(
+    final int value)
+  {
+    return value >= 0 && value < DENSE_LIMIT;
+  }
+
+  /**
+   * @param value The integer value
+   *
+   * @return The constant associated with the given integer value, or
+   * {@code null} if there is no such constant
+   */
+
+  public T getOrNull(
+    final int value)
+  {
+    final var d = this.dense;
+    if (value >= 0 && value < d.length) {
+      return d[value];
+    }
+    return this.getSparse(value);
+  }
+
+  /**
+   * @param value The integer value
+   *
+   * @return The constant associated with the given integer value, if any
+   */
+
+  public Optional<T> get(
+    final int value)
+  {
+    return Optional.ofNullable(this.getOrNull(value));
+  }
+
+  private T getSparse(
+    final int value)
+  {
+    final var keys = this.sparse_keys;
+    if (keys.length == 0) {
+      return null;
+    }
+
+    final var index = (value * this.sparse_multiplier) >>> this.sparse_shift;
+    if (keys[index] == value) {
+      return this.sparse_values[index];
+    }
+    return null;
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * <p>A set of flags packed into an integer bitmask.</p>
+ *
+ * <p>This is an alternative to {@code Set<T>} for code that records commands
+ * or queries state at a high rate. Flag sets are immutable; combinations
+ * that are used repeatedly should be held in {@code static final} fields,
+ * where the compiler can fold the packed value into a constant.</p>
+ *
+ * @param type  The flag enum type
+ * @param value The packed flags
+ * @param <T>   The precise type of flag
+ */
+
+public record VulkanFlagSet<T extends Enum<T> & VulkanEnumBitmaskType>(
+  Class<T> type,
+  int value)
+{
+  /**
+   * A set of flags packed into an integer bitmask.
+   *
+   * @param type  The flag enum type
+   * @param value The packed flags
+   */
+
+  public VulkanFlagSet
+  {
+    Objects.requireNonNull(type, "type");
+  }
+
+  /**
+   * @param type The flag enum type
+   * @param <T>  The precise type of flag
+   *
+   * @return An empty flag set
+   */
+
+  public static <T extends Enum<T> & VulkanEnumBitmaskType> VulkanFlagSet<T> none(
+    final Class<T> type)
+  {
+    return new VulkanFlagSet<>(type, 0);
+  }
+
+  /**
+   * @param flag The flag
+   * @param <T>  The precise type of flag
+   *
+   * @return A flag set containing the given flag
+   */
+
+  public static <T extends Enum<T> & VulkanEnumBitmaskType> VulkanFlagSet<T> of(
+    final T flag)
+  {
+    return new VulkanFlagSet<>(flag.getDeclaringClass(), flag.value());
+  }
+
+  /**
+   * @param flag0 The first flag
+   * @param flag1 The second flag
+   * @param <T>   The precise type of flag
+   *
+   * @return A flag set containing the given flags
+   */
+
+  public static <T extends Enum<T> & VulkanEnumBitmaskType> VulkanFlagSet<T> of(
+    final T flag0,
+    final T flag1)
+  {
+    return new VulkanFlagSet<>(
+      flag0.getDeclaringClass(),
+      flag0.value() | flag1.value());
+  }
+
+  /**
+   * @param flag0 The first flag
+   * @param flag1 The second flag
+   * @param flag2 The third flag
+   * @param <T>   The precise type of flag
+   *
+   * @return A flag set containing the given flags
+   */
+
+  public static <T extends Enum<T> & VulkanEnumBitmaskType> VulkanFlagSet<T> of(
+    final T flag0,
+    final T flag1,
+    final T flag2)
+  {
+    return new VulkanFlagSet<>(
+      flag0.getDeclaringClass(),
+      flag0.value() | flag1.value() | flag2.value());
+  }
+
+  /**
+   * @param type  The flag enum type
+   * @param flags The flags
+   * @param <T>   The precise type of flag
+   *
+   * @return A flag set containing the given flags
+   */
+
+  public static <T extends Enum<T> & VulkanEnumBitmaskType> VulkanFlagSet<T> ofAll(
+    final Class<T> type,
+    final Collection<T> flags)
+  {
+    return new VulkanFlagSet<>(type, VulkanEnumMaps.packValues(flags));
+  }
+
+  /**
+   * @param flag The flag
+   *
+   * @return A flag set containing the flags in this set and the given flag
+   */
+
+  public VulkanFlagSet<T> with(
+    final T flag)
+  {
+    return new VulkanFlagSet<>(this.type, this.value | flag.value());
+  }
+
+  /**
+   * @param flag The flag
+   *
+   * @return A flag set containing the flags in this set except the given flag
+   */
+
+  public VulkanFlagSet<T> without(
+    final T flag)
+  {
+    return new VulkanFlagSet<>(this.type, this.value & ~flag.value());
+  }
+
+  /**
+   * @param other The other flag set
+   *
+   * @return A flag set containing the flags in both sets
+   */
+
+  public VulkanFlagSet<T> union(
+    final VulkanFlagSet<T> other)
+  {
+    return new VulkanFlagSet<>(this.type, this.value | other.value);
+  }
+
+  /**
+   * @param flag The flag
+   *
+   * @return {@code true} if all bits of {@code flag} are set in this set
+   */
+
+  public boolean contains(
+    final T flag)
+  {
+    final var bits = flag.value();
+    return (this.value & bits) == bits;
+  }
+
+  /**
+   * @param other The other flag set
+   *
+   * @return {@code true} if all bits of {@code other} are set in this set
+   */
+
+  public boolean containsAll(
+    final VulkanFlagSet<T> other)
+  {
+    return (this.value & other.value) == other.value;
+  }
+
+  /**
+   * @return {@code true} if no bits are set
+   */
+
+  public boolean isEmpty()
+  {
+    return this.value == 0;
+  }
+
+  /**
+   * Unpack this flag set. Constants with a value of zero are always
+   * included, in the manner of {@link VulkanEnumMaps#unpackValues}.
+   *
+   * @return The flags as a set
+   */
+
+  public EnumSet<T> toSet()
+  {
+    return VulkanEnumMaps.unpackValues(
+      this.type,
+      this.type::getEnumConstants,
+      this.value);
+  }
+}
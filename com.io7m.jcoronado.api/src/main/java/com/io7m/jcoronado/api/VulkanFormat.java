@@ -16,7 +16,6 @@
 
 package com.io7m.jcoronado.api;
 
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -1389,8 +1388,8 @@ public enum VulkanFormat implements VulkanEnumIntegerType
 
   VK_FORMAT_ASTC_12x12_SRGB_BLOCK(184);
 
-  private static final Map<Integer, VulkanFormat> VALUES =
-    VulkanEnumMaps.map(values());
+  private static final VulkanEnumIntegerMap<VulkanFormat> VALUES =
+    VulkanEnumIntegerMap.of(values());
 
   private final int value;
 
@@ -1409,7 +1408,7 @@ public enum VulkanFormat implements VulkanEnumIntegerType
   public static Optional<VulkanFormat> fromInteger(
     final int v)
   {
-    return Optional.ofNullable(VALUES.get(Integer.valueOf(v)));
+    return VALUES.get(v);
   }
 
   @Override
@@ -0,0 +1,253 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * A region of host-accessible memory addressed with {@code long} offsets. The
+ * region may be larger than the {@code 2^31 - 1} octets that can be addressed
+ * by a single {@link ByteBuffer}; access is provided through bounded windows
+ * and bulk copy operations that split work into windows internally.
+ */
+
+public interface VulkanHostMemoryType
+{
+  /**
+   * The maximum size of the windows used by the default bulk copy operations.
+   */
+
+  int WINDOW_SIZE_MAXIMUM = 1 << 30;
+
+  /**
+   * @return The size of the memory region in octets
+   */
+
+  long size();
+
+  /**
+   * Obtain a window onto the memory region. The returned buffer is a view
+   * of the memory itself, not a copy, and must not be used after the memory
+   * region has been released.
+   *
+   * @param offset The offset of the window within the region
+   * @param size   The size of the window
+   *
+   * @return A byte buffer covering {@code [offset, offset + size)}
+   *
+   * @throws VulkanException           If the memory has been released
+   * @throws IndexOutOfBoundsException If the window lies outside the region
+   */
+
+  ByteBuffer asByteBuffer(
+    long offset,
+    int size)
+    throws VulkanException;
+
+  /**
+   * Copy {@code length} octets from {@code source}, starting at
+   * {@code source_offset}, into the region at {@code offset}.
+   *
+   * @param offset        The target offset within the region
+   * @param source        The source array
+   * @param source_offset The offset within the source array
+   * @param length        The number of octets to copy
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void copyFrom(
+    final long offset,
+    final byte[] source,
+    final int source_offset,
+    final int length)
+    throws VulkanException
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.checkFromIndexSize(source_offset, length, source.length);
+    this.asByteBuffer(offset, length).put(source, source_offset, length);
+  }
+
+  /**
+   * Copy the whole of {@code source} into the region at {@code offset}.
+   *
+   * @param offset The target offset within the region
+   * @param source The source array
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void copyFrom(
+    final long offset,
+    final byte[] source)
+    throws VulkanException
+  {
+    Objects.requireNonNull(source, "source");
+    this.copyFrom(offset, source, 0, source.length);
+  }
+
+  /**
+   * Copy the remaining octets of {@code source} into the region at
+   * {@code offset}. The position of {@code source} is advanced by the number
+   * of octets copied.
+   *
+   * @param offset The target offset within the region
+   * @param source The source buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void copyFrom(
+    final long offset,
+    final ByteBuffer source)
+    throws VulkanException
+  {
+    Objects.requireNonNull(source, "source");
+    this.asByteBuffer(offset, source.remaining()).put(source);
+  }
+
+  /**
+   * Copy {@code length} octets from the region at {@code offset} into
+   * {@code target}, starting at {@code target_offset}.
+   *
+   * @param offset        The source offset within the region
+   * @param target        The target array
+   * @param target_offset The offset within the target array
+   * @param length        The number of octets to copy
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void copyTo(
+    final long offset,
+    final byte[] target,
+    final int target_offset,
+    final int length)
+    throws VulkanException
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.checkFromIndexSize(target_offset, length, target.length);
+    this.asByteBuffer(offset, length).get(target, target_offset, length);
+  }
+
+  /**
+   * Copy octets from the region at {@code offset} into the remaining space
+   * of {@code target}. The position of {@code target} is advanced by the
+   * number of octets copied.
+   *
+   * @param offset The source offset within the region
+   * @param target The target buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  default void copyTo(
+    final long offset,
+    final ByteBuffer target)
+    throws VulkanException
+  {
+    Objects.requireNonNull(target, "target");
+    target.put(this.asByteBuffer(offset, target.remaining()));
+  }
+
+  /**
+   * Read up to {@code size} octets from {@code channel}, starting at the
+   * file position {@code position}, directly into the region at
+   * {@code offset}. Reading stops early if the end of the file is reached.
+   * The position of the channel is not changed.
+   *
+   * @param channel  The source channel
+   * @param position The file position
+   * @param offset   The target offset within the region
+   * @param size     The number of octets to read
+   *
+   * @return The number of octets actually read
+   *
+   * @throws VulkanException On errors
+   * @throws IOException     On I/O errors
+   */
+
+  default long readFrom(
+    final FileChannel channel,
+    final long position,
+    final long offset,
+    final long size)
+    throws VulkanException, IOException
+  {
+    Objects.requireNonNull(channel, "channel");
+    Objects.checkFromIndexSize(offset, size, this.size());
+
+    var done = 0L;
+    while (done < size) {
+      final var length =
+        (int) Math.min(size - done, WINDOW_SIZE_MAXIMUM);
+      final var window =
+        this.asByteBuffer(offset + done, length);
+
+      while (window.hasRemaining()) {
+        final var r = channel.read(window, position + done + window.position());
+        if (r < 0) {
+          return done + window.position();
+        }
+      }
+      done += length;
+    }
+    return done;
+  }
+
+  /**
+   * Write {@code size} octets from the region at {@code offset} directly to
+   * {@code channel}, starting at the file position {@code position}. The
+   * position of the channel is not changed.
+   *
+   * @param channel  The target channel
+   * @param position The file position
+   * @param offset   The source offset within the region
+   * @param size     The number of octets to write
+   *
+   * @throws VulkanException On errors
+   * @throws IOException     On I/O errors
+   */
+
+  default void writeTo(
+    final FileChannel channel,
+    final long position,
+    final long offset,
+    final long size)
+    throws VulkanException, IOException
+  {
+    Objects.requireNonNull(channel, "channel");
+    Objects.checkFromIndexSize(offset, size, this.size());
+
+    var done = 0L;
+    while (done < size) {
+      final var length =
+        (int) Math.min(size - done, WINDOW_SIZE_MAXIMUM);
+      final var window =
+        this.asByteBuffer(offset + done, length);
+
+      while (window.hasRemaining()) {
+        channel.write(window, position + done + window.position());
+      }
+      done += length;
+    }
+  }
+}
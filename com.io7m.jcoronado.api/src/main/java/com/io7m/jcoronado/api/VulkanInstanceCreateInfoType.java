@@ -52,4 +52,15 @@ public interface VulkanInstanceCreateInfoType
 
   @Value.Parameter
   Set<String> enabledLayers();
+
+  /**
+   * @return The level of validation performed by the instance and all of the
+   * objects created from it
+   */
+
+  @Value.Default
+  default VulkanValidationLevel validationLevel()
+  {
+    return VulkanValidationLevel.VULKAN_VALIDATION_FULL;
+  }
 }
@@ -17,6 +17,7 @@
 package com.io7m.jcoronado.api;
 
 import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -222,6 +223,37 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
       "range")));
   }
 
+  /**
+   * Invalidate mapped memory ranges.
+   *
+   * @param ranges The ranges
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkInvalidateMappedMemoryRanges")
+  void invalidateMappedMemoryRanges(
+    List<VulkanMappedMemoryRange> ranges)
+    throws VulkanException;
+
+  /**
+   * Invalidate mapped memory ranges.
+   *
+   * @param range The range
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkInvalidateMappedMemoryRanges")
+  default void invalidateMappedMemoryRange(
+    final VulkanMappedMemoryRange range)
+    throws VulkanException
+  {
+    this.invalidateMappedMemoryRanges(List.of(Objects.requireNonNull(
+      range,
+      "range")));
+  }
+
   /**
    * Create a pipeline layout.
    *
@@ -299,6 +331,55 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
     List<VulkanCopyDescriptorSet> descriptor_copies)
     throws VulkanException;
 
+  /**
+   * Create a descriptor update template.
+   *
+   * @param info The template creation info
+   *
+   * @return A descriptor update template
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkCreateDescriptorUpdateTemplate")
+  VulkanDescriptorUpdateTemplateType createDescriptorUpdateTemplate(
+    VulkanDescriptorUpdateTemplateCreateInfo info)
+    throws VulkanException;
+
+  /**
+   * Allocate a block of host memory for use with descriptor update
+   * templates. The block is zero-filled, and must be closed when no longer needed.
+   *
+   * @param size The size of the block in bytes
+   *
+   * @return A block of template data
+   *
+   * @throws VulkanException On errors
+   */
+
+  VulkanDescriptorUpdateTemplateDataType createDescriptorUpdateTemplateData(
+    long size)
+    throws VulkanException;
+
+  /**
+   * Update the contents of a descriptor set using a descriptor update
+   * template. The descriptor infos are read from the given data at the
+   * offsets and strides specified by the template's entries.
+   *
+   * @param descriptor_set The descriptor set to update
+   * @param template       The descriptor update template
+   * @param data           The template data
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkUpdateDescriptorSetWithTemplate")
+  void updateDescriptorSetWithTemplate(
+    @VulkanExternallySynchronizedType VulkanDescriptorSetType descriptor_set,
+    VulkanDescriptorUpdateTemplateType template,
+    VulkanDescriptorUpdateTemplateDataType data)
+    throws VulkanException;
+
   /**
    * Create a render pass.
    *
@@ -510,6 +591,74 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
     VulkanQueryPoolCreateInfo create_info)
     throws VulkanException;
 
+  /**
+   * Retrieve the results of a range of queries. Results are always written as
+   * 64-bit values: {@link VulkanQueryResultFlag#VK_QUERY_RESULT_64_BIT} is
+   * implied whether or not it is present in {@code flags}. Results for query
+   * {@code first_query + i} are written starting at element
+   * {@code data.position() + (i * stride) / 8}. If
+   * {@link VulkanQueryResultFlag#VK_QUERY_RESULT_WITH_AVAILABILITY_BIT} is
+   * specified, each result is followed by a nonzero value if the query was
+   * available, and zero otherwise.
+   *
+   * @param pool        The query pool
+   * @param first_query The initial query index
+   * @param query_count The number of queries
+   * @param data        The buffer that will receive the results
+   * @param stride      The stride in bytes between the results for
+   *                    individual queries; must be a multiple of 8
+   * @param flags       Flags specifying how and when results are returned
+   *
+   * @return {@link VulkanQueryResultStatus#VK_QUERY_RESULT_NOT_READY} if
+   * {@link VulkanQueryResultFlag#VK_QUERY_RESULT_WAIT_BIT} was not specified
+   * and any of the queries were unavailable
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkGetQueryPoolResults")
+  VulkanQueryResultStatus getQueryPoolResults(
+    VulkanQueryPoolType pool,
+    int first_query,
+    int query_count,
+    LongBuffer data,
+    long stride,
+    Set<VulkanQueryResultFlag> flags)
+    throws VulkanException;
+
+  /**
+   * Retrieve the results of a range of queries. Results are always written as
+   * 64-bit values: {@link VulkanQueryResultFlag#VK_QUERY_RESULT_64_BIT} is
+   * implied whether or not it is present in {@code flags}. Results for query
+   * {@code first_query + i} are written starting at element
+   * {@code (i * stride) / 8}.
+   *
+   * @param pool        The query pool
+   * @param first_query The initial query index
+   * @param query_count The number of queries
+   * @param data        The array that will receive the results
+   * @param stride      The stride in bytes between the results for
+   *                    individual queries; must be a multiple of 8
+   * @param flags       Flags specifying how and when results are returned
+   *
+   * @return {@link VulkanQueryResultStatus#VK_QUERY_RESULT_NOT_READY} if
+   * {@link VulkanQueryResultFlag#VK_QUERY_RESULT_WAIT_BIT} was not specified
+   * and any of the queries were unavailable
+   *
+   * @throws VulkanException On errors
+   * @see #getQueryPoolResults(VulkanQueryPoolType, int, int, LongBuffer, long, Set)
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkGetQueryPoolResults")
+  VulkanQueryResultStatus getQueryPoolResults(
+    VulkanQueryPoolType pool,
+    int first_query,
+    int query_count,
+    long[] data,
+    long stride,
+    Set<VulkanQueryResultFlag> flags)
+    throws VulkanException;
+
   /**
    * Create a framebuffer.
    *
@@ -611,6 +760,20 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
     VulkanFenceCreateInfo create_info)
     throws VulkanException;
 
+  /**
+   * Create a new, empty command list. Command lists are not Vulkan objects,
+   * and creating one does not call into Vulkan.
+   *
+   * @return A command list
+   *
+   * @throws VulkanException On errors
+   *
+   * @see VulkanCommandListType
+   */
+
+  VulkanCommandListType createCommandList()
+    throws VulkanException;
+
   /**
    * Create an event.
    *
@@ -752,6 +915,81 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
     return this.waitForFences(List.of(fence), true, timeout_nanos);
   }
 
+  /**
+   * Query the current counter value of a timeline semaphore.
+   *
+   * @param semaphore The timeline semaphore
+   *
+   * @return The current counter value
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkGetSemaphoreCounterValue")
+  long getSemaphoreCounterValue(
+    VulkanSemaphoreType semaphore)
+    throws VulkanException;
+
+  /**
+   * Signal a timeline semaphore on the host.
+   *
+   * @param semaphore The timeline semaphore
+   * @param value     The value to signal; must be greater than the current
+   *                  counter value of the semaphore
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkSignalSemaphore")
+  void signalSemaphore(
+    VulkanSemaphoreType semaphore,
+    long value)
+    throws VulkanException;
+
+  /**
+   * Wait for timeline semaphores on the host.
+   *
+   * @param wait_info     The wait condition
+   * @param timeout_nanos The timeout period in units of nanoseconds.
+   *
+   * @return A value indicating whether waiting succeeded or timed out
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkWaitSemaphores")
+  VulkanWaitStatus waitSemaphores(
+    VulkanSemaphoreWaitInfo wait_info,
+    long timeout_nanos)
+    throws VulkanException;
+
+  /**
+   * Wait for a timeline semaphore to reach at least the given value.
+   *
+   * @param semaphore     The timeline semaphore
+   * @param value         The value for which to wait
+   * @param timeout_nanos The timeout period in units of nanoseconds.
+   *
+   * @return A value indicating whether waiting succeeded or timed out
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkWaitSemaphores")
+  default VulkanWaitStatus waitSemaphore(
+    final VulkanSemaphoreType semaphore,
+    final long value,
+    final long timeout_nanos)
+    throws VulkanException
+  {
+    return this.waitSemaphores(
+      VulkanSemaphoreWaitInfo.of(
+        Set.of(),
+        List.of(semaphore),
+        List.of(Long.valueOf(value))),
+      timeout_nanos);
+  }
+
   /**
    * Create a buffer.
    *
@@ -877,6 +1115,32 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
     Set<VulkanMemoryMapFlag> flags)
     throws VulkanException;
 
+  /**
+   * Map a memory object into the application address space. This is
+   * equivalent to
+   * {@link #mapMemory(VulkanDeviceMemoryType, long, long, Set)}, but takes
+   * the flags as a packed flag set.
+   *
+   * @param memory The device memory object to be mapped
+   * @param offset A zero-based byte offset from the beginning of the memory
+   *               object
+   * @param size   The size of the memory range to map, or VK_WHOLE_SIZE to map
+   *               from offset to the end of the allocation
+   * @param flags  The flags
+   *
+   * @return Mapped memory
+   *
+   * @throws VulkanException On errors
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkMapMemory")
+  VulkanMappedMemoryType mapMemory(
+    @VulkanExternallySynchronizedType VulkanDeviceMemoryType memory,
+    long offset,
+    long size,
+    VulkanFlagSet<VulkanMemoryMapFlag> flags)
+    throws VulkanException;
+
   /**
    * Combine the data stores of pipeline caches.
    *
@@ -1167,4 +1431,23 @@ public interface VulkanLogicalDeviceType extends VulkanHandleDispatchableType
 
     VK_FENCE_UNSIGNALLED
   }
+
+  /**
+   * The status of a query result retrieval.
+   */
+
+  enum VulkanQueryResultStatus
+  {
+    /**
+     * The results for all queries were available and have been written.
+     */
+
+    VK_QUERY_RESULT_READY,
+
+    /**
+     * The results for at least one query were not available.
+     */
+
+    VK_QUERY_RESULT_NOT_READY
+  }
 }
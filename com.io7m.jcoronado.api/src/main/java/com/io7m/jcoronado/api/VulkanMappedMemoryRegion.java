@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * A region of mapped memory, relative to the start of the mapping.
+ *
+ * @param offset The offset from the start of the mapping
+ * @param size   The size of the region
+ *
+ * @see VulkanMappedMemoryType#flushRanges(java.util.List)
+ * @see VulkanMappedMemoryType#invalidateRanges(java.util.List)
+ */
+
+public record VulkanMappedMemoryRegion(
+  long offset,
+  long size)
+{
+  /**
+   * A region of mapped memory, relative to the start of the mapping.
+   *
+   * @param offset The offset from the start of the mapping
+   * @param size   The size of the region
+   */
+
+  public VulkanMappedMemoryRegion
+  {
+    if (offset < 0L) {
+      throw new IllegalArgumentException(
+        "Offset must be non-negative: " + offset);
+    }
+    if (size < 0L) {
+      throw new IllegalArgumentException(
+        "Size must be non-negative: " + size);
+    }
+  }
+}
@@ -17,12 +17,17 @@
 package com.io7m.jcoronado.api;
 
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
 
 /**
- * A pointer to an area of mapped memory.
+ * A pointer to an area of mapped memory. Mappings of any size can be accessed
+ * through the long-indexed operations inherited from
+ * {@link VulkanHostMemoryType}.
  */
 
-public interface VulkanMappedMemoryType extends AutoCloseable
+public interface VulkanMappedMemoryType
+  extends VulkanHostMemoryType, AutoCloseable
 {
   /**
    * @return {@code true} iff {@link #close()} has not been called
@@ -31,7 +36,34 @@ public interface VulkanMappedMemoryType extends AutoCloseable
   boolean isMapped();
 
   /**
-   * Flush the given memory range.
+   * @return The properties of the memory type that backs the mapping
+   */
+
+  Set<VulkanMemoryPropertyFlag> memoryProperties();
+
+  /**
+   * @return The properties of the memory type that backs the mapping, as a
+   * packed flag set
+   */
+
+  VulkanFlagSet<VulkanMemoryPropertyFlag> memoryPropertyFlags();
+
+  /**
+   * @return {@code true} if the mapping is backed by host-coherent memory, in
+   * which case flushes and invalidations are not required and are skipped
+   */
+
+  default boolean isHostCoherent()
+  {
+    return this.memoryPropertyFlags()
+      .contains(VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+  }
+
+  /**
+   * Flush the given memory range. The offset is relative to the start of the
+   * mapping, and the range is widened to multiples of
+   * {@link VulkanPhysicalDeviceLimits#nonCoherentAtomSize()} as required. The
+   * call does nothing if the memory is host-coherent.
    *
    * @param offset The offset
    * @param size   The size
@@ -41,13 +73,33 @@ public interface VulkanMappedMemoryType extends AutoCloseable
    */
 
   @VulkanAPIFunctionType(vulkanFunction = "vkFlushMappedMemoryRanges")
-  void flushRange(
-    long offset,
-    long size)
+  default void flushRange(
+    final long offset,
+    final long size)
+    throws VulkanException
+  {
+    this.flushRanges(List.of(new VulkanMappedMemoryRegion(offset, size)));
+  }
+
+  /**
+   * Flush the given memory ranges in a single call. Offsets are relative to
+   * the start of the mapping, and ranges are widened to multiples of
+   * {@link VulkanPhysicalDeviceLimits#nonCoherentAtomSize()} as required. The
+   * call does nothing if the memory is host-coherent.
+   *
+   * @param regions The regions
+   *
+   * @throws VulkanException On errors
+   * @see VulkanLogicalDeviceType#flushMappedMemoryRanges(List)
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkFlushMappedMemoryRanges")
+  void flushRanges(List<VulkanMappedMemoryRegion> regions)
     throws VulkanException;
 
   /**
-   * Flush this mapped memory.
+   * Flush this mapped memory. The call does nothing if the memory is
+   * host-coherent.
    *
    * @throws VulkanException On errors
    * @see VulkanLogicalDeviceType#flushMappedMemoryRange(VulkanMappedMemoryRange)
@@ -57,6 +109,57 @@ public interface VulkanMappedMemoryType extends AutoCloseable
   void flush()
     throws VulkanException;
 
+  /**
+   * Invalidate the given memory range, making device writes visible to the
+   * host. The offset is relative to the start of the mapping, and the range
+   * is widened to multiples of
+   * {@link VulkanPhysicalDeviceLimits#nonCoherentAtomSize()} as required. The
+   * call does nothing if the memory is host-coherent.
+   *
+   * @param offset The offset
+   * @param size   The size
+   *
+   * @throws VulkanException On errors
+   * @see VulkanLogicalDeviceType#invalidateMappedMemoryRange(VulkanMappedMemoryRange)
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkInvalidateMappedMemoryRanges")
+  default void invalidateRange(
+    final long offset,
+    final long size)
+    throws VulkanException
+  {
+    this.invalidateRanges(List.of(new VulkanMappedMemoryRegion(offset, size)));
+  }
+
+  /**
+   * Invalidate the given memory ranges in a single call. Offsets are relative
+   * to the start of the mapping, and ranges are widened to multiples of
+   * {@link VulkanPhysicalDeviceLimits#nonCoherentAtomSize()} as required. The
+   * call does nothing if the memory is host-coherent.
+   *
+   * @param regions The regions
+   *
+   * @throws VulkanException On errors
+   * @see VulkanLogicalDeviceType#invalidateMappedMemoryRanges(List)
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkInvalidateMappedMemoryRanges")
+  void invalidateRanges(List<VulkanMappedMemoryRegion> regions)
+    throws VulkanException;
+
+  /**
+   * Invalidate this mapped memory. The call does nothing if the memory is
+   * host-coherent.
+   *
+   * @throws VulkanException On errors
+   * @see VulkanLogicalDeviceType#invalidateMappedMemoryRange(VulkanMappedMemoryRange)
+   */
+
+  @VulkanAPIFunctionType(vulkanFunction = "vkInvalidateMappedMemoryRanges")
+  void invalidate()
+    throws VulkanException;
+
   /**
    * Unmap the memory.
    *
@@ -71,6 +174,10 @@ public interface VulkanMappedMemoryType extends AutoCloseable
 
   /**
    * @return The mapped memory as a byte buffer
+   *
+   * @throws IllegalStateException If the mapping is larger than
+   *                               {@link Integer#MAX_VALUE} octets
+   * @see #asByteBuffer(long, int)
    */
 
   ByteBuffer asByteBuffer();
@@ -19,6 +19,8 @@ package com.io7m.jcoronado.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
+import java.util.UUID;
+
 /**
  * The basic properties of a device.
  *
@@ -72,6 +74,14 @@ public interface VulkanPhysicalDevicePropertiesType
   @Value.Parameter
   VulkanVersion driverVersion();
 
+  /**
+   * @return A universally unique identifier for the device, used to
+   * determine whether pipeline cache data is compatible with the device
+   */
+
+  @Value.Parameter
+  UUID pipelineCacheUUID();
+
   /**
    * The type of device.
    */
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * Bitmask specifying how and when query results are returned.
+ *
+ * @see "VkQueryResultFlagBits"
+ */
+
+@VulkanAPIEnumType(vulkanEnum = "VkQueryResultFlagBits")
+public enum VulkanQueryResultFlag implements VulkanEnumBitmaskType
+{
+  /**
+   * Specifies that the results will be written as an array of 64-bit
+   * unsigned integer values.
+   */
+
+  VK_QUERY_RESULT_64_BIT(0x00000001),
+
+  /**
+   * Specifies that Vulkan will wait for each query's status to become
+   * available before retrieving its results.
+   */
+
+  VK_QUERY_RESULT_WAIT_BIT(0x00000002),
+
+  /**
+   * Specifies that the availability status accompanies the results.
+   */
+
+  VK_QUERY_RESULT_WITH_AVAILABILITY_BIT(0x00000004),
+
+  /**
+   * Specifies that returning partial results is acceptable.
+   */
+
+  VK_QUERY_RESULT_PARTIAL_BIT(0x00000008);
+
+  private final int value;
+
+  VulkanQueryResultFlag(
+    final int i)
+  {
+    this.value = i;
+  }
+
+  @Override
+  public int value()
+  {
+    return this.value;
+  }
+}
@@ -38,4 +38,25 @@ public interface VulkanSemaphoreCreateInfoType
 
   @Value.Parameter
   Set<VulkanSemaphoreCreateFlag> flags();
+
+  /**
+   * @return The kind of semaphore to create
+   */
+
+  @Value.Default
+  default VulkanSemaphoreKind semaphoreKind()
+  {
+    return VulkanSemaphoreKind.VK_SEMAPHORE_TYPE_BINARY;
+  }
+
+  /**
+   * @return The initial payload value of a timeline semaphore (ignored for
+   * binary semaphores)
+   */
+
+  @Value.Default
+  default long initialValue()
+  {
+    return 0L;
+  }
 }
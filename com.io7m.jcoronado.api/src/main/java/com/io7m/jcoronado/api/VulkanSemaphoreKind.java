@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * Specifies the type of a semaphore.
+ *
+ * @see "VkSemaphoreType"
+ */
+
+@VulkanAPIEnumType(vulkanEnum = "VkSemaphoreType")
+public enum VulkanSemaphoreKind implements VulkanEnumIntegerType
+{
+  /**
+   * Specifies a binary semaphore type that has a boolean payload indicating
+   * whether the semaphore is currently signaled or unsignaled.
+   */
+
+  VK_SEMAPHORE_TYPE_BINARY(0),
+
+  /**
+   * Specifies a timeline semaphore type that has a strictly increasing
+   * 64-bit unsigned integer payload indicating whether the semaphore is
+   * signaled with respect to a particular reference value.
+   */
+
+  VK_SEMAPHORE_TYPE_TIMELINE(1);
+
+  private final int value;
+
+  VulkanSemaphoreKind(final int i)
+  {
+    this.value = i;
+  }
+
+  @Override
+  public int value()
+  {
+    return this.value;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * Flags specifying additional parameters of a semaphore wait operation.
+ *
+ * @see "VkSemaphoreWaitFlags"
+ */
+
+@VulkanAPIEnumType(vulkanEnum = "VkSemaphoreWaitFlags")
+public enum VulkanSemaphoreWaitFlag implements VulkanEnumBitmaskType
+{
+  /**
+   * Specifies that the semaphore wait condition is that at least one of the
+   * semaphores has reached the value specified by the corresponding element
+   * of the values list. If this flag is not set, the wait condition is that
+   * all of the semaphores have reached their specified values.
+   */
+
+  VK_SEMAPHORE_WAIT_ANY_BIT(0x00000001);
+
+  private final int value;
+
+  VulkanSemaphoreWaitFlag(final int i)
+  {
+    this.value = i;
+  }
+
+  @Override
+  public int value()
+  {
+    return this.value;
+  }
+}
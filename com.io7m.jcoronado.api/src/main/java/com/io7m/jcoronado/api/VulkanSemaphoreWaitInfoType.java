@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Structure containing information about the semaphore wait condition.
+ *
+ * @see "VkSemaphoreWaitInfo"
+ */
+
+@VulkanAPIStructType(vulkanStruct = "VkSemaphoreWaitInfo")
+@ImmutablesStyleType
+@Value.Immutable
+public interface VulkanSemaphoreWaitInfoType
+{
+  /**
+   * @return Additional parameters for the semaphore wait operation
+   */
+
+  @Value.Parameter
+  Set<VulkanSemaphoreWaitFlag> flags();
+
+  /**
+   * @return The timeline semaphores upon which to wait
+   */
+
+  @Value.Parameter
+  List<VulkanSemaphoreType> semaphores();
+
+  /**
+   * @return The timeline semaphore values to wait for, one per semaphore
+   */
+
+  @Value.Parameter
+  List<Long> values();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    final var size_0 = this.semaphores().size();
+    final var size_1 = this.values().size();
+    if (size_0 != size_1) {
+      final var separator = System.lineSeparator();
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("Number of semaphores must match the number of values.")
+          .append(separator)
+          .append("  Semaphores: ")
+          .append(size_0)
+          .append(separator)
+          .append("  Values:     ")
+          .append(size_1)
+          .append(separator)
+          .toString());
+    }
+  }
+}
@@ -63,6 +63,24 @@ public interface VulkanSubmitInfoType
   @Value.Parameter
   List<VulkanSemaphoreType> signalSemaphores();
 
+  /**
+   * @return The values for each semaphore in {@link #waitSemaphores()} that
+   * will be waited upon. Values are only used for timeline semaphores; the
+   * values corresponding to binary semaphores are ignored. If empty, no
+   * timeline semaphore values are submitted.
+   */
+
+  List<Long> waitSemaphoreValues();
+
+  /**
+   * @return The values for each semaphore in {@link #signalSemaphores()} that
+   * will be signalled. Values are only used for timeline semaphores; the
+   * values corresponding to binary semaphores are ignored. If empty, no
+   * timeline semaphore values are submitted.
+   */
+
+  List<Long> signalSemaphoreValues();
+
   /**
    * Check preconditions for the type.
    */
@@ -87,5 +105,39 @@ public interface VulkanSubmitInfoType
           .append(separator)
           .toString());
     }
+
+    checkTimelineValues(
+      "wait",
+      size_0,
+      this.waitSemaphoreValues().size());
+    checkTimelineValues(
+      "signal",
+      this.signalSemaphores().size(),
+      this.signalSemaphoreValues().size());
+  }
+
+  private static void checkTimelineValues(
+    final String name,
+    final int semaphores,
+    final int values)
+  {
+    if (values != 0 && values != semaphores) {
+      final var separator = System.lineSeparator();
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("If timeline values are specified, the number of ")
+          .append(name)
+          .append(" semaphore values must match the number of ")
+          .append(name)
+          .append(" semaphores.")
+          .append(separator)
+          .append("  Semaphores: ")
+          .append(semaphores)
+          .append(separator)
+          .append("  Values:     ")
+          .append(values)
+          .append(separator)
+          .toString());
+    }
   }
 }
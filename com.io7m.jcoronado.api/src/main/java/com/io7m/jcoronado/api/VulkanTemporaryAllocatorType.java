@@ -61,8 +61,10 @@ public interface VulkanTemporaryAllocatorType
    *
    * @return The value returned by {@code receiver}
    *
-   * @throws VulkanException If {@code receiver} raises {@code VulkanException}
-   * @throws E               If {@code receiver} raises {@code E}
+   * @throws VulkanException          If {@code receiver} raises {@code VulkanException}
+   * @throws E                        If {@code receiver} raises {@code E}
+   * @throws IllegalArgumentException If {@code size} exceeds {@link Integer#MAX_VALUE}
+   * @see #withAllocationMemory(long, long, HostMemoryReceiverType)
    */
 
   <T, E extends Exception> T withAllocationBuffer(
@@ -71,6 +73,32 @@ public interface VulkanTemporaryAllocatorType
     ByteBufferMemoryReceiverType<T, E> receiver)
     throws VulkanException, E;
 
+  /**
+   * Allocate {@code size} octets of memory, aligned to {@code alignment}, pass it to {@code
+   * receiver}, then unconditionally deallocate the memory before returning the value of {@code T}
+   * returned by {@code receiver}. Unlike {@link #withAllocationBuffer(long, long,
+   * ByteBufferMemoryReceiverType)}, the allocation may be larger than {@link Integer#MAX_VALUE}
+   * octets. The memory passed to {@code receiver} rejects all access once {@code receiver}
+   * returns.
+   *
+   * @param size      The size of the memory
+   * @param alignment The alignment of the memory
+   * @param receiver  The receiver of the allocated memory
+   * @param <T>       The type of returned values
+   * @param <E>       The type of raised exceptions
+   *
+   * @return The value returned by {@code receiver}
+   *
+   * @throws VulkanException If {@code receiver} raises {@code VulkanException}
+   * @throws E               If {@code receiver} raises {@code E}
+   */
+
+  <T, E extends Exception> T withAllocationMemory(
+    long size,
+    long alignment,
+    HostMemoryReceiverType<T, E> receiver)
+    throws VulkanException, E;
+
   /**
    * Allocate {@code data.length} octets of memory, aligned to {@code alignment}, initialize it with
    * the contents of {@code data}, pass it to {@code receiver}, then unconditionally deallocate the
@@ -146,4 +174,29 @@ public interface VulkanTemporaryAllocatorType
     T receive(ByteBuffer buffer)
       throws VulkanException, E;
   }
+
+  /**
+   * A receiver of allocated memory.
+   *
+   * @param <T> The type of returned values
+   * @param <E> The type of raised exceptions (other than {@link VulkanException})
+   */
+
+  @FunctionalInterface
+  interface HostMemoryReceiverType<T, E extends Exception>
+  {
+    /**
+     * Receive allocated memory.
+     *
+     * @param memory The allocated memory
+     *
+     * @return A value of {@code T}
+     *
+     * @throws VulkanException If required
+     * @throws E               If required
+     */
+
+    T receive(VulkanHostMemoryType memory)
+      throws VulkanException, E;
+  }
 }
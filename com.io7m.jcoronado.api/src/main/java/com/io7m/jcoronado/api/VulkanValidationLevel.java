@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.api;
+
+/**
+ * The level of argument and state validation performed by an implementation
+ * on each call. Validation is a property of the instance and is inherited by
+ * all objects created from it.
+ */
+
+public enum VulkanValidationLevel
+{
+  /**
+   * All checks are performed: objects are checked to ensure that they have
+   * not been closed, and that they were created by the same implementation.
+   */
+
+  VULKAN_VALIDATION_FULL,
+
+  /**
+   * Objects are checked to ensure that they have not been closed, but are not
+   * checked to ensure that they were created by the same implementation.
+   * Passing an object from a different implementation results in a
+   * {@link ClassCastException} that names the expected and actual classes.
+   */
+
+  VULKAN_VALIDATION_LIGHT,
+
+  /**
+   * Objects are not checked to ensure that they have not been closed. Using
+   * a closed object results in undefined behaviour. Passing an object from a
+   * different implementation results in a {@link ClassCastException}.
+   */
+
+  VULKAN_VALIDATION_NONE
+}
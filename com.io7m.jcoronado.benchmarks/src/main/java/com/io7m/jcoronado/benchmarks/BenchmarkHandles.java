@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import org.lwjgl.system.Pointer;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+import java.util.Objects;
+
+/**
+ * Functions to produce LWJGL handle objects without a device.
+ *
+ * The LWJGL handle classes can only be constructed by a logical device. The
+ * packing functions only ever read the raw handle values, so the benchmarks
+ * instantiate the real classes without running their constructors and
+ * then assign a plausible handle value directly. Unlike mock objects, this
+ * means that the benchmarks measure exactly the code that runs in
+ * production.
+ */
+
+public final class BenchmarkHandles
+{
+  private static final Objenesis OBJENESIS = new ObjenesisStd(true);
+
+  private BenchmarkHandles()
+  {
+
+  }
+
+  /**
+   * Create a handle of the given class.
+   *
+   * @param clazz  The handle class
+   * @param handle The raw handle value
+   * @param <T>    The type of handle
+   *
+   * @return A handle
+   */
+
+  public static <T> T create(
+    final Class<T> clazz,
+    final long handle)
+  {
+    Objects.requireNonNull(clazz, "clazz");
+
+    final var instance = OBJENESIS.newInstance(clazz);
+    setLong(clazz, instance, "handle", handle);
+    return instance;
+  }
+
+  /**
+   * Create a pointer of the given class. This is used for dispatchable
+   * handles such as {@code VkCommandBuffer}.
+   *
+   * @param clazz   The pointer class
+   * @param address The address
+   * @param <T>     The type of pointer
+   *
+   * @return A pointer
+   */
+
+  public static <T extends Pointer> T createPointer(
+    final Class<T> clazz,
+    final long address)
+  {
+    Objects.requireNonNull(clazz, "clazz");
+
+    final var instance = OBJENESIS.newInstance(clazz);
+    setLong(Pointer.Default.class, instance, "address", address);
+    return instance;
+  }
+
+  /**
+   * Create a handle of the given class, assigning the given value to the
+   * named field. This is used for handles that wrap dispatchable LWJGL
+   * objects rather than raw {@code long} values.
+   *
+   * @param clazz The handle class
+   * @param name  The field name
+   * @param value The field value
+   * @param <T>   The type of handle
+   *
+   * @return A handle
+   */
+
+  public static <T> T createWithField(
+    final Class<T> clazz,
+    final String name,
+    final Object value)
+  {
+    Objects.requireNonNull(clazz, "clazz");
+    Objects.requireNonNull(name, "name");
+
+    final var instance = OBJENESIS.newInstance(clazz);
+    try {
+      final var field = clazz.getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(instance, value);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+    return instance;
+  }
+
+  private static void setLong(
+    final Class<?> owner,
+    final Object instance,
+    final String name,
+    final long value)
+  {
+    try {
+      final var field = owner.getDeclaredField(name);
+      field.setAccessible(true);
+      field.setLong(instance, value);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanEnumIntegerMap;
+import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decoding integers to enum constants. Each invocation
+ * decodes every format value once, in the manner of format enumeration.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanEnumDecodingBenchmark
+{
+  private Map<Integer, VulkanFormat> hashMap;
+  private VulkanEnumIntegerMap<VulkanFormat> denseMap;
+  private int[] values;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanEnumDecodingBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    final var formats = VulkanFormat.values();
+    this.hashMap = VulkanEnumMaps.map(formats);
+    this.denseMap = VulkanEnumIntegerMap.of(formats);
+    this.values = new int[formats.length];
+    for (var index = 0; index < formats.length; ++index) {
+      this.values[index] = formats[index].value();
+    }
+  }
+
+  /**
+   * Decode through a boxed hash map.
+   *
+   * @param blackhole The sink for results
+   */
+
+  @Benchmark
+  public void decodeHashMap(
+    final Blackhole blackhole)
+  {
+    for (final var value : this.values) {
+      blackhole.consume(this.hashMap.get(Integer.valueOf(value)));
+    }
+  }
+
+  /**
+   * Decode through a dense lookup table.
+   *
+   * @param blackhole The sink for results
+   */
+
+  @Benchmark
+  public void decodeDense(
+    final Blackhole blackhole)
+  {
+    for (final var value : this.values) {
+      blackhole.consume(this.denseMap.getOrNull(value));
+    }
+  }
+
+  /**
+   * Decode through the public {@link VulkanFormat#fromInteger(int)} API.
+   *
+   * @param blackhole The sink for results
+   */
+
+  @Benchmark
+  public void decodeFromInteger(
+    final Blackhole blackhole)
+  {
+    for (final var value : this.values) {
+      blackhole.consume(VulkanFormat.fromInteger(value));
+    }
+  }
+}
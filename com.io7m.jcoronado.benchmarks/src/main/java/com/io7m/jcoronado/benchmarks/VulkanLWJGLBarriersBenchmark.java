@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanBufferMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanImageAspectFlag;
+import com.io7m.jcoronado.api.VulkanImageMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanImageSubresourceRange;
+import com.io7m.jcoronado.api.VulkanMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanQueueFamilyIndex;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBufferMemoryBarriers;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLImage;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLImageMemoryBarriers;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLMemoryBarriers;
+import org.lwjgl.system.MemoryStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_SHADER_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_TRANSFER_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+
+/**
+ * Benchmarks for the memory, buffer, and image barrier packers.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanLWJGLBarriersBenchmark
+{
+  private MemoryStack stack;
+  private List<VulkanMemoryBarrier> memoryBarriers;
+  private List<VulkanBufferMemoryBarrier> bufferBarriers;
+  private List<VulkanImageMemoryBarrier> imageBarriers;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanLWJGLBarriersBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.stack = MemoryStack.create();
+
+    this.memoryBarriers =
+      List.of(
+        VulkanMemoryBarrier.of(
+          Set.of(VK_ACCESS_TRANSFER_WRITE_BIT),
+          Set.of(VK_ACCESS_SHADER_READ_BIT))
+      );
+
+    final var queue = new VulkanQueueFamilyIndex(0);
+    this.bufferBarriers = new ArrayList<>(4);
+    for (int index = 0; index < 4; ++index) {
+      this.bufferBarriers.add(
+        VulkanBufferMemoryBarrier.of(
+          Set.of(VK_ACCESS_TRANSFER_WRITE_BIT),
+          Set.of(VK_ACCESS_SHADER_READ_BIT),
+          queue,
+          queue,
+          BenchmarkHandles.create(VulkanLWJGLBuffer.class, 0x1000L + index),
+          0L,
+          65536L)
+      );
+    }
+    this.bufferBarriers = List.copyOf(this.bufferBarriers);
+
+    final var range =
+      VulkanImageSubresourceRange.of(
+        EnumSet.of(VulkanImageAspectFlag.VK_IMAGE_ASPECT_COLOR_BIT),
+        0,
+        1,
+        0,
+        1);
+
+    this.imageBarriers = new ArrayList<>(4);
+    for (int index = 0; index < 4; ++index) {
+      this.imageBarriers.add(
+        VulkanImageMemoryBarrier.of(
+          EnumSet.of(VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT),
+          EnumSet.of(VK_ACCESS_SHADER_READ_BIT),
+          VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL,
+          VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL,
+          0,
+          0,
+          BenchmarkHandles.create(VulkanLWJGLImage.class, 0x2000L + index),
+          range)
+      );
+    }
+    this.imageBarriers = List.copyOf(this.imageBarriers);
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packMemoryBarriers()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLMemoryBarriers.packList(s, this.memoryBarriers)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packBufferMemoryBarriers()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLBufferMemoryBarriers.packList(s, this.bufferBarriers)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packImageMemoryBarriers()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLImageMemoryBarriers.packList(s, this.imageBarriers)
+        .address();
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanBufferCopy;
+import com.io7m.jcoronado.api.VulkanBufferImageCopy;
+import com.io7m.jcoronado.api.VulkanClearAttachment;
+import com.io7m.jcoronado.api.VulkanClearRectangle;
+import com.io7m.jcoronado.api.VulkanClearValueColorFloatingPoint;
+import com.io7m.jcoronado.api.VulkanClearValueDepthStencil;
+import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanExtent2D;
+import com.io7m.jcoronado.api.VulkanExtent3D;
+import com.io7m.jcoronado.api.VulkanImageBlit;
+import com.io7m.jcoronado.api.VulkanImageSubresourceLayers;
+import com.io7m.jcoronado.api.VulkanOffset2D;
+import com.io7m.jcoronado.api.VulkanOffset3D;
+import com.io7m.jcoronado.api.VulkanRectangle2D;
+import com.io7m.jcoronado.api.VulkanRenderPassBeginInfo;
+import com.io7m.jcoronado.api.VulkanViewport;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBufferCopy;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBufferImageCopy;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLClearAttachments;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLClearRectangles;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLCommandBufferBeginInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLFramebuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLImageBlits;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLRect2Ds;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLRenderPass;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLRenderPassBeginInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLViewports;
+import org.lwjgl.system.MemoryStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT;
+import static com.io7m.jcoronado.api.VulkanImageAspectFlag.VK_IMAGE_ASPECT_COLOR_BIT;
+
+/**
+ * Benchmarks for the packers used when recording command buffers.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanLWJGLCommandStructuresBenchmark
+{
+  private MemoryStack stack;
+  private VulkanLWJGLRenderPass renderPass;
+  private VulkanLWJGLFramebuffer framebuffer;
+  private VulkanRenderPassBeginInfo renderPassBegin;
+  private VulkanCommandBufferBeginInfo commandBufferBegin;
+  private List<VulkanBufferCopy> bufferCopies;
+  private List<VulkanBufferImageCopy> bufferImageCopies;
+  private List<VulkanImageBlit> imageBlits;
+  private List<VulkanViewport> viewports;
+  private List<VulkanRectangle2D> scissors;
+  private List<VulkanClearAttachment> clearAttachments;
+  private List<VulkanClearRectangle> clearRectangles;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanLWJGLCommandStructuresBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.stack = MemoryStack.create();
+
+    this.renderPass =
+      BenchmarkHandles.create(VulkanLWJGLRenderPass.class, 0x100L);
+    this.framebuffer =
+      BenchmarkHandles.create(VulkanLWJGLFramebuffer.class, 0x200L);
+
+    final var area =
+      VulkanRectangle2D.of(
+        VulkanOffset2D.of(0, 0),
+        VulkanExtent2D.of(1920, 1080));
+
+    final var clearColor =
+      VulkanClearValueColorFloatingPoint.of(0.0f, 0.0f, 0.0f, 1.0f);
+    final var clearDepth =
+      VulkanClearValueDepthStencil.of(1.0f, 0);
+
+    this.renderPassBegin =
+      VulkanRenderPassBeginInfo.of(
+        this.renderPass,
+        this.framebuffer,
+        area,
+        List.of(clearColor, clearDepth));
+
+    this.commandBufferBegin =
+      VulkanCommandBufferBeginInfo.of(
+        Set.of(VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT));
+
+    this.bufferCopies =
+      List.of(
+        VulkanBufferCopy.of(0L, 0L, 65536L),
+        VulkanBufferCopy.of(65536L, 0L, 65536L)
+      );
+
+    final var layers =
+      VulkanImageSubresourceLayers.of(
+        Set.of(VK_IMAGE_ASPECT_COLOR_BIT), 0, 0, 1);
+
+    this.bufferImageCopies =
+      List.of(
+        VulkanBufferImageCopy.of(
+          0L,
+          0,
+          0,
+          layers,
+          VulkanOffset3D.of(0, 0, 0),
+          VulkanExtent3D.of(1024, 1024, 1))
+      );
+
+    this.imageBlits =
+      List.of(
+        VulkanImageBlit.of(
+          layers,
+          VulkanOffset3D.of(0, 0, 0),
+          VulkanOffset3D.of(1024, 1024, 1),
+          VulkanImageSubresourceLayers.of(
+            Set.of(VK_IMAGE_ASPECT_COLOR_BIT), 1, 0, 1),
+          VulkanOffset3D.of(0, 0, 0),
+          VulkanOffset3D.of(512, 512, 1))
+      );
+
+    this.viewports =
+      List.of(VulkanViewport.of(0.0f, 0.0f, 1920.0f, 1080.0f, 0.0f, 1.0f));
+    this.scissors =
+      List.of(area);
+
+    this.clearAttachments =
+      List.of(
+        VulkanClearAttachment.of(
+          Set.of(VK_IMAGE_ASPECT_COLOR_BIT), 0, clearColor)
+      );
+    this.clearRectangles =
+      List.of(VulkanClearRectangle.of(area, 0, 1));
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packCommandBufferBeginInfo()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLCommandBufferBeginInfos.pack(s, this.commandBufferBegin)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packRenderPassBeginInfo()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLRenderPassBeginInfos.pack(
+        s, this.renderPassBegin, this.renderPass, this.framebuffer
+      ).address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packBufferCopies()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLBufferCopy.packList(s, this.bufferCopies)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packBufferImageCopies()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLBufferImageCopy.packList(s, this.bufferImageCopies)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packImageBlits()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLImageBlits.packList(s, this.imageBlits)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packViewports()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLViewports.packList(s, this.viewports)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packScissors()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLRect2Ds.packList(s, this.scissors)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packClearAttachments()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLClearAttachments.packList(s, this.clearAttachments)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packClearRectangles()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLClearRectangles.packList(s, this.clearRectangles)
+        .address();
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanCopyDescriptorSet;
+import com.io7m.jcoronado.api.VulkanDescriptorBufferInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorImageInfo;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanWriteDescriptorSet;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLCopyDescriptorSets;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLDescriptorSet;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLImageView;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSampler;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLWriteDescriptorSets;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkWriteDescriptorSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+
+/**
+ * Benchmarks for the descriptor set update packers.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanLWJGLDescriptorSetsBenchmark
+{
+  private MemoryStack stack;
+  private VulkanWriteDescriptorSet writeBuffer;
+  private List<VulkanWriteDescriptorSet> writes;
+  private List<VulkanCopyDescriptorSet> copies;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanLWJGLDescriptorSetsBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.stack = MemoryStack.create();
+
+    final var set0 =
+      BenchmarkHandles.create(VulkanLWJGLDescriptorSet.class, 0x100L);
+    final var set1 =
+      BenchmarkHandles.create(VulkanLWJGLDescriptorSet.class, 0x101L);
+    final var buffer =
+      BenchmarkHandles.create(VulkanLWJGLBuffer.class, 0x200L);
+    final var sampler =
+      BenchmarkHandles.create(VulkanLWJGLSampler.class, 0x300L);
+    final var imageView =
+      BenchmarkHandles.create(VulkanLWJGLImageView.class, 0x400L);
+
+    this.writeBuffer =
+      VulkanWriteDescriptorSet.builder()
+        .setDestinationSet(set0)
+        .setDestinationBinding(0)
+        .setDescriptorCount(1)
+        .setDescriptorType(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER)
+        .addBufferInfos(VulkanDescriptorBufferInfo.of(buffer, 0L, 256L))
+        .build();
+
+    final var writeImages =
+      VulkanWriteDescriptorSet.builder()
+        .setDestinationSet(set0)
+        .setDestinationBinding(1)
+        .setDescriptorCount(4)
+        .setDescriptorType(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+        .addImageInfos(VulkanDescriptorImageInfo.of(
+          sampler, imageView, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL))
+        .addImageInfos(VulkanDescriptorImageInfo.of(
+          sampler, imageView, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL))
+        .addImageInfos(VulkanDescriptorImageInfo.of(
+          sampler, imageView, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL))
+        .addImageInfos(VulkanDescriptorImageInfo.of(
+          sampler, imageView, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL))
+        .build();
+
+    this.writes = List.of(this.writeBuffer, writeImages);
+
+    this.copies =
+      List.of(
+        VulkanCopyDescriptorSet.builder()
+          .setSourceSet(set0)
+          .setSourceBinding(0)
+          .setSourceArrayElement(0)
+          .setDestinationSet(set1)
+          .setDestinationBinding(0)
+          .setDestinationArrayElement(0)
+          .setDescriptorCount(1)
+          .build()
+      );
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packWriteDescriptorSetInto()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLWriteDescriptorSets.packInto(
+        s, this.writeBuffer, VkWriteDescriptorSet.malloc(s)
+      ).address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packWriteDescriptorSets()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLWriteDescriptorSets.packList(s, this.writes)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packCopyDescriptorSets()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLCopyDescriptorSets.packList(s, this.copies)
+        .address();
+    }
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanBlendConstants;
+import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanCullModeFlag;
+import com.io7m.jcoronado.api.VulkanDynamicState;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanExtent2D;
+import com.io7m.jcoronado.api.VulkanFrontFace;
+import com.io7m.jcoronado.api.VulkanGraphicsPipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanLogicOp;
+import com.io7m.jcoronado.api.VulkanOffset2D;
+import com.io7m.jcoronado.api.VulkanPipelineColorBlendAttachmentState;
+import com.io7m.jcoronado.api.VulkanPipelineColorBlendStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineDepthStencilStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineDynamicStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineInputAssemblyStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineMultisampleStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineRasterizationStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineShaderStageCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineVertexInputStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineViewportStateCreateInfo;
+import com.io7m.jcoronado.api.VulkanPolygonMode;
+import com.io7m.jcoronado.api.VulkanRectangle2D;
+import com.io7m.jcoronado.api.VulkanSampleCountFlag;
+import com.io7m.jcoronado.api.VulkanShaderStageFlag;
+import com.io7m.jcoronado.api.VulkanStencilOpState;
+import com.io7m.jcoronado.api.VulkanVertexInputAttributeDescription;
+import com.io7m.jcoronado.api.VulkanVertexInputBindingDescription;
+import com.io7m.jcoronado.api.VulkanViewport;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLComputePipelineCreateInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLGraphicsPipelineCreateInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLPipelineLayout;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLRenderPass;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLShaderModule;
+import org.lwjgl.system.MemoryStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanBlendFactor.VK_BLEND_FACTOR_ONE;
+import static com.io7m.jcoronado.api.VulkanBlendFactor.VK_BLEND_FACTOR_ONE_MINUS_SRC_ALPHA;
+import static com.io7m.jcoronado.api.VulkanBlendFactor.VK_BLEND_FACTOR_SRC_ALPHA;
+import static com.io7m.jcoronado.api.VulkanBlendFactor.VK_BLEND_FACTOR_ZERO;
+import static com.io7m.jcoronado.api.VulkanBlendOp.VK_BLEND_OP_ADD;
+import static com.io7m.jcoronado.api.VulkanCompareOp.VK_COMPARE_OP_ALWAYS;
+import static com.io7m.jcoronado.api.VulkanCompareOp.VK_COMPARE_OP_LESS_OR_EQUAL;
+import static com.io7m.jcoronado.api.VulkanFormat.VK_FORMAT_R32G32B32_SFLOAT;
+import static com.io7m.jcoronado.api.VulkanFormat.VK_FORMAT_R32G32_SFLOAT;
+import static com.io7m.jcoronado.api.VulkanPrimitiveTopology.VK_PRIMITIVE_TOPOLOGY_TRIANGLE_LIST;
+import static com.io7m.jcoronado.api.VulkanStencilOp.VK_STENCIL_OP_KEEP;
+import static com.io7m.jcoronado.api.VulkanVertexInputRate.VK_VERTEX_INPUT_RATE_VERTEX;
+
+/**
+ * Benchmarks for the graphics and compute pipeline packers.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanLWJGLPipelineCreateInfosBenchmark
+{
+  private MemoryStack stack;
+  private List<VulkanGraphicsPipelineCreateInfo> graphicsInfos;
+  private List<VulkanComputePipelineCreateInfo> computeInfos;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanLWJGLPipelineCreateInfosBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.stack = MemoryStack.create();
+
+    final var module =
+      BenchmarkHandles.create(VulkanLWJGLShaderModule.class, 0x100L);
+    final var layout =
+      BenchmarkHandles.create(VulkanLWJGLPipelineLayout.class, 0x200L);
+    final var renderPass =
+      BenchmarkHandles.create(VulkanLWJGLRenderPass.class, 0x300L);
+
+    final var blendState =
+      VulkanPipelineColorBlendAttachmentState.builder()
+        .setEnable(true)
+        .setSrcColorBlendFactor(VK_BLEND_FACTOR_SRC_ALPHA)
+        .setDstColorBlendFactor(VK_BLEND_FACTOR_ONE_MINUS_SRC_ALPHA)
+        .setColorBlendOp(VK_BLEND_OP_ADD)
+        .setSrcAlphaBlendFactor(VK_BLEND_FACTOR_ONE)
+        .setDstAlphaBlendFactor(VK_BLEND_FACTOR_ZERO)
+        .setAlphaBlendOp(VK_BLEND_OP_ADD)
+        .build();
+
+    final var colorInfo =
+      VulkanPipelineColorBlendStateCreateInfo.builder()
+        .setLogicOp(VulkanLogicOp.VK_LOGIC_OP_COPY)
+        .setBlendConstants(VulkanBlendConstants.of(0.0f, 0.0f, 0.0f, 0.0f))
+        .addAttachments(blendState)
+        .build();
+
+    final var stencil =
+      VulkanStencilOpState.of(
+        VK_STENCIL_OP_KEEP,
+        VK_STENCIL_OP_KEEP,
+        VK_STENCIL_OP_KEEP,
+        VK_COMPARE_OP_ALWAYS,
+        0,
+        0,
+        0);
+
+    final var depthInfo =
+      VulkanPipelineDepthStencilStateCreateInfo.builder()
+        .setDepthTestEnable(true)
+        .setDepthWriteEnable(true)
+        .setDepthCompareOp(VK_COMPARE_OP_LESS_OR_EQUAL)
+        .setDepthBoundsTestEnable(false)
+        .setStencilTestEnable(false)
+        .setFront(stencil)
+        .setBack(stencil)
+        .setMinDepthBounds(0.0f)
+        .setMaxDepthBounds(1.0f)
+        .build();
+
+    final var dynamicInfo =
+      VulkanPipelineDynamicStateCreateInfo.builder()
+        .addDynamicStates(VulkanDynamicState.VK_DYNAMIC_STATE_VIEWPORT)
+        .addDynamicStates(VulkanDynamicState.VK_DYNAMIC_STATE_SCISSOR)
+        .build();
+
+    final var inputInfo =
+      VulkanPipelineInputAssemblyStateCreateInfo.builder()
+        .setTopology(VK_PRIMITIVE_TOPOLOGY_TRIANGLE_LIST)
+        .setPrimitiveRestartEnable(false)
+        .build();
+
+    final var multisampleInfo =
+      VulkanPipelineMultisampleStateCreateInfo.builder()
+        .setRasterizationSamples(VulkanSampleCountFlag.VK_SAMPLE_COUNT_1_BIT)
+        .setMinSampleShading(1.0f)
+        .setSampleShadingEnable(false)
+        .setAlphaToCoverageEnable(false)
+        .setAlphaToOneEnable(false)
+        .build();
+
+    final var rasterInfo =
+      VulkanPipelineRasterizationStateCreateInfo.builder()
+        .setPolygonMode(VulkanPolygonMode.VK_POLYGON_MODE_FILL)
+        .setCullMode(Set.of(VulkanCullModeFlag.VK_CULL_MODE_BACK_BIT))
+        .setFrontFace(VulkanFrontFace.VK_FRONT_FACE_COUNTER_CLOCKWISE)
+        .setLineWidth(1.0f)
+        .setDepthClampEnable(false)
+        .setRasterizerDiscardEnable(false)
+        .setDepthBiasEnable(false)
+        .setDepthBiasConstantFactor(0.0f)
+        .setDepthBiasClamp(0.0f)
+        .setDepthBiasSlopeFactor(0.0f)
+        .build();
+
+    final var vertexStage =
+      VulkanPipelineShaderStageCreateInfo.builder()
+        .setStage(VulkanShaderStageFlag.VK_SHADER_STAGE_VERTEX_BIT)
+        .setModule(module)
+        .setShaderEntryPoint("main")
+        .build();
+
+    final var fragmentStage =
+      VulkanPipelineShaderStageCreateInfo.builder()
+        .setStage(VulkanShaderStageFlag.VK_SHADER_STAGE_FRAGMENT_BIT)
+        .setModule(module)
+        .setShaderEntryPoint("main")
+        .build();
+
+    final var vertexInfo =
+      VulkanPipelineVertexInputStateCreateInfo.builder()
+        .addVertexBindingDescriptions(
+          VulkanVertexInputBindingDescription.of(
+            0, 32, VK_VERTEX_INPUT_RATE_VERTEX))
+        .addVertexAttributeDescriptions(
+          VulkanVertexInputAttributeDescription.of(
+            0, 0, VK_FORMAT_R32G32B32_SFLOAT, 0))
+        .addVertexAttributeDescriptions(
+          VulkanVertexInputAttributeDescription.of(
+            1, 0, VK_FORMAT_R32G32B32_SFLOAT, 12))
+        .addVertexAttributeDescriptions(
+          VulkanVertexInputAttributeDescription.of(
+            2, 0, VK_FORMAT_R32G32_SFLOAT, 24))
+        .build();
+
+    final var viewportInfo =
+      VulkanPipelineViewportStateCreateInfo.builder()
+        .addViewports(VulkanViewport.of(0.0f, 0.0f, 1920.0f, 1080.0f, 0.0f, 1.0f))
+        .addScissors(VulkanRectangle2D.of(
+          VulkanOffset2D.of(0, 0),
+          VulkanExtent2D.of(1920, 1080)))
+        .build();
+
+    final var graphicsInfo =
+      VulkanGraphicsPipelineCreateInfo.of(
+        Set.of(),
+        List.of(vertexStage, fragmentStage),
+        vertexInfo,
+        inputInfo,
+        Optional.empty(),
+        Optional.of(viewportInfo),
+        rasterInfo,
+        Optional.of(multisampleInfo),
+        Optional.of(depthInfo),
+        Optional.of(colorInfo),
+        Optional.of(dynamicInfo),
+        layout,
+        renderPass,
+        0,
+        Optional.empty(),
+        OptionalInt.empty());
+
+    this.graphicsInfos = List.of(graphicsInfo);
+
+    final var computeStage =
+      VulkanPipelineShaderStageCreateInfo.builder()
+        .setStage(VulkanShaderStageFlag.VK_SHADER_STAGE_COMPUTE_BIT)
+        .setModule(module)
+        .setShaderEntryPoint("main")
+        .build();
+
+    this.computeInfos =
+      List.of(
+        VulkanComputePipelineCreateInfo.builder()
+          .setStage(computeStage)
+          .setLayout(layout)
+          .build()
+      );
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packGraphicsPipeline()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLGraphicsPipelineCreateInfos.pack(s, this.graphicsInfos)
+        .address();
+    }
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packComputePipeline()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      return VulkanLWJGLComputePipelineCreateInfos.pack(s, this.computeInfos)
+        .address();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.benchmarks;
+
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanSubmitInfo;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLCommandBuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSemaphore;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSubmitInfos;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkSubmitInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT;
+
+/**
+ * Benchmarks for the queue submission packers.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VulkanLWJGLSubmitInfosBenchmark
+{
+  private MemoryStack stack;
+  private List<VulkanSubmitInfo> submissions;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public VulkanLWJGLSubmitInfosBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark inputs.
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    this.stack = MemoryStack.create();
+
+    final var imageAvailable =
+      BenchmarkHandles.create(VulkanLWJGLSemaphore.class, 0x100L);
+    final var renderFinished =
+      BenchmarkHandles.create(VulkanLWJGLSemaphore.class, 0x101L);
+    final var commandBuffer =
+      BenchmarkHandles.createWithField(
+        VulkanLWJGLCommandBuffer.class,
+        "handle",
+        BenchmarkHandles.createPointer(VkCommandBuffer.class, 0x200L));
+
+    this.submissions =
+      List.of(
+        VulkanSubmitInfo.of(
+          List.of(imageAvailable),
+          List.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+          List.of(commandBuffer),
+          List.of(renderFinished))
+      );
+  }
+
+  /**
+   * @return The packed address
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Benchmark
+  public long packSubmitInfos()
+    throws VulkanException
+  {
+    try (var s = this.stack.push()) {
+      final var buffer =
+        VkSubmitInfo.malloc(this.submissions.size(), s);
+      VulkanLWJGLSubmitInfos.packInfos(s, this.submissions, buffer);
+      return buffer.address();
+    }
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.deferred;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFenceType;
+import com.io7m.jcoronado.api.VulkanHandleType;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanSemaphoreType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_SIGNALLED;
+
+/**
+ * <p>A queue of handles whose destruction is deferred until the GPU work
+ * that may still use them has retired.</p>
+ *
+ * <p>{@link #release(VulkanHandleType)} places a handle into the queue
+ * instead of destroying it. Released handles accumulate until the next call
+ * to {@link #submitted(VulkanFenceType)} or
+ * {@link #submitted(VulkanSemaphoreType, long)}, which tags every handle
+ * released since the previous submission with the submission's fence or
+ * timeline semaphore value. This is typically called once per frame, after
+ * the frame's final queue submission. {@link #collect()} destroys, in bulk,
+ * the handles of every submission that has completed.</p>
+ *
+ * <p>Submissions are assumed to complete in the order that they are passed
+ * to the queue; {@link #collect()} stops at the first submission that has
+ * not completed.</p>
+ *
+ * <p>Handles may optionally be released with a size in bytes so that the
+ * amount of memory awaiting destruction can be monitored with
+ * {@link #statistics()}. The queue is thread-safe.</p>
+ */
+
+public final class VulkanDeferredReleaseQueue implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanDeferredReleaseQueue.class);
+
+  private final VulkanLogicalDeviceType device;
+  private final ArrayDeque<Submission> submissions;
+  private ArrayList<Entry> unsubmitted;
+  private long pending;
+  private long pending_bytes;
+  private long destroyed;
+  private long destroyed_bytes;
+  private boolean closed;
+
+  /**
+   * Create a deferred release queue.
+   *
+   * @param in_device The device used to query submission status
+   */
+
+  public VulkanDeferredReleaseQueue(
+    final VulkanLogicalDeviceType in_device)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.submissions =
+      new ArrayDeque<>();
+    this.unsubmitted =
+      new ArrayList<>();
+  }
+
+  /**
+   * Release a handle. The handle is destroyed once the next submission
+   * passed to this queue has completed.
+   *
+   * @param handle The handle
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void release(
+    final VulkanHandleType handle)
+    throws VulkanException
+  {
+    this.release(handle, 0L);
+  }
+
+  /**
+   * Release a handle, declaring the number of bytes of memory that will be
+   * returned when the handle is destroyed. The handle is destroyed once the
+   * next submission passed to this queue has completed.
+   *
+   * @param handle The handle
+   * @param size   The size of the handle's memory in bytes
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void release(
+    final VulkanHandleType handle,
+    final long size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(handle, "handle");
+
+    if (size < 0L) {
+      throw new IllegalArgumentException(
+        "Size must be non-negative: " + size);
+    }
+
+    this.checkNotClosed();
+    this.unsubmitted.add(new Entry(handle, size));
+    this.pending += 1L;
+    this.pending_bytes += size;
+  }
+
+  /**
+   * Indicate that work has been submitted that signals {@code fence} on
+   * completion. All handles released since the previous submission are
+   * destroyed once the fence is signalled.
+   *
+   * @param fence The fence
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void submitted(
+    final VulkanFenceType fence)
+    throws VulkanException
+  {
+    Objects.requireNonNull(fence, "fence");
+
+    this.checkNotClosed();
+    this.seal(fence, null, 0L);
+  }
+
+  /**
+   * Indicate that work has been submitted that sets the timeline
+   * {@code semaphore} to {@code value} on completion. All handles released
+   * since the previous submission are destroyed once the semaphore reaches
+   * the value.
+   *
+   * @param semaphore The timeline semaphore
+   * @param value     The value signalled on completion
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void submitted(
+    final VulkanSemaphoreType semaphore,
+    final long value)
+    throws VulkanException
+  {
+    Objects.requireNonNull(semaphore, "semaphore");
+
+    this.checkNotClosed();
+    this.seal(null, semaphore, value);
+  }
+
+  private void seal(
+    final VulkanFenceType fence,
+    final VulkanSemaphoreType semaphore,
+    final long value)
+  {
+    if (this.unsubmitted.isEmpty()) {
+      return;
+    }
+
+    this.submissions.add(
+      new Submission(
+        this.unsubmitted,
+        fence,
+        semaphore,
+        value));
+
+    this.unsubmitted = new ArrayList<>();
+  }
+
+  /**
+   * Destroy the handles of all completed submissions. Submissions are
+   * checked in order, stopping at the first that has not completed. If
+   * destroying a handle fails, the remaining handles are still destroyed
+   * and the first exception is raised afterwards.
+   *
+   * @return The number of handles destroyed
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized long collect()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    /*
+     * Each submission is destroyed as soon as it is removed from the queue,
+     * so that a failure to query the status of a later submission (such as
+     * a lost device) cannot lose the handles of earlier submissions.
+     */
+
+    final var destroyed_before = this.destroyed;
+    VulkanException exception = null;
+    try {
+      while (!this.submissions.isEmpty()) {
+        final var submission = this.submissions.peek();
+        if (!this.isComplete(submission)) {
+          break;
+        }
+        this.submissions.poll();
+        exception = this.destroyAll(submission.entries, exception);
+      }
+    } catch (final VulkanException | RuntimeException e) {
+      if (exception != null) {
+        e.addSuppressed(exception);
+      }
+      throw e;
+    }
+
+    if (exception != null) {
+      throw exception;
+    }
+    return this.destroyed - destroyed_before;
+  }
+
+  private boolean isComplete(
+    final Submission submission)
+    throws VulkanException
+  {
+    if (submission.fence != null) {
+      return this.device.getFenceStatus(submission.fence)
+             == VK_FENCE_SIGNALLED;
+    }
+    return this.device.getSemaphoreCounterValue(submission.semaphore)
+           >= submission.value;
+  }
+
+  private VulkanException destroyAll(
+    final List<Entry> entries,
+    final VulkanException exception_initial)
+  {
+    var exception = exception_initial;
+    for (final var entry : entries) {
+      try {
+        if (!entry.handle.isClosed()) {
+          entry.handle.close();
+        }
+      } catch (final VulkanException e) {
+        if (exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      } finally {
+        this.pending -= 1L;
+        this.pending_bytes -= entry.size;
+        this.destroyed += 1L;
+        this.destroyed_bytes += entry.size;
+      }
+    }
+
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("destroyed {} deferred handles", Integer.valueOf(entries.size()));
+    }
+    return exception;
+  }
+
+  /**
+   * @return The number of handles waiting to be destroyed
+   */
+
+  public synchronized long pending()
+  {
+    return this.pending;
+  }
+
+  /**
+   * @return The number of bytes declared for handles waiting to be destroyed
+   */
+
+  public synchronized long pendingBytes()
+  {
+    return this.pending_bytes;
+  }
+
+  /**
+   * @return The current queue statistics
+   */
+
+  public synchronized VulkanDeferredReleaseStatistics statistics()
+  {
+    return new VulkanDeferredReleaseStatistics(
+      this.pending,
+      this.pending_bytes,
+      this.unsubmitted.size(),
+      this.submissions.size(),
+      this.destroyed,
+      this.destroyed_bytes
+    );
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException(
+        "Deferred release queue has been closed.");
+    }
+  }
+
+  /**
+   * Immediately destroy every pending handle, regardless of the state of
+   * the submissions that may use them. The caller must ensure that the
+   * device is idle before closing the queue.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public synchronized void close()
+    throws VulkanException
+  {
+    if (!this.closed) {
+      this.closed = true;
+
+      VulkanException exception = null;
+      while (!this.submissions.isEmpty()) {
+        exception = this.destroyAll(this.submissions.poll().entries, exception);
+      }
+      exception = this.destroyAll(this.unsubmitted, exception);
+      this.unsubmitted.clear();
+
+      if (exception != null) {
+        throw exception;
+      }
+    }
+  }
+
+  private record Entry(
+    VulkanHandleType handle,
+    long size)
+  {
+
+  }
+
+  private record Submission(
+    List<Entry> entries,
+    VulkanFenceType fence,
+    VulkanSemaphoreType semaphore,
+    long value)
+  {
+
+  }
+}
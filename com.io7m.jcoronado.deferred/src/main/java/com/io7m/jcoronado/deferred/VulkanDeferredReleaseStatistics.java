@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.deferred;
+
+/**
+ * Statistics for a deferred release queue.
+ *
+ * @param pending          The number of handles waiting to be destroyed,
+ *                         including those not yet assigned to a submission
+ * @param pendingBytes     The number of bytes declared for pending handles
+ * @param unsubmitted      The number of pending handles that have not yet
+ *                         been assigned to a submission
+ * @param submissions      The number of submissions with pending handles
+ * @param destroyed        The total number of handles destroyed
+ * @param destroyedBytes   The total number of bytes declared for destroyed
+ *                         handles
+ */
+
+public record VulkanDeferredReleaseStatistics(
+  long pending,
+  long pendingBytes,
+  long unsubmitted,
+  int submissions,
+  long destroyed,
+  long destroyedBytes)
+{
+
+}
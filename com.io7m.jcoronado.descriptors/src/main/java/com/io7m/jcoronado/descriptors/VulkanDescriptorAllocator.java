@@ -0,0 +1,471 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.descriptors;
+
+import com.io7m.jcoronado.api.VulkanCallFailedException;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolSize;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolType;
+import com.io7m.jcoronado.api.VulkanDescriptorSetAllocateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutType;
+import com.io7m.jcoronado.api.VulkanDescriptorSetType;
+import com.io7m.jcoronado.api.VulkanDescriptorType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>A descriptor set allocator that grows a chain of descriptor pools on
+ * demand.</p>
+ *
+ * <p>The allocator maintains, for each frame in flight, a chain of
+ * descriptor pools. Sets are allocated from the current pool of the frame;
+ * when allocation fails because the pool is exhausted
+ * ({@code VK_ERROR_OUT_OF_POOL_MEMORY}, or {@code VK_ERROR_OUT_OF_HOST_MEMORY}
+ * and {@code VK_ERROR_OUT_OF_DEVICE_MEMORY}, which implementations without
+ * {@code VK_KHR_maintenance1} may return instead) or fragmented
+ * ({@code VK_ERROR_FRAGMENTED_POOL}), allocation moves on to the next pool
+ * in the chain, creating a new pool if necessary. Each new pool in a chain
+ * holds twice as many sets as the previous pool, up to a maximum.</p>
+ *
+ * <p>The descriptor counts of new pools are derived from observed demand:
+ * the allocator accumulates the descriptor counts of every layout that it
+ * has successfully allocated, and sizes each new pool in proportion to the
+ * average number of descriptors of each type per set. Because demand for a
+ * descriptor type may first appear after the pools of a frame were created,
+ * {@link #reset(int)} recreates any pool of the frame that holds fewer than
+ * half of the descriptors of some type that a new pool would hold.</p>
+ *
+ * <p>Sets are never freed individually. Instead, {@link #reset(int)} resets
+ * every pool of a frame with {@code vkResetDescriptorPool}, releasing all of
+ * the frame's sets at once. The caller must ensure that none of the frame's
+ * sets are still in use by the GPU (typically by waiting on the frame's
+ * fence).</p>
+ *
+ * <p>The allocator is thread-safe, although allocation from a single
+ * allocator is serialized.</p>
+ */
+
+public final class VulkanDescriptorAllocator implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanDescriptorAllocator.class);
+
+  private static final int VK_ERROR_OUT_OF_HOST_MEMORY = -1;
+  private static final int VK_ERROR_OUT_OF_DEVICE_MEMORY = -2;
+  private static final int VK_ERROR_FRAGMENTED_POOL = -12;
+  private static final int VK_ERROR_OUT_OF_POOL_MEMORY = -1000069000;
+  private static final VulkanDescriptorType[] TYPES =
+    VulkanDescriptorType.values();
+
+  private final VulkanLogicalDeviceType device;
+  private final int sets_per_pool_initial;
+  private final int sets_per_pool_maximum;
+  private final Frame[] frames;
+  private final long[] demand_descriptors;
+  private long demand_sets;
+  private long pools_created;
+  private long exhaustions;
+  private long resets;
+  private boolean closed;
+
+  /**
+   * Create a descriptor allocator.
+   *
+   * @param in_device                The logical device
+   * @param in_frames_in_flight      The number of frames in flight
+   * @param in_sets_per_pool_initial The number of sets in the first pool of
+   *                                 each frame
+   * @param in_sets_per_pool_maximum The maximum number of sets in any pool
+   */
+
+  public VulkanDescriptorAllocator(
+    final VulkanLogicalDeviceType in_device,
+    final int in_frames_in_flight,
+    final int in_sets_per_pool_initial,
+    final int in_sets_per_pool_maximum)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+
+    if (in_frames_in_flight < 1) {
+      throw new IllegalArgumentException(
+        "Frames in flight must be positive: " + in_frames_in_flight);
+    }
+    if (in_sets_per_pool_initial < 1) {
+      throw new IllegalArgumentException(
+        "Initial sets per pool must be positive: " + in_sets_per_pool_initial);
+    }
+    if (in_sets_per_pool_maximum < in_sets_per_pool_initial) {
+      throw new IllegalArgumentException(
+        "Maximum sets per pool %d must be >= initial sets per pool %d"
+          .formatted(
+            Integer.valueOf(in_sets_per_pool_maximum),
+            Integer.valueOf(in_sets_per_pool_initial)));
+    }
+
+    this.sets_per_pool_initial = in_sets_per_pool_initial;
+    this.sets_per_pool_maximum = in_sets_per_pool_maximum;
+    this.frames = new Frame[in_frames_in_flight];
+    for (var index = 0; index < in_frames_in_flight; ++index) {
+      this.frames[index] = new Frame();
+    }
+    this.demand_descriptors = new long[TYPES.length];
+    this.closed = false;
+  }
+
+  private static boolean isPoolExhausted(
+    final VulkanCallFailedException e)
+  {
+    final var code = e.errorCode();
+    return code == VK_ERROR_OUT_OF_POOL_MEMORY
+           || code == VK_ERROR_FRAGMENTED_POOL
+           || code == VK_ERROR_OUT_OF_HOST_MEMORY
+           || code == VK_ERROR_OUT_OF_DEVICE_MEMORY;
+  }
+
+  private static long[] descriptorsOf(
+    final VulkanDescriptorSetLayoutCreateInfo layout_info)
+  {
+    final var counts = new long[TYPES.length];
+    for (final var binding : layout_info.bindings()) {
+      counts[binding.descriptorType().ordinal()] +=
+        Integer.toUnsignedLong(binding.descriptorCount());
+    }
+    return counts;
+  }
+
+  /**
+   * @return The number of frames in flight
+   */
+
+  public int framesInFlight()
+  {
+    return this.frames.length;
+  }
+
+  /**
+   * Allocate a descriptor set for the given frame.
+   *
+   * @param frame_index The frame index
+   * @param layout      The descriptor set layout
+   * @param layout_info The info with which {@code layout} was created
+   *
+   * @return A descriptor set
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized VulkanDescriptorSetType allocate(
+    final int frame_index,
+    final VulkanDescriptorSetLayoutType layout,
+    final VulkanDescriptorSetLayoutCreateInfo layout_info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(layout_info, "layout_info");
+
+    this.checkNotClosed();
+
+    final var frame = this.frame(frame_index);
+    final var required = descriptorsOf(layout_info);
+
+    while (true) {
+      final var created = frame.current == frame.pools.size();
+      if (created) {
+        frame.pools.add(this.createPool(frame.pools.size(), required));
+      }
+
+      final var pool = frame.pools.get(frame.current);
+      try {
+        final var sets =
+          this.device.allocateDescriptorSets(
+            VulkanDescriptorSetAllocateInfo.of(pool.pool, List.of(layout)));
+        ++pool.allocated;
+        for (var index = 0; index < required.length; ++index) {
+          this.demand_descriptors[index] += required[index];
+        }
+        ++this.demand_sets;
+        return sets.get(0);
+      } catch (final VulkanCallFailedException e) {
+        if (created || !isPoolExhausted(e)) {
+          throw e;
+        }
+        ++this.exhaustions;
+        ++frame.current;
+      }
+    }
+  }
+
+  private int setsForChainIndex(
+    final int chain_index)
+  {
+    final var shift = Math.min(chain_index, 30);
+    return (int) Math.min(
+      (long) this.sets_per_pool_initial << shift,
+      this.sets_per_pool_maximum);
+  }
+
+  /**
+   * Calculate the descriptor counts of a pool holding {@code sets} sets,
+   * treating {@code required} as one further set of demand.
+   */
+
+  private long[] descriptorCountsFor(
+    final int sets,
+    final long[] required)
+  {
+    final var demand_sets_now = this.demand_sets + 1L;
+    final var counts = new long[TYPES.length];
+    for (var index = 0; index < TYPES.length; ++index) {
+      final var demand = this.demand_descriptors[index] + required[index];
+      if (demand == 0L) {
+        continue;
+      }
+
+      final var proportional =
+        (demand * sets + demand_sets_now - 1L) / demand_sets_now;
+      counts[index] =
+        Math.min(Math.max(proportional, required[index]), Integer.MAX_VALUE);
+    }
+    return counts;
+  }
+
+  private Pool createPool(
+    final int chain_index,
+    final long[] required)
+    throws VulkanException
+  {
+    final var sets = this.setsForChainIndex(chain_index);
+    final var counts = this.descriptorCountsFor(sets, required);
+
+    final var sizes = new ArrayList<VulkanDescriptorPoolSize>(TYPES.length);
+    for (var index = 0; index < TYPES.length; ++index) {
+      if (counts[index] != 0L) {
+        sizes.add(VulkanDescriptorPoolSize.of(TYPES[index], (int) counts[index]));
+      }
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("creating descriptor pool: sets {} sizes {}",
+                Integer.valueOf(sets), sizes);
+    }
+
+    final var pool =
+      this.device.createDescriptorPool(
+        VulkanDescriptorPoolCreateInfo.of(Set.of(), sets, sizes));
+    ++this.pools_created;
+    return new Pool(pool, sets, counts);
+  }
+
+  /**
+   * Reset every pool used by the given frame, releasing all of the frame's
+   * descriptor sets. Pools that are undersized with respect to the demand
+   * observed so far are destroyed and recreated. The caller must ensure
+   * that none of the frame's sets are still in use.
+   *
+   * @param frame_index The frame index
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void reset(
+    final int frame_index)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var frame = this.frame(frame_index);
+    final var limit = Math.min(frame.current + 1, frame.pools.size());
+    final var none = new long[TYPES.length];
+    for (var index = 0; index < frame.pools.size(); ++index) {
+      final var pool = frame.pools.get(index);
+      if (this.isUndersized(pool, index)) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("recreating undersized descriptor pool {}", pool.pool);
+        }
+        frame.pools.set(index, this.createPool(index, none));
+        pool.pool.close();
+        continue;
+      }
+      if (index < limit) {
+        this.device.resetDescriptorPool(pool.pool);
+        pool.allocated = 0L;
+      }
+    }
+    frame.current = 0;
+    ++this.resets;
+  }
+
+  private boolean isUndersized(
+    final Pool pool,
+    final int chain_index)
+  {
+    if (this.demand_sets == 0L) {
+      return false;
+    }
+
+    /*
+     * Demand is already accounted for, so no further set is added. Pools
+     * are only recreated when they hold fewer than half of the descriptors
+     * of some type that a new pool would hold, so that small changes in the
+     * average demand do not cause pools to be recreated on every reset.
+     */
+
+    final var sets = this.setsForChainIndex(chain_index);
+    for (var index = 0; index < TYPES.length; ++index) {
+      final var demand = this.demand_descriptors[index];
+      if (demand == 0L) {
+        continue;
+      }
+      final var target =
+        (demand * sets + this.demand_sets - 1L) / this.demand_sets;
+      if (pool.descriptors[index] * 2L < target) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param frame_index The frame index
+   *
+   * @return The number of descriptor pools in the frame's chain
+   */
+
+  public synchronized int poolCount(
+    final int frame_index)
+  {
+    return this.frame(frame_index).pools.size();
+  }
+
+  /**
+   * @return The current allocator statistics
+   */
+
+  public synchronized VulkanDescriptorAllocatorStatistics statistics()
+  {
+    var pools = 0;
+    var allocated = 0L;
+    var capacity = 0L;
+    for (final var frame : this.frames) {
+      for (final var pool : frame.pools) {
+        ++pools;
+        allocated += pool.allocated;
+        capacity += pool.sets;
+      }
+    }
+
+    return new VulkanDescriptorAllocatorStatistics(
+      pools,
+      allocated,
+      capacity,
+      this.pools_created,
+      this.exhaustions,
+      this.resets);
+  }
+
+  private Frame frame(
+    final int frame_index)
+  {
+    return this.frames[Objects.checkIndex(frame_index, this.frames.length)];
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Descriptor allocator has been closed.");
+    }
+  }
+
+  /**
+   * Destroy all descriptor pools, and therefore all descriptor sets.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public synchronized void close()
+    throws VulkanException
+  {
+    if (!this.closed) {
+      this.closed = true;
+
+      VulkanException failure = null;
+      for (final var frame : this.frames) {
+        for (final var pool : frame.pools) {
+          try {
+            pool.pool.close();
+          } catch (final VulkanException e) {
+            if (failure == null) {
+              failure = e;
+            } else {
+              failure.addSuppressed(e);
+            }
+          }
+        }
+        frame.pools.clear();
+        frame.current = 0;
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private static final class Pool
+  {
+    private final VulkanDescriptorPoolType pool;
+    private final int sets;
+    private final long[] descriptors;
+    private long allocated;
+
+    Pool(
+      final VulkanDescriptorPoolType in_pool,
+      final int in_sets,
+      final long[] in_descriptors)
+    {
+      this.pool = Objects.requireNonNull(in_pool, "pool");
+      this.sets = in_sets;
+      this.descriptors = Objects.requireNonNull(in_descriptors, "descriptors");
+      this.allocated = 0L;
+    }
+  }
+
+  private static final class Frame
+  {
+    private final List<Pool> pools;
+    private int current;
+
+    Frame()
+    {
+      this.pools = new ArrayList<>();
+      this.current = 0;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.descriptors;
+
+/**
+ * Statistics for a descriptor allocator.
+ *
+ * @param pools         The number of descriptor pools currently held
+ * @param setsAllocated The number of descriptor sets allocated since the
+ *                      pools were last reset
+ * @param setCapacity   The total number of descriptor sets that the pools
+ *                      can hold
+ * @param poolsCreated  The total number of pools ever created
+ * @param exhaustions   The number of times that an allocation failed because
+ *                      a pool was exhausted or fragmented, and allocation
+ *                      moved on to the next pool in the chain
+ * @param resets        The number of frame resets
+ */
+
+public record VulkanDescriptorAllocatorStatistics(
+  int pools,
+  long setsAllocated,
+  long setCapacity,
+  long poolsCreated,
+  long exhaustions,
+  long resets)
+{
+  /**
+   * @return The fraction of the pool set capacity that is in use, in the
+   * range {@code [0, 1]}
+   */
+
+  public double utilization()
+  {
+    if (this.setCapacity == 0L) {
+      return 0.0;
+    }
+    return (double) this.setsAllocated / (double) this.setCapacity;
+  }
+}
@@ -17,10 +17,9 @@
 package com.io7m.jcoronado.extensions.khr_swapchain.api;
 
 import com.io7m.jcoronado.api.VulkanAPIEnumType;
+import com.io7m.jcoronado.api.VulkanEnumIntegerMap;
 import com.io7m.jcoronado.api.VulkanEnumIntegerType;
-import com.io7m.jcoronado.api.VulkanEnumMaps;
 
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -36,8 +35,8 @@ public enum VulkanColorSpaceKHR implements VulkanEnumIntegerType
 
   VK_COLOR_SPACE_SRGB_NONLINEAR_KHR(0);
 
-  private static final Map<Integer, VulkanColorSpaceKHR> VALUES =
-    VulkanEnumMaps.map(VulkanColorSpaceKHR.values());
+  private static final VulkanEnumIntegerMap<VulkanColorSpaceKHR> VALUES =
+    VulkanEnumIntegerMap.of(VulkanColorSpaceKHR.values());
 
   private final int value;
 
@@ -56,7 +55,7 @@ public enum VulkanColorSpaceKHR implements VulkanEnumIntegerType
   public static Optional<VulkanColorSpaceKHR> fromInteger(
     final int v)
   {
-    return Optional.ofNullable(VALUES.get(Integer.valueOf(v)));
+    return VALUES.get(v);
   }
 
   @Override
@@ -17,10 +17,10 @@
 package com.io7m.jcoronado.extensions.khr_swapchain.api;
 
 import com.io7m.jcoronado.api.VulkanAPIEnumType;
+import com.io7m.jcoronado.api.VulkanEnumIntegerMap;
 import com.io7m.jcoronado.api.VulkanEnumIntegerType;
 
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * @see "VkPresentModeKHR"
@@ -73,6 +73,9 @@ public enum VulkanPresentModeKHR implements VulkanEnumIntegerType
 
   VK_PRESENT_MODE_FIFO_RELAXED_KHR(3);
 
+  private static final VulkanEnumIntegerMap<VulkanPresentModeKHR> VALUES =
+    VulkanEnumIntegerMap.of(VulkanPresentModeKHR.values());
+
   private final int value;
 
   VulkanPresentModeKHR(
@@ -90,9 +93,7 @@ public enum VulkanPresentModeKHR implements VulkanEnumIntegerType
   public static Optional<VulkanPresentModeKHR> ofInteger(
     final int x)
   {
-    return Stream.of(VulkanPresentModeKHR.values())
-      .filter(mode -> mode.value == x)
-      .findFirst();
+    return VALUES.get(x);
   }
 
   @Override
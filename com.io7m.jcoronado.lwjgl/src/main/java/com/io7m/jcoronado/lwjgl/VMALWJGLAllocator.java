@@ -19,31 +19,60 @@ package com.io7m.jcoronado.lwjgl;
 import com.io7m.jcoronado.api.VulkanBufferCreateInfo;
 import com.io7m.jcoronado.api.VulkanBufferType;
 import com.io7m.jcoronado.api.VulkanChecks;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
 import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
 import com.io7m.jcoronado.api.VulkanEnumMaps;
 import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFlagSet;
 import com.io7m.jcoronado.api.VulkanImageCreateInfo;
 import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
 import com.io7m.jcoronado.vma.VMAAllocationCreateInfo;
 import com.io7m.jcoronado.vma.VMAAllocationInfo;
 import com.io7m.jcoronado.vma.VMAAllocationInfoType;
 import com.io7m.jcoronado.vma.VMAAllocationResult;
 import com.io7m.jcoronado.vma.VMAAllocationType;
 import com.io7m.jcoronado.vma.VMAAllocatorType;
+import com.io7m.jcoronado.vma.VMABudget;
+import com.io7m.jcoronado.vma.VMADefragmentationInfo;
+import com.io7m.jcoronado.vma.VMADefragmentationRelocationCallbackType;
+import com.io7m.jcoronado.vma.VMADefragmentationStatistics;
+import com.io7m.jcoronado.vma.VMADefragmentationType;
 import com.io7m.jcoronado.vma.VMAMappedMemoryType;
+import com.io7m.jcoronado.vma.VMAPoolCreateInfo;
+import com.io7m.jcoronado.vma.VMAPoolStatistics;
+import com.io7m.jcoronado.vma.VMAPoolType;
+import com.io7m.jcoronado.vma.VMAStatistics;
+import com.io7m.junreachable.UnreachableCodeException;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
 import org.lwjgl.util.vma.Vma;
 import org.lwjgl.util.vma.VmaAllocationCreateInfo;
 import org.lwjgl.util.vma.VmaAllocationInfo;
+import org.lwjgl.util.vma.VmaBudget;
+import org.lwjgl.util.vma.VmaDefragmentationInfo2;
+import org.lwjgl.util.vma.VmaDefragmentationPassInfo;
+import org.lwjgl.util.vma.VmaDefragmentationPassMoveInfo;
+import org.lwjgl.util.vma.VmaDefragmentationStats;
+import org.lwjgl.util.vma.VmaPoolStats;
+import org.lwjgl.util.vma.VmaStats;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VkPhysicalDeviceMemoryProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLHandle.Ownership.USER_OWNED;
 
 /**
@@ -57,7 +86,6 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
 
   private final VulkanLWJGLLogicalDevice device;
   private final long allocator_address;
-  private final MemoryStack stack_initial;
   private final VulkanLWJGLHostAllocatorProxy host_allocator_proxy;
 
   VMALWJGLAllocator(
@@ -75,7 +103,6 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
         "in_host_allocator_proxy");
 
     this.allocator_address = in_allocator_address;
-    this.stack_initial = MemoryStack.create();
   }
 
   @Override
@@ -133,18 +160,14 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     Objects.requireNonNull(alloc_create_info, "alloc_create_info");
     Objects.requireNonNull(buffer_create_info, "buffer_create_info");
 
-    try (var stack = this.stack_initial.push()) {
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_buffer_create_info =
         VulkanLWJGLBufferCreateInfos.packInfo(stack, buffer_create_info);
 
       final var vk_alloc_create_info =
-        VmaAllocationCreateInfo.malloc(stack)
-          .flags(VulkanEnumMaps.packValues(alloc_create_info.flags()))
-          .memoryTypeBits((int) alloc_create_info.memoryTypeBits())
-          .preferredFlags(VulkanEnumMaps.packValues(alloc_create_info.preferredFlags()))
-          .requiredFlags(VulkanEnumMaps.packValues(alloc_create_info.requiredFlags()))
-          .pUserData(0L)
-          .pool(0L);
+        packAllocationCreateInfo(stack, alloc_create_info);
 
       final var vk_allocation =
         stack.mallocPointer(1);
@@ -163,46 +186,19 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
           vk_allocation_info),
         "vmaCreateBuffer");
 
-      final Optional<VulkanDeviceMemoryType> device_memory;
-      final var vk_device_memory = vk_allocation_info.deviceMemory();
-      if (vk_device_memory != 0L) {
-        device_memory =
-          Optional.of(new VulkanLWJGLDeviceMemory(
-            USER_OWNED,
-            this.device.device(),
-            vk_device_memory,
-            this.host_allocator_proxy));
-      } else {
-        device_memory = Optional.empty();
-      }
-
       final var info =
-        VMAAllocationInfo.builder()
-          .setDeviceMemory(device_memory)
-          .setMemoryType(vk_allocation_info.memoryType())
-          .setOffset(vk_allocation_info.offset())
-          .setSize(vk_allocation_info.size())
-          .build();
-
-      final var vk_buffer_handle = vk_buffer.get(0);
-      final var vk_allocation_handle = vk_allocation.get(0);
-
-      final var buffer =
-        new VulkanLWJGLBuffer(
-          USER_OWNED,
-          this.device.device(),
-          vk_buffer_handle,
-          () -> this.destroyVmaBuffer(vk_buffer_handle, vk_allocation_handle),
-          this.host_allocator_proxy);
+        this.unpackAllocationInfo(vk_allocation_info);
 
       final var allocation =
-        new VMALWJGLAllocation<>(
+        new VMALWJGLAllocation(
           this,
-          vk_allocation_handle,
-          buffer,
+          vk_allocation.get(0),
           info,
-          AllocatedItemKind.BUFFER);
+          AllocatedItemKind.BUFFER,
+          buffer_create_info);
 
+      final var buffer = allocation.wrapBuffer(vk_buffer.get(0));
+      allocation.setItem(buffer, buffer.handle());
       return VMAAllocationResult.of(allocation, buffer);
     }
   }
@@ -216,18 +212,14 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     Objects.requireNonNull(alloc_create_info, "alloc_create_info");
     Objects.requireNonNull(image_create_info, "image_create_info");
 
-    try (var stack = this.stack_initial.push()) {
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_image_create_info =
         VulkanLWJGLImageCreateInfos.pack(stack, image_create_info);
 
       final var vk_alloc_create_info =
-        VmaAllocationCreateInfo.malloc(stack)
-          .flags(VulkanEnumMaps.packValues(alloc_create_info.flags()))
-          .memoryTypeBits((int) alloc_create_info.memoryTypeBits())
-          .preferredFlags(VulkanEnumMaps.packValues(alloc_create_info.preferredFlags()))
-          .requiredFlags(VulkanEnumMaps.packValues(alloc_create_info.requiredFlags()))
-          .pUserData(0L)
-          .pool(0L);
+        packAllocationCreateInfo(stack, alloc_create_info);
 
       final var vk_allocation =
         stack.mallocPointer(1);
@@ -246,135 +238,367 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
           vk_allocation_info),
         "vmaCreateImage");
 
-      final Optional<VulkanDeviceMemoryType> device_memory;
-      final var vk_device_memory = vk_allocation_info.deviceMemory();
-      if (vk_device_memory != 0L) {
-        device_memory =
-          Optional.of(new VulkanLWJGLDeviceMemory(
-            USER_OWNED,
-            this.device.device(),
-            vk_device_memory,
-            this.host_allocator_proxy));
-      } else {
-        device_memory = Optional.empty();
-      }
-
       final var info =
-        VMAAllocationInfo.builder()
-          .setDeviceMemory(device_memory)
-          .setMemoryType(vk_allocation_info.memoryType())
-          .setOffset(vk_allocation_info.offset())
-          .setSize(vk_allocation_info.size())
-          .build();
-
-      final var vk_buffer_handle = vk_image.get(0);
-      final var vk_allocation_handle = vk_allocation.get(0);
-
-      final var buffer =
-        new VulkanLWJGLImage(
-          USER_OWNED,
-          this.device.device(),
-          vk_buffer_handle,
-          () -> this.destroyVmaImage(vk_buffer_handle, vk_allocation_handle),
-          this.host_allocator_proxy);
+        this.unpackAllocationInfo(vk_allocation_info);
 
       final var allocation =
-        new VMALWJGLAllocation<>(
+        new VMALWJGLAllocation(
           this,
-          vk_allocation_handle,
-          buffer,
+          vk_allocation.get(0),
           info,
-          AllocatedItemKind.IMAGE);
+          AllocatedItemKind.IMAGE,
+          image_create_info);
 
-      return VMAAllocationResult.of(allocation, buffer);
+      final var image = allocation.wrapImage(vk_image.get(0));
+      allocation.setItem(image, image.handle());
+      return VMAAllocationResult.of(allocation, image);
     }
   }
 
-  private void destroyVmaBuffer(
-    final long vk_buffer_handle,
-    final long vk_allocation_handle)
+  private static VmaAllocationCreateInfo packAllocationCreateInfo(
+    final MemoryStack stack,
+    final VMAAllocationCreateInfo alloc_create_info)
+    throws VulkanException
   {
-    if (LOG.isTraceEnabled()) {
-      LOG.trace(
-        "Vma.vmaDestroyBuffer: 0x{} 0x{} 0x{}",
-        Long.toUnsignedString(this.allocator_address, 16),
-        Long.toUnsignedString(vk_buffer_handle, 16),
-        Long.toUnsignedString(vk_allocation_handle, 16));
-    }
-    Vma.vmaDestroyBuffer(
-      this.allocator_address,
-      vk_buffer_handle,
-      vk_allocation_handle);
+    final long pool;
+    final var pool_opt = alloc_create_info.pool();
+    if (pool_opt.isPresent()) {
+      pool = checkInstanceOf(pool_opt.get(), VMALWJGLPool.class).pool;
+    } else {
+      pool = 0L;
+    }
+
+    return VmaAllocationCreateInfo.calloc(stack)
+      .flags(VulkanEnumMaps.packValues(alloc_create_info.flags()))
+      .usage(alloc_create_info.usage().value())
+      .memoryTypeBits((int) alloc_create_info.memoryTypeBits())
+      .preferredFlags(VulkanEnumMaps.packValues(alloc_create_info.preferredFlags()))
+      .requiredFlags(VulkanEnumMaps.packValues(alloc_create_info.requiredFlags()))
+      .pUserData(0L)
+      .pool(pool);
   }
 
-  private void destroyVmaImage(
-    final long vk_image_handle,
-    final long vk_allocation_handle)
+  @Override
+  public VMAPoolType createPool(
+    final VMAPoolCreateInfo create_info)
+    throws VulkanException
   {
-    if (LOG.isTraceEnabled()) {
-      LOG.trace(
-        "Vma.vmaDestroyImage: 0x{} 0x{} 0x{}",
-        Long.toUnsignedString(this.allocator_address, 16),
-        Long.toUnsignedString(vk_image_handle, 16),
-        Long.toUnsignedString(vk_allocation_handle, 16));
-    }
-    Vma.vmaDestroyImage(
-      this.allocator_address,
-      vk_image_handle,
-      vk_allocation_handle);
+    Objects.requireNonNull(create_info, "create_info");
+
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var vk_create_info =
+        VMALWJGLPoolCreateInfos.pack(stack, create_info);
+
+      final var vk_pool = stack.mallocPointer(1);
+      VulkanChecks.checkReturnCode(
+        Vma.vmaCreatePool(this.allocator_address, vk_create_info, vk_pool),
+        "vmaCreatePool");
+
+      final var pool_handle = vk_pool.get(0);
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(
+          "created VMA pool: 0x{}",
+          Long.toUnsignedString(pool_handle, 16));
+      }
+
+      return new VMALWJGLPool(this, pool_handle, create_info);
+    }
   }
 
   @Override
-  public VMAMappedMemoryType mapMemory(
-    final VMAAllocationType allocation)
+  public VulkanMemoryTypeIndex findMemoryTypeIndexForBuffer(
+    final VMAAllocationCreateInfo alloc_create_info,
+    final VulkanBufferCreateInfo buffer_create_info)
     throws VulkanException
   {
-    Objects.requireNonNull(allocation, "allocation");
+    Objects.requireNonNull(alloc_create_info, "alloc_create_info");
+    Objects.requireNonNull(buffer_create_info, "buffer_create_info");
 
-    final VMALWJGLAllocation<?> lwjgl_allocation =
-      VulkanLWJGLClassChecks.checkInstanceOf(
-        allocation,
-        VMALWJGLAllocation.class);
+    this.checkNotClosed();
 
-    try (var stack = this.stack_initial.push()) {
-      final var ptr = stack.mallocPointer(1);
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var index = stack.mallocInt(1);
+      VulkanChecks.checkReturnCode(
+        Vma.vmaFindMemoryTypeIndexForBufferInfo(
+          this.allocator_address,
+          VulkanLWJGLBufferCreateInfos.packInfo(stack, buffer_create_info),
+          packAllocationCreateInfo(stack, alloc_create_info),
+          index),
+        "vmaFindMemoryTypeIndexForBufferInfo");
+      return new VulkanMemoryTypeIndex(index.get(0));
+    }
+  }
+
+  @Override
+  public VulkanMemoryTypeIndex findMemoryTypeIndexForImage(
+    final VMAAllocationCreateInfo alloc_create_info,
+    final VulkanImageCreateInfo image_create_info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(alloc_create_info, "alloc_create_info");
+    Objects.requireNonNull(image_create_info, "image_create_info");
+
+    this.checkNotClosed();
 
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var index = stack.mallocInt(1);
       VulkanChecks.checkReturnCode(
-        Vma.vmaMapMemory(
+        Vma.vmaFindMemoryTypeIndexForImageInfo(
           this.allocator_address,
-          lwjgl_allocation.allocation,
-          ptr),
-        "vmaMapMemory");
+          VulkanLWJGLImageCreateInfos.pack(stack, image_create_info),
+          packAllocationCreateInfo(stack, alloc_create_info),
+          index),
+        "vmaFindMemoryTypeIndexForImageInfo");
+      return new VulkanMemoryTypeIndex(index.get(0));
+    }
+  }
 
-      return new VMALWJGLMappedMemory(
-        this, lwjgl_allocation, ptr.get(0), allocation.info().size());
+  @Override
+  public void setCurrentFrameIndex(
+    final int frame_index)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    Vma.vmaSetCurrentFrameIndex(this.allocator_address, frame_index);
+  }
+
+  @Override
+  public List<VMABudget> heapBudgets()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var heap_count = this.memoryHeapCount(stack);
+      final var vk_budgets =
+        VmaBudget.calloc(VK10.VK_MAX_MEMORY_HEAPS, stack);
+
+      Vma.vmaGetBudget(this.allocator_address, vk_budgets);
+
+      final var budgets = new ArrayList<VMABudget>(heap_count);
+      for (var index = 0; index < heap_count; ++index) {
+        budgets.add(VMALWJGLStatistics.unpackBudget(index, vk_budgets.get(index)));
+      }
+      return List.copyOf(budgets);
     }
   }
 
-  private void destroyImage(
-    final VMALWJGLAllocation<VulkanLWJGLImage> allocation)
+  @Override
+  public VMAStatistics statistics()
+    throws VulkanException
   {
-    final var image_handle = allocation.item.handle();
-    final var alloc_handle = allocation.allocation;
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var vk_properties =
+        VkPhysicalDeviceMemoryProperties.create(
+          this.memoryPropertiesAddress(stack));
+      final var vk_stats = VmaStats.calloc(stack);
+      Vma.vmaCalculateStats(this.allocator_address, vk_stats);
+      return VMALWJGLStatistics.unpackStatistics(
+        vk_properties.memoryTypeCount(),
+        vk_properties.memoryHeapCount(),
+        vk_stats);
+    }
+  }
 
-    if (LOG.isTraceEnabled()) {
-      LOG.trace("destroying image and allocation: {}", this);
+  @Override
+  public VMADefragmentationType beginDefragmentation(
+    final VMADefragmentationInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(info, "info");
+
+    this.checkNotClosed();
+
+    final var source_allocations = info.allocations();
+    final var allocations =
+      new HashMap<Long, VMALWJGLAllocation>(source_allocations.size());
+
+    for (final var allocation : source_allocations) {
+      final var lwjgl_allocation =
+        checkInstanceOf(allocation, VMALWJGLAllocation.class);
+      if (lwjgl_allocation.isClosed()) {
+        throw new VulkanDestroyedException(
+          "Allocation has been closed/destroyed.");
+      }
+      allocations.put(
+        Long.valueOf(lwjgl_allocation.allocation),
+        lwjgl_allocation);
+    }
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var vk_allocations =
+        stack.mallocPointer(allocations.size());
+      for (final var allocation : allocations.keySet()) {
+        vk_allocations.put(allocation.longValue());
+      }
+      vk_allocations.flip();
+
+      /*
+       * All moves are performed by the GPU using commands recorded by the
+       * caller, so the CPU limits are zero.
+       */
+
+      final var vk_info =
+        VmaDefragmentationInfo2.calloc(stack)
+          .flags(Vma.VMA_DEFRAGMENTATION_FLAG_INCREMENTAL)
+          .allocationCount(allocations.size())
+          .pAllocations(vk_allocations)
+          .maxCpuBytesToMove(0L)
+          .maxCpuAllocationsToMove(0)
+          .maxGpuBytesToMove(info.maxBytesToMove())
+          .maxGpuAllocationsToMove(info.maxAllocationsToMove());
+
+      final var vk_context = stack.mallocPointer(1);
+      final var vk_stats = VmaDefragmentationStats.calloc();
+      final var result =
+        Vma.vmaDefragmentationBegin(
+          this.allocator_address,
+          vk_info,
+          vk_stats,
+          vk_context);
+
+      if (result != VK10.VK_SUCCESS && result != VK10.VK_NOT_READY) {
+        vk_stats.free();
+        throw VulkanChecks.failed(result, "vmaDefragmentationBegin");
+      }
+
+      final var defragmentation =
+        new VMALWJGLDefragmentation(
+          this,
+          vk_context.get(0),
+          info.maxAllocationsPerPass(),
+          allocations,
+          vk_stats,
+          result == VK10.VK_SUCCESS);
+
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("began defragmentation: {}", defragmentation);
+      }
+      return defragmentation;
+    }
+  }
+
+  private VMAAllocationInfo allocationInfo(
+    final VMALWJGLAllocation allocation)
+  {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var vk_allocation_info = VmaAllocationInfo.malloc(stack);
+      Vma.vmaGetAllocationInfo(
+        this.allocator_address,
+        allocation.allocation,
+        vk_allocation_info);
+      return this.unpackAllocationInfo(vk_allocation_info);
     }
+  }
 
-    Vma.vmaDestroyImage(this.allocator_address, image_handle, alloc_handle);
+  private long memoryPropertiesAddress(
+    final MemoryStack stack)
+  {
+    final var ptr = stack.mallocPointer(1);
+    Vma.vmaGetMemoryProperties(this.allocator_address, ptr);
+    return ptr.get(0);
   }
 
-  private void destroyBuffer(
-    final VMALWJGLAllocation<VulkanLWJGLBuffer> allocation)
+  private int memoryHeapCount(
+    final MemoryStack stack)
   {
-    final var buffer_handle = allocation.item.handle();
-    final var alloc_handle = allocation.allocation;
+    return VkPhysicalDeviceMemoryProperties.create(
+      this.memoryPropertiesAddress(stack))
+      .memoryHeapCount();
+  }
 
+  private VMAPoolStatistics poolStatistics(
+    final VMALWJGLPool pool)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var vk_stats = VmaPoolStats.calloc(stack);
+      Vma.vmaGetPoolStats(this.allocator_address, pool.pool, vk_stats);
+      return VMALWJGLStatistics.unpackPoolStatistics(vk_stats);
+    }
+  }
+
+  private void destroyPool(
+    final VMALWJGLPool pool)
+  {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("destroying buffer and allocation: {}", this);
+      LOG.trace("destroying VMA pool: {}", pool);
     }
+    Vma.vmaDestroyPool(this.allocator_address, pool.pool);
+  }
 
-    Vma.vmaDestroyBuffer(this.allocator_address, buffer_handle, alloc_handle);
+  private Set<VulkanMemoryPropertyFlag> memoryTypeProperties(
+    final int memory_type)
+  {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var flags = stack.mallocInt(1);
+      Vma.vmaGetMemoryTypeProperties(this.allocator_address, memory_type, flags);
+      return VulkanEnumMaps.unpackValues(
+        VulkanMemoryPropertyFlag.class,
+        VulkanMemoryPropertyFlag::values,
+        flags.get(0));
+    }
+  }
+
+  private VMAAllocationInfo unpackAllocationInfo(
+    final VmaAllocationInfo vk_allocation_info)
+  {
+    final Optional<VulkanDeviceMemoryType> device_memory;
+    final var vk_device_memory = vk_allocation_info.deviceMemory();
+    if (vk_device_memory != 0L) {
+      device_memory =
+        Optional.of(new VulkanLWJGLDeviceMemory(
+          USER_OWNED,
+          this.device.device(),
+          vk_device_memory,
+          this.memoryTypeProperties(vk_allocation_info.memoryType()),
+          this.host_allocator_proxy));
+    } else {
+      device_memory = Optional.empty();
+    }
+
+    return VMAAllocationInfo.builder()
+      .setDeviceMemory(device_memory)
+      .setMemoryType(vk_allocation_info.memoryType())
+      .setOffset(vk_allocation_info.offset())
+      .setSize(vk_allocation_info.size())
+      .build();
+  }
+
+  @Override
+  public VMAMappedMemoryType mapMemory(
+    final VMAAllocationType allocation)
+    throws VulkanException
+  {
+    Objects.requireNonNull(allocation, "allocation");
+
+    final var lwjgl_allocation =
+      checkInstanceOf(allocation, VMALWJGLAllocation.class);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var ptr = stack.mallocPointer(1);
+
+      VulkanChecks.checkReturnCode(
+        Vma.vmaMapMemory(
+          this.allocator_address,
+          lwjgl_allocation.allocation,
+          ptr),
+        "vmaMapMemory");
+
+      return new VMALWJGLMappedMemory(
+        this,
+        lwjgl_allocation,
+        this.memoryTypeProperties((int) allocation.info().memoryType()),
+        ptr.get(0),
+        allocation.info().size());
+    }
   }
 
   private enum AllocatedItemKind
@@ -383,35 +607,211 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     IMAGE
   }
 
-  private static final class VMALWJGLAllocation<T> implements VMAAllocationType
+  /**
+   * An allocation, and the buffer or image bound to it. The bound item can
+   * be replaced when the allocation is moved by defragmentation. Destroying
+   * the current item frees the allocation; destroying an item that has been
+   * replaced destroys only that item.
+   */
+
+  private static final class VMALWJGLAllocation implements VMAAllocationType
   {
-    private final VMAAllocationInfo info;
-    private final AllocatedItemKind deallocation;
-    private final long allocation;
     private final VMALWJGLAllocator allocator;
-    private final T item;
+    private final long allocation;
+    private final AllocatedItemKind kind;
+    private final Object create_info;
+    private VMAAllocationInfo info;
+    private VulkanLWJGLHandle item;
+    private long item_handle;
     private boolean closed;
 
     private VMALWJGLAllocation(
       final VMALWJGLAllocator in_allocator,
       final long in_allocation,
-      final T in_item,
       final VMAAllocationInfo in_info,
-      final AllocatedItemKind in_deallocation)
+      final AllocatedItemKind in_kind,
+      final Object in_create_info)
     {
       this.allocator =
         Objects.requireNonNull(in_allocator, "in_allocator");
       this.info =
         Objects.requireNonNull(in_info, "info");
-      this.item =
-        Objects.requireNonNull(in_item, "item");
-      this.deallocation =
-        Objects.requireNonNull(in_deallocation, "in_deallocation");
+      this.kind =
+        Objects.requireNonNull(in_kind, "in_kind");
+      this.create_info =
+        Objects.requireNonNull(in_create_info, "in_create_info");
 
       this.allocation = in_allocation;
       this.closed = false;
     }
 
+    private VulkanLWJGLBuffer wrapBuffer(
+      final long handle)
+    {
+      return new VulkanLWJGLBuffer(
+        USER_OWNED,
+        this.allocator.device.device(),
+        handle,
+        () -> this.destroyItem(handle),
+        this.allocator.host_allocator_proxy);
+    }
+
+    private VulkanLWJGLImage wrapImage(
+      final long handle)
+    {
+      return new VulkanLWJGLImage(
+        USER_OWNED,
+        this.allocator.device.device(),
+        handle,
+        () -> this.destroyItem(handle),
+        this.allocator.host_allocator_proxy);
+    }
+
+    private void setItem(
+      final VulkanLWJGLHandle in_item,
+      final long in_item_handle)
+    {
+      this.item = Objects.requireNonNull(in_item, "item");
+      this.item_handle = in_item_handle;
+    }
+
+    /**
+     * Create a new item with the same parameters as the current item, and
+     * bind it to the given memory. The new item becomes the current item
+     * when {@link #relocate(VulkanLWJGLHandle, long)} is called.
+     */
+
+    private VMALWJGLRelocation createRelocatedItem(
+      final long memory,
+      final long offset)
+      throws VulkanException
+    {
+      final var vk_device = this.allocator.device.device();
+      final var callbacks = this.allocator.host_allocator_proxy.callbackBuffer();
+      final var handles = new long[1];
+
+      try (var stack = VulkanLWJGLPackingArenas.push()) {
+        switch (this.kind) {
+          case BUFFER: {
+            VulkanChecks.checkReturnCode(
+              VK10.vkCreateBuffer(
+                vk_device,
+                VulkanLWJGLBufferCreateInfos.packInfo(
+                  stack,
+                  (VulkanBufferCreateInfo) this.create_info),
+                callbacks,
+                handles),
+              "vkCreateBuffer");
+
+            final var buffer = this.wrapBuffer(handles[0]);
+            final var result =
+              VK10.vkBindBufferMemory(vk_device, handles[0], memory, offset);
+            if (result != VK10.VK_SUCCESS) {
+              buffer.close();
+              throw VulkanChecks.failed(result, "vkBindBufferMemory");
+            }
+            return new VMALWJGLRelocation(this, buffer, handles[0]);
+          }
+          case IMAGE: {
+            VulkanChecks.checkReturnCode(
+              VK10.vkCreateImage(
+                vk_device,
+                VulkanLWJGLImageCreateInfos.pack(
+                  stack,
+                  (VulkanImageCreateInfo) this.create_info),
+                callbacks,
+                handles),
+              "vkCreateImage");
+
+            final var image = this.wrapImage(handles[0]);
+            final var result =
+              VK10.vkBindImageMemory(vk_device, handles[0], memory, offset);
+            if (result != VK10.VK_SUCCESS) {
+              image.close();
+              throw VulkanChecks.failed(result, "vkBindImageMemory");
+            }
+            return new VMALWJGLRelocation(this, image, handles[0]);
+          }
+        }
+      }
+
+      throw new UnreachableCodeException();
+    }
+
+    /**
+     * Make the given item the current item, and destroy the previous item.
+     */
+
+    private void relocate(
+      final VulkanLWJGLHandle new_item,
+      final long new_item_handle)
+    {
+      if (this.closed) {
+        new_item.close();
+        return;
+      }
+
+      final var old_item = this.item;
+      this.setItem(new_item, new_item_handle);
+      old_item.close();
+    }
+
+    private void destroyItem(
+      final long handle)
+    {
+      final var allocator_address = this.allocator.allocator_address;
+
+      if (handle == this.item_handle) {
+        if (this.closed) {
+          return;
+        }
+
+        if (LOG.isTraceEnabled()) {
+          LOG.trace(
+            "destroying {} and allocation: 0x{} 0x{}",
+            this.kind,
+            Long.toUnsignedString(handle, 16),
+            Long.toUnsignedString(this.allocation, 16));
+        }
+
+        try {
+          switch (this.kind) {
+            case BUFFER: {
+              Vma.vmaDestroyBuffer(allocator_address, handle, this.allocation);
+              break;
+            }
+            case IMAGE: {
+              Vma.vmaDestroyImage(allocator_address, handle, this.allocation);
+              break;
+            }
+          }
+        } finally {
+          this.closed = true;
+        }
+        return;
+      }
+
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(
+          "destroying relocated {}: 0x{}",
+          this.kind,
+          Long.toUnsignedString(handle, 16));
+      }
+
+      final var vk_device = this.allocator.device.device();
+      final var callbacks = this.allocator.host_allocator_proxy.callbackBuffer();
+      switch (this.kind) {
+        case BUFFER: {
+          VK10.vkDestroyBuffer(vk_device, handle, callbacks);
+          break;
+        }
+        case IMAGE: {
+          VK10.vkDestroyImage(vk_device, handle, callbacks);
+          break;
+        }
+      }
+    }
+
     @Override
     public boolean equals(final Object o)
     {
@@ -421,17 +821,14 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
       if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
         return false;
       }
-      final var that = (VMALWJGLAllocation<?>) o;
-      return Objects.equals(this.info.deviceMemory(), that.info.deviceMemory())
-        && (this.info.offset() == that.info.offset());
+      final var that = (VMALWJGLAllocation) o;
+      return this.allocation == that.allocation;
     }
 
     @Override
     public int hashCode()
     {
-      return Objects.hash(
-        this.info.deviceMemory(),
-        Long.valueOf(this.info.offset()));
+      return Long.hashCode(this.allocation);
     }
 
     @Override
@@ -457,21 +854,11 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void close()
     {
       if (!this.closed) {
         try {
-          switch (this.deallocation) {
-            case BUFFER: {
-              this.allocator.destroyBuffer((VMALWJGLAllocation<VulkanLWJGLBuffer>) this);
-              break;
-            }
-            case IMAGE: {
-              this.allocator.destroyImage((VMALWJGLAllocation<VulkanLWJGLImage>) this);
-              break;
-            }
-          }
+          this.item.close();
         } finally {
           this.closed = true;
         }
@@ -485,18 +872,455 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     }
   }
 
+  private static final class VMALWJGLPool
+    extends VulkanLWJGLHandle implements VMAPoolType
+  {
+    private final VMALWJGLAllocator allocator;
+    private final long pool;
+    private final VMAPoolCreateInfo info;
+
+    VMALWJGLPool(
+      final VMALWJGLAllocator in_allocator,
+      final long in_pool,
+      final VMAPoolCreateInfo in_info)
+    {
+      super(USER_OWNED, in_allocator.host_allocator_proxy);
+
+      this.allocator = Objects.requireNonNull(in_allocator, "allocator");
+      this.info = Objects.requireNonNull(in_info, "info");
+      this.pool = in_pool;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+        return false;
+      }
+      final var that = (VMALWJGLPool) o;
+      return this.pool == that.pool;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Long.hashCode(this.pool);
+    }
+
+    @Override
+    public String toString()
+    {
+      return new StringBuilder(32)
+        .append("[VMALWJGLPool 0x")
+        .append(Long.toUnsignedString(this.pool, 16))
+        .append(']')
+        .toString();
+    }
+
+    @Override
+    public VMAPoolCreateInfo info()
+    {
+      return this.info;
+    }
+
+    @Override
+    public VMAPoolStatistics statistics()
+      throws VulkanException
+    {
+      this.checkNotClosed();
+      return this.allocator.poolStatistics(this);
+    }
+
+    @Override
+    protected Logger logger()
+    {
+      return LOG;
+    }
+
+    @Override
+    protected void closeActual()
+    {
+      this.allocator.destroyPool(this);
+    }
+  }
+
+  private static final class VMALWJGLDefragmentation
+    extends VulkanLWJGLHandle implements VMADefragmentationType
+  {
+    private final VMALWJGLAllocator allocator;
+    private final long context;
+    private final Map<Long, VMALWJGLAllocation> allocations;
+    private final List<VMALWJGLRelocation> relocations;
+    private final VmaDefragmentationStats stats;
+    private final VmaDefragmentationPassInfo pass;
+    private final VmaDefragmentationPassMoveInfo.Buffer moves;
+    private boolean complete;
+    private boolean in_pass;
+    private long bytes_abandoned;
+    private long allocations_abandoned;
+    private VMADefragmentationStatistics statistics;
+
+    VMALWJGLDefragmentation(
+      final VMALWJGLAllocator in_allocator,
+      final long in_context,
+      final int in_moves_per_pass,
+      final Map<Long, VMALWJGLAllocation> in_allocations,
+      final VmaDefragmentationStats in_stats,
+      final boolean in_complete)
+    {
+      super(USER_OWNED, in_allocator.host_allocator_proxy);
+
+      this.allocator =
+        Objects.requireNonNull(in_allocator, "allocator");
+      this.allocations =
+        Objects.requireNonNull(in_allocations, "allocations");
+      this.stats =
+        Objects.requireNonNull(in_stats, "stats");
+
+      this.context = in_context;
+      this.complete = in_complete;
+      this.in_pass = false;
+      this.relocations = new ArrayList<>(in_moves_per_pass);
+      this.pass = VmaDefragmentationPassInfo.calloc();
+      this.moves =
+        VmaDefragmentationPassMoveInfo.create(
+          MemoryUtil.nmemCallocChecked(
+            Integer.toUnsignedLong(in_moves_per_pass),
+            VmaDefragmentationPassMoveInfo.SIZEOF),
+          in_moves_per_pass);
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+        return false;
+      }
+      final var that = (VMALWJGLDefragmentation) o;
+      return this.context == that.context;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Long.hashCode(this.context);
+    }
+
+    @Override
+    public String toString()
+    {
+      return new StringBuilder(32)
+        .append("[VMALWJGLDefragmentation 0x")
+        .append(Long.toUnsignedString(this.context, 16))
+        .append(']')
+        .toString();
+    }
+
+    @Override
+    public boolean isComplete()
+    {
+      return this.complete;
+    }
+
+    @Override
+    public int beginPass(
+      final VMADefragmentationRelocationCallbackType callback)
+      throws VulkanException
+    {
+      Objects.requireNonNull(callback, "callback");
+
+      this.checkNotClosed();
+      if (this.in_pass) {
+        throw new IllegalStateException("A pass is already in progress");
+      }
+      if (this.complete) {
+        return 0;
+      }
+
+      /*
+       * The pass info is both an input and an output: the move count is
+       * the capacity of the move array on input, and the number of moves
+       * on output.
+       */
+
+      final var pass_address = this.pass.address();
+      MemoryUtil.memPutInt(
+        pass_address + VmaDefragmentationPassInfo.MOVECOUNT,
+        this.moves.capacity());
+      MemoryUtil.memPutAddress(
+        pass_address + VmaDefragmentationPassInfo.PMOVES,
+        this.moves.address());
+
+      final var result =
+        Vma.vmaBeginDefragmentationPass(
+          this.allocator.allocator_address,
+          this.context,
+          this.pass);
+
+      if (result != VK10.VK_SUCCESS && result != VK10.VK_NOT_READY) {
+        throw VulkanChecks.failed(result, "vmaBeginDefragmentationPass");
+      }
+
+      this.in_pass = true;
+
+      /*
+       * The bundled VMA cannot be told to skip individual moves, so a
+       * failure part way through a pass abandons the pass: the items
+       * created so far are destroyed and the pass is never ended, so no
+       * allocation is moved. However, beginning the pass has already
+       * reserved the destination ranges in the blocks, and only ending the
+       * pass would release the source ranges instead. Ending the
+       * defragmentation does not roll the reservations back, so they leak
+       * until the pool or allocator is destroyed. The leaked sizes are
+       * recorded and reported in the statistics. No further passes are
+       * started.
+       */
+
+      final var move_count = this.pass.moveCount();
+      try {
+        VMALWJGLDefragmentationMoves.processMoves(
+          move_count,
+          new RelocationProcessor(callback),
+          this.relocations);
+      } catch (final VulkanException | RuntimeException e) {
+        this.abandonPass(move_count);
+        throw e;
+      }
+
+      return move_count;
+    }
+
+    private void abandonPass(
+      final int move_count)
+    {
+      for (var index = 0; index < move_count; ++index) {
+        final var move = this.moves.get(index);
+        final var allocation =
+          this.allocations.get(Long.valueOf(move.allocation()));
+
+        ++this.allocations_abandoned;
+        if (allocation != null) {
+          this.bytes_abandoned += allocation.info().size();
+        }
+      }
+
+      LOG.warn(
+        "abandoned defragmentation pass: {} moves reserving {} bytes",
+        Integer.valueOf(move_count),
+        Long.valueOf(this.bytes_abandoned));
+
+      this.in_pass = false;
+      this.complete = true;
+    }
+
+    private final class RelocationProcessor
+      implements VMALWJGLDefragmentationMoves.MoveProcessorType<VMALWJGLRelocation>
+    {
+      private final VMADefragmentationRelocationCallbackType callback;
+
+      RelocationProcessor(
+        final VMADefragmentationRelocationCallbackType in_callback)
+      {
+        this.callback = Objects.requireNonNull(in_callback, "callback");
+      }
+
+      @Override
+      public VMALWJGLRelocation create(
+        final int index)
+        throws VulkanException
+      {
+        final var move =
+          VMALWJGLDefragmentation.this.moves.get(index);
+        final var allocation =
+          VMALWJGLDefragmentation.this.allocations.get(
+            Long.valueOf(move.allocation()));
+
+        if (allocation == null) {
+          throw new IllegalStateException(String.format(
+            "Defragmentation moved an unknown allocation 0x%s",
+            Long.toUnsignedString(move.allocation(), 16)));
+        }
+
+        return allocation.createRelocatedItem(move.memory(), move.offset());
+      }
+
+      @Override
+      public void report(
+        final VMALWJGLRelocation relocation)
+        throws VulkanException
+      {
+        final var allocation = relocation.allocation();
+        final var target = relocation.target();
+
+        switch (allocation.kind) {
+          case BUFFER: {
+            this.callback.onBufferRelocated(
+              allocation,
+              (VulkanBufferType) allocation.item,
+              (VulkanBufferType) target);
+            break;
+          }
+          case IMAGE: {
+            this.callback.onImageRelocated(
+              allocation,
+              (VulkanImageType) allocation.item,
+              (VulkanImageType) target);
+            break;
+          }
+        }
+      }
+
+      @Override
+      public void discard(
+        final VMALWJGLRelocation relocation)
+      {
+        relocation.target().close();
+      }
+    }
+
+    @Override
+    public VMADefragmentationStatus endPass()
+      throws VulkanException
+    {
+      this.checkNotClosed();
+      if (!this.in_pass) {
+        throw new IllegalStateException("No pass is in progress");
+      }
+
+      /*
+       * The copies have completed, so the old items can be destroyed and
+       * replaced by the items bound to the new locations.
+       */
+
+      for (final var relocation : this.relocations) {
+        relocation.allocation().relocate(
+          relocation.target(),
+          relocation.targetHandle());
+      }
+
+      final var result =
+        Vma.vmaEndDefragmentationPass(
+          this.allocator.allocator_address,
+          this.context);
+
+      for (final var relocation : this.relocations) {
+        final var allocation = relocation.allocation();
+        if (!allocation.isClosed()) {
+          allocation.info = this.allocator.allocationInfo(allocation);
+        }
+      }
+
+      this.relocations.clear();
+      this.in_pass = false;
+
+      switch (result) {
+        case VK10.VK_SUCCESS: {
+          this.complete = true;
+          return VMADefragmentationStatus.VMA_DEFRAGMENTATION_COMPLETE;
+        }
+        case VK10.VK_NOT_READY: {
+          return VMADefragmentationStatus.VMA_DEFRAGMENTATION_INCOMPLETE;
+        }
+        default: {
+          throw VulkanChecks.failed(result, "vmaEndDefragmentationPass");
+        }
+      }
+    }
+
+    @Override
+    public VMADefragmentationStatistics end()
+      throws VulkanException
+    {
+      this.checkNotClosed();
+      if (this.in_pass) {
+        throw new IllegalStateException("A pass is still in progress");
+      }
+
+      try {
+        return this.finish();
+      } finally {
+        this.close();
+      }
+    }
+
+    private VMADefragmentationStatistics finish()
+      throws VulkanException
+    {
+      if (this.statistics == null) {
+        VulkanChecks.checkReturnCode(
+          Vma.vmaDefragmentationEnd(
+            this.allocator.allocator_address,
+            this.context),
+          "vmaDefragmentationEnd");
+
+        this.statistics =
+          VMALWJGLStatistics.unpackDefragmentationStatistics(this.stats)
+            .withBytesAbandoned(this.bytes_abandoned)
+            .withAllocationsAbandoned(this.allocations_abandoned);
+      }
+      return this.statistics;
+    }
+
+    @Override
+    protected Logger logger()
+    {
+      return LOG;
+    }
+
+    @Override
+    protected void closeActual()
+    {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("destroying defragmentation: {}", this);
+      }
+
+      try {
+        for (final var relocation : this.relocations) {
+          relocation.target().close();
+        }
+        this.relocations.clear();
+        this.finish();
+      } catch (final VulkanException e) {
+        LOG.error("failed to end defragmentation: ", e);
+      } finally {
+        MemoryUtil.nmemFree(this.moves.address());
+        this.pass.free();
+        this.stats.free();
+      }
+    }
+  }
+
+  private record VMALWJGLRelocation(
+    VMALWJGLAllocation allocation,
+    VulkanLWJGLHandle target,
+    long targetHandle)
+  {
+
+  }
+
   private static final class VMALWJGLMappedMemory
     extends VulkanLWJGLHandle implements VMAMappedMemoryType
   {
     private final long address;
     private final VMALWJGLAllocator allocator;
-    private final VMALWJGLAllocation<?> allocation;
+    private final VMALWJGLAllocation allocation;
+    private final VulkanLWJGLHostMemory region;
     private final ByteBuffer buffer;
+    private final Set<VulkanMemoryPropertyFlag> properties;
+    private final VulkanFlagSet<VulkanMemoryPropertyFlag> property_flags;
+    private final boolean coherent;
     private boolean mapped;
 
     VMALWJGLMappedMemory(
       final VMALWJGLAllocator in_allocator,
-      final VMALWJGLAllocation<?> in_allocation,
+      final VMALWJGLAllocation in_allocation,
+      final Set<VulkanMemoryPropertyFlag> in_properties,
       final long in_address,
       final long in_size)
     {
@@ -504,12 +1328,16 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
 
       this.allocator = Objects.requireNonNull(in_allocator, "allocator");
       this.allocation = Objects.requireNonNull(in_allocation, "allocation");
+      this.properties = Set.copyOf(in_properties);
+      this.property_flags =
+        VulkanFlagSet.ofAll(VulkanMemoryPropertyFlag.class, this.properties);
+      this.coherent = this.isHostCoherent();
 
       this.address = in_address;
       this.mapped = true;
-      this.buffer = MemoryUtil.memByteBuffer(
-        in_address,
-        Math.toIntExact(in_size));
+      this.region = new VulkanLWJGLHostMemory(in_address, in_size);
+      this.buffer =
+        in_size <= Integer.MAX_VALUE ? this.region.asByteBufferWhole() : null;
     }
 
     @Override
@@ -519,23 +1347,100 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     }
 
     @Override
-    public void flushRange(
-      final long offset,
-      final long size)
+    public Set<VulkanMemoryPropertyFlag> memoryProperties()
     {
-      if (this.mapped) {
+      return this.properties;
+    }
+
+    @Override
+    public VulkanFlagSet<VulkanMemoryPropertyFlag> memoryPropertyFlags()
+    {
+      return this.property_flags;
+    }
+
+    @Override
+    public void flushRanges(
+      final List<VulkanMappedMemoryRegion> regions)
+      throws VulkanException
+    {
+      this.applyRanges(regions, true);
+    }
+
+    @Override
+    public void flush()
+    {
+      if (this.mapped && !this.coherent) {
         Vma.vmaFlushAllocation(
           this.allocator.allocator_address,
           this.allocation.allocation,
-          offset,
-          size);
+          0L,
+          VK10.VK_WHOLE_SIZE);
       }
     }
 
     @Override
-    public void flush()
+    public void invalidateRanges(
+      final List<VulkanMappedMemoryRegion> regions)
+      throws VulkanException
+    {
+      this.applyRanges(regions, false);
+    }
+
+    @Override
+    public void invalidate()
     {
-      this.flushRange(0L, VK10.VK_WHOLE_SIZE);
+      if (this.mapped && !this.coherent) {
+        Vma.vmaInvalidateAllocation(
+          this.allocator.allocator_address,
+          this.allocation.allocation,
+          0L,
+          VK10.VK_WHOLE_SIZE);
+      }
+    }
+
+    /*
+     * VMA rounds each range to the non-coherent atom size itself, so the
+     * regions are passed through as-is after bounds checking.
+     */
+
+    private void applyRanges(
+      final List<VulkanMappedMemoryRegion> regions,
+      final boolean flush)
+      throws VulkanException
+    {
+      Objects.requireNonNull(regions, "regions");
+
+      if (!this.mapped || this.coherent || regions.isEmpty()) {
+        return;
+      }
+
+      try (var stack = VulkanLWJGLPackingArenas.push()) {
+        final var count = regions.size();
+        final var allocations = stack.mallocPointer(count);
+        final var offsets = stack.mallocLong(count);
+        final var sizes = stack.mallocLong(count);
+
+        for (int index = 0; index < count; ++index) {
+          final var region_now = regions.get(index);
+          Objects.checkFromIndexSize(
+            region_now.offset(), region_now.size(), this.region.size());
+          allocations.put(index, this.allocation.allocation);
+          offsets.put(index, region_now.offset());
+          sizes.put(index, region_now.size());
+        }
+
+        if (flush) {
+          VulkanChecks.checkReturnCode(
+            Vma.vmaFlushAllocations(
+              this.allocator.allocator_address, allocations, offsets, sizes),
+            "vmaFlushAllocations");
+        } else {
+          VulkanChecks.checkReturnCode(
+            Vma.vmaInvalidateAllocations(
+              this.allocator.allocator_address, allocations, offsets, sizes),
+            "vmaInvalidateAllocations");
+        }
+      }
     }
 
     @Override
@@ -557,6 +1462,7 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
           Vma.vmaUnmapMemory(this.allocator.allocator_address, this.address);
         } finally {
           this.mapped = false;
+          this.region.invalidate();
         }
       }
     }
@@ -564,7 +1470,25 @@ public final class VMALWJGLAllocator extends VulkanLWJGLHandle implements
     @Override
     public ByteBuffer asByteBuffer()
     {
+      if (this.buffer == null) {
+        return this.region.asByteBufferWhole();
+      }
       return this.buffer;
     }
+
+    @Override
+    public long size()
+    {
+      return this.region.size();
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer(
+      final long offset,
+      final int size)
+      throws VulkanException
+    {
+      return this.region.asByteBuffer(offset, size);
+    }
   }
 }
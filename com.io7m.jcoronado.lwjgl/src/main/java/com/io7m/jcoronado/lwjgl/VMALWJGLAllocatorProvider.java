@@ -21,7 +21,6 @@ import com.io7m.jcoronado.api.VulkanException;
 import com.io7m.jcoronado.vma.VMAAllocatorCreateInfo;
 import com.io7m.jcoronado.vma.VMAAllocatorProviderType;
 import com.io7m.jcoronado.vma.VMAAllocatorType;
-import org.lwjgl.system.MemoryStack;
 import org.lwjgl.util.vma.Vma;
 import org.lwjgl.util.vma.VmaAllocatorCreateInfo;
 import org.lwjgl.util.vma.VmaVulkanFunctions;
@@ -39,12 +38,9 @@ public final class VMALWJGLAllocatorProvider implements VMAAllocatorProviderType
   private static final Logger LOG =
     LoggerFactory.getLogger(VMALWJGLAllocatorProvider.class);
 
-  private final MemoryStack initial_stack;
-
-  private VMALWJGLAllocatorProvider(
-    final MemoryStack in_stack)
+  private VMALWJGLAllocatorProvider()
   {
-    this.initial_stack = Objects.requireNonNull(in_stack, "stack");
+
   }
 
   /**
@@ -53,7 +49,7 @@ public final class VMALWJGLAllocatorProvider implements VMAAllocatorProviderType
 
   public static VMAAllocatorProviderType create()
   {
-    return new VMALWJGLAllocatorProvider(MemoryStack.create());
+    return new VMALWJGLAllocatorProvider();
   }
 
   @Override
@@ -95,7 +91,7 @@ public final class VMALWJGLAllocatorProvider implements VMAAllocatorProviderType
         VulkanLWJGLInstance.class
       );
 
-    try (var stack = this.initial_stack.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var functions =
         VmaVulkanFunctions.malloc(stack);
       final var vkInstance =
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanException;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Functions to process the moves of a defragmentation pass.
+ */
+
+public final class VMALWJGLDefragmentationMoves
+{
+  private VMALWJGLDefragmentationMoves()
+  {
+
+  }
+
+  /**
+   * Process the moves of a pass. For each move, a relocation is created,
+   * added to {@code relocations}, and then reported. If creating or
+   * reporting any relocation fails, every relocation created so far is
+   * discarded, {@code relocations} is cleared, and the original exception
+   * is rethrown.
+   *
+   * @param move_count  The number of moves
+   * @param processor   The move processor
+   * @param relocations The output relocations
+   * @param <R>         The type of relocations
+   *
+   * @throws VulkanException On errors
+   */
+
+  public static <R> void processMoves(
+    final int move_count,
+    final MoveProcessorType<R> processor,
+    final List<R> relocations)
+    throws VulkanException
+  {
+    Objects.requireNonNull(processor, "processor");
+    Objects.requireNonNull(relocations, "relocations");
+
+    try {
+      for (var index = 0; index < move_count; ++index) {
+        final var relocation = processor.create(index);
+        relocations.add(relocation);
+        processor.report(relocation);
+      }
+    } catch (final VulkanException | RuntimeException e) {
+      for (final var relocation : relocations) {
+        try {
+          processor.discard(relocation);
+        } catch (final RuntimeException de) {
+          e.addSuppressed(de);
+        }
+      }
+      relocations.clear();
+      throw e;
+    }
+  }
+
+  /**
+   * The type of functions that create, report, and discard relocations.
+   *
+   * @param <R> The type of relocations
+   */
+
+  public interface MoveProcessorType<R>
+  {
+    /**
+     * Create a relocation for a move.
+     *
+     * @param index The index of the move
+     *
+     * @return A relocation
+     *
+     * @throws VulkanException On errors
+     */
+
+    R create(int index)
+      throws VulkanException;
+
+    /**
+     * Report a relocation to the user.
+     *
+     * @param relocation The relocation
+     *
+     * @throws VulkanException On errors
+     */
+
+    void report(R relocation)
+      throws VulkanException;
+
+    /**
+     * Discard a relocation that will not be completed.
+     *
+     * @param relocation The relocation
+     */
+
+    void discard(R relocation);
+  }
+}
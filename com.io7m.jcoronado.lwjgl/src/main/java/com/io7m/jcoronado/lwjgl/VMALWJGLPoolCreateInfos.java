@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.vma.VMAPoolCreateInfo;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.util.vma.VmaPoolCreateInfo;
+
+import java.util.Objects;
+
+/**
+ * Functions to pack VMA pool creation info.
+ */
+
+public final class VMALWJGLPoolCreateInfos
+{
+  private VMALWJGLPoolCreateInfos()
+  {
+
+  }
+
+  /**
+   * Pack a structure.
+   *
+   * @param stack A stack
+   * @param info  A structure
+   *
+   * @return A packed structure
+   */
+
+  public static VmaPoolCreateInfo pack(
+    final MemoryStack stack,
+    final VMAPoolCreateInfo info)
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(info, "info");
+
+    return VmaPoolCreateInfo.calloc(stack)
+      .memoryTypeIndex(info.memoryTypeIndex().value())
+      .flags(VulkanEnumMaps.packValues(info.flags()))
+      .blockSize(info.blockSize())
+      .minBlockCount(info.minBlockCount())
+      .maxBlockCount(info.maxBlockCount());
+  }
+}
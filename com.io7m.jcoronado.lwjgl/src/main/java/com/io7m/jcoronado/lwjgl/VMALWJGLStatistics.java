@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanMemoryHeapIndex;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import com.io7m.jcoronado.vma.VMABudget;
+import com.io7m.jcoronado.vma.VMADefragmentationStatistics;
+import com.io7m.jcoronado.vma.VMAPoolStatistics;
+import com.io7m.jcoronado.vma.VMAStatistics;
+import com.io7m.jcoronado.vma.VMAStatisticsInfo;
+import org.lwjgl.util.vma.VmaBudget;
+import org.lwjgl.util.vma.VmaDefragmentationStats;
+import org.lwjgl.util.vma.VmaPoolStats;
+import org.lwjgl.util.vma.VmaStatInfo;
+import org.lwjgl.util.vma.VmaStats;
+
+import java.util.TreeMap;
+
+/**
+ * Functions to unpack VMA statistics and budgets.
+ */
+
+public final class VMALWJGLStatistics
+{
+  private VMALWJGLStatistics()
+  {
+
+  }
+
+  /**
+   * Unpack a heap budget.
+   *
+   * @param heap_index The heap index
+   * @param budget     The budget structure
+   *
+   * @return An unpacked budget
+   */
+
+  public static VMABudget unpackBudget(
+    final int heap_index,
+    final VmaBudget budget)
+  {
+    return VMABudget.of(
+      new VulkanMemoryHeapIndex(heap_index),
+      budget.blockBytes(),
+      budget.allocationBytes(),
+      budget.usage(),
+      budget.budget());
+  }
+
+  /**
+   * Unpack allocator statistics.
+   *
+   * @param type_count The number of memory types
+   * @param heap_count The number of memory heaps
+   * @param stats      The statistics structure
+   *
+   * @return Unpacked statistics
+   */
+
+  public static VMAStatistics unpackStatistics(
+    final int type_count,
+    final int heap_count,
+    final VmaStats stats)
+  {
+    final var types =
+      new TreeMap<VulkanMemoryTypeIndex, VMAStatisticsInfo>();
+    for (var index = 0; index < type_count; ++index) {
+      types.put(
+        new VulkanMemoryTypeIndex(index),
+        unpackStatisticsInfo(stats.memoryType(index)));
+    }
+
+    final var heaps =
+      new TreeMap<VulkanMemoryHeapIndex, VMAStatisticsInfo>();
+    for (var index = 0; index < heap_count; ++index) {
+      heaps.put(
+        new VulkanMemoryHeapIndex(index),
+        unpackStatisticsInfo(stats.memoryHeap(index)));
+    }
+
+    return VMAStatistics.of(types, heaps, unpackStatisticsInfo(stats.total()));
+  }
+
+  /**
+   * Unpack statistics for a memory type, memory heap, or allocator.
+   *
+   * @param info The statistics structure
+   *
+   * @return Unpacked statistics
+   */
+
+  public static VMAStatisticsInfo unpackStatisticsInfo(
+    final VmaStatInfo info)
+  {
+    return VMAStatisticsInfo.builder()
+      .setBlockCount(Integer.toUnsignedLong(info.blockCount()))
+      .setAllocationCount(Integer.toUnsignedLong(info.allocationCount()))
+      .setUnusedRangeCount(Integer.toUnsignedLong(info.unusedRangeCount()))
+      .setUsedBytes(info.usedBytes())
+      .setUnusedBytes(info.unusedBytes())
+      .setAllocationSizeMin(info.allocationSizeMin())
+      .setAllocationSizeAvg(info.allocationSizeAvg())
+      .setAllocationSizeMax(info.allocationSizeMax())
+      .setUnusedRangeSizeMin(info.unusedRangeSizeMin())
+      .setUnusedRangeSizeAvg(info.unusedRangeSizeAvg())
+      .setUnusedRangeSizeMax(info.unusedRangeSizeMax())
+      .build();
+  }
+
+  /**
+   * Unpack pool statistics.
+   *
+   * @param stats The statistics structure
+   *
+   * @return Unpacked statistics
+   */
+
+  public static VMAPoolStatistics unpackPoolStatistics(
+    final VmaPoolStats stats)
+  {
+    return VMAPoolStatistics.builder()
+      .setSize(stats.size())
+      .setUnusedSize(stats.unusedSize())
+      .setAllocationCount(stats.allocationCount())
+      .setUnusedRangeCount(stats.unusedRangeCount())
+      .setUnusedRangeSizeMax(stats.unusedRangeSizeMax())
+      .setBlockCount(stats.blockCount())
+      .build();
+  }
+
+  /**
+   * Unpack defragmentation statistics.
+   *
+   * @param stats The statistics structure
+   *
+   * @return Unpacked statistics
+   */
+
+  public static VMADefragmentationStatistics unpackDefragmentationStatistics(
+    final VmaDefragmentationStats stats)
+  {
+    return VMADefragmentationStatistics.of(
+      stats.bytesMoved(),
+      stats.bytesFreed(),
+      Integer.toUnsignedLong(stats.allocationsMoved()),
+      Integer.toUnsignedLong(stats.deviceMemoryBlocksFreed()));
+  }
+}
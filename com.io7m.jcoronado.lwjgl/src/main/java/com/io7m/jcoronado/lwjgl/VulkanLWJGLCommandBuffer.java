@@ -28,6 +28,7 @@ import com.io7m.jcoronado.api.VulkanClearValueDepthStencil;
 import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
 import com.io7m.jcoronado.api.VulkanCommandBufferResetFlag;
 import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanCommandListType;
 import com.io7m.jcoronado.api.VulkanDependencyFlag;
 import com.io7m.jcoronado.api.VulkanDescriptorSetType;
 import com.io7m.jcoronado.api.VulkanDestroyedException;
@@ -36,6 +37,7 @@ import com.io7m.jcoronado.api.VulkanEventType;
 import com.io7m.jcoronado.api.VulkanException;
 import com.io7m.jcoronado.api.VulkanExternallySynchronizedType;
 import com.io7m.jcoronado.api.VulkanFilter;
+import com.io7m.jcoronado.api.VulkanFlagSet;
 import com.io7m.jcoronado.api.VulkanImageBlit;
 import com.io7m.jcoronado.api.VulkanImageCopy;
 import com.io7m.jcoronado.api.VulkanImageLayout;
@@ -50,25 +52,28 @@ import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
 import com.io7m.jcoronado.api.VulkanPipelineType;
 import com.io7m.jcoronado.api.VulkanQueryControlFlag;
 import com.io7m.jcoronado.api.VulkanQueryPoolType;
+import com.io7m.jcoronado.api.VulkanQueryResultFlag;
 import com.io7m.jcoronado.api.VulkanRectangle2D;
 import com.io7m.jcoronado.api.VulkanRenderPassBeginInfo;
+import com.io7m.jcoronado.api.VulkanShaderStageFlag;
 import com.io7m.jcoronado.api.VulkanStencilFaceFlag;
 import com.io7m.jcoronado.api.VulkanSubpassContents;
 import com.io7m.jcoronado.api.VulkanViewport;
-import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkCommandBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import static com.io7m.jcoronado.api.VulkanClearValueType.VulkanClearValueColorType;
-import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays.packIntsOrNull;
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays.packIntsRawOrNull;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays.packLongs;
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays.packLongsRaw;
 
 /**
  * LWJGL {@link VulkanCommandBufferType}.
@@ -81,18 +86,22 @@ public final class VulkanLWJGLCommandBuffer
     VulkanLWJGLCommandBuffer.class);
 
   private final VkCommandBuffer handle;
-  private final MemoryStack stack_initial;
+  private final VulkanLWJGLCommandListExecutor list_executor;
+  private final VulkanLWJGLValidation validation;
 
   VulkanLWJGLCommandBuffer(
     final Ownership ownership,
     final VkCommandBuffer in_handle,
-    final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy)
+    final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy,
+    final VulkanLWJGLValidation in_validation)
   {
     super(ownership, in_host_allocator_proxy);
     this.handle = in_handle;
+    this.validation =
+      Objects.requireNonNull(in_validation, "in_validation");
 
-    this.stack_initial =
-      MemoryStack.create();
+    this.list_executor =
+      new VulkanLWJGLCommandListExecutor(in_handle);
   }
 
   @Override
@@ -143,9 +152,9 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var packed = VulkanLWJGLCommandBufferBeginInfos.pack(stack, info);
 
       VulkanChecks.checkReturnCode(
@@ -161,16 +170,36 @@ public final class VulkanLWJGLCommandBuffer
     final Set<VulkanQueryControlFlag> flags)
     throws VulkanException
   {
-    Objects.requireNonNull(pool, "pool");
     Objects.requireNonNull(flags, "flags");
+    this.beginQueryMask(pool, query, VulkanEnumMaps.packValues(flags));
+  }
 
-    this.checkNotClosed();
+  @Override
+  public @VulkanExternallySynchronizedType void beginQuery(
+    final VulkanQueryPoolType pool,
+    final int query,
+    final VulkanFlagSet<VulkanQueryControlFlag> flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(flags, "flags");
+    this.beginQueryMask(pool, query, flags.value());
+  }
+
+  private void beginQueryMask(
+    final VulkanQueryPoolType pool,
+    final int query,
+    final int flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pool, "pool");
+
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdBeginQuery(
       this.handle,
-      checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
       query,
-      VulkanEnumMaps.packValues(flags));
+      flags);
   }
 
   @Override
@@ -181,11 +210,11 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(pool, "pool");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdEndQuery(
       this.handle,
-      checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
       query);
   }
 
@@ -198,14 +227,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(info, "info");
     Objects.requireNonNull(contents, "contents");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     final var render_pass =
-      checkInstanceOf(info.renderPass(), VulkanLWJGLRenderPass.class);
+      this.validation.checkInstanceOf(info.renderPass(), VulkanLWJGLRenderPass.class);
     final var framebuffer =
-      checkInstanceOf(info.framebuffer(), VulkanLWJGLFramebuffer.class);
+      this.validation.checkInstanceOf(info.framebuffer(), VulkanLWJGLFramebuffer.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var packed =
         VulkanLWJGLRenderPassBeginInfos.pack(
           stack,
@@ -226,12 +255,12 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(bind_point, "bind_point");
     Objects.requireNonNull(pipeline, "pipeline");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdBindPipeline(
       this.handle,
       bind_point.value(),
-      checkInstanceOf(pipeline, VulkanLWJGLPipeline.class).handle());
+      this.validation.checkInstanceOf(pipeline, VulkanLWJGLPipeline.class).handle());
   }
 
   @Override
@@ -245,20 +274,48 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(buffers, "buffers");
     Objects.requireNonNull(offsets, "offsets");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdBindVertexBuffers(
         this.handle,
         first_binding,
         packLongs(
           stack,
           buffers,
-          b -> checkInstanceOf(b, VulkanLWJGLBuffer.class).handle()),
+          b -> this.validation.checkInstanceOf(b, VulkanLWJGLBuffer.class).handle()),
         packLongs(stack, offsets, Long::longValue));
     }
   }
 
+  @Override
+  public void bindVertexBuffers(
+    final int first_binding,
+    final int binding_count,
+    final List<VulkanBufferType> buffers,
+    final long[] offsets,
+    final int offsets_offset)
+    throws VulkanException
+  {
+    Objects.requireNonNull(buffers, "buffers");
+    Objects.requireNonNull(offsets, "offsets");
+
+    this.validation.checkNotClosed(this);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      VK10.nvkCmdBindVertexBuffers(
+        this.handle,
+        first_binding,
+        binding_count,
+        packLongsRaw(
+          stack,
+          buffers,
+          binding_count,
+          b -> this.validation.checkInstanceOf(b, VulkanLWJGLBuffer.class).handle()),
+        packLongsRaw(stack, offsets, offsets_offset, binding_count));
+    }
+  }
+
   @Override
   public void bindIndexBuffer(
     final VulkanBufferType buffer,
@@ -269,11 +326,11 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(buffer, "buffer");
     Objects.requireNonNull(index_type, "index_type");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdBindIndexBuffer(
       this.handle,
-      checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
       offset,
       index_type.value());
   }
@@ -292,13 +349,13 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(descriptor_sets, "descriptor_sets");
     Objects.requireNonNull(dynamic_offsets, "dynamic_offsets");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var clayout = checkInstanceOf(
+    final var clayout = this.validation.checkInstanceOf(
       layout,
       VulkanLWJGLPipelineLayout.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdBindDescriptorSets(
         this.handle,
         pipeline_bind_point.value(),
@@ -307,13 +364,59 @@ public final class VulkanLWJGLCommandBuffer
         packLongs(
           stack,
           descriptor_sets,
-          value -> checkInstanceOf(
+          value -> this.validation.checkInstanceOf(
             value,
             VulkanLWJGLDescriptorSet.class).handle()),
         packIntsOrNull(stack, dynamic_offsets, Integer::intValue));
     }
   }
 
+  @Override
+  public @VulkanExternallySynchronizedType void bindDescriptorSets(
+    final VulkanPipelineBindPoint pipeline_bind_point,
+    final VulkanPipelineLayoutType layout,
+    final int first_set,
+    final List<VulkanDescriptorSetType> descriptor_sets,
+    final int[] dynamic_offsets,
+    final int dynamic_offsets_offset,
+    final int dynamic_offsets_count)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pipeline_bind_point, "pipeline_bind_point");
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(descriptor_sets, "descriptor_sets");
+    Objects.requireNonNull(dynamic_offsets, "dynamic_offsets");
+
+    this.validation.checkNotClosed(this);
+
+    final var clayout = this.validation.checkInstanceOf(
+      layout,
+      VulkanLWJGLPipelineLayout.class);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var set_count = descriptor_sets.size();
+      VK10.nvkCmdBindDescriptorSets(
+        this.handle,
+        pipeline_bind_point.value(),
+        clayout.handle(),
+        first_set,
+        set_count,
+        packLongsRaw(
+          stack,
+          descriptor_sets,
+          set_count,
+          value -> this.validation.checkInstanceOf(
+            value,
+            VulkanLWJGLDescriptorSet.class).handle()),
+        dynamic_offsets_count,
+        packIntsRawOrNull(
+          stack,
+          dynamic_offsets,
+          dynamic_offsets_offset,
+          dynamic_offsets_count));
+    }
+  }
+
   @Override
   public @VulkanExternallySynchronizedType void blitImage(
     final VulkanImageType source_image,
@@ -331,12 +434,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(regions, "regions");
     Objects.requireNonNull(filter, "filter");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var csource = checkInstanceOf(source_image, VulkanLWJGLImage.class);
-    final var ctarget = checkInstanceOf(target_image, VulkanLWJGLImage.class);
+    final var csource =
+      this.validation.checkInstanceOf(source_image, VulkanLWJGLImage.class);
+    final var ctarget =
+      this.validation.checkInstanceOf(target_image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdBlitImage(
         this.handle,
         csource.handle(),
@@ -363,12 +468,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(target_image_layout, "target_image_layout");
     Objects.requireNonNull(regions, "regions");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var csource = checkInstanceOf(source_image, VulkanLWJGLImage.class);
-    final var ctarget = checkInstanceOf(target_image, VulkanLWJGLImage.class);
+    final var csource =
+      this.validation.checkInstanceOf(source_image, VulkanLWJGLImage.class);
+    final var ctarget =
+      this.validation.checkInstanceOf(target_image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdCopyImage(
         this.handle,
         csource.handle(),
@@ -388,9 +495,9 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(attachments, "attachments");
     Objects.requireNonNull(rectangles, "rectangles");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdClearAttachments(
         this.handle,
         VulkanLWJGLClearAttachments.packList(stack, attachments),
@@ -411,11 +518,12 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(color, "color");
     Objects.requireNonNull(ranges, "ranges");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cimage = checkInstanceOf(image, VulkanLWJGLImage.class);
+    final var cimage =
+      this.validation.checkInstanceOf(image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdClearColorImage(
         this.handle,
         cimage.handle(),
@@ -438,11 +546,12 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(depth_stencil, "depth_stencil");
     Objects.requireNonNull(ranges, "ranges");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cimage = checkInstanceOf(image, VulkanLWJGLImage.class);
+    final var cimage =
+      this.validation.checkInstanceOf(image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdClearDepthStencilImage(
         this.handle,
         cimage.handle(),
@@ -476,12 +585,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(target, "target");
     Objects.requireNonNull(regions, "regions");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var csource = checkInstanceOf(source, VulkanLWJGLBuffer.class);
-    final var ctarget = checkInstanceOf(target, VulkanLWJGLBuffer.class);
+    final var csource =
+      this.validation.checkInstanceOf(source, VulkanLWJGLBuffer.class);
+    final var ctarget =
+      this.validation.checkInstanceOf(target, VulkanLWJGLBuffer.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdCopyBuffer(
         this.handle,
         csource.handle(),
@@ -503,12 +614,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(target_buffer, "target_buffer");
     Objects.requireNonNull(regions, "regions");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cimage = checkInstanceOf(source_image, VulkanLWJGLImage.class);
-    final var cbuffer = checkInstanceOf(target_buffer, VulkanLWJGLBuffer.class);
+    final var cimage =
+      this.validation.checkInstanceOf(source_image, VulkanLWJGLImage.class);
+    final var cbuffer =
+      this.validation.checkInstanceOf(target_buffer, VulkanLWJGLBuffer.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdCopyImageToBuffer(
         this.handle,
         cimage.handle(),
@@ -531,12 +644,14 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(target_image_layout, "target_image_layout");
     Objects.requireNonNull(regions, "regions");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cbuffer = checkInstanceOf(source_buffer, VulkanLWJGLBuffer.class);
-    final var cimage = checkInstanceOf(target_image, VulkanLWJGLImage.class);
+    final var cbuffer =
+      this.validation.checkInstanceOf(source_buffer, VulkanLWJGLBuffer.class);
+    final var cimage =
+      this.validation.checkInstanceOf(target_image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdCopyBufferToImage(
         this.handle,
         cbuffer.handle(),
@@ -554,7 +669,7 @@ public final class VulkanLWJGLCommandBuffer
     final int first_instance)
     throws VulkanDestroyedException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdDraw(
       this.handle,
@@ -573,7 +688,7 @@ public final class VulkanLWJGLCommandBuffer
     final int first_instance)
     throws VulkanDestroyedException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdDrawIndexed(
       this.handle,
@@ -594,11 +709,11 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(buffer, "buffer");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdDrawIndirect(
       this.handle,
-      checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
       offset,
       draw_count,
       stride);
@@ -614,11 +729,11 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(buffer, "buffer");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdDrawIndexedIndirect(
       this.handle,
-      checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
       offset,
       draw_count,
       stride);
@@ -631,15 +746,15 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(commandBuffers, "commandBuffers");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var pointers =
         stack.mallocPointer(commandBuffers.size());
 
       for (int index = 0; index < commandBuffers.size(); ++index) {
         final var secondary =
-          checkInstanceOf(
+          this.validation.checkInstanceOf(
             commandBuffers.get(index),
             VulkanLWJGLCommandBuffer.class);
         pointers.put(index, secondary.handle.address());
@@ -652,6 +767,19 @@ public final class VulkanLWJGLCommandBuffer
     }
   }
 
+  @Override
+  public @VulkanExternallySynchronizedType void executeCommandList(
+    final VulkanCommandListType list)
+    throws VulkanException
+  {
+    Objects.requireNonNull(list, "list");
+
+    this.validation.checkNotClosed(this);
+
+    this.validation.checkInstanceOf(list, VulkanLWJGLCommandList.class)
+      .replay(this.list_executor);
+  }
+
   @Override
   public @VulkanExternallySynchronizedType void fillBuffer(
     final VulkanBufferType buffer,
@@ -662,21 +790,58 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(buffer, "buffer");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdFillBuffer(
       this.handle,
-      checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
       offset,
       size,
       data);
   }
 
+  @Override
+  public @VulkanExternallySynchronizedType void updateBuffer(
+    final VulkanBufferType buffer,
+    final long offset,
+    final ByteBuffer data)
+    throws VulkanException
+  {
+    Objects.requireNonNull(data, "data");
+
+    this.updateBuffer(
+      buffer,
+      offset,
+      VulkanLWJGLInlineData.address(data),
+      data.remaining());
+  }
+
+  @Override
+  public @VulkanExternallySynchronizedType void updateBuffer(
+    final VulkanBufferType buffer,
+    final long offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(buffer, "buffer");
+    VulkanLWJGLInlineData.checkUpdateBuffer(offset, size);
+
+    this.validation.checkNotClosed(this);
+
+    VK10.nvkCmdUpdateBuffer(
+      this.handle,
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle(),
+      offset,
+      Integer.toUnsignedLong(size),
+      address);
+  }
+
   @Override
   public void endRenderPass()
     throws VulkanDestroyedException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
     VK10.vkCmdEndRenderPass(this.handle);
   }
 
@@ -693,24 +858,157 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(source_stage_mask, "source_stage_mask");
     Objects.requireNonNull(target_stage_mask, "target_stage_mask");
     Objects.requireNonNull(dependency_flags, "dependency_flags");
+
+    this.pipelineBarrierMasks(
+      VulkanEnumMaps.packValues(source_stage_mask),
+      VulkanEnumMaps.packValues(target_stage_mask),
+      VulkanEnumMaps.packValues(dependency_flags),
+      memory_barriers,
+      buffer_memory_barriers,
+      image_memory_barriers);
+  }
+
+  @Override
+  public @VulkanExternallySynchronizedType void pipelineBarrier(
+    final VulkanFlagSet<VulkanPipelineStageFlag> source_stage_mask,
+    final VulkanFlagSet<VulkanPipelineStageFlag> target_stage_mask,
+    final VulkanFlagSet<VulkanDependencyFlag> dependency_flags,
+    final List<VulkanMemoryBarrier> memory_barriers,
+    final List<VulkanBufferMemoryBarrier> buffer_memory_barriers,
+    final List<VulkanImageMemoryBarrier> image_memory_barriers)
+    throws VulkanException
+  {
+    Objects.requireNonNull(source_stage_mask, "source_stage_mask");
+    Objects.requireNonNull(target_stage_mask, "target_stage_mask");
+    Objects.requireNonNull(dependency_flags, "dependency_flags");
+
+    this.pipelineBarrierMasks(
+      source_stage_mask.value(),
+      target_stage_mask.value(),
+      dependency_flags.value(),
+      memory_barriers,
+      buffer_memory_barriers,
+      image_memory_barriers);
+  }
+
+  private void pipelineBarrierMasks(
+    final int source_stage_mask,
+    final int target_stage_mask,
+    final int dependency_flags,
+    final List<VulkanMemoryBarrier> memory_barriers,
+    final List<VulkanBufferMemoryBarrier> buffer_memory_barriers,
+    final List<VulkanImageMemoryBarrier> image_memory_barriers)
+    throws VulkanException
+  {
     Objects.requireNonNull(memory_barriers, "memory_barriers");
     Objects.requireNonNull(buffer_memory_barriers, "buffer_memory_barriers");
     Objects.requireNonNull(image_memory_barriers, "image_memory_barriers");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdPipelineBarrier(
         this.handle,
-        VulkanEnumMaps.packValues(source_stage_mask),
-        VulkanEnumMaps.packValues(target_stage_mask),
-        VulkanEnumMaps.packValues(dependency_flags),
+        source_stage_mask,
+        target_stage_mask,
+        dependency_flags,
         VulkanLWJGLMemoryBarriers.packList(stack, memory_barriers),
         VulkanLWJGLBufferMemoryBarriers.packList(stack, buffer_memory_barriers),
         VulkanLWJGLImageMemoryBarriers.packList(stack, image_memory_barriers));
     }
   }
 
+  @Override
+  public @VulkanExternallySynchronizedType void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final Set<VulkanShaderStageFlag> stages,
+    final int offset,
+    final ByteBuffer values)
+    throws VulkanException
+  {
+    Objects.requireNonNull(values, "values");
+
+    this.pushConstants(
+      layout,
+      stages,
+      offset,
+      VulkanLWJGLInlineData.address(values),
+      values.remaining());
+  }
+
+  @Override
+  public @VulkanExternallySynchronizedType void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final Set<VulkanShaderStageFlag> stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stages, "stages");
+
+    this.pushConstantsMask(
+      layout,
+      VulkanEnumMaps.packValues(stages),
+      offset,
+      address,
+      size);
+  }
+
+  @Override
+  public @VulkanExternallySynchronizedType void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final VulkanFlagSet<VulkanShaderStageFlag> stages,
+    final int offset,
+    final ByteBuffer values)
+    throws VulkanException
+  {
+    Objects.requireNonNull(values, "values");
+
+    this.pushConstants(
+      layout,
+      stages,
+      offset,
+      VulkanLWJGLInlineData.address(values),
+      values.remaining());
+  }
+
+  @Override
+  public @VulkanExternallySynchronizedType void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final VulkanFlagSet<VulkanShaderStageFlag> stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stages, "stages");
+
+    this.pushConstantsMask(layout, stages.value(), offset, address, size);
+  }
+
+  private void pushConstantsMask(
+    final VulkanPipelineLayoutType layout,
+    final int stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(layout, "layout");
+    VulkanLWJGLInlineData.checkPushConstants(offset, size);
+
+    this.validation.checkNotClosed(this);
+
+    VK10.nvkCmdPushConstants(
+      this.handle,
+      this.validation.checkInstanceOf(layout, VulkanLWJGLPipelineLayout.class).handle(),
+      stages,
+      offset,
+      size,
+      address);
+  }
+
   @Override
   public @VulkanExternallySynchronizedType void nextSubpass(
     final VulkanSubpassContents contents)
@@ -718,7 +1016,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(contents, "contents");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdNextSubpass(this.handle, contents.value());
   }
@@ -728,7 +1026,7 @@ public final class VulkanLWJGLCommandBuffer
     final float width)
     throws VulkanException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetLineWidth(this.handle, width);
   }
@@ -740,7 +1038,7 @@ public final class VulkanLWJGLCommandBuffer
     final float depth_bias_slope_factor)
     throws VulkanException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetDepthBias(
       this.handle,
@@ -755,7 +1053,7 @@ public final class VulkanLWJGLCommandBuffer
     final float max_depth_bounds)
     throws VulkanException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetDepthBounds(this.handle, min_depth_bounds, max_depth_bounds);
   }
@@ -767,7 +1065,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(constants, "constants");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetBlendConstants(this.handle, new float[]{
       constants.r(),
@@ -785,7 +1083,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(face_mask, "face_mask");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetStencilReference(
       this.handle,
@@ -801,7 +1099,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(face_mask, "face_mask");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetStencilCompareMask(
       this.handle,
@@ -817,7 +1115,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(face_mask, "face_mask");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdSetStencilWriteMask(
       this.handle,
@@ -833,9 +1131,9 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(rectangles, "rectangles");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdSetScissor(
         this.handle,
         first_scissor,
@@ -851,9 +1149,9 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(viewports, "viewports");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdSetViewport(
         this.handle,
         first_viewport,
@@ -872,7 +1170,7 @@ public final class VulkanLWJGLCommandBuffer
 
     VK10.vkCmdSetEvent(
       this.handle,
-      checkInstanceOf(event, VulkanLWJGLEvent.class).handle(),
+      this.validation.checkInstanceOf(event, VulkanLWJGLEvent.class).handle(),
       VulkanEnumMaps.packValues(mask));
   }
 
@@ -885,14 +1183,42 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(event, "event");
     Objects.requireNonNull(mask, "mask");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdResetEvent(
       this.handle,
-      checkInstanceOf(event, VulkanLWJGLEvent.class).handle(),
+      this.validation.checkInstanceOf(event, VulkanLWJGLEvent.class).handle(),
       VulkanEnumMaps.packValues(mask));
   }
 
+  @Override
+  public @VulkanExternallySynchronizedType void copyQueryPoolResults(
+    final VulkanQueryPoolType pool,
+    final int first_query,
+    final int query_count,
+    final VulkanBufferType target_buffer,
+    final long target_offset,
+    final long stride,
+    final Set<VulkanQueryResultFlag> flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(target_buffer, "target_buffer");
+    Objects.requireNonNull(flags, "flags");
+
+    this.validation.checkNotClosed(this);
+
+    VK10.vkCmdCopyQueryPoolResults(
+      this.handle,
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
+      first_query,
+      query_count,
+      this.validation.checkInstanceOf(target_buffer, VulkanLWJGLBuffer.class).handle(),
+      target_offset,
+      stride,
+      VulkanEnumMaps.packValues(flags));
+  }
+
   @Override
   public @VulkanExternallySynchronizedType void resetQueryPool(
     final VulkanQueryPoolType pool,
@@ -902,11 +1228,11 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(pool, "pool");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdResetQueryPool(
       this.handle,
-      checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
       first_query,
       query_count);
   }
@@ -915,7 +1241,7 @@ public final class VulkanLWJGLCommandBuffer
   public void endCommandBuffer()
     throws VulkanException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VulkanChecks.checkReturnCode(
       VK10.vkEndCommandBuffer(this.handle),
@@ -932,12 +1258,12 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(stage, "stage");
     Objects.requireNonNull(pool, "pool");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkCmdWriteTimestamp(
       this.handle,
       stage.value(),
-      checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class).handle(),
       query_index);
   }
 
@@ -958,15 +1284,15 @@ public final class VulkanLWJGLCommandBuffer
     Objects.requireNonNull(buffer_memory_barriers, "buffer_memory_barriers");
     Objects.requireNonNull(image_memory_barriers, "image_memory_barriers");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VK10.vkCmdWaitEvents(
         this.handle,
         packLongs(
           stack,
           events,
-          v -> checkInstanceOf(v, VulkanLWJGLEvent.class).handle()),
+          v -> this.validation.checkInstanceOf(v, VulkanLWJGLEvent.class).handle()),
         VulkanEnumMaps.packValues(source_stage_mask),
         VulkanEnumMaps.packValues(target_stage_mask),
         VulkanLWJGLMemoryBarriers.packList(stack, memory_barriers),
@@ -982,7 +1308,7 @@ public final class VulkanLWJGLCommandBuffer
   {
     Objects.requireNonNull(flags, "flags");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkResetCommandBuffer(
       this.handle,
@@ -17,13 +17,18 @@
 package com.io7m.jcoronado.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferInheritanceInfo;
 import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanException;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkCommandBufferBeginInfo;
+import org.lwjgl.vulkan.VkCommandBufferInheritanceInfo;
 
 import java.util.Objects;
 
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+
 /**
  * Functions to pack command buffer info.
  */
@@ -42,19 +47,76 @@ public final class VulkanLWJGLCommandBufferBeginInfos
    * @param info  A structure
    *
    * @return A packed structure
+   *
+   * @throws VulkanException On errors
    */
 
   public static VkCommandBufferBeginInfo pack(
     final MemoryStack stack,
     final VulkanCommandBufferBeginInfo info)
+    throws VulkanException
   {
     Objects.requireNonNull(stack, "stack");
     Objects.requireNonNull(info, "info");
 
+    final var inheritance_opt = info.inheritanceInfo();
+    final VkCommandBufferInheritanceInfo inheritance;
+    if (inheritance_opt.isPresent()) {
+      inheritance = packInheritance(stack, inheritance_opt.get());
+    } else {
+      inheritance = null;
+    }
+
     return VkCommandBufferBeginInfo.malloc(stack)
       .sType(VK10.VK_STRUCTURE_TYPE_COMMAND_BUFFER_BEGIN_INFO)
       .pNext(0L)
       .flags(VulkanEnumMaps.packValues(info.flags()))
-      .pInheritanceInfo(null);
+      .pInheritanceInfo(inheritance);
+  }
+
+  /**
+   * Pack a structure.
+   *
+   * @param stack A stack
+   * @param info  A structure
+   *
+   * @return A packed structure
+   *
+   * @throws VulkanException On errors
+   */
+
+  public static VkCommandBufferInheritanceInfo packInheritance(
+    final MemoryStack stack,
+    final VulkanCommandBufferInheritanceInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(info, "info");
+
+    final var render_pass_opt = info.renderPass();
+    var render_pass = VK10.VK_NULL_HANDLE;
+    if (render_pass_opt.isPresent()) {
+      render_pass =
+        checkInstanceOf(render_pass_opt.get(), VulkanLWJGLRenderPass.class)
+          .handle();
+    }
+
+    final var framebuffer_opt = info.framebuffer();
+    var framebuffer = VK10.VK_NULL_HANDLE;
+    if (framebuffer_opt.isPresent()) {
+      framebuffer =
+        checkInstanceOf(framebuffer_opt.get(), VulkanLWJGLFramebuffer.class)
+          .handle();
+    }
+
+    return VkCommandBufferInheritanceInfo.malloc(stack)
+      .sType(VK10.VK_STRUCTURE_TYPE_COMMAND_BUFFER_INHERITANCE_INFO)
+      .pNext(0L)
+      .renderPass(render_pass)
+      .subpass(info.subpass())
+      .framebuffer(framebuffer)
+      .occlusionQueryEnable(info.occlusionQueryEnable())
+      .queryFlags(VulkanEnumMaps.packValues(info.queryFlags()))
+      .pipelineStatistics(VulkanEnumMaps.packValues(info.pipelineStatistics()));
   }
 }
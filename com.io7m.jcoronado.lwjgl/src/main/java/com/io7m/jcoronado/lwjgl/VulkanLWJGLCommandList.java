@@ -0,0 +1,736 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanCommandListType;
+import com.io7m.jcoronado.api.VulkanDescriptorSetType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFlagSet;
+import com.io7m.jcoronado.api.VulkanIndexType;
+import com.io7m.jcoronado.api.VulkanPipelineBindPoint;
+import com.io7m.jcoronado.api.VulkanPipelineLayoutType;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import com.io7m.jcoronado.api.VulkanRectangle2D;
+import com.io7m.jcoronado.api.VulkanShaderStageFlag;
+import com.io7m.jcoronado.api.VulkanStencilFaceFlag;
+import com.io7m.jcoronado.api.VulkanViewport;
+import com.io7m.junreachable.UnreachableCodeException;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VkExtent2D;
+import org.lwjgl.vulkan.VkOffset2D;
+import org.lwjgl.vulkan.VkRect2D;
+import org.lwjgl.vulkan.VkViewport;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+
+/**
+ * <p>LWJGL {@link VulkanCommandListType}.</p>
+ *
+ * <p>Commands are encoded into a single growable block of native memory.
+ * Each command consists of an 8 byte header (a 32-bit opcode followed by the
+ * 32-bit total size of the command in bytes) and a payload. Every command is
+ * padded to a multiple of 8 bytes. Object handles are resolved to native
+ * handle values at the time of recording, and array arguments are stored in
+ * the layout that Vulkan expects, so that replaying a command list performs
+ * no allocation and no packing.</p>
+ */
+
+public final class VulkanLWJGLCommandList implements VulkanCommandListType
+{
+  private static final int OP_BIND_PIPELINE = 1;
+  private static final int OP_BIND_VERTEX_BUFFERS = 2;
+  private static final int OP_BIND_INDEX_BUFFER = 3;
+  private static final int OP_BIND_DESCRIPTOR_SETS = 4;
+  private static final int OP_SET_VIEWPORT = 5;
+  private static final int OP_SET_SCISSOR = 6;
+  private static final int OP_SET_STENCIL_REFERENCE = 7;
+  private static final int OP_DRAW = 8;
+  private static final int OP_DRAW_INDEXED = 9;
+  private static final int OP_DRAW_INDIRECT = 10;
+  private static final int OP_DRAW_INDEXED_INDIRECT = 11;
+  private static final int OP_DISPATCH = 12;
+  private static final int OP_PUSH_CONSTANTS = 13;
+
+  private static final int HEADER_SIZE = 8;
+  private static final long INITIAL_CAPACITY = 4096L;
+
+  private long base;
+  private long capacity;
+  private long position;
+  private int command_count;
+  private boolean closed;
+
+  /**
+   * Create an empty command list.
+   */
+
+  public VulkanLWJGLCommandList()
+  {
+    this.capacity = INITIAL_CAPACITY;
+    this.base = MemoryUtil.nmemAlloc(this.capacity);
+    if (this.base == MemoryUtil.NULL) {
+      throw new OutOfMemoryError("Unable to allocate command list storage");
+    }
+    this.position = 0L;
+    this.command_count = 0;
+    this.closed = false;
+  }
+
+  private static long align8(
+    final long size)
+  {
+    return (size + 7L) & ~7L;
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("[VulkanLWJGLCommandList commands=")
+      .append(this.command_count)
+      .append(" bytes=")
+      .append(this.position)
+      .append("]")
+      .toString();
+  }
+
+  @Override
+  public void close()
+  {
+    if (!this.closed) {
+      this.closed = true;
+      MemoryUtil.nmemFree(this.base);
+      this.base = MemoryUtil.NULL;
+      this.capacity = 0L;
+      this.position = 0L;
+      this.command_count = 0;
+    }
+  }
+
+  @Override
+  public boolean isClosed()
+  {
+    return this.closed;
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Command list has been closed.");
+    }
+  }
+
+  @Override
+  public void reset()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+    this.position = 0L;
+    this.command_count = 0;
+  }
+
+  @Override
+  public int commandCount()
+  {
+    return this.command_count;
+  }
+
+  @Override
+  public long sizeBytes()
+  {
+    return this.position;
+  }
+
+  /**
+   * Start a command with the given opcode and payload size, growing the
+   * storage if necessary.
+   *
+   * @return The address of the command payload
+   */
+
+  private long begin(
+    final int opcode,
+    final long payload_size)
+  {
+    final var size = align8(HEADER_SIZE + payload_size);
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+        "Command size exceeds the maximum encodable size: " + size);
+    }
+
+    final var required = this.position + size;
+    if (required > this.capacity) {
+      final var new_capacity = Math.max(this.capacity * 2L, required);
+      final var new_base = MemoryUtil.nmemRealloc(this.base, new_capacity);
+      if (new_base == MemoryUtil.NULL) {
+        throw new OutOfMemoryError("Unable to grow command list storage");
+      }
+      this.base = new_base;
+      this.capacity = new_capacity;
+    }
+
+    final var address = this.base + this.position;
+    MemoryUtil.memPutInt(address, opcode);
+    MemoryUtil.memPutInt(address + 4L, (int) size);
+    this.position = required;
+    ++this.command_count;
+    return address + HEADER_SIZE;
+  }
+
+  /**
+   * Decode the recorded commands, passing each to the given receiver in the
+   * order in which they were recorded.
+   *
+   * @param receiver The receiver
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void replay(
+    final VulkanLWJGLCommandListReceiverType receiver)
+    throws VulkanException
+  {
+    Objects.requireNonNull(receiver, "receiver");
+
+    this.checkNotClosed();
+
+    var address = this.base;
+    final var end = this.base + this.position;
+    while (address < end) {
+      final var opcode = MemoryUtil.memGetInt(address);
+      final var size = MemoryUtil.memGetInt(address + 4L);
+      final var data = address + HEADER_SIZE;
+      replayOne(receiver, opcode, data);
+      address += size;
+    }
+  }
+
+  private static void replayOne(
+    final VulkanLWJGLCommandListReceiverType receiver,
+    final int opcode,
+    final long data)
+  {
+    switch (opcode) {
+      case OP_BIND_PIPELINE -> {
+        receiver.bindPipeline(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetLong(data + 8L));
+      }
+      case OP_BIND_VERTEX_BUFFERS -> {
+        final var count = MemoryUtil.memGetInt(data + 4L);
+        final var buffers = data + 8L;
+        receiver.bindVertexBuffers(
+          MemoryUtil.memGetInt(data),
+          count,
+          buffers,
+          buffers + ((long) count * Long.BYTES));
+      }
+      case OP_BIND_INDEX_BUFFER -> {
+        receiver.bindIndexBuffer(
+          MemoryUtil.memGetLong(data),
+          MemoryUtil.memGetLong(data + 8L),
+          MemoryUtil.memGetInt(data + 16L));
+      }
+      case OP_BIND_DESCRIPTOR_SETS -> {
+        final var set_count = MemoryUtil.memGetInt(data + 16L);
+        final var dynamic_count = MemoryUtil.memGetInt(data + 20L);
+        final var sets = data + 24L;
+        final var dynamic =
+          dynamic_count == 0
+            ? MemoryUtil.NULL
+            : sets + ((long) set_count * Long.BYTES);
+        receiver.bindDescriptorSets(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetLong(data + 8L),
+          MemoryUtil.memGetInt(data + 4L),
+          set_count,
+          sets,
+          dynamic_count,
+          dynamic);
+      }
+      case OP_SET_VIEWPORT -> {
+        receiver.setViewport(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L),
+          data + 8L);
+      }
+      case OP_SET_SCISSOR -> {
+        receiver.setScissor(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L),
+          data + 8L);
+      }
+      case OP_SET_STENCIL_REFERENCE -> {
+        receiver.setStencilReference(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L));
+      }
+      case OP_DRAW -> {
+        receiver.draw(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L),
+          MemoryUtil.memGetInt(data + 8L),
+          MemoryUtil.memGetInt(data + 12L));
+      }
+      case OP_DRAW_INDEXED -> {
+        receiver.drawIndexed(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L),
+          MemoryUtil.memGetInt(data + 8L),
+          MemoryUtil.memGetInt(data + 12L),
+          MemoryUtil.memGetInt(data + 16L));
+      }
+      case OP_DRAW_INDIRECT -> {
+        receiver.drawIndirect(
+          MemoryUtil.memGetLong(data),
+          MemoryUtil.memGetLong(data + 8L),
+          MemoryUtil.memGetInt(data + 16L),
+          MemoryUtil.memGetInt(data + 20L));
+      }
+      case OP_DRAW_INDEXED_INDIRECT -> {
+        receiver.drawIndexedIndirect(
+          MemoryUtil.memGetLong(data),
+          MemoryUtil.memGetLong(data + 8L),
+          MemoryUtil.memGetInt(data + 16L),
+          MemoryUtil.memGetInt(data + 20L));
+      }
+      case OP_DISPATCH -> {
+        receiver.dispatch(
+          MemoryUtil.memGetInt(data),
+          MemoryUtil.memGetInt(data + 4L),
+          MemoryUtil.memGetInt(data + 8L));
+      }
+      case OP_PUSH_CONSTANTS -> {
+        receiver.pushConstants(
+          MemoryUtil.memGetLong(data),
+          MemoryUtil.memGetInt(data + 8L),
+          MemoryUtil.memGetInt(data + 12L),
+          MemoryUtil.memGetInt(data + 16L),
+          data + 24L);
+      }
+      default -> throw new UnreachableCodeException();
+    }
+  }
+
+  @Override
+  public void bindPipeline(
+    final VulkanPipelineBindPoint bind_point,
+    final VulkanPipelineType pipeline)
+    throws VulkanException
+  {
+    Objects.requireNonNull(bind_point, "bind_point");
+    Objects.requireNonNull(pipeline, "pipeline");
+
+    this.checkNotClosed();
+
+    final var cpipeline = checkInstanceOf(pipeline, VulkanLWJGLPipeline.class);
+    final var data = this.begin(OP_BIND_PIPELINE, 16L);
+    MemoryUtil.memPutInt(data, bind_point.value());
+    MemoryUtil.memPutLong(data + 8L, cpipeline.handle());
+  }
+
+  @Override
+  public void bindVertexBuffers(
+    final int first_binding,
+    final int binding_count,
+    final List<VulkanBufferType> buffers,
+    final long[] offsets,
+    final int offsets_offset)
+    throws VulkanException
+  {
+    Objects.requireNonNull(buffers, "buffers");
+    Objects.requireNonNull(offsets, "offsets");
+    Objects.checkFromIndexSize(0, binding_count, buffers.size());
+    Objects.checkFromIndexSize(offsets_offset, binding_count, offsets.length);
+
+    this.checkNotClosed();
+
+    final var data =
+      this.begin(
+        OP_BIND_VERTEX_BUFFERS,
+        8L + (2L * binding_count * Long.BYTES));
+
+    MemoryUtil.memPutInt(data, first_binding);
+    MemoryUtil.memPutInt(data + 4L, binding_count);
+
+    final var buffers_address = data + 8L;
+    final var offsets_address =
+      buffers_address + ((long) binding_count * Long.BYTES);
+
+    for (var index = 0; index < binding_count; ++index) {
+      final var buffer =
+        checkInstanceOf(buffers.get(index), VulkanLWJGLBuffer.class);
+      final var element = (long) index * Long.BYTES;
+      MemoryUtil.memPutLong(buffers_address + element, buffer.handle());
+      MemoryUtil.memPutLong(
+        offsets_address + element,
+        offsets[offsets_offset + index]);
+    }
+  }
+
+  @Override
+  public void bindIndexBuffer(
+    final VulkanBufferType buffer,
+    final long offset,
+    final VulkanIndexType index_type)
+    throws VulkanException
+  {
+    Objects.requireNonNull(buffer, "buffer");
+    Objects.requireNonNull(index_type, "index_type");
+
+    this.checkNotClosed();
+
+    final var cbuffer = checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
+    final var data = this.begin(OP_BIND_INDEX_BUFFER, 24L);
+    MemoryUtil.memPutLong(data, cbuffer.handle());
+    MemoryUtil.memPutLong(data + 8L, offset);
+    MemoryUtil.memPutInt(data + 16L, index_type.value());
+  }
+
+  @Override
+  public void bindDescriptorSets(
+    final VulkanPipelineBindPoint pipeline_bind_point,
+    final VulkanPipelineLayoutType layout,
+    final int first_set,
+    final List<VulkanDescriptorSetType> descriptor_sets,
+    final int[] dynamic_offsets,
+    final int dynamic_offsets_offset,
+    final int dynamic_offsets_count)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pipeline_bind_point, "pipeline_bind_point");
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(descriptor_sets, "descriptor_sets");
+    Objects.requireNonNull(dynamic_offsets, "dynamic_offsets");
+    Objects.checkFromIndexSize(
+      dynamic_offsets_offset,
+      dynamic_offsets_count,
+      dynamic_offsets.length);
+
+    this.checkNotClosed();
+
+    final var clayout =
+      checkInstanceOf(layout, VulkanLWJGLPipelineLayout.class);
+    final var set_count =
+      descriptor_sets.size();
+
+    final var data =
+      this.begin(
+        OP_BIND_DESCRIPTOR_SETS,
+        24L
+          + ((long) set_count * Long.BYTES)
+          + ((long) dynamic_offsets_count * Integer.BYTES));
+
+    MemoryUtil.memPutInt(data, pipeline_bind_point.value());
+    MemoryUtil.memPutInt(data + 4L, first_set);
+    MemoryUtil.memPutLong(data + 8L, clayout.handle());
+    MemoryUtil.memPutInt(data + 16L, set_count);
+    MemoryUtil.memPutInt(data + 20L, dynamic_offsets_count);
+
+    final var sets_address = data + 24L;
+    for (var index = 0; index < set_count; ++index) {
+      final var set =
+        checkInstanceOf(
+          descriptor_sets.get(index),
+          VulkanLWJGLDescriptorSet.class);
+      MemoryUtil.memPutLong(
+        sets_address + ((long) index * Long.BYTES),
+        set.handle());
+    }
+
+    final var dynamic_address =
+      sets_address + ((long) set_count * Long.BYTES);
+    for (var index = 0; index < dynamic_offsets_count; ++index) {
+      MemoryUtil.memPutInt(
+        dynamic_address + ((long) index * Integer.BYTES),
+        dynamic_offsets[dynamic_offsets_offset + index]);
+    }
+  }
+
+  @Override
+  public void setViewport(
+    final int first_viewport,
+    final List<VulkanViewport> viewports)
+    throws VulkanException
+  {
+    Objects.requireNonNull(viewports, "viewports");
+
+    this.checkNotClosed();
+
+    final var count = viewports.size();
+    final var data =
+      this.begin(OP_SET_VIEWPORT, 8L + ((long) count * VkViewport.SIZEOF));
+
+    MemoryUtil.memPutInt(data, first_viewport);
+    MemoryUtil.memPutInt(data + 4L, count);
+
+    for (var index = 0; index < count; ++index) {
+      final var viewport = viewports.get(index);
+      final var target = data + 8L + ((long) index * VkViewport.SIZEOF);
+      MemoryUtil.memPutFloat(target + VkViewport.X, viewport.x());
+      MemoryUtil.memPutFloat(target + VkViewport.Y, viewport.y());
+      MemoryUtil.memPutFloat(target + VkViewport.WIDTH, viewport.width());
+      MemoryUtil.memPutFloat(target + VkViewport.HEIGHT, viewport.height());
+      MemoryUtil.memPutFloat(target + VkViewport.MINDEPTH, viewport.minDepth());
+      MemoryUtil.memPutFloat(target + VkViewport.MAXDEPTH, viewport.maxDepth());
+    }
+  }
+
+  @Override
+  public void setScissor(
+    final int first_scissor,
+    final List<VulkanRectangle2D> rectangles)
+    throws VulkanException
+  {
+    Objects.requireNonNull(rectangles, "rectangles");
+
+    this.checkNotClosed();
+
+    final var count = rectangles.size();
+    final var data =
+      this.begin(OP_SET_SCISSOR, 8L + ((long) count * VkRect2D.SIZEOF));
+
+    MemoryUtil.memPutInt(data, first_scissor);
+    MemoryUtil.memPutInt(data + 4L, count);
+
+    for (var index = 0; index < count; ++index) {
+      final var rectangle = rectangles.get(index);
+      final var offset = rectangle.offset();
+      final var extent = rectangle.extent();
+      final var target = data + 8L + ((long) index * VkRect2D.SIZEOF);
+      final var target_offset = target + VkRect2D.OFFSET;
+      final var target_extent = target + VkRect2D.EXTENT;
+      MemoryUtil.memPutInt(target_offset + VkOffset2D.X, offset.x());
+      MemoryUtil.memPutInt(target_offset + VkOffset2D.Y, offset.y());
+      MemoryUtil.memPutInt(target_extent + VkExtent2D.WIDTH, extent.width());
+      MemoryUtil.memPutInt(target_extent + VkExtent2D.HEIGHT, extent.height());
+    }
+  }
+
+  @Override
+  public void setStencilReference(
+    final Set<VulkanStencilFaceFlag> face_mask,
+    final int reference)
+    throws VulkanException
+  {
+    Objects.requireNonNull(face_mask, "face_mask");
+
+    this.checkNotClosed();
+
+    final var data = this.begin(OP_SET_STENCIL_REFERENCE, 8L);
+    MemoryUtil.memPutInt(data, VulkanEnumMaps.packValues(face_mask));
+    MemoryUtil.memPutInt(data + 4L, reference);
+  }
+
+  @Override
+  public void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final Set<VulkanShaderStageFlag> stages,
+    final int offset,
+    final ByteBuffer values)
+    throws VulkanException
+  {
+    Objects.requireNonNull(values, "values");
+
+    this.pushConstants(
+      layout,
+      stages,
+      offset,
+      VulkanLWJGLInlineData.address(values),
+      values.remaining());
+  }
+
+  @Override
+  public void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final Set<VulkanShaderStageFlag> stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stages, "stages");
+
+    this.pushConstantsMask(
+      layout,
+      VulkanEnumMaps.packValues(stages),
+      offset,
+      address,
+      size);
+  }
+
+  @Override
+  public void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final VulkanFlagSet<VulkanShaderStageFlag> stages,
+    final int offset,
+    final ByteBuffer values)
+    throws VulkanException
+  {
+    Objects.requireNonNull(values, "values");
+
+    this.pushConstants(
+      layout,
+      stages,
+      offset,
+      VulkanLWJGLInlineData.address(values),
+      values.remaining());
+  }
+
+  @Override
+  public void pushConstants(
+    final VulkanPipelineLayoutType layout,
+    final VulkanFlagSet<VulkanShaderStageFlag> stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stages, "stages");
+
+    this.pushConstantsMask(layout, stages.value(), offset, address, size);
+  }
+
+  private void pushConstantsMask(
+    final VulkanPipelineLayoutType layout,
+    final int stages,
+    final int offset,
+    final long address,
+    final int size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(layout, "layout");
+    VulkanLWJGLInlineData.checkPushConstants(offset, size);
+
+    this.checkNotClosed();
+
+    final var clayout =
+      checkInstanceOf(layout, VulkanLWJGLPipelineLayout.class);
+    final var data =
+      this.begin(OP_PUSH_CONSTANTS, 24L + size);
+
+    MemoryUtil.memPutLong(data, clayout.handle());
+    MemoryUtil.memPutInt(data + 8L, stages);
+    MemoryUtil.memPutInt(data + 12L, offset);
+    MemoryUtil.memPutInt(data + 16L, size);
+    MemoryUtil.memCopy(address, data + 24L, size);
+  }
+
+  @Override
+  public void draw(
+    final int vertex_count,
+    final int instance_count,
+    final int first_vertex,
+    final int first_instance)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var data = this.begin(OP_DRAW, 16L);
+    MemoryUtil.memPutInt(data, vertex_count);
+    MemoryUtil.memPutInt(data + 4L, instance_count);
+    MemoryUtil.memPutInt(data + 8L, first_vertex);
+    MemoryUtil.memPutInt(data + 12L, first_instance);
+  }
+
+  @Override
+  public void drawIndexed(
+    final int vertex_count,
+    final int instance_count,
+    final int first_vertex,
+    final int vertex_offset,
+    final int first_instance)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var data = this.begin(OP_DRAW_INDEXED, 20L);
+    MemoryUtil.memPutInt(data, vertex_count);
+    MemoryUtil.memPutInt(data + 4L, instance_count);
+    MemoryUtil.memPutInt(data + 8L, first_vertex);
+    MemoryUtil.memPutInt(data + 12L, vertex_offset);
+    MemoryUtil.memPutInt(data + 16L, first_instance);
+  }
+
+  @Override
+  public void drawIndirect(
+    final VulkanBufferType buffer,
+    final long offset,
+    final int draw_count,
+    final int stride)
+    throws VulkanException
+  {
+    this.recordIndirect(OP_DRAW_INDIRECT, buffer, offset, draw_count, stride);
+  }
+
+  @Override
+  public void drawIndexedIndirect(
+    final VulkanBufferType buffer,
+    final long offset,
+    final int draw_count,
+    final int stride)
+    throws VulkanException
+  {
+    this.recordIndirect(
+      OP_DRAW_INDEXED_INDIRECT, buffer, offset, draw_count, stride);
+  }
+
+  private void recordIndirect(
+    final int opcode,
+    final VulkanBufferType buffer,
+    final long offset,
+    final int draw_count,
+    final int stride)
+    throws VulkanException
+  {
+    Objects.requireNonNull(buffer, "buffer");
+
+    this.checkNotClosed();
+
+    final var cbuffer = checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
+    final var data = this.begin(opcode, 24L);
+    MemoryUtil.memPutLong(data, cbuffer.handle());
+    MemoryUtil.memPutLong(data + 8L, offset);
+    MemoryUtil.memPutInt(data + 16L, draw_count);
+    MemoryUtil.memPutInt(data + 20L, stride);
+  }
+
+  @Override
+  public void dispatch(
+    final int group_count_x,
+    final int group_count_y,
+    final int group_count_z)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var data = this.begin(OP_DISPATCH, 12L);
+    MemoryUtil.memPutInt(data, group_count_x);
+    MemoryUtil.memPutInt(data + 4L, group_count_y);
+    MemoryUtil.memPutInt(data + 8L, group_count_z);
+  }
+}
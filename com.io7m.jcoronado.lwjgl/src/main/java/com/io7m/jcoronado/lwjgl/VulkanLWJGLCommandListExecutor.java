@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VkCommandBuffer;
+
+import java.util.Objects;
+
+/**
+ * A command list receiver that submits commands directly to a command
+ * buffer.
+ */
+
+final class VulkanLWJGLCommandListExecutor
+  implements VulkanLWJGLCommandListReceiverType
+{
+  private final VkCommandBuffer handle;
+
+  VulkanLWJGLCommandListExecutor(
+    final VkCommandBuffer in_handle)
+  {
+    this.handle = Objects.requireNonNull(in_handle, "handle");
+  }
+
+  @Override
+  public void bindPipeline(
+    final int bind_point,
+    final long pipeline)
+  {
+    VK10.vkCmdBindPipeline(this.handle, bind_point, pipeline);
+  }
+
+  @Override
+  public void bindVertexBuffers(
+    final int first_binding,
+    final int binding_count,
+    final long buffers_address,
+    final long offsets_address)
+  {
+    VK10.nvkCmdBindVertexBuffers(
+      this.handle,
+      first_binding,
+      binding_count,
+      buffers_address,
+      offsets_address);
+  }
+
+  @Override
+  public void bindIndexBuffer(
+    final long buffer,
+    final long offset,
+    final int index_type)
+  {
+    VK10.vkCmdBindIndexBuffer(this.handle, buffer, offset, index_type);
+  }
+
+  @Override
+  public void bindDescriptorSets(
+    final int bind_point,
+    final long layout,
+    final int first_set,
+    final int set_count,
+    final long sets_address,
+    final int dynamic_offsets_count,
+    final long dynamic_offsets_address)
+  {
+    VK10.nvkCmdBindDescriptorSets(
+      this.handle,
+      bind_point,
+      layout,
+      first_set,
+      set_count,
+      sets_address,
+      dynamic_offsets_count,
+      dynamic_offsets_address);
+  }
+
+  @Override
+  public void setViewport(
+    final int first_viewport,
+    final int viewport_count,
+    final long viewports_address)
+  {
+    VK10.nvkCmdSetViewport(
+      this.handle,
+      first_viewport,
+      viewport_count,
+      viewports_address);
+  }
+
+  @Override
+  public void setScissor(
+    final int first_scissor,
+    final int scissor_count,
+    final long rectangles_address)
+  {
+    VK10.nvkCmdSetScissor(
+      this.handle,
+      first_scissor,
+      scissor_count,
+      rectangles_address);
+  }
+
+  @Override
+  public void pushConstants(
+    final long layout,
+    final int stage_flags,
+    final int offset,
+    final int size,
+    final long values_address)
+  {
+    VK10.nvkCmdPushConstants(
+      this.handle,
+      layout,
+      stage_flags,
+      offset,
+      size,
+      values_address);
+  }
+
+  @Override
+  public void setStencilReference(
+    final int face_mask,
+    final int reference)
+  {
+    VK10.vkCmdSetStencilReference(this.handle, face_mask, reference);
+  }
+
+  @Override
+  public void draw(
+    final int vertex_count,
+    final int instance_count,
+    final int first_vertex,
+    final int first_instance)
+  {
+    VK10.vkCmdDraw(
+      this.handle,
+      vertex_count,
+      instance_count,
+      first_vertex,
+      first_instance);
+  }
+
+  @Override
+  public void drawIndexed(
+    final int vertex_count,
+    final int instance_count,
+    final int first_vertex,
+    final int vertex_offset,
+    final int first_instance)
+  {
+    VK10.vkCmdDrawIndexed(
+      this.handle,
+      vertex_count,
+      instance_count,
+      first_vertex,
+      vertex_offset,
+      first_instance);
+  }
+
+  @Override
+  public void drawIndirect(
+    final long buffer,
+    final long offset,
+    final int draw_count,
+    final int stride)
+  {
+    VK10.vkCmdDrawIndirect(this.handle, buffer, offset, draw_count, stride);
+  }
+
+  @Override
+  public void drawIndexedIndirect(
+    final long buffer,
+    final long offset,
+    final int draw_count,
+    final int stride)
+  {
+    VK10.vkCmdDrawIndexedIndirect(
+      this.handle,
+      buffer,
+      offset,
+      draw_count,
+      stride);
+  }
+
+  @Override
+  public void dispatch(
+    final int group_count_x,
+    final int group_count_y,
+    final int group_count_z)
+  {
+    VK10.vkCmdDispatch(
+      this.handle,
+      group_count_x,
+      group_count_y,
+      group_count_z);
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+/**
+ * <p>A receiver of decoded command list commands.</p>
+ *
+ * <p>Handles are presented as raw native handle values, and array parameters
+ * are presented as native addresses that point directly into the command
+ * list's storage. The addresses are only valid for the duration of the
+ * method call.</p>
+ *
+ * @see VulkanLWJGLCommandList#replay(VulkanLWJGLCommandListReceiverType)
+ */
+
+public interface VulkanLWJGLCommandListReceiverType
+{
+  /**
+   * @param bind_point The bind point
+   * @param pipeline   The pipeline handle
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdBindPipeline
+   */
+
+  void bindPipeline(
+    int bind_point,
+    long pipeline);
+
+  /**
+   * @param first_binding   The first binding
+   * @param binding_count   The number of bindings
+   * @param buffers_address The address of an array of buffer handles
+   * @param offsets_address The address of an array of buffer offsets
+   *
+   * @see org.lwjgl.vulkan.VK10#nvkCmdBindVertexBuffers
+   */
+
+  void bindVertexBuffers(
+    int first_binding,
+    int binding_count,
+    long buffers_address,
+    long offsets_address);
+
+  /**
+   * @param buffer     The buffer handle
+   * @param offset     The buffer offset
+   * @param index_type The index type
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdBindIndexBuffer
+   */
+
+  void bindIndexBuffer(
+    long buffer,
+    long offset,
+    int index_type);
+
+  /**
+   * @param bind_point              The bind point
+   * @param layout                  The pipeline layout handle
+   * @param first_set               The first set
+   * @param set_count               The number of sets
+   * @param sets_address            The address of an array of descriptor set
+   *                                handles
+   * @param dynamic_offsets_count   The number of dynamic offsets
+   * @param dynamic_offsets_address The address of an array of dynamic
+   *                                offsets, or {@code NULL}
+   *
+   * @see org.lwjgl.vulkan.VK10#nvkCmdBindDescriptorSets
+   */
+
+  void bindDescriptorSets(
+    int bind_point,
+    long layout,
+    int first_set,
+    int set_count,
+    long sets_address,
+    int dynamic_offsets_count,
+    long dynamic_offsets_address);
+
+  /**
+   * @param first_viewport    The first viewport
+   * @param viewport_count    The number of viewports
+   * @param viewports_address The address of an array of {@code VkViewport}
+   *                          structures
+   *
+   * @see org.lwjgl.vulkan.VK10#nvkCmdSetViewport
+   */
+
+  void setViewport(
+    int first_viewport,
+    int viewport_count,
+    long viewports_address);
+
+  /**
+   * @param first_scissor      The first scissor
+   * @param scissor_count      The number of scissors
+   * @param rectangles_address The address of an array of {@code VkRect2D}
+   *                           structures
+   *
+   * @see org.lwjgl.vulkan.VK10#nvkCmdSetScissor
+   */
+
+  void setScissor(
+    int first_scissor,
+    int scissor_count,
+    long rectangles_address);
+
+  /**
+   * @param layout         The pipeline layout handle
+   * @param stage_flags    The shader stage flags
+   * @param offset         The offset of the updated range
+   * @param size           The size of the updated range
+   * @param values_address The address of the push constant values
+   *
+   * @see org.lwjgl.vulkan.VK10#nvkCmdPushConstants
+   */
+
+  void pushConstants(
+    long layout,
+    int stage_flags,
+    int offset,
+    int size,
+    long values_address);
+
+  /**
+   * @param face_mask The face mask
+   * @param reference The stencil reference
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdSetStencilReference
+   */
+
+  void setStencilReference(
+    int face_mask,
+    int reference);
+
+  /**
+   * @param vertex_count   The vertex count
+   * @param instance_count The instance count
+   * @param first_vertex   The first vertex
+   * @param first_instance The first instance
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdDraw
+   */
+
+  void draw(
+    int vertex_count,
+    int instance_count,
+    int first_vertex,
+    int first_instance);
+
+  /**
+   * @param vertex_count   The vertex count
+   * @param instance_count The instance count
+   * @param first_vertex   The first vertex
+   * @param vertex_offset  The vertex offset
+   * @param first_instance The first instance
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdDrawIndexed
+   */
+
+  void drawIndexed(
+    int vertex_count,
+    int instance_count,
+    int first_vertex,
+    int vertex_offset,
+    int first_instance);
+
+  /**
+   * @param buffer     The buffer handle
+   * @param offset     The buffer offset
+   * @param draw_count The draw count
+   * @param stride     The stride
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdDrawIndirect
+   */
+
+  void drawIndirect(
+    long buffer,
+    long offset,
+    int draw_count,
+    int stride);
+
+  /**
+   * @param buffer     The buffer handle
+   * @param offset     The buffer offset
+   * @param draw_count The draw count
+   * @param stride     The stride
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdDrawIndexedIndirect
+   */
+
+  void drawIndexedIndirect(
+    long buffer,
+    long offset,
+    int draw_count,
+    int stride);
+
+  /**
+   * @param group_count_x The X group count
+   * @param group_count_y The Y group count
+   * @param group_count_z The Z group count
+   *
+   * @see org.lwjgl.vulkan.VK10#vkCmdDispatch
+   */
+
+  void dispatch(
+    int group_count_x,
+    int group_count_y,
+    int group_count_z);
+}
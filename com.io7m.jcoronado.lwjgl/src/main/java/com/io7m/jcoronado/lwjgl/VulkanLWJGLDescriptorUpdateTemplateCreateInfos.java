@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateEntry;
+import com.io7m.jcoronado.api.VulkanIncompatibleClassException;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VK11;
+import org.lwjgl.vulkan.VkDescriptorUpdateTemplateCreateInfo;
+import org.lwjgl.vulkan.VkDescriptorUpdateTemplateEntry;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+
+/**
+ * Functions to pack descriptor update template create infos.
+ */
+
+public final class VulkanLWJGLDescriptorUpdateTemplateCreateInfos
+{
+  private VulkanLWJGLDescriptorUpdateTemplateCreateInfos()
+  {
+
+  }
+
+  /**
+   * Pack a structure.
+   *
+   * @param stack A stack
+   * @param info  A structure
+   *
+   * @return A packed structure
+   *
+   * @throws VulkanIncompatibleClassException On errors
+   */
+
+  public static VkDescriptorUpdateTemplateCreateInfo pack(
+    final MemoryStack stack,
+    final VulkanDescriptorUpdateTemplateCreateInfo info)
+    throws VulkanIncompatibleClassException
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(info, "info");
+
+    final var layout =
+      checkInstanceOf(
+        info.descriptorSetLayout(),
+        VulkanLWJGLDescriptorSetLayout.class);
+
+    return VkDescriptorUpdateTemplateCreateInfo.malloc(stack)
+      .sType(VK11.VK_STRUCTURE_TYPE_DESCRIPTOR_UPDATE_TEMPLATE_CREATE_INFO)
+      .pNext(0L)
+      .flags(0)
+      .pDescriptorUpdateEntries(
+        packEntries(stack, info.descriptorUpdateEntries()))
+      .templateType(VK11.VK_DESCRIPTOR_UPDATE_TEMPLATE_TYPE_DESCRIPTOR_SET)
+      .descriptorSetLayout(layout.handle())
+      .pipelineBindPoint(0)
+      .pipelineLayout(0L)
+      .set(0);
+  }
+
+  private static VkDescriptorUpdateTemplateEntry.Buffer packEntries(
+    final MemoryStack stack,
+    final List<VulkanDescriptorUpdateTemplateEntry> entries)
+  {
+    final var count = entries.size();
+    final var buffer = VkDescriptorUpdateTemplateEntry.malloc(count, stack);
+    for (var index = 0; index < count; ++index) {
+      packEntryInto(entries.get(index), buffer.get(index));
+    }
+    return buffer;
+  }
+
+  /**
+   * Pack a structure.
+   *
+   * @param source The input structure
+   * @param target The output structure
+   *
+   * @return A packed structure
+   */
+
+  public static VkDescriptorUpdateTemplateEntry packEntryInto(
+    final VulkanDescriptorUpdateTemplateEntry source,
+    final VkDescriptorUpdateTemplateEntry target)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(target, "target");
+
+    return target
+      .dstBinding(source.destinationBinding())
+      .dstArrayElement(source.destinationArrayElement())
+      .descriptorCount(source.descriptorCount())
+      .descriptorType(source.descriptorType().value())
+      .offset(source.offset())
+      .stride(source.stride());
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanBufferViewType;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateDataType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanImageLayout;
+import com.io7m.jcoronado.api.VulkanImageViewType;
+import com.io7m.jcoronado.api.VulkanSamplerType;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.Objects;
+
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+
+/**
+ * LWJGL {@link VulkanDescriptorUpdateTemplateDataType}. The data is held in
+ * zero-filled memory allocated with {@link MemoryUtil}, and values are
+ * written directly into that memory.
+ */
+
+public final class VulkanLWJGLDescriptorUpdateTemplateData
+  implements VulkanDescriptorUpdateTemplateDataType
+{
+  private final long address;
+  private final long size;
+  private boolean closed;
+
+  /**
+   * Allocate template data.
+   *
+   * @param in_size The size of the data in bytes
+   */
+
+  public VulkanLWJGLDescriptorUpdateTemplateData(
+    final long in_size)
+  {
+    if (in_size <= 0L) {
+      throw new IllegalArgumentException(
+        "Template data size must be positive: " + in_size);
+    }
+
+    this.size = in_size;
+    this.address = MemoryUtil.nmemCallocChecked(1L, in_size);
+    this.closed = false;
+  }
+
+  /**
+   * @return The address of the data
+   *
+   * @throws VulkanDestroyedException If the data has been closed
+   */
+
+  public long address()
+    throws VulkanDestroyedException
+  {
+    this.checkNotClosed();
+    return this.address;
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  private long target(
+    final long offset,
+    final long length)
+    throws VulkanDestroyedException
+  {
+    this.checkNotClosed();
+    Objects.checkFromIndexSize(offset, length, this.size);
+    return this.address + offset;
+  }
+
+  @Override
+  public void putBufferInfo(
+    final long offset,
+    final VulkanBufferType buffer,
+    final long buffer_offset,
+    final long range)
+    throws VulkanException
+  {
+    final var handle =
+      checkInstanceOf(buffer, VulkanLWJGLBuffer.class).handle();
+    final var target = this.target(offset, BUFFER_INFO_SIZE);
+    MemoryUtil.memPutLong(target, handle);
+    MemoryUtil.memPutLong(target + 8L, buffer_offset);
+    MemoryUtil.memPutLong(target + 16L, range);
+  }
+
+  @Override
+  public void putImageInfo(
+    final long offset,
+    final VulkanSamplerType sampler,
+    final VulkanImageViewType image_view,
+    final VulkanImageLayout image_layout)
+    throws VulkanException
+  {
+    Objects.requireNonNull(image_layout, "image_layout");
+
+    final var sampler_handle =
+      checkInstanceOf(sampler, VulkanLWJGLSampler.class).handle();
+    final var view_handle =
+      checkInstanceOf(image_view, VulkanLWJGLImageView.class).handle();
+    final var target = this.target(offset, IMAGE_INFO_SIZE);
+    MemoryUtil.memPutLong(target, sampler_handle);
+    MemoryUtil.memPutLong(target + 8L, view_handle);
+    MemoryUtil.memPutInt(target + 16L, image_layout.value());
+    MemoryUtil.memPutInt(target + 20L, 0);
+  }
+
+  @Override
+  public void putBufferView(
+    final long offset,
+    final VulkanBufferViewType buffer_view)
+    throws VulkanException
+  {
+    final var handle =
+      checkInstanceOf(buffer_view, VulkanLWJGLBufferView.class).handle();
+    MemoryUtil.memPutLong(this.target(offset, BUFFER_VIEW_SIZE), handle);
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Template data has been closed.");
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    if (!this.closed) {
+      this.closed = true;
+      MemoryUtil.nmemFree(this.address);
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("[VulkanLWJGLDescriptorUpdateTemplateData 0x")
+      .append(Long.toUnsignedString(this.address, 16))
+      .append(" ")
+      .append(this.size)
+      .append("]")
+      .toString();
+  }
+}
@@ -17,12 +17,15 @@
 package com.io7m.jcoronado.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
+import com.io7m.jcoronado.api.VulkanFlagSet;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * LWJGL {@link VulkanDeviceMemoryType}.
@@ -36,16 +39,22 @@ public final class VulkanLWJGLDeviceMemory
 
   private final long handle;
   private final VkDevice device;
+  private final Set<VulkanMemoryPropertyFlag> properties;
+  private final VulkanFlagSet<VulkanMemoryPropertyFlag> property_flags;
 
   VulkanLWJGLDeviceMemory(
     final Ownership ownership,
     final VkDevice in_device,
     final long in_handle,
+    final Set<VulkanMemoryPropertyFlag> in_properties,
     final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy)
   {
     super(ownership, in_host_allocator_proxy);
     this.device = Objects.requireNonNull(in_device, "device");
     this.handle = in_handle;
+    this.properties = Set.copyOf(in_properties);
+    this.property_flags =
+      VulkanFlagSet.ofAll(VulkanMemoryPropertyFlag.class, this.properties);
   }
 
   @Override
@@ -99,4 +108,14 @@ public final class VulkanLWJGLDeviceMemory
   {
     return this.handle;
   }
+
+  Set<VulkanMemoryPropertyFlag> memoryProperties()
+  {
+    return this.properties;
+  }
+
+  VulkanFlagSet<VulkanMemoryPropertyFlag> memoryPropertyFlags()
+  {
+    return this.property_flags;
+  }
 }
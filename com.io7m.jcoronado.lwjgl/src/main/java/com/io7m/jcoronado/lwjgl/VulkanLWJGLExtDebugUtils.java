@@ -59,11 +59,9 @@ public final class VulkanLWJGLExtDebugUtils implements VulkanDebugUtilsType
   private static final Logger LOG =
     LoggerFactory.getLogger(VulkanLWJGLExtDebugUtils.class);
 
-  private final MemoryStack stackInitial;
 
   VulkanLWJGLExtDebugUtils()
   {
-    this.stackInitial = MemoryStack.create();
   }
 
   private static int transformCallbackData(
@@ -154,7 +152,7 @@ public final class VulkanLWJGLExtDebugUtils implements VulkanDebugUtilsType
     final var lwjglInstance =
       checkInstanceOf(instance, VulkanLWJGLInstance.class);
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var lwjglInfo =
         VkDebugUtilsMessengerCreateInfoEXT.malloc(stack);
 
@@ -216,7 +214,7 @@ public final class VulkanLWJGLExtDebugUtils implements VulkanDebugUtilsType
     final var lwjglCommandBuffer =
       checkInstanceOf(commandBuffer, VulkanLWJGLCommandBuffer.class);
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var lwjglInfo = VkDebugUtilsLabelEXT.malloc(stack);
       packLabel(stack, label, lwjglInfo);
       vkCmdBeginDebugUtilsLabelEXT(lwjglCommandBuffer.handle(), lwjglInfo);
@@ -234,7 +232,7 @@ public final class VulkanLWJGLExtDebugUtils implements VulkanDebugUtilsType
     final var lwjglCommandBuffer =
       checkInstanceOf(commandBuffer, VulkanLWJGLCommandBuffer.class);
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var lwjglInfo = VkDebugUtilsLabelEXT.malloc(stack);
       packLabel(stack, label, lwjglInfo);
       vkCmdInsertDebugUtilsLabelEXT(lwjglCommandBuffer.handle(), lwjglInfo);
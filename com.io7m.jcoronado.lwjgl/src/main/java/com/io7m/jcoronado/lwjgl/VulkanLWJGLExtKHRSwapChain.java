@@ -64,11 +64,9 @@ public final class VulkanLWJGLExtKHRSwapChain implements
   private static final Logger LOG =
     LoggerFactory.getLogger(VulkanLWJGLExtKHRSwapChain.class);
 
-  private final MemoryStack stack_initial;
 
   VulkanLWJGLExtKHRSwapChain()
   {
-    this.stack_initial = MemoryStack.create();
   }
 
   private static IntBuffer packQueueIndices(
@@ -283,7 +281,7 @@ public final class VulkanLWJGLExtKHRSwapChain implements
         info.surface(),
         VulkanLWJGLExtKHRSurface.VulkanLWJGLExtKHRSurfaceValue.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_info =
         VkSwapchainCreateInfoKHR.malloc(stack)
           .sType(KHRSwapchain.VK_STRUCTURE_TYPE_SWAPCHAIN_CREATE_INFO_KHR)
@@ -336,7 +334,7 @@ public final class VulkanLWJGLExtKHRSwapChain implements
 
     Objects.requireNonNull(present_info, "present_info");
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var buffer_indices =
         packImageIndices(stack, present_info.imageIndices());
 
@@ -95,7 +95,11 @@ public final class VulkanLWJGLFramebuffer extends VulkanLWJGLHandle implements
       this.hostAllocatorProxy().callbackBuffer());
   }
 
-  long handle()
+  /**
+   * @return The raw handle
+   */
+
+  public long handle()
   {
     return this.handle;
   }
@@ -0,0 +1,590 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanHostAllocatorCallbacks;
+import com.io7m.jcoronado.api.VulkanHostAllocatorType;
+import com.io7m.jcoronado.api.VulkanInternalAllocation;
+import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.system.jemalloc.JEmalloc;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>A host allocator that serves small allocations from per-size-class
+ * free lists, and falls back to JeMalloc for everything else.</p>
+ *
+ * <p>Allocations at {@code VK_SYSTEM_ALLOCATION_SCOPE_COMMAND} scope are
+ * typically very short-lived and are made while recording command buffers.
+ * They are served from a thread-local cache of free blocks for each size
+ * class, so that allocation and deallocation on the same thread do not
+ * require any synchronization. Allocations at
+ * {@code VK_SYSTEM_ALLOCATION_SCOPE_OBJECT} scope are served from a shared
+ * arena for each size class. Arenas are refilled by carving slabs obtained
+ * from JeMalloc into blocks. Allocations at any other scope, allocations
+ * larger than {@link #MAXIMUM_POOLED_SIZE} octets, and allocations requiring
+ * an alignment greater than {@link #HEADER_SIZE} octets are passed to
+ * JeMalloc.</p>
+ *
+ * <p>Each allocation is preceded by a header of {@link #HEADER_SIZE} octets
+ * that records where the allocation came from, because Vulkan does not
+ * provide the size or scope of an allocation when it is freed. Slab memory
+ * is retained and reused until the allocator is closed.</p>
+ *
+ * <p>The free blocks held in the cache of a thread that has terminated are
+ * returned to the shared arenas the next time a thread creates its cache.
+ * The allocator must be closed only after every Vulkan object that uses it
+ * has been destroyed; closing the allocator releases all slabs.</p>
+ */
+
+public final class VulkanLWJGLHostAllocatorPooled implements
+  VulkanHostAllocatorType, AutoCloseable
+{
+  /**
+   * The size of the header that precedes each allocation.
+   */
+
+  public static final int HEADER_SIZE = 16;
+
+  /**
+   * The largest allocation, not including the header, that will be served
+   * from a pool.
+   */
+
+  public static final int MAXIMUM_POOLED_SIZE = 4096 - HEADER_SIZE;
+
+  private static final int MINIMUM_BLOCK_SHIFT = 5;
+  private static final int MAXIMUM_BLOCK_SHIFT = 12;
+  private static final int CLASS_COUNT =
+    MAXIMUM_BLOCK_SHIFT - MINIMUM_BLOCK_SHIFT + 1;
+  private static final long SLAB_SIZE = 64L * 1024L;
+  private static final int THREAD_CACHE_LIMIT = 64;
+  private static final int THREAD_CACHE_BATCH = THREAD_CACHE_LIMIT / 2;
+
+  private static final int ORIGIN_JEMALLOC = 0;
+  private static final int ORIGIN_OBJECT = 1;
+  private static final int ORIGIN_COMMAND = 2;
+
+  private final Arena[] arenas_object;
+  private final Arena[] arenas_command;
+  private final ThreadLocal<ThreadCache> thread_caches;
+  private final List<ThreadCache> thread_caches_all;
+  private boolean closed;
+
+  /**
+   * Construct an allocator.
+   */
+
+  public VulkanLWJGLHostAllocatorPooled()
+  {
+    this.arenas_object = new Arena[CLASS_COUNT];
+    this.arenas_command = new Arena[CLASS_COUNT];
+    for (var index = 0; index < CLASS_COUNT; ++index) {
+      final var block_size = 1 << (index + MINIMUM_BLOCK_SHIFT);
+      this.arenas_object[index] = new Arena(block_size);
+      this.arenas_command[index] = new Arena(block_size);
+    }
+    this.thread_caches_all = new ArrayList<>();
+    this.thread_caches = ThreadLocal.withInitial(this::createThreadCache);
+  }
+
+  private ThreadCache createThreadCache()
+  {
+    final var cache = new ThreadCache(Thread.currentThread());
+    synchronized (this.thread_caches_all) {
+      this.reapThreadCaches();
+      this.thread_caches_all.add(cache);
+    }
+    return cache;
+  }
+
+  /**
+   * Return the blocks held by the caches of terminated threads to the
+   * shared arenas. Observing that a thread has terminated guarantees that
+   * all of its writes to its cache are visible.
+   */
+
+  private void reapThreadCaches()
+  {
+    final var iterator = this.thread_caches_all.iterator();
+    while (iterator.hasNext()) {
+      final var cache = iterator.next();
+      if (!cache.isOwnerAlive()) {
+        cache.flush(this.arenas_command);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * @return The number of slabs that have been obtained from JeMalloc and
+   * not yet released
+   */
+
+  public long slabCount()
+  {
+    var count = 0L;
+    for (var index = 0; index < CLASS_COUNT; ++index) {
+      count += this.arenas_object[index].slabCount();
+      count += this.arenas_command[index].slabCount();
+    }
+    return count;
+  }
+
+  /**
+   * Release all slabs. Any allocations that are still live become invalid,
+   * and the allocator must not be used after it has been closed.
+   */
+
+  @Override
+  public void close()
+  {
+    synchronized (this.thread_caches_all) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+
+      for (final var cache : this.thread_caches_all) {
+        cache.clear();
+      }
+      this.thread_caches_all.clear();
+    }
+
+    this.thread_caches.remove();
+    for (var index = 0; index < CLASS_COUNT; ++index) {
+      this.arenas_object[index].close();
+      this.arenas_command[index].close();
+    }
+  }
+
+  /**
+   * @param size The requested size, not including the header
+   *
+   * @return The size class index for the given size
+   */
+
+  private static int sizeClassOf(
+    final long size)
+  {
+    final var required = Math.max(size + HEADER_SIZE, 1L << MINIMUM_BLOCK_SHIFT);
+    final var shift = 64 - Long.numberOfLeadingZeros(required - 1L);
+    return shift - MINIMUM_BLOCK_SHIFT;
+  }
+
+  private static boolean isPoolable(
+    final long size,
+    final long alignment,
+    final VulkanSystemAllocationScope scope)
+  {
+    if (size > MAXIMUM_POOLED_SIZE || alignment > HEADER_SIZE) {
+      return false;
+    }
+
+    switch (scope) {
+      case VK_SYSTEM_ALLOCATION_SCOPE_COMMAND:
+      case VK_SYSTEM_ALLOCATION_SCOPE_OBJECT:
+        return true;
+      case VK_SYSTEM_ALLOCATION_SCOPE_CACHE:
+      case VK_SYSTEM_ALLOCATION_SCOPE_DEVICE:
+      case VK_SYSTEM_ALLOCATION_SCOPE_INSTANCE:
+        return false;
+    }
+    return false;
+  }
+
+  private static long writeHeader(
+    final long block,
+    final long origin_address,
+    final int origin,
+    final int size_class)
+  {
+    final var address = block + HEADER_SIZE;
+    MemoryUtil.memPutLong(address - 16L, origin_address);
+    MemoryUtil.memPutInt(address - 8L, origin);
+    MemoryUtil.memPutInt(address - 4L, size_class);
+    return address;
+  }
+
+  private static long allocateJeMalloc(
+    final long size,
+    final long alignment)
+  {
+    /*
+     * The header is placed immediately before the returned address, which
+     * is offset from the start of the underlying allocation by one unit of
+     * alignment.
+     */
+
+    final var offset = Math.max(alignment, HEADER_SIZE);
+    final var block = JEmalloc.nje_aligned_alloc(offset, offset + size);
+    if (block == 0L) {
+      return 0L;
+    }
+
+    return writeHeader(block + offset - HEADER_SIZE, block, ORIGIN_JEMALLOC, 0);
+  }
+
+  private static long usableSize(
+    final long address)
+  {
+    final var origin = MemoryUtil.memGetInt(address - 8L);
+    if (origin == ORIGIN_JEMALLOC) {
+      final var block = MemoryUtil.memGetLong(address - 16L);
+      return JEmalloc.nje_malloc_usable_size(block) - (address - block);
+    }
+
+    final var size_class = MemoryUtil.memGetInt(address - 4L);
+    return (1L << (size_class + MINIMUM_BLOCK_SHIFT)) - HEADER_SIZE;
+  }
+
+  @Override
+  public long allocate(
+    final long size,
+    final long alignment,
+    final VulkanSystemAllocationScope scope)
+  {
+    if (!isPoolable(size, alignment, scope)) {
+      return allocateJeMalloc(size, alignment);
+    }
+
+    final var size_class = sizeClassOf(size);
+    switch (scope) {
+      case VK_SYSTEM_ALLOCATION_SCOPE_COMMAND: {
+        final var block =
+          this.thread_caches.get().take(this.arenas_command[size_class]);
+        if (block == 0L) {
+          return 0L;
+        }
+        return writeHeader(block, 0L, ORIGIN_COMMAND, size_class);
+      }
+      default: {
+        final var block = this.arenas_object[size_class].take();
+        if (block == 0L) {
+          return 0L;
+        }
+        return writeHeader(block, 0L, ORIGIN_OBJECT, size_class);
+      }
+    }
+  }
+
+  @Override
+  public long reallocate(
+    final long address,
+    final long size,
+    final long alignment,
+    final VulkanSystemAllocationScope scope)
+  {
+    if (address == 0L) {
+      return this.allocate(size, alignment, scope);
+    }
+    if (size == 0L) {
+      this.deallocate(address);
+      return 0L;
+    }
+
+    /*
+     * A pooled block that is already large enough is returned unchanged.
+     */
+
+    final var usable = usableSize(address);
+    final var origin = MemoryUtil.memGetInt(address - 8L);
+    if (origin != ORIGIN_JEMALLOC && size <= usable) {
+      return address;
+    }
+
+    final var new_address = this.allocate(size, alignment, scope);
+    if (new_address == 0L) {
+      return 0L;
+    }
+
+    MemoryUtil.memCopy(address, new_address, Math.min(usable, size));
+    this.deallocate(address);
+    return new_address;
+  }
+
+  @Override
+  public void deallocate(
+    final long address)
+  {
+    if (address == 0L) {
+      return;
+    }
+
+    final var origin = MemoryUtil.memGetInt(address - 8L);
+    final var size_class = MemoryUtil.memGetInt(address - 4L);
+    final var block = address - HEADER_SIZE;
+
+    switch (origin) {
+      case ORIGIN_COMMAND: {
+        this.thread_caches.get().give(this.arenas_command[size_class], block);
+        break;
+      }
+      case ORIGIN_OBJECT: {
+        this.arenas_object[size_class].give(block);
+        break;
+      }
+      default: {
+        JEmalloc.nje_free(MemoryUtil.memGetLong(address - 16L));
+        break;
+      }
+    }
+  }
+
+  @Override
+  public void onAllocation(
+    final long size,
+    final VulkanInternalAllocation type,
+    final VulkanSystemAllocationScope scope)
+  {
+
+  }
+
+  @Override
+  public void onFree(
+    final long size,
+    final VulkanInternalAllocation type,
+    final VulkanSystemAllocationScope scope)
+  {
+
+  }
+
+  @Override
+  public VulkanHostAllocatorCallbacks createCallbacks()
+  {
+    return VulkanHostAllocatorCallbacks.of(this, this, this, this, this);
+  }
+
+  /**
+   * A stack of free block addresses.
+   */
+
+  private static final class BlockStack
+  {
+    private long[] blocks;
+    private int count;
+
+    BlockStack(
+      final int capacity)
+    {
+      this.blocks = new long[capacity];
+      this.count = 0;
+    }
+
+    boolean isEmpty()
+    {
+      return this.count == 0;
+    }
+
+    int size()
+    {
+      return this.count;
+    }
+
+    void push(
+      final long block)
+    {
+      if (this.count == this.blocks.length) {
+        this.blocks = Arrays.copyOf(this.blocks, this.blocks.length * 2);
+      }
+      this.blocks[this.count] = block;
+      ++this.count;
+    }
+
+    long pop()
+    {
+      --this.count;
+      return this.blocks[this.count];
+    }
+
+    long get(
+      final int index)
+    {
+      return this.blocks[index];
+    }
+
+    void clear()
+    {
+      this.count = 0;
+    }
+  }
+
+  /**
+   * A shared set of free blocks of a single size, refilled from slabs.
+   */
+
+  private static final class Arena
+  {
+    private final int block_size;
+    private final BlockStack free;
+    private final BlockStack slabs;
+
+    Arena(
+      final int in_block_size)
+    {
+      this.block_size = in_block_size;
+      this.free = new BlockStack(THREAD_CACHE_LIMIT);
+      this.slabs = new BlockStack(4);
+    }
+
+    synchronized int slabCount()
+    {
+      return this.slabs.size();
+    }
+
+    synchronized void close()
+    {
+      for (var index = 0; index < this.slabs.size(); ++index) {
+        JEmalloc.nje_free(this.slabs.get(index));
+      }
+      this.slabs.clear();
+      this.free.clear();
+    }
+
+    synchronized long take()
+    {
+      if (this.free.isEmpty() && !this.refill()) {
+        return 0L;
+      }
+      return this.free.pop();
+    }
+
+    synchronized int takeInto(
+      final BlockStack target,
+      final int count)
+    {
+      if (this.free.isEmpty() && !this.refill()) {
+        return 0;
+      }
+
+      final var taken = Math.min(count, this.free.size());
+      for (var index = 0; index < taken; ++index) {
+        target.push(this.free.pop());
+      }
+      return taken;
+    }
+
+    synchronized void give(
+      final long block)
+    {
+      this.free.push(block);
+    }
+
+    synchronized void giveFrom(
+      final BlockStack source,
+      final int count)
+    {
+      for (var index = 0; index < count; ++index) {
+        this.free.push(source.pop());
+      }
+    }
+
+    private boolean refill()
+    {
+      final var slab = JEmalloc.nje_aligned_alloc(HEADER_SIZE, SLAB_SIZE);
+      if (slab == 0L) {
+        return false;
+      }
+      this.slabs.push(slab);
+
+      final var blocks = (int) (SLAB_SIZE / this.block_size);
+      for (var index = blocks - 1; index >= 0; --index) {
+        this.free.push(slab + ((long) index * this.block_size));
+      }
+      return true;
+    }
+  }
+
+  /**
+   * A per-thread cache of free blocks for each size class. Blocks are moved
+   * to and from the shared arenas in batches.
+   */
+
+  private static final class ThreadCache
+  {
+    private final WeakReference<Thread> owner;
+    private final BlockStack[] caches;
+
+    ThreadCache(
+      final Thread in_owner)
+    {
+      this.owner = new WeakReference<>(in_owner);
+      this.caches = new BlockStack[CLASS_COUNT];
+      for (var index = 0; index < CLASS_COUNT; ++index) {
+        this.caches[index] = new BlockStack(THREAD_CACHE_LIMIT);
+      }
+    }
+
+    boolean isOwnerAlive()
+    {
+      final var thread = this.owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    void flush(
+      final Arena[] arenas)
+    {
+      for (var index = 0; index < CLASS_COUNT; ++index) {
+        final var cache = this.caches[index];
+        arenas[index].giveFrom(cache, cache.size());
+      }
+    }
+
+    void clear()
+    {
+      for (final var cache : this.caches) {
+        cache.clear();
+      }
+    }
+
+    private BlockStack cacheFor(
+      final Arena arena)
+    {
+      final var shift =
+        Integer.numberOfTrailingZeros(arena.block_size) - MINIMUM_BLOCK_SHIFT;
+      return this.caches[shift];
+    }
+
+    long take(
+      final Arena arena)
+    {
+      final var cache = this.cacheFor(arena);
+      if (cache.isEmpty()) {
+        if (arena.takeInto(cache, THREAD_CACHE_BATCH) == 0) {
+          return 0L;
+        }
+      }
+      return cache.pop();
+    }
+
+    void give(
+      final Arena arena,
+      final long block)
+    {
+      final var cache = this.cacheFor(arena);
+      cache.push(block);
+      if (cache.size() > THREAD_CACHE_LIMIT) {
+        arena.giveFrom(cache, THREAD_CACHE_BATCH);
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanHostMemoryType;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A region of host memory at a fixed address. Windows are created on demand
+ * so that regions larger than {@link Integer#MAX_VALUE} octets can be
+ * addressed.
+ */
+
+final class VulkanLWJGLHostMemory implements VulkanHostMemoryType
+{
+  private final long address;
+  private final long size;
+  private volatile boolean valid;
+
+  VulkanLWJGLHostMemory(
+    final long in_address,
+    final long in_size)
+  {
+    if (in_size < 0L) {
+      throw new IllegalArgumentException(
+        "Size must be non-negative: " + Long.toUnsignedString(in_size));
+    }
+
+    this.address = in_address;
+    this.size = in_size;
+    this.valid = true;
+  }
+
+  /**
+   * Mark the region as released. All subsequent accesses fail.
+   */
+
+  void invalidate()
+  {
+    this.valid = false;
+  }
+
+  /**
+   * @return The whole region as a byte buffer
+   *
+   * @throws IllegalStateException If the region is too large for a buffer
+   */
+
+  ByteBuffer asByteBufferWhole()
+  {
+    if (this.size > Integer.MAX_VALUE) {
+      throw new IllegalStateException(
+        new StringBuilder(128)
+          .append("A region of ")
+          .append(this.size)
+          .append(" octets cannot be represented as a single ByteBuffer.")
+          .append(" Use asByteBuffer(offset, size) windows instead.")
+          .toString());
+    }
+    return MemoryUtil.memByteBuffer(this.address, (int) this.size);
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer(
+    final long offset,
+    final int window_size)
+    throws VulkanException
+  {
+    if (!this.valid) {
+      throw new VulkanDestroyedException("Memory has been released.");
+    }
+
+    Objects.checkFromIndexSize(offset, window_size, this.size);
+    return MemoryUtil.memByteBuffer(this.address + offset, window_size);
+  }
+}
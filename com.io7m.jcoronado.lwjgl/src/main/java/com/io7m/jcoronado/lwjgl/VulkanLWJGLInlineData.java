@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Functions to check data passed inline to commands such as
+ * {@code vkCmdPushConstants} and {@code vkCmdUpdateBuffer}.
+ */
+
+public final class VulkanLWJGLInlineData
+{
+  /**
+   * The maximum number of bytes that can be passed to
+   * {@code vkCmdUpdateBuffer}.
+   */
+
+  public static final int UPDATE_BUFFER_SIZE_MAXIMUM = 65536;
+
+  private VulkanLWJGLInlineData()
+  {
+
+  }
+
+  /**
+   * Obtain the native address of the first remaining byte of {@code data}.
+   *
+   * @param data The buffer
+   *
+   * @return The native address of the buffer's current position
+   *
+   * @throws IllegalArgumentException If the buffer is not a direct buffer
+   */
+
+  public static long address(
+    final ByteBuffer data)
+  {
+    Objects.requireNonNull(data, "data");
+
+    if (!data.isDirect()) {
+      throw new IllegalArgumentException(
+        "Inline command data must be provided in a direct buffer.");
+    }
+    return MemoryUtil.memAddress(data);
+  }
+
+  /**
+   * Check the arguments of a push constant update.
+   *
+   * @param offset The offset of the updated range in bytes
+   * @param size   The size of the updated range in bytes
+   *
+   * @throws IllegalArgumentException If the arguments are invalid
+   */
+
+  public static void checkPushConstants(
+    final int offset,
+    final int size)
+  {
+    checkOffsetAndSize(offset, size);
+  }
+
+  /**
+   * Check the arguments of an inline buffer update.
+   *
+   * @param offset The offset within the target buffer in bytes
+   * @param size   The size of the data in bytes
+   *
+   * @throws IllegalArgumentException If the arguments are invalid
+   */
+
+  public static void checkUpdateBuffer(
+    final long offset,
+    final int size)
+  {
+    checkOffsetAndSize(offset, size);
+
+    if (size > UPDATE_BUFFER_SIZE_MAXIMUM) {
+      throw new IllegalArgumentException(
+        "Buffer update size %d exceeds the maximum %d"
+          .formatted(
+            Integer.valueOf(size),
+            Integer.valueOf(UPDATE_BUFFER_SIZE_MAXIMUM)));
+    }
+  }
+
+  private static void checkOffsetAndSize(
+    final long offset,
+    final int size)
+  {
+    if (offset < 0L || (offset & 3L) != 0L) {
+      throw new IllegalArgumentException(
+        "Offset %d must be a non-negative multiple of 4"
+          .formatted(Long.valueOf(offset)));
+    }
+    if (size <= 0 || (size & 3) != 0) {
+      throw new IllegalArgumentException(
+        "Size %d must be a positive multiple of 4"
+          .formatted(Integer.valueOf(size)));
+    }
+  }
+}
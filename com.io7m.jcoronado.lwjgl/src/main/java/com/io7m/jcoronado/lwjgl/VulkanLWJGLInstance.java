@@ -48,6 +48,7 @@ import com.io7m.jcoronado.api.VulkanPointSizeRange;
 import com.io7m.jcoronado.api.VulkanQueueFamilyIndex;
 import com.io7m.jcoronado.api.VulkanQueueFamilyProperties;
 import com.io7m.jcoronado.api.VulkanQueueFamilyPropertyFlag;
+import com.io7m.jcoronado.api.VulkanValidationLevel;
 import com.io7m.jcoronado.api.VulkanVersion;
 import com.io7m.jcoronado.api.VulkanVersions;
 import com.io7m.jcoronado.api.VulkanViewportBoundsRange;
@@ -108,11 +109,11 @@ public final class VulkanLWJGLInstance
   private static final Logger LOG = LoggerFactory.getLogger(VulkanLWJGLInstance.class);
 
   private final VkInstance instance;
-  private final MemoryStack initialStack;
   private final Map<String, VulkanExtensionType> extensionsEnabledReadOnly;
   private final VulkanLWJGLExtensionsRegistry extensionsRegistry;
   private final VulkanVersion apiVersionMaximumSupported;
   private final VulkanVersion apiVersionUsed;
+  private final VulkanLWJGLValidation validation;
 
   VulkanLWJGLInstance(
     final VkInstance inInstance,
@@ -120,7 +121,8 @@ public final class VulkanLWJGLInstance
     final Map<String, VulkanExtensionType> inExtensionsEnabled,
     final VulkanLWJGLHostAllocatorProxy inHostAllocatorProxy,
     final VulkanVersion inApiVersionMaximumSupported,
-    final VulkanVersion inApiVersionUsed)
+    final VulkanVersion inApiVersionUsed,
+    final VulkanLWJGLValidation inValidation)
   {
     super(Ownership.USER_OWNED, inHostAllocatorProxy);
 
@@ -134,8 +136,8 @@ public final class VulkanLWJGLInstance
         "apiVersionMaximumSupported");
     this.apiVersionUsed =
       Objects.requireNonNull(inApiVersionUsed, "apiVersionUsed");
-    this.initialStack =
-      MemoryStack.create();
+    this.validation =
+      Objects.requireNonNull(inValidation, "validation");
     this.extensionsEnabledReadOnly =
       Collections.unmodifiableMap(
         Objects.requireNonNull(inExtensionsEnabled, "in_extensions"));
@@ -228,6 +230,8 @@ public final class VulkanLWJGLInstance
       VulkanVersions.decode(device_api);
     final var driver_version =
       VulkanVersions.decode(device_driver_version);
+    final var pipeline_cache_uuid =
+      parseUUID(vk_properties.pipelineCacheUUID());
 
     if (LOG.isDebugEnabled()) {
       LOG.debug(
@@ -260,6 +264,10 @@ public final class VulkanLWJGLInstance
         Integer.valueOf(driver_version.major()),
         Integer.valueOf(driver_version.minor()),
         Integer.valueOf(driver_version.patch()));
+      LOG.debug(
+        "device [{}]: property pipeline cache UUID: {}",
+        Integer.valueOf(index),
+        pipeline_cache_uuid);
     }
 
     return VulkanPhysicalDeviceProperties.of(
@@ -268,7 +276,8 @@ public final class VulkanLWJGLInstance
       device_id,
       device_vendor,
       version,
-      driver_version);
+      driver_version,
+      pipeline_cache_uuid);
   }
 
   private static VulkanPhysicalDeviceMemoryProperties
@@ -1014,7 +1023,7 @@ public final class VulkanLWJGLInstance
     this.checkNotClosed();
 
     final ArrayList<VulkanPhysicalDeviceType> devices;
-    try (var stack = this.initialStack.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = new int[1];
       VulkanChecks.checkReturnCode(
         VK10.vkEnumeratePhysicalDevices(this.instance, count, null),
@@ -1074,6 +1083,21 @@ public final class VulkanLWJGLInstance
     return this.apiVersionUsed;
   }
 
+  /**
+   * @return The validation level used by this instance and the objects
+   * created from it
+   */
+
+  public VulkanValidationLevel validationLevel()
+  {
+    return this.validation.level();
+  }
+
+  VulkanLWJGLValidation validation()
+  {
+    return this.validation;
+  }
+
   @Override
   public Map<String, VulkanExtensionType> enabledExtensions()
   {
@@ -25,7 +25,6 @@ import com.io7m.jcoronado.api.VulkanInstanceType;
 import com.io7m.jcoronado.api.VulkanLayerProperties;
 import com.io7m.jcoronado.api.VulkanVersion;
 import com.io7m.jcoronado.api.VulkanVersions;
-import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkApplicationInfo;
@@ -53,15 +52,11 @@ public final class VulkanLWJGLInstanceProvider
   private static final Logger LOG =
     LoggerFactory.getLogger(VulkanLWJGLInstanceProvider.class);
 
-  private final MemoryStack initialStack;
   private final VulkanLWJGLExtensionsRegistry extensions;
 
   private VulkanLWJGLInstanceProvider(
-    final MemoryStack in_stack,
     final VulkanLWJGLExtensionsRegistry in_extensions)
   {
-    this.initialStack =
-      Objects.requireNonNull(in_stack, "stack");
     this.extensions =
       Objects.requireNonNull(in_extensions, "extensions");
   }
@@ -73,7 +68,6 @@ public final class VulkanLWJGLInstanceProvider
   public static VulkanInstanceProviderType create()
   {
     return new VulkanLWJGLInstanceProvider(
-      MemoryStack.create(),
       new VulkanLWJGLExtensionsRegistry());
   }
 
@@ -110,7 +104,7 @@ public final class VulkanLWJGLInstanceProvider
   public Map<String, VulkanExtensionProperties> extensions()
     throws VulkanException
   {
-    try (var stack = this.initialStack.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = new int[1];
 
       checkReturnCode(
@@ -155,7 +149,7 @@ public final class VulkanLWJGLInstanceProvider
   public Map<String, VulkanLayerProperties> layers()
     throws VulkanException
   {
-    try (var stack = this.initialStack.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = new int[1];
 
       checkReturnCode(
@@ -219,7 +213,7 @@ public final class VulkanLWJGLInstanceProvider
         .forEach(extension -> LOG.debug("enabling extension: {}", extension));
     }
 
-    try (var stack = this.initialStack.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var enableLayersPtr =
         VulkanStrings.stringsToPointerBuffer(stack, enabledLayers);
       final var enableExtensionsPtr =
@@ -282,7 +276,8 @@ public final class VulkanLWJGLInstanceProvider
         enabled,
         allocatorProxy,
         this.findSupportedInstanceVersion(),
-        VulkanVersions.decode(info.applicationInfo().vulkanAPIVersion())
+        VulkanVersions.decode(info.applicationInfo().vulkanAPIVersion()),
+        VulkanLWJGLValidation.of(info.validationLevel())
       );
     }
   }
@@ -19,6 +19,7 @@ package com.io7m.jcoronado.lwjgl;
 import com.io7m.jcoronado.api.VulkanException;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
 
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
@@ -222,6 +223,110 @@ public final class VulkanLWJGLIntegerArrays
     return packPointers(stack, values, getter);
   }
 
+  /**
+   * Pack a range of a list of long values into raw stack memory. No
+   * intermediate buffer objects are allocated.
+   *
+   * @param stack  The stack
+   * @param values The input list
+   * @param count  The number of leading elements of {@code values} to pack
+   * @param getter A function from {@code T} to {@code long}
+   * @param <T>    The type of input values
+   *
+   * @return The address of the packed values
+   *
+   * @throws VulkanException If required
+   */
+
+  public static <T> long packLongsRaw(
+    final MemoryStack stack,
+    final List<T> values,
+    final int count,
+    final LongGetterType<T> getter)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(values, "values");
+    Objects.requireNonNull(getter, "getter");
+    Objects.checkFromIndexSize(0, count, values.size());
+
+    final var address = stack.nmalloc(Long.BYTES, count * Long.BYTES);
+    for (var index = 0; index < count; ++index) {
+      final var value = values.get(index);
+      MemoryUtil.memPutLong(
+        address + ((long) index * Long.BYTES),
+        getter.get(value));
+    }
+    return address;
+  }
+
+  /**
+   * Pack a range of an array of long values into raw stack memory. No
+   * intermediate buffer objects are allocated.
+   *
+   * @param stack  The stack
+   * @param values The input array
+   * @param offset The index of the first value in {@code values}
+   * @param count  The number of values
+   *
+   * @return The address of the packed values
+   */
+
+  public static long packLongsRaw(
+    final MemoryStack stack,
+    final long[] values,
+    final int offset,
+    final int count)
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(values, "values");
+    Objects.checkFromIndexSize(offset, count, values.length);
+
+    final var address = stack.nmalloc(Long.BYTES, count * Long.BYTES);
+    for (var index = 0; index < count; ++index) {
+      MemoryUtil.memPutLong(
+        address + ((long) index * Long.BYTES),
+        values[offset + index]);
+    }
+    return address;
+  }
+
+  /**
+   * Pack a range of an array of int values into raw stack memory. No
+   * intermediate buffer objects are allocated. Returns {@link MemoryUtil#NULL}
+   * if {@code count == 0}.
+   *
+   * @param stack  The stack
+   * @param values The input array
+   * @param offset The index of the first value in {@code values}
+   * @param count  The number of values
+   *
+   * @return The address of the packed values, or {@link MemoryUtil#NULL}
+   */
+
+  public static long packIntsRawOrNull(
+    final MemoryStack stack,
+    final int[] values,
+    final int offset,
+    final int count)
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(values, "values");
+    Objects.checkFromIndexSize(offset, count, values.length);
+
+    if (count == 0) {
+      return MemoryUtil.NULL;
+    }
+
+    final var address = stack.nmalloc(Integer.BYTES, count * Integer.BYTES);
+    for (var index = 0; index < count; ++index) {
+      MemoryUtil.memPutInt(
+        address + ((long) index * Integer.BYTES),
+        values[offset + index]);
+    }
+    return address;
+  }
+
   /**
    * A function from {@code T} to {@code long}
    *
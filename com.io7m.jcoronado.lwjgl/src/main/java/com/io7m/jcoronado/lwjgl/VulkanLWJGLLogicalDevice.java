@@ -25,6 +25,7 @@ import com.io7m.jcoronado.api.VulkanCommandBufferCreateInfo;
 import com.io7m.jcoronado.api.VulkanCommandBufferType;
 import com.io7m.jcoronado.api.VulkanCommandPoolCreateInfo;
 import com.io7m.jcoronado.api.VulkanCommandPoolResetFlag;
+import com.io7m.jcoronado.api.VulkanCommandListType;
 import com.io7m.jcoronado.api.VulkanCommandPoolType;
 import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
 import com.io7m.jcoronado.api.VulkanCopyDescriptorSet;
@@ -35,6 +36,9 @@ import com.io7m.jcoronado.api.VulkanDescriptorSetAllocateInfo;
 import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutCreateInfo;
 import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutType;
 import com.io7m.jcoronado.api.VulkanDescriptorSetType;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateDataType;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateType;
 import com.io7m.jcoronado.api.VulkanDestroyedException;
 import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
 import com.io7m.jcoronado.api.VulkanEnumMaps;
@@ -45,6 +49,7 @@ import com.io7m.jcoronado.api.VulkanExtensionType;
 import com.io7m.jcoronado.api.VulkanExternallySynchronizedType;
 import com.io7m.jcoronado.api.VulkanFenceCreateInfo;
 import com.io7m.jcoronado.api.VulkanFenceType;
+import com.io7m.jcoronado.api.VulkanFlagSet;
 import com.io7m.jcoronado.api.VulkanFramebufferCreateInfo;
 import com.io7m.jcoronado.api.VulkanFramebufferType;
 import com.io7m.jcoronado.api.VulkanGraphicsPipelineCreateInfo;
@@ -60,7 +65,9 @@ import com.io7m.jcoronado.api.VulkanMappedMemoryRange;
 import com.io7m.jcoronado.api.VulkanMappedMemoryType;
 import com.io7m.jcoronado.api.VulkanMemoryAllocateInfo;
 import com.io7m.jcoronado.api.VulkanMemoryMapFlag;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
 import com.io7m.jcoronado.api.VulkanMemoryRequirements;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
 import com.io7m.jcoronado.api.VulkanPhysicalDeviceType;
 import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
 import com.io7m.jcoronado.api.VulkanPipelineCacheType;
@@ -69,6 +76,7 @@ import com.io7m.jcoronado.api.VulkanPipelineLayoutType;
 import com.io7m.jcoronado.api.VulkanPipelineType;
 import com.io7m.jcoronado.api.VulkanQueryPoolCreateInfo;
 import com.io7m.jcoronado.api.VulkanQueryPoolType;
+import com.io7m.jcoronado.api.VulkanQueryResultFlag;
 import com.io7m.jcoronado.api.VulkanQueueIndex;
 import com.io7m.jcoronado.api.VulkanQueueType;
 import com.io7m.jcoronado.api.VulkanRenderPassCreateInfo;
@@ -77,23 +85,26 @@ import com.io7m.jcoronado.api.VulkanSamplerCreateInfo;
 import com.io7m.jcoronado.api.VulkanSamplerType;
 import com.io7m.jcoronado.api.VulkanSemaphoreCreateInfo;
 import com.io7m.jcoronado.api.VulkanSemaphoreType;
+import com.io7m.jcoronado.api.VulkanSemaphoreWaitInfo;
 import com.io7m.jcoronado.api.VulkanShaderModuleCreateInfo;
 import com.io7m.jcoronado.api.VulkanShaderModuleType;
 import com.io7m.jcoronado.api.VulkanSubresourceLayout;
 import com.io7m.jcoronado.api.VulkanUncheckedException;
 import com.io7m.jcoronado.api.VulkanWriteDescriptorSet;
-import org.lwjgl.PointerBuffer;
-import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VK11;
+import org.lwjgl.vulkan.VK12;
 import org.lwjgl.vulkan.VkCommandBuffer;
 import org.lwjgl.vulkan.VkDevice;
 import org.lwjgl.vulkan.VkMemoryRequirements;
 import org.lwjgl.vulkan.VkQueue;
+import org.lwjgl.vulkan.VkSemaphoreSignalInfo;
 import org.lwjgl.vulkan.VkSubresourceLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -107,7 +118,7 @@ import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanPipelineCache
 import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanPipelineCacheDataResult.VK_PIPELINE_CACHE_SUCCESS;
 import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanWaitStatus.VK_WAIT_SUCCEEDED;
 import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanWaitStatus.VK_WAIT_TIMED_OUT;
-import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+import static com.io7m.jcoronado.api.VulkanQueryKind.VK_QUERY_TYPE_PIPELINE_STATISTICS;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLHandle.Ownership.USER_OWNED;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLHandle.Ownership.VULKAN_OWNED;
 import static com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays.packLongs;
@@ -130,19 +141,19 @@ public final class VulkanLWJGLLogicalDevice
 
   private final VulkanLWJGLPhysicalDevice physical_device;
   private final VkDevice device;
-  private final MemoryStack stack_initial;
   private final VulkanLogicalDeviceCreateInfo creation;
   private final List<VulkanLWJGLQueue> queues;
   private final List<VulkanQueueType> queues_read;
   private final Map<String, VulkanExtensionType> extensions_enabled_read_only;
-  private final PointerBuffer pointer_buffer;
+  private final VulkanLWJGLValidation validation;
 
   VulkanLWJGLLogicalDevice(
     final Map<String, VulkanExtensionType> in_extensions_enabled,
     final VulkanLWJGLPhysicalDevice in_physical_device,
     final VkDevice in_device,
     final VulkanLogicalDeviceCreateInfo in_creation,
-    final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy)
+    final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy,
+    final VulkanLWJGLValidation in_validation)
     throws VulkanException
   {
     super(USER_OWNED, in_host_allocator_proxy);
@@ -156,14 +167,12 @@ public final class VulkanLWJGLLogicalDevice
       Objects.requireNonNull(in_device, "in_device");
     this.creation =
       Objects.requireNonNull(in_creation, "in_creation");
+    this.validation =
+      Objects.requireNonNull(in_validation, "in_validation");
     this.queues =
       new ArrayList<>(32);
     this.queues_read =
       Collections.unmodifiableList(this.queues);
-    this.stack_initial =
-      MemoryStack.create();
-    this.pointer_buffer =
-      this.stack_initial.mallocPointer(1);
 
     this.initializeQueues();
   }
@@ -175,12 +184,12 @@ public final class VulkanLWJGLLogicalDevice
     return (List<VulkanPipelineType>) (Object) result_pipelines;
   }
 
-  private static long mapPipelineCacheOptional(
+  private long mapPipelineCacheOptional(
     final Optional<VulkanPipelineCacheType> pipeline_cache)
     throws VulkanIncompatibleClassException
   {
     if (pipeline_cache.isPresent()) {
-      return checkInstanceOf(
+      return this.validation.checkInstanceOf(
         pipeline_cache.get(),
         VulkanLWJGLPipelineCache.class).handle();
     }
@@ -215,7 +224,7 @@ public final class VulkanLWJGLLogicalDevice
   private void initializeQueues()
     throws VulkanException
   {
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var queueRequests =
         this.creation.queueCreateInfos();
       final var families =
@@ -269,7 +278,7 @@ public final class VulkanLWJGLLogicalDevice
   public List<VulkanQueueType> queues()
     throws VulkanDestroyedException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
     return this.queues_read;
   }
 
@@ -277,7 +286,7 @@ public final class VulkanLWJGLLogicalDevice
   public Map<String, VulkanExtensionType> enabledExtensions()
     throws VulkanDestroyedException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
     return this.extensions_enabled_read_only;
   }
 
@@ -288,7 +297,7 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug(
@@ -296,7 +305,7 @@ public final class VulkanLWJGLLogicalDevice
         Long.valueOf(create_info.size()));
     }
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var results = new long[1];
       final var proxy = this.hostAllocatorProxy();
 
@@ -330,9 +339,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handle = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -361,11 +370,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var buffer = checkInstanceOf(info.buffer(), VulkanLWJGLBuffer.class);
+    final var buffer =
+      this.validation.checkInstanceOf(info.buffer(), VulkanLWJGLBuffer.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -399,11 +409,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var image = checkInstanceOf(info.image(), VulkanLWJGLImage.class);
+    final var image =
+      this.validation.checkInstanceOf(info.image(), VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var view = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -432,9 +443,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(ranges, "ranges");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VulkanChecks.checkReturnCode(
         VK10.vkFlushMappedMemoryRanges(
           this.device,
@@ -443,6 +454,43 @@ public final class VulkanLWJGLLogicalDevice
     }
   }
 
+  @Override
+  public void invalidateMappedMemoryRanges(
+    final List<VulkanMappedMemoryRange> ranges)
+    throws VulkanException
+  {
+    Objects.requireNonNull(ranges, "ranges");
+
+    this.validation.checkNotClosed(this);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      VulkanChecks.checkReturnCode(
+        VK10.vkInvalidateMappedMemoryRanges(
+          this.device,
+          VulkanLWJGLMappedMemoryRanges.packList(stack, ranges)),
+        "vkInvalidateMappedMemoryRanges");
+    }
+  }
+
+  /**
+   * @param index The memory type index
+   *
+   * @return The properties of the given memory type
+   *
+   * @throws VulkanException On errors
+   */
+
+  Set<VulkanMemoryPropertyFlag> memoryTypeProperties(
+    final VulkanMemoryTypeIndex index)
+    throws VulkanException
+  {
+    final var type = this.physical_device.memory().types().get(index);
+    if (type == null) {
+      return Set.of();
+    }
+    return type.flags();
+  }
+
   @Override
   public VulkanPipelineLayoutType createPipelineLayout(
     final VulkanPipelineLayoutCreateInfo info)
@@ -450,9 +498,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var proxy = this.hostAllocatorProxy();
       final var layout = new long[1];
       VulkanChecks.checkReturnCode(
@@ -485,9 +533,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var proxy = this.hostAllocatorProxy();
       final var layout = new long[1];
       VulkanChecks.checkReturnCode(
@@ -521,9 +569,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var layout = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -558,9 +606,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = info.setLayouts().size();
       final var handles = stack.mallocLong(count);
 
@@ -593,9 +641,9 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(descriptor_writes, "descriptor_writes");
     Objects.requireNonNull(descriptor_copies, "descriptor_copies");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var writes =
         VulkanLWJGLWriteDescriptorSets.packList(stack, descriptor_writes);
       final var copies =
@@ -605,6 +653,73 @@ public final class VulkanLWJGLLogicalDevice
     }
   }
 
+  @Override
+  public VulkanDescriptorUpdateTemplateType createDescriptorUpdateTemplate(
+    final VulkanDescriptorUpdateTemplateCreateInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(info, "info");
+
+    this.validation.checkNotClosed(this);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var handles = new long[1];
+      final var proxy = this.hostAllocatorProxy();
+      VulkanChecks.checkReturnCode(
+        VK11.vkCreateDescriptorUpdateTemplate(
+          this.device,
+          VulkanLWJGLDescriptorUpdateTemplateCreateInfos.pack(stack, info),
+          proxy.callbackBuffer(),
+          handles),
+        "vkCreateDescriptorUpdateTemplate");
+
+      final var handle = handles[0];
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(
+          "created descriptor update template: 0x{}",
+          Long.toUnsignedString(handle, 16));
+      }
+
+      return new VulkanLWJGLDescriptorUpdateTemplate(this.device, handle, proxy);
+    }
+  }
+
+  @Override
+  public VulkanDescriptorUpdateTemplateDataType createDescriptorUpdateTemplateData(
+    final long size)
+    throws VulkanException
+  {
+    this.validation.checkNotClosed(this);
+    return new VulkanLWJGLDescriptorUpdateTemplateData(size);
+  }
+
+  @Override
+  public void updateDescriptorSetWithTemplate(
+    final VulkanDescriptorSetType descriptor_set,
+    final VulkanDescriptorUpdateTemplateType template,
+    final VulkanDescriptorUpdateTemplateDataType data)
+    throws VulkanException
+  {
+    Objects.requireNonNull(descriptor_set, "descriptor_set");
+    Objects.requireNonNull(template, "template");
+    Objects.requireNonNull(data, "data");
+
+    this.validation.checkNotClosed(this);
+
+    final var vk_set =
+      this.validation.checkInstanceOf(descriptor_set, VulkanLWJGLDescriptorSet.class);
+    final var vk_template =
+      this.validation.checkInstanceOf(template, VulkanLWJGLDescriptorUpdateTemplate.class);
+    final var vk_data =
+      this.validation.checkInstanceOf(data, VulkanLWJGLDescriptorUpdateTemplateData.class);
+
+    VK11.vkUpdateDescriptorSetWithTemplate(
+      this.device,
+      vk_set.handle(),
+      vk_template.handle(),
+      vk_data.address());
+  }
+
   @Override
   public VulkanRenderPassType createRenderPass(
     final VulkanRenderPassCreateInfo render_pass_create_info)
@@ -612,9 +727,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(render_pass_create_info, "render_pass_create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var pass = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -649,9 +764,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -680,15 +795,15 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(pipeline_cache, "pipeline_cache");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var ptr = stack.mallocPointer(1);
 
       VulkanChecks.checkReturnCode(
         VK10.vkGetPipelineCacheData(
           this.device,
-          checkInstanceOf(
+          this.validation.checkInstanceOf(
             pipeline_cache,
             VulkanLWJGLPipelineCache.class).handle(),
           ptr,
@@ -706,12 +821,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(image, "image");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     final var cimage =
-      checkInstanceOf(image, VulkanLWJGLImage.class);
+      this.validation.checkInstanceOf(image, VulkanLWJGLImage.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var info = VkMemoryRequirements.malloc(stack);
 
       VK10.vkGetImageMemoryRequirements(this.device, cimage.handle(), info);
@@ -733,16 +848,16 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(pipeline_cache, "pipeline_cache");
     Objects.requireNonNull(data, "data");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var ptr = stack.mallocPointer(1);
       ptr.put(0, Integer.toUnsignedLong(data.capacity()));
 
       final var result =
         VK10.vkGetPipelineCacheData(
           this.device,
-          checkInstanceOf(
+          this.validation.checkInstanceOf(
             pipeline_cache,
             VulkanLWJGLPipelineCache.class).handle(),
           ptr,
@@ -767,15 +882,15 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(pipeline_cache, "pipeline_cache");
     Objects.requireNonNull(pipeline_infos, "pipeline_infos");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var pipes = new long[pipeline_infos.size()];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
         VK10.vkCreateGraphicsPipelines(
           this.device,
-          mapPipelineCacheOptional(pipeline_cache),
+          this.mapPipelineCacheOptional(pipeline_cache),
           VulkanLWJGLGraphicsPipelineCreateInfos.pack(stack, pipeline_infos),
           proxy.callbackBuffer(),
           pipes),
@@ -806,9 +921,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var pool = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -826,14 +941,166 @@ public final class VulkanLWJGLLogicalDevice
           Long.toUnsignedString(pool_handle, 16));
       }
 
+      /*
+       * Pipeline statistics queries write one value per enabled counter;
+       * every other query type writes a single value.
+       */
+
+      final int results_per_query;
+      if (create_info.queryType() == VK_QUERY_TYPE_PIPELINE_STATISTICS) {
+        results_per_query = create_info.pipelineStatistics().size();
+      } else {
+        results_per_query = 1;
+      }
+
       return new VulkanLWJGLQueryPool(
         USER_OWNED,
         this.device,
         pool_handle,
+        results_per_query,
         proxy);
     }
   }
 
+  @Override
+  public VulkanQueryResultStatus getQueryPoolResults(
+    final VulkanQueryPoolType pool,
+    final int first_query,
+    final int query_count,
+    final LongBuffer data,
+    final long stride,
+    final Set<VulkanQueryResultFlag> flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(data, "data");
+    Objects.requireNonNull(flags, "flags");
+
+    this.validation.checkNotClosed(this);
+
+    final var pool_v =
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class);
+
+    checkQueryResultsCapacity(
+      query_count,
+      pool_v.resultsPerQuery(),
+      (long) data.remaining(),
+      stride,
+      flags);
+
+    final var result =
+      VK10.vkGetQueryPoolResults(
+        this.device,
+        pool_v.handle(),
+        first_query,
+        query_count,
+        data,
+        stride,
+        queryResultFlags(flags));
+
+    return queryResultStatus(result);
+  }
+
+  @Override
+  public VulkanQueryResultStatus getQueryPoolResults(
+    final VulkanQueryPoolType pool,
+    final int first_query,
+    final int query_count,
+    final long[] data,
+    final long stride,
+    final Set<VulkanQueryResultFlag> flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(data, "data");
+    Objects.requireNonNull(flags, "flags");
+
+    this.validation.checkNotClosed(this);
+
+    final var pool_v =
+      this.validation.checkInstanceOf(pool, VulkanLWJGLQueryPool.class);
+
+    checkQueryResultsCapacity(
+      query_count,
+      pool_v.resultsPerQuery(),
+      (long) data.length,
+      stride,
+      flags);
+
+    final var result =
+      VK10.vkGetQueryPoolResults(
+        this.device,
+        pool_v.handle(),
+        first_query,
+        query_count,
+        data,
+        stride,
+        queryResultFlags(flags));
+
+    return queryResultStatus(result);
+  }
+
+  private static int queryResultFlags(
+    final Set<VulkanQueryResultFlag> flags)
+  {
+    return VulkanEnumMaps.packValues(flags)
+      | VulkanQueryResultFlag.VK_QUERY_RESULT_64_BIT.value();
+  }
+
+  private static VulkanQueryResultStatus queryResultStatus(
+    final int result)
+    throws VulkanException
+  {
+    if (result == VK_SUCCESS) {
+      return VulkanQueryResultStatus.VK_QUERY_RESULT_READY;
+    }
+    if (result == VK_NOT_READY) {
+      return VulkanQueryResultStatus.VK_QUERY_RESULT_NOT_READY;
+    }
+
+    throw VulkanChecks.failed(result, "vkGetQueryPoolResults");
+  }
+
+  private static void checkQueryResultsCapacity(
+    final int query_count,
+    final int results_per_query,
+    final long capacity,
+    final long stride,
+    final Set<VulkanQueryResultFlag> flags)
+  {
+    if (query_count < 1) {
+      throw new IllegalArgumentException(
+        "Query count must be positive: " + query_count);
+    }
+    if (stride <= 0L || stride % 8L != 0L) {
+      throw new IllegalArgumentException(
+        "Stride must be a positive multiple of 8: " + stride);
+    }
+
+    final var availability =
+      flags.contains(VulkanQueryResultFlag.VK_QUERY_RESULT_WITH_AVAILABILITY_BIT)
+        ? 1L : 0L;
+    final var elements_per_query = (long) results_per_query + availability;
+    final var required =
+      ((long) (query_count - 1) * (stride / 8L)) + elements_per_query;
+
+    if (capacity < required) {
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("Query result buffer too small.")
+          .append(System.lineSeparator())
+          .append("  Required: ")
+          .append(required)
+          .append(" elements")
+          .append(System.lineSeparator())
+          .append("  Capacity: ")
+          .append(capacity)
+          .append(" elements")
+          .append(System.lineSeparator())
+          .toString());
+    }
+  }
+
   @Override
   public VulkanFramebufferType createFramebuffer(
     final VulkanFramebufferCreateInfo create_info)
@@ -841,7 +1108,7 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     try {
       final var views =
@@ -849,18 +1116,18 @@ public final class VulkanLWJGLLogicalDevice
           .stream()
           .map(view -> {
             try {
-              return checkInstanceOf(view, VulkanLWJGLImageView.class);
+              return this.validation.checkInstanceOf(view, VulkanLWJGLImageView.class);
             } catch (final VulkanIncompatibleClassException e) {
               throw new VulkanUncheckedException(e);
             }
           })
           .collect(Collectors.toList());
 
-      final var cpass = checkInstanceOf(
+      final var cpass = this.validation.checkInstanceOf(
         create_info.renderPass(),
         VulkanLWJGLRenderPass.class);
 
-      try (var stack = this.stack_initial.push()) {
+      try (var stack = VulkanLWJGLPackingArenas.push()) {
         final var framebuffers = new long[1];
         final var proxy = this.hostAllocatorProxy();
         VulkanChecks.checkReturnCode(
@@ -900,9 +1167,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
 
@@ -932,12 +1199,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cpool = checkInstanceOf(
+    final var cpool = this.validation.checkInstanceOf(
       create_info.pool(),
       VulkanLWJGLCommandPool.class);
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = create_info.count();
       final var buffers = stack.mallocPointer(count);
 
@@ -963,7 +1230,8 @@ public final class VulkanLWJGLLogicalDevice
         final var buffer = new VulkanLWJGLCommandBuffer(
           VULKAN_OWNED,
           handle,
-          proxy);
+          proxy,
+          this.validation);
         results.add(buffer);
       }
 
@@ -978,9 +1246,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var proxy = this.hostAllocatorProxy();
       final var handles = new long[1];
       VulkanChecks.checkReturnCode(
@@ -1006,9 +1274,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var fences = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -1027,6 +1295,14 @@ public final class VulkanLWJGLLogicalDevice
     }
   }
 
+  @Override
+  public VulkanCommandListType createCommandList()
+    throws VulkanException
+  {
+    this.validation.checkNotClosed(this);
+    return new VulkanLWJGLCommandList();
+  }
+
   @Override
   public VulkanEventType createEvent(
     final VulkanEventCreateInfo create_info)
@@ -1034,9 +1310,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -1061,12 +1337,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(fences, "fences");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var array = stack.mallocLong(fences.size());
       for (var index = 0; index < fences.size(); ++index) {
-        final var fence = checkInstanceOf(
+        final var fence = this.validation.checkInstanceOf(
           fences.get(index),
           VulkanLWJGLFence.class);
         array.put(index, fence.handle());
@@ -1087,9 +1363,10 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(pool, "pool");
     Objects.requireNonNull(flags, "flags");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cpool = checkInstanceOf(pool, VulkanLWJGLCommandPool.class);
+    final var cpool =
+      this.validation.checkInstanceOf(pool, VulkanLWJGLCommandPool.class);
     VulkanChecks.checkReturnCode(
       VK10.vkResetCommandPool(
         this.device,
@@ -1107,9 +1384,10 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(pool, "pool");
     Objects.requireNonNull(flags, "flags");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cpool = checkInstanceOf(pool, VulkanLWJGLCommandPool.class);
+    final var cpool =
+      this.validation.checkInstanceOf(pool, VulkanLWJGLCommandPool.class);
     VulkanChecks.checkReturnCode(
       VK10.vkResetDescriptorPool(
         this.device,
@@ -1122,7 +1400,7 @@ public final class VulkanLWJGLLogicalDevice
   public void waitIdle()
     throws VulkanException
   {
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VulkanChecks.checkReturnCode(
       VK10.vkDeviceWaitIdle(this.device),
@@ -1138,16 +1416,16 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(fences, "fences");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var result =
         VK10.vkWaitForFences(
           this.device,
           packLongs(
             stack,
             fences,
-            f -> checkInstanceOf(f, VulkanLWJGLFence.class).handle()),
+            f -> this.validation.checkInstanceOf(f, VulkanLWJGLFence.class).handle()),
           wait_all,
           timeout_nanos);
 
@@ -1161,6 +1439,79 @@ public final class VulkanLWJGLLogicalDevice
     }
   }
 
+  @Override
+  public long getSemaphoreCounterValue(
+    final VulkanSemaphoreType semaphore)
+    throws VulkanException
+  {
+    Objects.requireNonNull(semaphore, "semaphore");
+
+    this.validation.checkNotClosed(this);
+
+    final var values = new long[1];
+    VulkanChecks.checkReturnCode(
+      VK12.vkGetSemaphoreCounterValue(
+        this.device,
+        this.validation.checkInstanceOf(semaphore, VulkanLWJGLSemaphore.class).handle(),
+        values),
+      "vkGetSemaphoreCounterValue");
+    return values[0];
+  }
+
+  @Override
+  public void signalSemaphore(
+    final VulkanSemaphoreType semaphore,
+    final long value)
+    throws VulkanException
+  {
+    Objects.requireNonNull(semaphore, "semaphore");
+
+    this.validation.checkNotClosed(this);
+
+    final var csemaphore =
+      this.validation.checkInstanceOf(semaphore, VulkanLWJGLSemaphore.class);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var info =
+        VkSemaphoreSignalInfo.malloc(stack)
+          .sType(VK12.VK_STRUCTURE_TYPE_SEMAPHORE_SIGNAL_INFO)
+          .pNext(0L)
+          .semaphore(csemaphore.handle())
+          .value(value);
+
+      VulkanChecks.checkReturnCode(
+        VK12.vkSignalSemaphore(this.device, info),
+        "vkSignalSemaphore");
+    }
+  }
+
+  @Override
+  public VulkanWaitStatus waitSemaphores(
+    final VulkanSemaphoreWaitInfo wait_info,
+    final long timeout_nanos)
+    throws VulkanException
+  {
+    Objects.requireNonNull(wait_info, "wait_info");
+
+    this.validation.checkNotClosed(this);
+
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var result =
+        VK12.vkWaitSemaphores(
+          this.device,
+          VulkanLWJGLSemaphoreWaitInfos.pack(stack, wait_info),
+          timeout_nanos);
+
+      if (result == VK_SUCCESS) {
+        return VK_WAIT_SUCCEEDED;
+      }
+      if (result == VK_TIMEOUT) {
+        return VK_WAIT_TIMED_OUT;
+      }
+      throw VulkanChecks.failed(result, "vkWaitSemaphores");
+    }
+  }
+
   @Override
   public VulkanBufferType createBuffer(
     final VulkanBufferCreateInfo create_info)
@@ -1168,9 +1519,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var info = VulkanLWJGLBufferCreateInfos.packInfo(
         stack,
         create_info);
@@ -1207,9 +1558,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(create_info, "create_info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -1266,11 +1617,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(buffer, "buffer");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cbuffer = checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
+    final var cbuffer =
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var info = VkMemoryRequirements.malloc(stack);
 
       VK10.vkGetBufferMemoryRequirements(this.device, cbuffer.handle(), info);
@@ -1290,9 +1642,9 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(info, "info");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var handles = new long[1];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
@@ -1314,6 +1666,7 @@ public final class VulkanLWJGLLogicalDevice
         USER_OWNED,
         this.device,
         handle,
+        this.memoryTypeProperties(info.memoryTypeIndex()),
         proxy);
     }
   }
@@ -1328,12 +1681,12 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(buffer, "buffer");
     Objects.requireNonNull(device_memory, "device_memory");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     final var cbuffer =
-      checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
+      this.validation.checkInstanceOf(buffer, VulkanLWJGLBuffer.class);
     final var cmemory =
-      checkInstanceOf(device_memory, VulkanLWJGLDeviceMemory.class);
+      this.validation.checkInstanceOf(device_memory, VulkanLWJGLDeviceMemory.class);
 
     VulkanChecks.checkReturnCode(
       VK10.vkBindBufferMemory(
@@ -1354,10 +1707,11 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(image, "image");
     Objects.requireNonNull(device_memory, "device_memory");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    final var cimage = checkInstanceOf(image, VulkanLWJGLImage.class);
-    final var cmemory = checkInstanceOf(
+    final var cimage =
+      this.validation.checkInstanceOf(image, VulkanLWJGLImage.class);
+    final var cmemory = this.validation.checkInstanceOf(
       device_memory,
       VulkanLWJGLDeviceMemory.class);
 
@@ -1378,26 +1732,72 @@ public final class VulkanLWJGLLogicalDevice
     final Set<VulkanMemoryMapFlag> flags)
     throws VulkanException
   {
-    Objects.requireNonNull(memory, "memory");
     Objects.requireNonNull(flags, "flags");
 
-    this.checkNotClosed();
+    return this.mapMemoryMask(
+      memory,
+      offset,
+      size,
+      VulkanEnumMaps.packValues(flags));
+  }
 
-    final var cmemory = checkInstanceOf(memory, VulkanLWJGLDeviceMemory.class);
-    final var int_flags = VulkanEnumMaps.packValues(flags);
+  @Override
+  public VulkanMappedMemoryType mapMemory(
+    final VulkanDeviceMemoryType memory,
+    final long offset,
+    final long size,
+    final VulkanFlagSet<VulkanMemoryMapFlag> flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(flags, "flags");
+
+    return this.mapMemoryMask(memory, offset, size, flags.value());
+  }
+
+  private VulkanMappedMemoryType mapMemoryMask(
+    final VulkanDeviceMemoryType memory,
+    final long offset,
+    final long size,
+    final int int_flags)
+    throws VulkanException
+  {
+    Objects.requireNonNull(memory, "memory");
+
+    this.validation.checkNotClosed(this);
+
+    final var cmemory =
+      this.validation.checkInstanceOf(memory, VulkanLWJGLDeviceMemory.class);
     final var int_handle = cmemory.handle();
 
-    VulkanChecks.checkReturnCode(
-      VK10.vkMapMemory(
-        this.device,
-        int_handle,
-        offset,
-        size,
-        int_flags,
-        this.pointer_buffer),
-      "vkMapMemory");
-
-    final var address = this.pointer_buffer.get(0);
+    /*
+     * Flushed and invalidated ranges must begin on a multiple of the
+     * non-coherent atom size, and must not begin before the mapping.
+     * Memory is therefore mapped from the preceding atom boundary, and the
+     * returned mapping exposes only the requested part.
+     */
+
+    final var atom_size =
+      Math.max(1L, this.physical_device.limits().nonCoherentAtomSize());
+    final var view_offset = offset % atom_size;
+    final var map_offset = offset - view_offset;
+    final var map_size =
+      size == VK10.VK_WHOLE_SIZE ? size : size + view_offset;
+
+    final long address;
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
+      final var pointer = stack.mallocPointer(1);
+      VulkanChecks.checkReturnCode(
+        VK10.vkMapMemory(
+          this.device,
+          int_handle,
+          map_offset,
+          map_size,
+          int_flags,
+          pointer),
+        "vkMapMemory");
+      address = pointer.get(0) + view_offset;
+    }
+
     if (LOG.isTraceEnabled()) {
       LOG.trace(
         "mapped memory: 0x{} -> 0x{}",
@@ -1405,16 +1805,14 @@ public final class VulkanLWJGLLogicalDevice
         Long.toUnsignedString(address, 16));
     }
 
-    final VulkanLWJGLFlushRangedFunctionType flush = (map_mem, map_off, map_size) ->
-      this.flushMappedMemoryRange(VulkanMappedMemoryRange.of(
-        map_mem,
-        map_off,
-        map_size));
-
     return new VulkanLWJGLMappedMemory(
       this.device,
       cmemory,
-      flush,
+      this::flushMappedMemoryRanges,
+      this::invalidateMappedMemoryRanges,
+      map_offset,
+      view_offset,
+      atom_size,
       address,
       size);
   }
@@ -1428,17 +1826,17 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(caches, "caches");
     Objects.requireNonNull(output, "output");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       VulkanChecks.checkReturnCode(
         VK10.vkMergePipelineCaches(
           this.device,
-          checkInstanceOf(output, VulkanLWJGLPipelineCache.class).handle(),
+          this.validation.checkInstanceOf(output, VulkanLWJGLPipelineCache.class).handle(),
           packLongs(
             stack,
             caches,
-            c -> checkInstanceOf(c, VulkanLWJGLPipelineCache.class).handle())),
+            c -> this.validation.checkInstanceOf(c, VulkanLWJGLPipelineCache.class).handle())),
         "vkMergePipelineCaches");
     }
   }
@@ -1450,11 +1848,11 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(event, "event");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     VK10.vkSetEvent(
       this.device,
-      checkInstanceOf(event, VulkanLWJGLEvent.class).handle());
+      this.validation.checkInstanceOf(event, VulkanLWJGLEvent.class).handle());
   }
 
   @Override
@@ -1466,7 +1864,7 @@ public final class VulkanLWJGLLogicalDevice
 
     VK10.vkResetEvent(
       this.device,
-      checkInstanceOf(event, VulkanLWJGLEvent.class).handle());
+      this.validation.checkInstanceOf(event, VulkanLWJGLEvent.class).handle());
   }
 
   @Override
@@ -1476,12 +1874,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(event, "event");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     final var result =
       VK10.vkGetEventStatus(
         this.device,
-        checkInstanceOf(
+        this.validation.checkInstanceOf(
           event,
           VulkanLWJGLEvent.class).handle());
 
@@ -1502,12 +1900,12 @@ public final class VulkanLWJGLLogicalDevice
   {
     Objects.requireNonNull(fence, "fence");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
     final var result =
       VK10.vkGetFenceStatus(
         this.device,
-        checkInstanceOf(
+        this.validation.checkInstanceOf(
           fence,
           VulkanLWJGLFence.class).handle());
 
@@ -1530,14 +1928,14 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(image, "image");
     Objects.requireNonNull(image_subresource, "image_subresource");
 
-    this.checkNotClosed();
+    this.validation.checkNotClosed(this);
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_layout = VkSubresourceLayout.malloc(stack);
 
       VK10.vkGetImageSubresourceLayout(
         this.device,
-        checkInstanceOf(image, VulkanLWJGLImage.class).handle(),
+        this.validation.checkInstanceOf(image, VulkanLWJGLImage.class).handle(),
         VulkanLWJGLImageSubresources.pack(stack, image_subresource),
         vk_layout);
 
@@ -1560,13 +1958,13 @@ public final class VulkanLWJGLLogicalDevice
     Objects.requireNonNull(pipeline_cache, "pipeline_cache");
     Objects.requireNonNull(pipeline_infos, "pipeline_infos");
 
-    try (var stack = this.stack_initial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var pipes = new long[pipeline_infos.size()];
       final var proxy = this.hostAllocatorProxy();
       VulkanChecks.checkReturnCode(
         VK10.vkCreateComputePipelines(
           this.device,
-          mapPipelineCacheOptional(pipeline_cache),
+          this.mapPipelineCacheOptional(pipeline_cache),
           VulkanLWJGLComputePipelineCreateInfos.pack(stack, pipeline_infos),
           proxy.callbackBuffer(),
           pipes),
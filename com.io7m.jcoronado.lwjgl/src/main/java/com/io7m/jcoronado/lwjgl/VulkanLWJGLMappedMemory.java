@@ -17,18 +17,26 @@
 package com.io7m.jcoronado.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFlagSet;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRange;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
 import com.io7m.jcoronado.api.VulkanMappedMemoryType;
-import org.lwjgl.system.MemoryUtil;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * A section of mapped memory.
+ * A section of mapped memory. The memory is mapped from an offset that is a
+ * multiple of the non-coherent atom size, and the section exposed to the
+ * user begins {@code view_offset} octets into the mapping, so that flushed
+ * and invalidated ranges never need to begin outside the mapping.
  */
 
 public final class VulkanLWJGLMappedMemory implements VulkanMappedMemoryType
@@ -37,25 +45,40 @@ public final class VulkanLWJGLMappedMemory implements VulkanMappedMemoryType
     LoggerFactory.getLogger(VulkanLWJGLMappedMemory.class);
 
   private final VkDevice device;
+  private final VulkanLWJGLHostMemory region;
   private final ByteBuffer buffer;
   private final VulkanLWJGLDeviceMemory memory;
-  private final VulkanLWJGLFlushRangedFunctionType flush;
+  private final VulkanLWJGLMappedRangesFunctionType flush;
+  private final VulkanLWJGLMappedRangesFunctionType invalidate;
+  private final long mapping_offset;
+  private final long view_offset;
+  private final long atom_size;
+  private final boolean coherent;
   private boolean mapped;
 
   VulkanLWJGLMappedMemory(
     final VkDevice in_device,
     final VulkanLWJGLDeviceMemory in_cmemory,
-    final VulkanLWJGLFlushRangedFunctionType flush_callback,
+    final VulkanLWJGLMappedRangesFunctionType in_flush,
+    final VulkanLWJGLMappedRangesFunctionType in_invalidate,
+    final long in_offset,
+    final long in_view_offset,
+    final long in_atom_size,
     final long in_address,
     final long in_size)
   {
     this.device = Objects.requireNonNull(in_device, "device");
     this.memory = Objects.requireNonNull(in_cmemory, "memory");
-    this.flush = Objects.requireNonNull(flush_callback, "flush_callback");
+    this.flush = Objects.requireNonNull(in_flush, "flush");
+    this.invalidate = Objects.requireNonNull(in_invalidate, "invalidate");
+    this.mapping_offset = in_offset;
+    this.view_offset = in_view_offset;
+    this.atom_size = in_atom_size;
+    this.coherent = this.isHostCoherent();
     this.mapped = true;
-    this.buffer = MemoryUtil.memByteBuffer(
-      in_address,
-      Math.toIntExact(in_size));
+    this.region = new VulkanLWJGLHostMemory(in_address, in_size);
+    this.buffer =
+      in_size <= Integer.MAX_VALUE ? this.region.asByteBufferWhole() : null;
   }
 
   @Override
@@ -65,22 +88,79 @@ public final class VulkanLWJGLMappedMemory implements VulkanMappedMemoryType
   }
 
   @Override
-  public void flushRange(
-    final long offset,
-    final long size)
+  public Set<VulkanMemoryPropertyFlag> memoryProperties()
+  {
+    return this.memory.memoryProperties();
+  }
+
+  @Override
+  public VulkanFlagSet<VulkanMemoryPropertyFlag> memoryPropertyFlags()
+  {
+    return this.memory.memoryPropertyFlags();
+  }
+
+  @Override
+  public void flushRanges(
+    final List<VulkanMappedMemoryRegion> regions)
     throws VulkanException
   {
-    if (this.mapped) {
-      this.flush.flushRange(this.memory, offset, size);
-    }
+    this.apply(this.flush, regions);
   }
 
   @Override
   public void flush()
     throws VulkanException
   {
-    if (this.mapped) {
-      this.flush.flushRange(this.memory, 0L, VK10.VK_WHOLE_SIZE);
+    this.applyWhole(this.flush);
+  }
+
+  @Override
+  public void invalidateRanges(
+    final List<VulkanMappedMemoryRegion> regions)
+    throws VulkanException
+  {
+    this.apply(this.invalidate, regions);
+  }
+
+  @Override
+  public void invalidate()
+    throws VulkanException
+  {
+    this.applyWhole(this.invalidate);
+  }
+
+  private void apply(
+    final VulkanLWJGLMappedRangesFunctionType function,
+    final List<VulkanMappedMemoryRegion> regions)
+    throws VulkanException
+  {
+    Objects.requireNonNull(regions, "regions");
+
+    if (this.mapped && !this.coherent) {
+      final var ranges =
+        VulkanLWJGLMappedMemoryRanges.alignRegions(
+          this.memory,
+          this.mapping_offset,
+          this.view_offset,
+          this.region.size(),
+          this.atom_size,
+          regions);
+
+      if (!ranges.isEmpty()) {
+        function.apply(ranges);
+      }
+    }
+  }
+
+  private void applyWhole(
+    final VulkanLWJGLMappedRangesFunctionType function)
+    throws VulkanException
+  {
+    if (this.mapped && !this.coherent) {
+      function.apply(List.of(VulkanMappedMemoryRange.of(
+        this.memory,
+        this.mapping_offset,
+        VK10.VK_WHOLE_SIZE)));
     }
   }
 
@@ -98,6 +178,7 @@ public final class VulkanLWJGLMappedMemory implements VulkanMappedMemoryType
         VK10.vkUnmapMemory(this.device, address);
       } finally {
         this.mapped = false;
+        this.region.invalidate();
       }
     }
   }
@@ -105,6 +186,24 @@ public final class VulkanLWJGLMappedMemory implements VulkanMappedMemoryType
   @Override
   public ByteBuffer asByteBuffer()
   {
+    if (this.buffer == null) {
+      return this.region.asByteBufferWhole();
+    }
     return this.buffer;
   }
+
+  @Override
+  public long size()
+  {
+    return this.region.size();
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer(
+    final long offset,
+    final int size)
+    throws VulkanException
+  {
+    return this.region.asByteBuffer(offset, size);
+  }
 }
@@ -18,11 +18,14 @@ package com.io7m.jcoronado.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanException;
 import com.io7m.jcoronado.api.VulkanIncompatibleClassException;
+import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
 import com.io7m.jcoronado.api.VulkanMappedMemoryRange;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkMappedMemoryRange;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -142,4 +145,110 @@ public final class VulkanLWJGLMappedMemoryRanges
       (sstack, count) -> VkMappedMemoryRange.malloc(count, sstack),
       stack);
   }
+
+  /**
+   * Convert regions given relative to the start of a mapping into memory
+   * ranges that satisfy the alignment rules for non-coherent memory. Each
+   * range is widened to multiples of {@code atom_size}, clamped to the
+   * mapping, and extended with {@code VK_WHOLE_SIZE} when it reaches the
+   * end of the mapping. Empty regions are dropped.
+   *
+   * @param memory         The mapped memory object
+   * @param mapping_offset The offset of the mapping within the memory object,
+   *                       which must be a multiple of {@code atom_size}
+   * @param mapping_size   The size of the mapping
+   * @param atom_size      The non-coherent atom size
+   * @param regions        The regions
+   *
+   * @return A list of memory ranges
+   */
+
+  public static List<VulkanMappedMemoryRange> alignRegions(
+    final VulkanDeviceMemoryType memory,
+    final long mapping_offset,
+    final long mapping_size,
+    final long atom_size,
+    final List<VulkanMappedMemoryRegion> regions)
+  {
+    return alignRegions(
+      memory,
+      mapping_offset,
+      0L,
+      mapping_size,
+      atom_size,
+      regions);
+  }
+
+  /**
+   * Convert regions given relative to the start of a view of a mapping into
+   * memory ranges that satisfy the alignment rules for non-coherent memory.
+   * The mapping itself must begin on a multiple of {@code atom_size} (a
+   * range can neither begin before the mapping nor at an unaligned offset),
+   * and so a caller that wishes to map memory at an unaligned offset must
+   * map from the preceding atom boundary and expose a view that begins
+   * {@code view_offset} octets into the mapping. Each range is widened to
+   * multiples of {@code atom_size}, and extended with
+   * {@code VK_WHOLE_SIZE} when it reaches the end of the view. Empty
+   * regions are dropped.
+   *
+   * @param memory         The mapped memory object
+   * @param mapping_offset The offset of the mapping within the memory object,
+   *                       which must be a multiple of {@code atom_size}
+   * @param view_offset    The offset of the view within the mapping
+   * @param view_size      The size of the view
+   * @param atom_size      The non-coherent atom size
+   * @param regions        The regions, relative to the start of the view
+   *
+   * @return A list of memory ranges
+   */
+
+  public static List<VulkanMappedMemoryRange> alignRegions(
+    final VulkanDeviceMemoryType memory,
+    final long mapping_offset,
+    final long view_offset,
+    final long view_size,
+    final long atom_size,
+    final List<VulkanMappedMemoryRegion> regions)
+  {
+    Objects.requireNonNull(memory, "memory");
+    Objects.requireNonNull(regions, "regions");
+
+    if (atom_size <= 0L) {
+      throw new IllegalArgumentException(
+        "Atom size must be positive: " + atom_size);
+    }
+    if (mapping_offset % atom_size != 0L) {
+      throw new IllegalArgumentException(
+        "Mapping offset %d must be a multiple of the atom size %d"
+          .formatted(Long.valueOf(mapping_offset), Long.valueOf(atom_size)));
+    }
+    if (view_offset < 0L) {
+      throw new IllegalArgumentException(
+        "View offset must be non-negative: " + view_offset);
+    }
+
+    final var view_start = mapping_offset + view_offset;
+    final var view_end = view_start + view_size;
+    final var results = new ArrayList<VulkanMappedMemoryRange>(regions.size());
+    for (final var region : regions) {
+      Objects.checkFromIndexSize(region.offset(), region.size(), view_size);
+      if (region.size() == 0L) {
+        continue;
+      }
+
+      final var start_exact = view_start + region.offset();
+      final var end_exact = start_exact + region.size();
+      final var start =
+        (start_exact / atom_size) * atom_size;
+      final var end =
+        ((end_exact + atom_size - 1L) / atom_size) * atom_size;
+
+      if (end >= view_end) {
+        results.add(VulkanMappedMemoryRange.of(memory, start, VK10.VK_WHOLE_SIZE));
+      } else {
+        results.add(VulkanMappedMemoryRange.of(memory, start, end - start));
+      }
+    }
+    return results;
+  }
 }
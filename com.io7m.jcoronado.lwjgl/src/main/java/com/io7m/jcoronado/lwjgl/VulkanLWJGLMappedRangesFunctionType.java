@@ -17,16 +17,16 @@
 package com.io7m.jcoronado.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRange;
+
+import java.util.List;
 
 /**
- * A callback function used to execute memory map flushes.
+ * A callback function used to execute memory map flushes and invalidations.
  */
 
-interface VulkanLWJGLFlushRangedFunctionType
+interface VulkanLWJGLMappedRangesFunctionType
 {
-  void flushRange(
-    VulkanLWJGLDeviceMemory memory,
-    long offset,
-    long size)
+  void apply(List<VulkanMappedMemoryRange> ranges)
     throws VulkanException;
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.system.Pointer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>A memory stack used to pack structures for a single thread.</p>
+ *
+ * <p>Allocations that do not fit into the remaining space of the stack are
+ * satisfied with individual {@code malloc} allocations instead of failing.
+ * Those allocations are freed when the frame in which they were made is
+ * popped, and the arena records that it overflowed so that it can be
+ * replaced with a larger arena the next time that it is not in use.</p>
+ */
+
+final class VulkanLWJGLPackingArena extends MemoryStack
+{
+  private long[] fallback_addresses;
+  private int[] fallback_frames;
+  private int[] fallback_sizes;
+  private int fallback_count;
+  private long fallback_bytes;
+  private long fallback_bytes_peak;
+  private long overflows;
+  private long overflow_bytes;
+  private int high_water;
+  private int published_high_water;
+  private long published_overflows;
+  private long published_overflow_bytes;
+
+  private VulkanLWJGLPackingArena(
+    final ByteBuffer in_container,
+    final int in_size)
+  {
+    super(in_container, MemoryUtil.memAddress(in_container), in_size);
+
+    this.fallback_addresses = new long[8];
+    this.fallback_frames = new int[8];
+    this.fallback_sizes = new int[8];
+  }
+
+  /**
+   * Create an arena.
+   *
+   * @param size The size of the arena in bytes
+   *
+   * @return A new arena
+   */
+
+  static VulkanLWJGLPackingArena createArena(
+    final int size)
+  {
+    return new VulkanLWJGLPackingArena(BufferUtils.createByteBuffer(size), size);
+  }
+
+  @Override
+  public long nmalloc(
+    final int alignment,
+    final int size)
+  {
+    final var base = this.address();
+    final var mask = ~Integer.toUnsignedLong(alignment - 1);
+    final var next = (base + this.getPointer() - size) & mask;
+    if (next >= base) {
+      return super.nmalloc(alignment, size);
+    }
+    return this.fallback(alignment, size);
+  }
+
+  private long fallback(
+    final int alignment,
+    final int size)
+  {
+    final var result =
+      MemoryUtil.nmemAlignedAlloc(
+        Math.max(alignment, Pointer.POINTER_SIZE),
+        Math.max(size, 1));
+
+    if (result == MemoryUtil.NULL) {
+      throw new OutOfMemoryError(
+        "Unable to allocate %d bytes of packing memory"
+          .formatted(Integer.valueOf(size)));
+    }
+
+    if (this.fallback_count == this.fallback_addresses.length) {
+      final var capacity = this.fallback_count * 2;
+      this.fallback_addresses = Arrays.copyOf(this.fallback_addresses, capacity);
+      this.fallback_frames = Arrays.copyOf(this.fallback_frames, capacity);
+      this.fallback_sizes = Arrays.copyOf(this.fallback_sizes, capacity);
+    }
+
+    this.fallback_addresses[this.fallback_count] = result;
+    this.fallback_frames[this.fallback_count] = this.frameIndex;
+    this.fallback_sizes[this.fallback_count] = size;
+    ++this.fallback_count;
+
+    this.fallback_bytes += size;
+    this.fallback_bytes_peak =
+      Math.max(this.fallback_bytes_peak, this.fallback_bytes);
+    ++this.overflows;
+    this.overflow_bytes += size;
+    return result;
+  }
+
+  @Override
+  public MemoryStack pop()
+  {
+    this.high_water =
+      Math.max(this.high_water, this.getSize() - this.getPointer());
+
+    super.pop();
+
+    while (this.fallback_count > 0) {
+      final var last = this.fallback_count - 1;
+      if (this.fallback_frames[last] <= this.frameIndex) {
+        break;
+      }
+      MemoryUtil.nmemAlignedFree(this.fallback_addresses[last]);
+      this.fallback_addresses[last] = MemoryUtil.NULL;
+      this.fallback_bytes -= this.fallback_sizes[last];
+      this.fallback_count = last;
+    }
+
+    if (this.frameIndex == 0) {
+      this.publish();
+    }
+    return this;
+  }
+
+  /*
+   * Publish any changes to the statistics once the arena is no longer in
+   * use, so that allocation itself never touches shared state.
+   */
+
+  private void publish()
+  {
+    if (this.high_water > this.published_high_water) {
+      this.published_high_water = this.high_water;
+      VulkanLWJGLPackingArenas.publishHighWater(this.high_water);
+    }
+    if (this.overflows != this.published_overflows) {
+      VulkanLWJGLPackingArenas.publishOverflows(
+        this.overflows - this.published_overflows,
+        this.overflow_bytes - this.published_overflow_bytes);
+      this.published_overflows = this.overflows;
+      this.published_overflow_bytes = this.overflow_bytes;
+    }
+  }
+
+  /**
+   * @return The largest number of bytes of the stack that have been in use
+   * at any one time
+   */
+
+  int highWaterBytes()
+  {
+    return this.high_water;
+  }
+
+  /**
+   * @return The largest number of bytes that have been allocated outside of
+   * the stack at any one time
+   */
+
+  long fallbackBytesPeak()
+  {
+    return this.fallback_bytes_peak;
+  }
+
+  /**
+   * @return The number of allocations that did not fit into the stack
+   */
+
+  long overflows()
+  {
+    return this.overflows;
+  }
+
+  /**
+   * @return The total size of the allocations that did not fit into the
+   * stack
+   */
+
+  long overflowBytes()
+  {
+    return this.overflow_bytes;
+  }
+}
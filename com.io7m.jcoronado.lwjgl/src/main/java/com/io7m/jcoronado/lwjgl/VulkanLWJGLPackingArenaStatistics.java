@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+/**
+ * Statistics for the per-thread packing arenas.
+ *
+ * @param arenas         The number of live arenas (one per thread)
+ * @param capacityBytes  The combined size of all live arenas
+ * @param highWaterBytes The largest number of bytes that any arena has had
+ *                       in use at one time
+ * @param overflows      The number of allocations that did not fit into an
+ *                       arena and were satisfied from the native heap
+ * @param overflowBytes  The total size of those allocations
+ * @param growths        The number of times that an arena has been replaced
+ *                       with a larger arena
+ *
+ * @see VulkanLWJGLPackingArenas#statistics()
+ */
+
+public record VulkanLWJGLPackingArenaStatistics(
+  long arenas,
+  long capacityBytes,
+  long highWaterBytes,
+  long overflows,
+  long overflowBytes,
+  long growths)
+{
+
+}
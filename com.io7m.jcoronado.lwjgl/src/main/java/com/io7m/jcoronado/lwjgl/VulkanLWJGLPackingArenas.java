@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import org.lwjgl.system.MemoryStack;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Per-thread arenas used to pack structures for Vulkan calls.</p>
+ *
+ * <p>Each thread that calls into the LWJGL implementation is given a single
+ * arena, so memory use scales with the number of threads rather than the
+ * number of Vulkan objects. An arena starts small; allocations that do not
+ * fit are satisfied from the native heap, and the arena is replaced with a
+ * larger one (up to {@link #ARENA_SIZE_MAXIMUM}) the next time the thread
+ * is not using it.</p>
+ */
+
+public final class VulkanLWJGLPackingArenas
+{
+  /**
+   * The initial size of each thread's arena.
+   */
+
+  public static final int ARENA_SIZE_INITIAL = 16 * 1024;
+
+  /**
+   * The size beyond which arenas are not grown.
+   */
+
+  public static final int ARENA_SIZE_MAXIMUM = 4 * 1024 * 1024;
+
+  private static final Cleaner CLEANER =
+    Cleaner.create();
+  private static final ThreadLocal<Holder> ARENAS =
+    ThreadLocal.withInitial(Holder::new);
+
+  private static final LongAdder ARENA_COUNT = new LongAdder();
+  private static final LongAdder CAPACITY = new LongAdder();
+  private static final LongAdder GROWTHS = new LongAdder();
+  private static final LongAdder OVERFLOWS = new LongAdder();
+  private static final LongAdder OVERFLOW_BYTES = new LongAdder();
+  private static final LongAccumulator HIGH_WATER =
+    new LongAccumulator(Math::max, 0L);
+
+  private VulkanLWJGLPackingArenas()
+  {
+
+  }
+
+  /**
+   * Push a new frame onto the current thread's arena. The returned stack
+   * must be closed (typically with try-with-resources) on the same thread.
+   *
+   * @return The current thread's arena
+   */
+
+  public static MemoryStack push()
+  {
+    return ARENAS.get().push();
+  }
+
+  /**
+   * @return A snapshot of the statistics of all arenas
+   */
+
+  public static VulkanLWJGLPackingArenaStatistics statistics()
+  {
+    return new VulkanLWJGLPackingArenaStatistics(
+      ARENA_COUNT.sum(),
+      CAPACITY.sum(),
+      HIGH_WATER.get(),
+      OVERFLOWS.sum(),
+      OVERFLOW_BYTES.sum(),
+      GROWTHS.sum());
+  }
+
+  static void publishHighWater(
+    final long bytes)
+  {
+    HIGH_WATER.accumulate(bytes);
+  }
+
+  static void publishOverflows(
+    final long count,
+    final long bytes)
+  {
+    OVERFLOWS.add(count);
+    OVERFLOW_BYTES.add(bytes);
+  }
+
+  /*
+   * The arena's memory is owned by a direct buffer and is therefore freed
+   * by the garbage collector when the thread exits; the registration only
+   * keeps the statistics accurate.
+   */
+
+  private static final class Registration implements Runnable
+  {
+    private volatile long capacity;
+
+    Registration(
+      final long in_capacity)
+    {
+      this.capacity = in_capacity;
+      ARENA_COUNT.increment();
+      CAPACITY.add(in_capacity);
+    }
+
+    void resize(
+      final long new_capacity)
+    {
+      CAPACITY.add(new_capacity - this.capacity);
+      this.capacity = new_capacity;
+    }
+
+    @Override
+    public void run()
+    {
+      ARENA_COUNT.decrement();
+      CAPACITY.add(-this.capacity);
+    }
+  }
+
+  private static final class Holder
+  {
+    private final Registration registration;
+    private VulkanLWJGLPackingArena arena;
+
+    Holder()
+    {
+      this.arena = VulkanLWJGLPackingArena.createArena(ARENA_SIZE_INITIAL);
+      this.registration = new Registration(ARENA_SIZE_INITIAL);
+      CLEANER.register(this, this.registration);
+    }
+
+    MemoryStack push()
+    {
+      final var current = this.arena;
+      if (current.getFrameIndex() == 0
+          && current.fallbackBytesPeak() > 0L
+          && current.getSize() < ARENA_SIZE_MAXIMUM) {
+        return this.grow(current).push();
+      }
+      return current.push();
+    }
+
+    private VulkanLWJGLPackingArena grow(
+      final VulkanLWJGLPackingArena current)
+    {
+      final var required =
+        (long) current.getSize() + current.fallbackBytesPeak();
+      final var size =
+        (int) Math.min(
+          ARENA_SIZE_MAXIMUM,
+          Long.highestOneBit(required - 1L) << 1);
+
+      this.arena = VulkanLWJGLPackingArena.createArena(size);
+      this.registration.resize(size);
+      GROWTHS.increment();
+      return this.arena;
+    }
+  }
+}
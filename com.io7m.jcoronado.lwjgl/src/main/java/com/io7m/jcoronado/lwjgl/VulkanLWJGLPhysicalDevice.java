@@ -91,7 +91,6 @@ public final class VulkanLWJGLPhysicalDevice
   private static final VulkanFormatFeatureFlag[] FLAGS =
     VulkanFormatFeatureFlag.values();
 
-  private final MemoryStack stackInitial;
   private final Optional<VulkanPhysicalDeviceDriverProperties> driverProperties;
   private final Optional<VulkanPhysicalDeviceIDProperties> idProperties;
   private final SortedMap<VulkanQueueFamilyIndex, VulkanQueueFamilyProperties> queueFamilies;
@@ -135,8 +134,6 @@ public final class VulkanLWJGLPhysicalDevice
       Objects.requireNonNull(inDriverProperties, "driverProperties");
     this.idProperties =
       Objects.requireNonNull(inIdProperties, "idProperties");
-    this.stackInitial =
-      MemoryStack.create();
   }
 
   /**
@@ -570,7 +567,7 @@ public final class VulkanLWJGLPhysicalDevice
 
     this.checkNotClosed();
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = new int[1];
 
       final var layer_ptr =
@@ -620,7 +617,7 @@ public final class VulkanLWJGLPhysicalDevice
   public Map<String, VulkanLayerProperties> layers()
     throws VulkanException
   {
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var count = new int[1];
 
       checkReturnCode(
@@ -695,7 +692,7 @@ public final class VulkanLWJGLPhysicalDevice
 
     this.checkNotClosed();
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_properties = VkFormatProperties.malloc(stack);
       VK10.vkGetPhysicalDeviceFormatProperties(
         this.device,
@@ -725,7 +722,7 @@ public final class VulkanLWJGLPhysicalDevice
     Objects.requireNonNull(usage, "usage");
     Objects.requireNonNull(flags, "flags");
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var vk_properties = VkImageFormatProperties.malloc(stack);
 
       checkReturnCode(
@@ -792,7 +789,7 @@ public final class VulkanLWJGLPhysicalDevice
       enabledLayers.forEach(name -> LOG.debug("enabling layer: {}", name));
     }
 
-    try (var stack = this.stackInitial.push()) {
+    try (var stack = VulkanLWJGLPackingArenas.push()) {
       final var infos =
         info.queueCreateInfos();
       final var vkQueueBuffer =
@@ -840,7 +837,8 @@ public final class VulkanLWJGLPhysicalDevice
         this,
         vkLogicalDevice,
         info,
-        this.hostAllocatorProxy());
+        this.hostAllocatorProxy(),
+        this.instance.validation());
     }
   }
 
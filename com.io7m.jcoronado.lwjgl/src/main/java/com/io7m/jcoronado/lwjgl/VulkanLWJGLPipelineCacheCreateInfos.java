@@ -72,11 +72,12 @@ public final class VulkanLWJGLPipelineCacheCreateInfos
     Objects.requireNonNull(source, "source");
     Objects.requireNonNull(target, "target");
 
+    final var initial_data = source.initialData();
     return target.set(
       VK10.VK_STRUCTURE_TYPE_PIPELINE_CACHE_CREATE_INFO,
       0L,
       VulkanEnumMaps.packValues(source.flags()),
-      target.pInitialData());
+      initial_data.hasRemaining() ? initial_data : null);
   }
 
   /**
@@ -35,16 +35,19 @@ public final class VulkanLWJGLQueryPool extends VulkanLWJGLHandle implements
 
   private final long handle;
   private final VkDevice device;
+  private final int results_per_query;
 
   VulkanLWJGLQueryPool(
     final Ownership ownership,
     final VkDevice in_device,
     final long in_handle,
+    final int in_results_per_query,
     final VulkanLWJGLHostAllocatorProxy in_host_allocator_proxy)
   {
     super(ownership, in_host_allocator_proxy);
     this.device = Objects.requireNonNull(in_device, "device");
     this.handle = in_handle;
+    this.results_per_query = in_results_per_query;
   }
 
   @Override
@@ -102,4 +105,14 @@ public final class VulkanLWJGLQueryPool extends VulkanLWJGLHandle implements
   {
     return this.handle;
   }
+
+  /**
+   * @return The number of result values written for each query, excluding
+   * any availability value
+   */
+
+  int resultsPerQuery()
+  {
+    return this.results_per_query;
+  }
 }
@@ -20,10 +20,14 @@ import com.io7m.jcoronado.api.VulkanEnumMaps;
 import com.io7m.jcoronado.api.VulkanSemaphoreCreateInfo;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VK12;
 import org.lwjgl.vulkan.VkSemaphoreCreateInfo;
+import org.lwjgl.vulkan.VkSemaphoreTypeCreateInfo;
 
 import java.util.Objects;
 
+import static com.io7m.jcoronado.api.VulkanSemaphoreKind.VK_SEMAPHORE_TYPE_TIMELINE;
+
 /**
  * Functions to pack semaphore creation info.
  */
@@ -51,9 +55,19 @@ public final class VulkanLWJGLSemaphoreCreateInfos
     Objects.requireNonNull(stack, "stack");
     Objects.requireNonNull(info, "info");
 
+    var next = 0L;
+    if (info.semaphoreKind() == VK_SEMAPHORE_TYPE_TIMELINE) {
+      next = VkSemaphoreTypeCreateInfo.malloc(stack)
+        .sType(VK12.VK_STRUCTURE_TYPE_SEMAPHORE_TYPE_CREATE_INFO)
+        .pNext(0L)
+        .semaphoreType(info.semaphoreKind().value())
+        .initialValue(info.initialValue())
+        .address();
+    }
+
     return VkSemaphoreCreateInfo.malloc(stack)
       .sType(VK10.VK_STRUCTURE_TYPE_SEMAPHORE_CREATE_INFO)
-      .pNext(0L)
+      .pNext(next)
       .flags(VulkanEnumMaps.packValues(info.flags()));
   }
 }
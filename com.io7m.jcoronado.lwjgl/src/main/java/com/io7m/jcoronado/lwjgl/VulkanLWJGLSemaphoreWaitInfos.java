@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanSemaphoreWaitInfo;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VK12;
+import org.lwjgl.vulkan.VkSemaphoreWaitInfo;
+
+import java.util.Objects;
+
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLClassChecks.checkInstanceOf;
+
+/**
+ * Functions to pack semaphore wait info.
+ */
+
+public final class VulkanLWJGLSemaphoreWaitInfos
+{
+  private VulkanLWJGLSemaphoreWaitInfos()
+  {
+
+  }
+
+  /**
+   * Pack a structure.
+   *
+   * @param stack A stack
+   * @param info  A structure
+   *
+   * @return A packed structure
+   *
+   * @throws VulkanException On errors
+   */
+
+  public static VkSemaphoreWaitInfo pack(
+    final MemoryStack stack,
+    final VulkanSemaphoreWaitInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(stack, "stack");
+    Objects.requireNonNull(info, "info");
+
+    return VkSemaphoreWaitInfo.malloc(stack)
+      .sType(VK12.VK_STRUCTURE_TYPE_SEMAPHORE_WAIT_INFO)
+      .pNext(0L)
+      .flags(VulkanEnumMaps.packValues(info.flags()))
+      .semaphoreCount(info.semaphores().size())
+      .pSemaphores(
+        VulkanLWJGLIntegerArrays.packLongs(
+          stack,
+          info.semaphores(),
+          s -> checkInstanceOf(s, VulkanLWJGLSemaphore.class).handle()))
+      .pValues(
+        VulkanLWJGLIntegerArrays.packLongs(
+          stack,
+          info.values(),
+          Long::longValue));
+  }
+}
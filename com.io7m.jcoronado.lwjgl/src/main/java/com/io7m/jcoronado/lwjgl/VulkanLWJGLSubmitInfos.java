@@ -25,7 +25,9 @@ import com.io7m.jcoronado.api.VulkanSubmitInfo;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VK12;
 import org.lwjgl.vulkan.VkSubmitInfo;
+import org.lwjgl.vulkan.VkTimelineSemaphoreSubmitInfo;
 
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
@@ -67,7 +69,7 @@ public final class VulkanLWJGLSubmitInfos
     for (var index = 0; index < infos.size(); ++index) {
       final var info = infos.get(index);
       buffer.position(index)
-        .pNext(0L)
+        .pNext(packTimelineValues(stack, info))
         .sType(VK10.VK_STRUCTURE_TYPE_SUBMIT_INFO)
         .pWaitDstStageMask(packWaitStages(stack, info.waitStageMasks()))
         .pCommandBuffers(packCommandBuffers(stack, info.commandBuffers()))
@@ -78,6 +80,38 @@ public final class VulkanLWJGLSubmitInfos
     buffer.position(0);
   }
 
+  private static long packTimelineValues(
+    final MemoryStack stack,
+    final VulkanSubmitInfo info)
+    throws VulkanException
+  {
+    final var wait_values = info.waitSemaphoreValues();
+    final var signal_values = info.signalSemaphoreValues();
+    if (wait_values.isEmpty() && signal_values.isEmpty()) {
+      return 0L;
+    }
+
+    return VkTimelineSemaphoreSubmitInfo.malloc(stack)
+      .sType(VK12.VK_STRUCTURE_TYPE_TIMELINE_SEMAPHORE_SUBMIT_INFO)
+      .pNext(0L)
+      .waitSemaphoreValueCount(wait_values.size())
+      .pWaitSemaphoreValues(packValues(stack, wait_values))
+      .signalSemaphoreValueCount(signal_values.size())
+      .pSignalSemaphoreValues(packValues(stack, signal_values))
+      .address();
+  }
+
+  private static LongBuffer packValues(
+    final MemoryStack stack,
+    final List<Long> values)
+    throws VulkanException
+  {
+    return VulkanLWJGLIntegerArrays.packLongsOrNull(
+      stack,
+      values,
+      Long::longValue);
+  }
+
   private static IntBuffer packWaitStages(
     final MemoryStack stack,
     final List<VulkanPipelineStageFlag> stages)
@@ -106,11 +106,43 @@ public final class VulkanLWJGLTemporaryAllocator implements
   {
     Objects.requireNonNull(receiver, "receiver");
 
+    if (Long.compareUnsigned(size, Integer.MAX_VALUE) > 0) {
+      throw new IllegalArgumentException(
+        new StringBuilder(128)
+          .append("Allocation size ")
+          .append(Long.toUnsignedString(size))
+          .append(" cannot be represented as a single ByteBuffer.")
+          .append(" Use withAllocationMemory() instead.")
+          .toString());
+    }
+
     return this.withAllocation(
       size,
       alignment,
       (address, capacity) -> receiver.receive(
-        MemoryUtil.memByteBuffer(address, Math.toIntExact(capacity))));
+        MemoryUtil.memByteBuffer(address, (int) capacity)));
+  }
+
+  @Override
+  public <T, E extends Exception> T withAllocationMemory(
+    final long size,
+    final long alignment,
+    final HostMemoryReceiverType<T, E> receiver)
+    throws VulkanException, E
+  {
+    Objects.requireNonNull(receiver, "receiver");
+
+    return this.withAllocation(
+      size,
+      alignment,
+      (address, capacity) -> {
+        final var memory = new VulkanLWJGLHostMemory(address, capacity);
+        try {
+          return receiver.receive(memory);
+        } finally {
+          memory.invalidate();
+        }
+      });
   }
 
   @Override
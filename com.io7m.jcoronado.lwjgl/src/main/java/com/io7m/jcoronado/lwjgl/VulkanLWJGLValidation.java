@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanIncompatibleClassException;
+import com.io7m.jcoronado.api.VulkanValidationLevel;
+
+import java.util.Objects;
+
+/**
+ * The per-call checks performed at a given validation level.
+ *
+ * Each level is a distinct final class with a single shared instance. The
+ * level is chosen per instance and held in an ordinary field, so it is not a
+ * compile-time constant and the JIT compiler cannot fold it away. However,
+ * an application typically only ever uses a single level, so the type
+ * profile at each call site sees exactly one receiver class. The JIT
+ * compiler then inlines that class's checks behind a cheap receiver class
+ * guard, which reduces the checks at the weaker levels to little more than
+ * that guard and a cast.
+ */
+
+abstract class VulkanLWJGLValidation
+{
+  private static final VulkanLWJGLValidation FULL = new Full();
+  private static final VulkanLWJGLValidation LIGHT = new Light();
+  private static final VulkanLWJGLValidation NONE = new None();
+
+  private VulkanLWJGLValidation()
+  {
+
+  }
+
+  /**
+   * @param level The validation level
+   *
+   * @return The checks for the given validation level
+   */
+
+  static VulkanLWJGLValidation of(
+    final VulkanValidationLevel level)
+  {
+    return switch (Objects.requireNonNull(level, "level")) {
+      case VULKAN_VALIDATION_FULL -> FULL;
+      case VULKAN_VALIDATION_LIGHT -> LIGHT;
+      case VULKAN_VALIDATION_NONE -> NONE;
+    };
+  }
+
+  /**
+   * @return The validation level
+   */
+
+  abstract VulkanValidationLevel level();
+
+  /**
+   * Check that the given handle has not been closed.
+   *
+   * @param handle The handle
+   *
+   * @throws VulkanDestroyedException If the handle is closed and closed
+   *                                  handles are checked at this level
+   */
+
+  abstract void checkNotClosed(VulkanLWJGLHandle handle)
+    throws VulkanDestroyedException;
+
+  /**
+   * Check that the given object is of the given class.
+   *
+   * @param object The object
+   * @param clazz  The expected class
+   * @param <T>    The expected type
+   *
+   * @return The object cast to the expected type
+   *
+   * @throws VulkanIncompatibleClassException If the object is of the wrong
+   *                                          class and classes are checked
+   *                                          at this level
+   * @throws ClassCastException               If the object is of the wrong
+   *                                          class and classes are not
+   *                                          checked at this level
+   * @see VulkanLWJGLClassChecks#checkInstanceOf(Object, Class)
+   */
+
+  abstract <T> T checkInstanceOf(
+    Object object,
+    Class<T> clazz)
+    throws VulkanIncompatibleClassException;
+
+  private static final class Full extends VulkanLWJGLValidation
+  {
+    Full()
+    {
+
+    }
+
+    @Override
+    VulkanValidationLevel level()
+    {
+      return VulkanValidationLevel.VULKAN_VALIDATION_FULL;
+    }
+
+    @Override
+    void checkNotClosed(
+      final VulkanLWJGLHandle handle)
+      throws VulkanDestroyedException
+    {
+      handle.checkNotClosed();
+    }
+
+    @Override
+    <T> T checkInstanceOf(
+      final Object object,
+      final Class<T> clazz)
+      throws VulkanIncompatibleClassException
+    {
+      return VulkanLWJGLClassChecks.checkInstanceOf(object, clazz);
+    }
+  }
+
+  private static final class Light extends VulkanLWJGLValidation
+  {
+    Light()
+    {
+
+    }
+
+    @Override
+    VulkanValidationLevel level()
+    {
+      return VulkanValidationLevel.VULKAN_VALIDATION_LIGHT;
+    }
+
+    @Override
+    void checkNotClosed(
+      final VulkanLWJGLHandle handle)
+      throws VulkanDestroyedException
+    {
+      handle.checkNotClosed();
+    }
+
+    @Override
+    <T> T checkInstanceOf(
+      final Object object,
+      final Class<T> clazz)
+    {
+      return clazz.cast(object);
+    }
+  }
+
+  private static final class None extends VulkanLWJGLValidation
+  {
+    None()
+    {
+
+    }
+
+    @Override
+    VulkanValidationLevel level()
+    {
+      return VulkanValidationLevel.VULKAN_VALIDATION_NONE;
+    }
+
+    @Override
+    void checkNotClosed(
+      final VulkanLWJGLHandle handle)
+    {
+
+    }
+
+    @Override
+    <T> T checkInstanceOf(
+      final Object object,
+      final Class<T> clazz)
+    {
+      return clazz.cast(object);
+    }
+  }
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.parallel_recording;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferCreateInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferInheritanceInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferLevel;
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanCommandBufferUsageFlag;
+import com.io7m.jcoronado.api.VulkanCommandPoolCreateFlag;
+import com.io7m.jcoronado.api.VulkanCommandPoolCreateInfo;
+import com.io7m.jcoronado.api.VulkanCommandPoolType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanQueueFamilyIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A facility for recording secondary command buffers in parallel.</p>
+ *
+ * <p>Vulkan requires that a command pool, and all command buffers allocated
+ * from it, are accessed by at most one thread at a time. The recorder
+ * therefore maintains, for each frame in flight, a set of <i>workers</i>.
+ * Each worker owns a command pool and the secondary command buffers
+ * allocated from that pool. A task executing on any thread (platform or
+ * virtual) takes exclusive ownership of an idle worker for the duration of
+ * the task, creating a new worker if none are idle, and returns it when the
+ * task completes. The number of workers for a frame therefore grows to the
+ * maximum number of tasks that ever ran concurrently for that frame, and no
+ * command pool is ever shared between threads.</p>
+ *
+ * <p>Command pools and command buffers are created rarely (only when the
+ * number of concurrent tasks, or the number of command buffers recorded by
+ * a worker, exceeds anything seen before), and so the recorder serializes
+ * all of its calls that create objects on the logical device. The recorder
+ * therefore does not rely on the device implementation tolerating
+ * concurrent object creation.</p>
+ *
+ * <p>At the start of each frame, {@link #beginFrame(int)} must be called
+ * once the GPU has finished with the previous use of that frame's command
+ * buffers (typically after waiting on the frame's fence). This resets every
+ * command pool used by the frame, and all secondary command buffers are
+ * reused by subsequent recordings.</p>
+ */
+
+public final class VulkanParallelRecorder implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanParallelRecorder.class);
+
+  private final VulkanLogicalDeviceType device;
+  private final VulkanQueueFamilyIndex queue_family;
+  private final Executor executor;
+  private final Frame[] frames;
+  private final AtomicBoolean closed;
+  private final Object device_lock;
+
+  /**
+   * Create a parallel recorder.
+   *
+   * @param in_device           The logical device
+   * @param in_queue_family     The queue family to which command buffers will
+   *                            be submitted
+   * @param in_frames_in_flight The number of frames in flight
+   * @param in_executor         The executor used to run recording tasks
+   */
+
+  public VulkanParallelRecorder(
+    final VulkanLogicalDeviceType in_device,
+    final VulkanQueueFamilyIndex in_queue_family,
+    final int in_frames_in_flight,
+    final Executor in_executor)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.queue_family =
+      Objects.requireNonNull(in_queue_family, "queue_family");
+    this.executor =
+      Objects.requireNonNull(in_executor, "executor");
+
+    if (in_frames_in_flight < 1) {
+      throw new IllegalArgumentException(
+        "Frames in flight must be positive: " + in_frames_in_flight);
+    }
+
+    this.frames = new Frame[in_frames_in_flight];
+    for (var index = 0; index < in_frames_in_flight; ++index) {
+      this.frames[index] = new Frame();
+    }
+    this.closed = new AtomicBoolean(false);
+    this.device_lock = new Object();
+  }
+
+  /**
+   * @return The number of frames in flight
+   */
+
+  public int framesInFlight()
+  {
+    return this.frames.length;
+  }
+
+  /**
+   * @param frame_index The frame index
+   *
+   * @return The number of command pools currently allocated for the frame
+   */
+
+  public int commandPoolCount(
+    final int frame_index)
+  {
+    return this.frame(frame_index).worker_count.get();
+  }
+
+  /**
+   * Begin a frame. All command pools used by the frame are reset, making
+   * their command buffers available for reuse. The caller must ensure that
+   * none of the frame's command buffers are still pending execution, and
+   * that no recording is in progress for the frame.
+   *
+   * @param frame_index The frame index
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void beginFrame(
+    final int frame_index)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var frame = this.frame(frame_index);
+    for (final var worker : frame.workers_all) {
+      this.device.resetCommandPool(worker.pool, Set.of());
+      worker.used = 0;
+    }
+  }
+
+  /**
+   * Record one secondary command buffer per partition, in parallel. The
+   * returned list contains the command buffers in the same order as the
+   * given partitions. The method returns once all tasks have completed. If
+   * any task fails, the first failure is rethrown once all tasks have
+   * completed, and any other failures are added as suppressed exceptions.
+   *
+   * @param frame_index The frame index
+   * @param inheritance The inheritance info for the secondary command buffers
+   * @param partitions  The partitions of work
+   * @param task        The task that records each partition
+   * @param <T>         The type of partitions
+   *
+   * @return The recorded secondary command buffers
+   *
+   * @throws VulkanException On errors
+   */
+
+  public <T> List<VulkanCommandBufferType> record(
+    final int frame_index,
+    final VulkanCommandBufferInheritanceInfo inheritance,
+    final List<T> partitions,
+    final VulkanParallelRecordingTaskType<T> task)
+    throws VulkanException
+  {
+    Objects.requireNonNull(inheritance, "inheritance");
+    Objects.requireNonNull(partitions, "partitions");
+    Objects.requireNonNull(task, "task");
+
+    this.checkNotClosed();
+
+    final var frame = this.frame(frame_index);
+    final var begin_info = beginInfo(inheritance);
+    final var count = partitions.size();
+    final var results = new VulkanCommandBufferType[count];
+
+    final var futures = new ArrayList<CompletableFuture<Void>>(count);
+    for (var index = 0; index < count; ++index) {
+      final var partition_index = index;
+      futures.add(CompletableFuture.runAsync(() -> {
+        try {
+          results[partition_index] =
+            this.recordOne(
+              frame,
+              begin_info,
+              partitions.get(partition_index),
+              task);
+        } catch (final VulkanException e) {
+          throw new CompletionException(e);
+        }
+      }, this.executor));
+    }
+
+    joinAll(futures);
+    return List.of(results);
+  }
+
+  /**
+   * Record one secondary command buffer per partition, in parallel, and
+   * then execute the resulting command buffers from the given primary
+   * command buffer using
+   * {@link VulkanCommandBufferType#executeCommands(List)}.
+   *
+   * @param frame_index The frame index
+   * @param primary     The primary command buffer
+   * @param inheritance The inheritance info for the secondary command buffers
+   * @param partitions  The partitions of work
+   * @param task        The task that records each partition
+   * @param <T>         The type of partitions
+   *
+   * @return The recorded secondary command buffers
+   *
+   * @throws VulkanException On errors
+   *
+   * @see #record(int, VulkanCommandBufferInheritanceInfo, List,
+   * VulkanParallelRecordingTaskType)
+   */
+
+  public <T> List<VulkanCommandBufferType> recordAndExecute(
+    final int frame_index,
+    final VulkanCommandBufferType primary,
+    final VulkanCommandBufferInheritanceInfo inheritance,
+    final List<T> partitions,
+    final VulkanParallelRecordingTaskType<T> task)
+    throws VulkanException
+  {
+    Objects.requireNonNull(primary, "primary");
+
+    final var secondaries =
+      this.record(frame_index, inheritance, partitions, task);
+    if (!secondaries.isEmpty()) {
+      primary.executeCommands(secondaries);
+    }
+    return secondaries;
+  }
+
+  private static VulkanCommandBufferBeginInfo beginInfo(
+    final VulkanCommandBufferInheritanceInfo inheritance)
+  {
+    final var flags =
+      EnumSet.of(VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT);
+    if (inheritance.renderPass().isPresent()) {
+      flags.add(VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_RENDER_PASS_CONTINUE_BIT);
+    }
+
+    return VulkanCommandBufferBeginInfo.builder()
+      .setFlags(flags)
+      .setInheritanceInfo(inheritance)
+      .build();
+  }
+
+  private static void joinAll(
+    final List<CompletableFuture<Void>> futures)
+    throws VulkanException
+  {
+    Throwable failure = null;
+    for (final var future : futures) {
+      try {
+        future.join();
+      } catch (final CompletionException e) {
+        final var cause = e.getCause() != null ? e.getCause() : e;
+        if (failure == null) {
+          failure = cause;
+        } else {
+          failure.addSuppressed(cause);
+        }
+      }
+    }
+
+    if (failure instanceof final VulkanException e) {
+      throw e;
+    }
+    if (failure instanceof final RuntimeException e) {
+      throw e;
+    }
+    if (failure instanceof final Error e) {
+      throw e;
+    }
+    if (failure != null) {
+      throw new CompletionException(failure);
+    }
+  }
+
+  private <T> VulkanCommandBufferType recordOne(
+    final Frame frame,
+    final VulkanCommandBufferBeginInfo begin_info,
+    final T partition,
+    final VulkanParallelRecordingTaskType<T> task)
+    throws VulkanException
+  {
+    final var worker = this.acquireWorker(frame);
+    try {
+      final var command_buffer = this.nextCommandBuffer(worker);
+      command_buffer.beginCommandBuffer(begin_info);
+      task.record(command_buffer, partition);
+      command_buffer.endCommandBuffer();
+      return command_buffer;
+    } finally {
+      frame.workers_idle.offer(worker);
+    }
+  }
+
+  private Worker acquireWorker(
+    final Frame frame)
+    throws VulkanException
+  {
+    final var existing = frame.workers_idle.poll();
+    if (existing != null) {
+      return existing;
+    }
+
+    final var info =
+      VulkanCommandPoolCreateInfo.builder()
+        .addFlags(VulkanCommandPoolCreateFlag.VK_COMMAND_POOL_CREATE_TRANSIENT_BIT)
+        .setQueueFamilyIndex(this.queue_family)
+        .build();
+
+    final VulkanCommandPoolType pool;
+    synchronized (this.device_lock) {
+      pool = this.device.createCommandPool(info);
+    }
+
+    final var worker = new Worker(pool);
+    frame.workers_all.add(worker);
+    final var count = frame.worker_count.incrementAndGet();
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("created command pool {} (workers: {})", pool, count);
+    }
+    return worker;
+  }
+
+  private VulkanCommandBufferType nextCommandBuffer(
+    final Worker worker)
+    throws VulkanException
+  {
+    if (worker.used < worker.buffers.size()) {
+      final var buffer = worker.buffers.get(worker.used);
+      ++worker.used;
+      return buffer;
+    }
+
+    final var info =
+      VulkanCommandBufferCreateInfo.builder()
+        .setPool(worker.pool)
+        .setLevel(VulkanCommandBufferLevel.VK_COMMAND_BUFFER_LEVEL_SECONDARY)
+        .setCount(1)
+        .build();
+
+    final VulkanCommandBufferType buffer;
+    synchronized (this.device_lock) {
+      buffer = this.device.createCommandBuffers(info).get(0);
+    }
+
+    worker.buffers.add(buffer);
+    ++worker.used;
+    return buffer;
+  }
+
+  private Frame frame(
+    final int frame_index)
+  {
+    return this.frames[Objects.checkIndex(frame_index, this.frames.length)];
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed.get()) {
+      throw new VulkanDestroyedException("Recorder has been closed.");
+    }
+  }
+
+  /**
+   * Destroy all command pools. The caller must ensure that none of the
+   * command buffers are pending execution.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public void close()
+    throws VulkanException
+  {
+    if (this.closed.compareAndSet(false, true)) {
+      VulkanException failure = null;
+      for (final var frame : this.frames) {
+        for (final var worker : frame.workers_all) {
+          try {
+            worker.pool.close();
+          } catch (final VulkanException e) {
+            if (failure == null) {
+              failure = e;
+            } else {
+              failure.addSuppressed(e);
+            }
+          }
+        }
+        frame.workers_all.clear();
+        frame.workers_idle.clear();
+        frame.worker_count.set(0);
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("[VulkanParallelRecorder frames=")
+      .append(this.frames.length)
+      .append(" pools=")
+      .append(Arrays.stream(this.frames)
+                .mapToInt(f -> f.worker_count.get())
+                .sum())
+      .append("]")
+      .toString();
+  }
+
+  private static final class Frame
+  {
+    private final ConcurrentLinkedQueue<Worker> workers_all;
+    private final ConcurrentLinkedQueue<Worker> workers_idle;
+    private final AtomicInteger worker_count;
+
+    Frame()
+    {
+      this.workers_all = new ConcurrentLinkedQueue<>();
+      this.workers_idle = new ConcurrentLinkedQueue<>();
+      this.worker_count = new AtomicInteger(0);
+    }
+  }
+
+  private static final class Worker
+  {
+    private final VulkanCommandPoolType pool;
+    private final List<VulkanCommandBufferType> buffers;
+    private int used;
+
+    Worker(
+      final VulkanCommandPoolType in_pool)
+    {
+      this.pool = Objects.requireNonNull(in_pool, "pool");
+      this.buffers = new ArrayList<>();
+      this.used = 0;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.parallel_recording;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanException;
+
+/**
+ * A task that records commands for a single partition of work into a
+ * secondary command buffer. The command buffer has already been begun, and
+ * will be ended by the caller.
+ *
+ * @param <T> The type of work partitions
+ */
+
+@FunctionalInterface
+public interface VulkanParallelRecordingTaskType<T>
+{
+  /**
+   * Record commands for the given partition.
+   *
+   * @param command_buffer The secondary command buffer
+   * @param partition      The partition of work
+   *
+   * @throws VulkanException On errors
+   */
+
+  void record(
+    VulkanCommandBufferType command_buffer,
+    T partition)
+    throws VulkanException;
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceProperties;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The header at the start of pipeline cache data
+ * ({@code VkPipelineCacheHeaderVersionOne}). Unlike most Vulkan structures,
+ * the fields of the header are always stored least significant byte first.
+ *
+ * @param headerSize        The length in octets of the header
+ * @param headerVersion     The version of the header
+ * @param vendorId          The vendor ID of the device
+ * @param deviceId          The device ID of the device
+ * @param pipelineCacheUUID The pipeline cache UUID of the device
+ */
+
+public record VulkanPipelineCacheHeader(
+  int headerSize,
+  int headerVersion,
+  int vendorId,
+  int deviceId,
+  UUID pipelineCacheUUID)
+{
+  /**
+   * The size of a version one header.
+   */
+
+  public static final int VERSION_ONE_SIZE = 32;
+
+  /**
+   * The value of {@code VK_PIPELINE_CACHE_HEADER_VERSION_ONE}.
+   */
+
+  public static final int VERSION_ONE = 1;
+
+  /**
+   * The header at the start of pipeline cache data
+   * ({@code VkPipelineCacheHeaderVersionOne}).
+   *
+   * @param headerSize        The length in octets of the header
+   * @param headerVersion     The version of the header
+   * @param vendorId          The vendor ID of the device
+   * @param deviceId          The device ID of the device
+   * @param pipelineCacheUUID The pipeline cache UUID of the device
+   */
+
+  public VulkanPipelineCacheHeader
+  {
+    Objects.requireNonNull(pipelineCacheUUID, "pipelineCacheUUID");
+  }
+
+  /**
+   * Parse a header from the start of the given pipeline cache data. The
+   * position of the buffer is not modified.
+   *
+   * @param data The pipeline cache data
+   *
+   * @return The header, or nothing if the data is too short to contain one
+   */
+
+  public static Optional<VulkanPipelineCacheHeader> parse(
+    final ByteBuffer data)
+  {
+    Objects.requireNonNull(data, "data");
+
+    final var view =
+      data.duplicate()
+        .order(ByteOrder.LITTLE_ENDIAN);
+    if (view.remaining() < VERSION_ONE_SIZE) {
+      return Optional.empty();
+    }
+
+    final var base = view.position();
+    final var size = view.getInt(base);
+    final var version = view.getInt(base + 4);
+    final var vendor = view.getInt(base + 8);
+    final var device = view.getInt(base + 12);
+
+    /*
+     * The UUID is stored as a sequence of octets, and is therefore read
+     * in big endian order to match the representation used by
+     * VulkanPhysicalDeviceProperties.
+     */
+
+    view.order(ByteOrder.BIG_ENDIAN);
+    final var uuid = new UUID(view.getLong(base + 16), view.getLong(base + 24));
+    return Optional.of(
+      new VulkanPipelineCacheHeader(size, version, vendor, device, uuid));
+  }
+
+  /**
+   * Determine whether pipeline cache data with this header could have been
+   * produced by a device with the given properties.
+   *
+   * @param properties The device properties
+   *
+   * @return {@code true} if the data is compatible with the device
+   */
+
+  public boolean isCompatibleWith(
+    final VulkanPhysicalDeviceProperties properties)
+  {
+    Objects.requireNonNull(properties, "properties");
+
+    if (this.headerVersion != VERSION_ONE) {
+      return false;
+    }
+    if (this.headerSize < VERSION_ONE_SIZE) {
+      return false;
+    }
+    if (this.vendorId != properties.vendorId()) {
+      return false;
+    }
+    if (this.deviceId != properties.id()) {
+      return false;
+    }
+    return Objects.equals(
+      this.pipelineCacheUUID,
+      properties.pipelineCacheUUID());
+  }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanPipelineCacheDataResult.VK_PIPELINE_CACHE_SUCCESS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>A pipeline cache that is loaded from, and saved to, a file.</p>
+ *
+ * <p>On opening, the file is read into memory and its header is validated
+ * against the vendor ID, device ID and pipeline cache UUID of the device.
+ * The file is not memory-mapped, so it remains free to be replaced or
+ * truncated while the store is open.
+ * Compatible data is used to populate the initial pipeline cache; missing,
+ * unreadable or incompatible data results in an empty cache, and the reason
+ * is reported by {@link #loadStatus()}.</p>
+ *
+ * <p>Threads that create pipelines concurrently should each use their own
+ * cache obtained from {@link #createThreadCache()}. Thread caches are
+ * populated with the data most recently loaded or saved, and are merged
+ * into the main cache each time the store is saved. The main cache is the
+ * destination of the merge, and so must not be used to create pipelines
+ * while the store is being saved.</p>
+ *
+ * <p>The store is written with {@link #save()}, periodically with
+ * {@link #scheduleSaves(ScheduledExecutorService, Duration)}, and finally
+ * when the store is closed. Data is written to a temporary file that then
+ * atomically replaces the original, so a crash during a save can never
+ * leave a truncated cache behind. Saves are skipped if the data has not
+ * changed since it was last loaded or saved.</p>
+ */
+
+public final class VulkanPipelineCacheStore implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanPipelineCacheStore.class);
+
+  private final VulkanLogicalDeviceType device;
+  private final Path file;
+  private final Path file_temporary;
+  private ByteBuffer initial_data;
+  private final LoadStatus load_status;
+  private final VulkanPipelineCacheType cache;
+  private final List<VulkanPipelineCacheType> thread_caches;
+  private long saved_checksum;
+  private boolean closed;
+
+  private VulkanPipelineCacheStore(
+    final VulkanLogicalDeviceType in_device,
+    final Path in_file,
+    final ByteBuffer in_initial_data,
+    final LoadStatus in_load_status,
+    final VulkanPipelineCacheType in_cache)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.file =
+      Objects.requireNonNull(in_file, "file");
+    this.initial_data =
+      Objects.requireNonNull(in_initial_data, "initial_data");
+    this.load_status =
+      Objects.requireNonNull(in_load_status, "load_status");
+    this.cache =
+      Objects.requireNonNull(in_cache, "cache");
+
+    this.file_temporary =
+      this.file.resolveSibling(this.file.getFileName() + ".tmp");
+    this.thread_caches = new ArrayList<>();
+    this.saved_checksum = checksumOf(this.initial_data);
+    this.closed = false;
+  }
+
+  /**
+   * The result of loading a pipeline cache file.
+   */
+
+  public enum LoadStatus
+  {
+    /**
+     * The file was loaded and its data used to populate the cache.
+     */
+
+    LOADED,
+
+    /**
+     * The file did not exist.
+     */
+
+    NOT_FOUND,
+
+    /**
+     * The file could not be read, or did not contain a valid header.
+     */
+
+    UNREADABLE,
+
+    /**
+     * The file was produced by a different device or driver.
+     */
+
+    INCOMPATIBLE
+  }
+
+  /**
+   * Open a pipeline cache store. If the file exists and contains data
+   * compatible with the device, the data is used to populate the cache.
+   *
+   * @param device The logical device
+   * @param file   The file
+   *
+   * @return A pipeline cache store
+   *
+   * @throws VulkanException On errors
+   */
+
+  public static VulkanPipelineCacheStore open(
+    final VulkanLogicalDeviceType device,
+    final Path file)
+    throws VulkanException
+  {
+    Objects.requireNonNull(device, "device");
+    Objects.requireNonNull(file, "file");
+
+    final var properties = device.physicalDevice().properties();
+
+    var initial_data = ByteBuffer.allocateDirect(0);
+    LoadStatus status;
+
+    try (var channel = FileChannel.open(file, READ)) {
+      final var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        LOG.warn("pipeline cache {}: file is too large ({})", file, size);
+        status = LoadStatus.UNREADABLE;
+      } else {
+        final var data = readFully(channel, (int) size);
+        final var header_opt = VulkanPipelineCacheHeader.parse(data);
+
+        if (header_opt.isEmpty()
+            || header_opt.get().headerSize() > data.remaining()) {
+          LOG.warn("pipeline cache {}: invalid header", file);
+          status = LoadStatus.UNREADABLE;
+        } else {
+          final var header = header_opt.get();
+          if (header.isCompatibleWith(properties)) {
+            LOG.debug(
+              "pipeline cache {}: loaded {} octets",
+              file,
+              Integer.valueOf(data.remaining()));
+            initial_data = data;
+            status = LoadStatus.LOADED;
+          } else {
+            LOG.info(
+              "pipeline cache {}: incompatible (vendor 0x{} device 0x{} uuid {})",
+              file,
+              Integer.toUnsignedString(header.vendorId(), 16),
+              Integer.toUnsignedString(header.deviceId(), 16),
+              header.pipelineCacheUUID());
+            status = LoadStatus.INCOMPATIBLE;
+          }
+        }
+      }
+    } catch (final NoSuchFileException e) {
+      LOG.debug("pipeline cache {}: does not exist", file);
+      status = LoadStatus.NOT_FOUND;
+    } catch (final IOException e) {
+      LOG.warn("pipeline cache {}: unable to read: ", file, e);
+      status = LoadStatus.UNREADABLE;
+    }
+
+    final var cache =
+      device.createPipelineCache(
+        VulkanPipelineCacheCreateInfo.of(Set.of(), initial_data));
+
+    return new VulkanPipelineCacheStore(
+      device, file, initial_data, status, cache);
+  }
+
+  /**
+   * Read the file into a direct buffer. The file may be truncated
+   * concurrently, in which case only the data that could be read is
+   * returned.
+   */
+
+  private static ByteBuffer readFully(
+    final FileChannel channel,
+    final int size)
+    throws IOException
+  {
+    final var data = ByteBuffer.allocateDirect(size);
+    while (data.hasRemaining()) {
+      if (channel.read(data) < 0) {
+        break;
+      }
+    }
+    return data.flip();
+  }
+
+  private static long checksumOf(
+    final ByteBuffer data)
+  {
+    final var crc = new CRC32();
+    crc.update(data.duplicate());
+    return crc.getValue();
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException(
+        "Pipeline cache store has been closed.");
+    }
+  }
+
+  /**
+   * @return The file backing the store
+   */
+
+  public Path file()
+  {
+    return this.file;
+  }
+
+  /**
+   * @return The result of loading the file when the store was opened
+   */
+
+  public LoadStatus loadStatus()
+  {
+    return this.load_status;
+  }
+
+  /**
+   * @return The main pipeline cache
+   */
+
+  public VulkanPipelineCacheType cache()
+  {
+    return this.cache;
+  }
+
+  /**
+   * Create a new pipeline cache for use by a single thread. The cache is
+   * populated with the data that was most recently loaded or saved, is
+   * merged into the main cache on each save, and is destroyed when the store
+   * is closed.
+   *
+   * @return A new pipeline cache
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized VulkanPipelineCacheType createThreadCache()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var thread_cache =
+      this.device.createPipelineCache(
+        VulkanPipelineCacheCreateInfo.of(Set.of(), this.initial_data));
+    this.thread_caches.add(thread_cache);
+    return thread_cache;
+  }
+
+  /**
+   * Merge all thread caches into the main cache.
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void mergeThreadCaches()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    if (!this.thread_caches.isEmpty()) {
+      this.device.mergePipelineCaches(
+        List.copyOf(this.thread_caches),
+        this.cache);
+    }
+  }
+
+  /**
+   * Merge all thread caches into the main cache, and write the main cache
+   * to the file if its contents have changed.
+   *
+   * @return {@code true} if the file was written
+   *
+   * @throws VulkanException On errors
+   * @throws IOException     On I/O errors
+   */
+
+  public synchronized boolean save()
+    throws VulkanException, IOException
+  {
+    this.checkNotClosed();
+    this.mergeThreadCaches();
+
+    final var data = this.fetchData();
+    final var checksum = checksumOf(data);
+    if (checksum == this.saved_checksum) {
+      LOG.trace("pipeline cache {}: unchanged", this.file);
+      return false;
+    }
+
+    final var parent = this.file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    try (var channel =
+           FileChannel.open(this.file_temporary, WRITE, CREATE, TRUNCATE_EXISTING)) {
+      while (data.hasRemaining()) {
+        channel.write(data);
+      }
+      channel.force(true);
+    }
+
+    try {
+      Files.move(this.file_temporary, this.file, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (final AtomicMoveNotSupportedException e) {
+      Files.move(this.file_temporary, this.file, REPLACE_EXISTING);
+    }
+
+    this.saved_checksum = checksum;
+    this.initial_data = data.rewind();
+    LOG.debug(
+      "pipeline cache {}: saved {} octets",
+      this.file,
+      Integer.valueOf(data.capacity()));
+    return true;
+  }
+
+  private ByteBuffer fetchData()
+    throws VulkanException
+  {
+    /*
+     * The cache may grow between retrieving the size and retrieving the
+     * data, in which case the retrieval is incomplete and must be retried.
+     */
+
+    while (true) {
+      final var size =
+        Math.toIntExact(this.device.getPipelineCacheDataSize(this.cache));
+      final var data = ByteBuffer.allocateDirect(size);
+      final var result = this.device.getPipelineCacheData(this.cache, data);
+      if (result == VK_PIPELINE_CACHE_SUCCESS) {
+        return data;
+      }
+    }
+  }
+
+  /**
+   * Save the store periodically. Failures are logged, and do not prevent
+   * subsequent saves. Saves stop when the store is closed or the returned
+   * future is cancelled.
+   *
+   * @param executor The executor that will perform the saves
+   * @param period   The time between saves
+   *
+   * @return A future representing the scheduled saves
+   */
+
+  public ScheduledFuture<?> scheduleSaves(
+    final ScheduledExecutorService executor,
+    final Duration period)
+  {
+    Objects.requireNonNull(executor, "executor");
+    Objects.requireNonNull(period, "period");
+
+    final var nanos = period.toNanos();
+    return executor.scheduleWithFixedDelay(
+      this::saveScheduled,
+      nanos,
+      nanos,
+      TimeUnit.NANOSECONDS);
+  }
+
+  private synchronized void saveScheduled()
+  {
+    if (this.closed) {
+      return;
+    }
+
+    try {
+      this.save();
+    } catch (final VulkanException | IOException e) {
+      LOG.error("pipeline cache {}: failed to save: ", this.file, e);
+    }
+  }
+
+  /**
+   * Save the store, and destroy the main cache and all thread caches.
+   *
+   * @throws VulkanException On errors
+   * @throws IOException     On I/O errors
+   */
+
+  @Override
+  public synchronized void close()
+    throws VulkanException, IOException
+  {
+    if (!this.closed) {
+      try {
+        this.save();
+      } finally {
+        this.closed = true;
+        for (final var thread_cache : this.thread_caches) {
+          thread_cache.close();
+        }
+        this.thread_caches.clear();
+        this.cache.close();
+      }
+    }
+  }
+}
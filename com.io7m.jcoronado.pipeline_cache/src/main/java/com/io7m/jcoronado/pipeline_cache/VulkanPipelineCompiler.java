@@ -0,0 +1,493 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanGraphicsPipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A service that compiles pipelines asynchronously.</p>
+ *
+ * <p>Pipeline creation is performed synchronously by the driver, and can
+ * take a considerable amount of time. The compiler accepts pipeline create
+ * infos, queues them by priority, and creates the pipelines on the threads
+ * of the given executor, returning a {@link CompletableFuture} for each
+ * pipeline. Requests with higher priority values are compiled before
+ * requests with lower priority values; requests with equal priorities are
+ * compiled in submission order. The number of pipelines compiled
+ * concurrently is bounded by the executor.</p>
+ *
+ * <p>Each concurrent compilation uses its own <i>worker cache</i>. A task
+ * takes an idle worker cache for the duration of the compilation, creating
+ * a new one if none are idle, so the number of worker caches grows to the
+ * maximum number of compilations that ever ran concurrently. The worker
+ * caches can be merged into a single destination cache with
+ * {@link #mergeCaches(VulkanPipelineCacheType)} (for example, the main
+ * cache of a {@link VulkanPipelineCacheStore} prior to saving it).</p>
+ *
+ * <p>Pipelines are created concurrently on the logical device, which Vulkan
+ * permits because neither the device nor an exclusively owned pipeline
+ * cache require external synchronization. The compiler therefore requires
+ * a device implementation that tolerates concurrent calls; the LWJGL
+ * implementation does, because each thread packs structures into its own
+ * arena. Worker caches are created rarely, and their creation is
+ * serialized.</p>
+ *
+ * <p>A future that is cancelled before its compilation begins is removed
+ * from the queue. A pipeline whose future was cancelled while it was being
+ * compiled is destroyed immediately.</p>
+ */
+
+public final class VulkanPipelineCompiler implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanPipelineCompiler.class);
+
+  private static final Comparator<Task> TASK_ORDER =
+    Comparator.comparingInt(Task::priority)
+      .reversed()
+      .thenComparingLong(Task::sequence);
+
+  private final VulkanLogicalDeviceType device;
+  private final Executor executor;
+  private final ByteBuffer initial_data;
+  private final PriorityBlockingQueue<Task> queue;
+  private final ConcurrentLinkedQueue<VulkanPipelineCacheType> caches_idle;
+  private final List<VulkanPipelineCacheType> caches_all;
+  private final AtomicLong sequence;
+  private int running;
+  private boolean closed;
+
+  /**
+   * Create a pipeline compiler. Worker caches are created empty.
+   *
+   * @param in_device   The logical device
+   * @param in_executor The executor used to compile pipelines
+   */
+
+  public VulkanPipelineCompiler(
+    final VulkanLogicalDeviceType in_device,
+    final Executor in_executor)
+  {
+    this(in_device, in_executor, ByteBuffer.allocate(0));
+  }
+
+  /**
+   * Create a pipeline compiler.
+   *
+   * @param in_device       The logical device
+   * @param in_executor     The executor used to compile pipelines
+   * @param in_initial_data The data used to populate each worker cache
+   */
+
+  public VulkanPipelineCompiler(
+    final VulkanLogicalDeviceType in_device,
+    final Executor in_executor,
+    final ByteBuffer in_initial_data)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.executor =
+      Objects.requireNonNull(in_executor, "executor");
+    this.initial_data =
+      Objects.requireNonNull(in_initial_data, "initial_data")
+        .asReadOnlyBuffer();
+
+    this.queue = new PriorityBlockingQueue<>(16, TASK_ORDER);
+    this.caches_idle = new ConcurrentLinkedQueue<>();
+    this.caches_all = new ArrayList<>();
+    this.sequence = new AtomicLong();
+    this.running = 0;
+    this.closed = false;
+  }
+
+  /**
+   * Submit a graphics pipeline for compilation.
+   *
+   * @param priority The priority of the request
+   * @param info     The pipeline create info
+   *
+   * @return A future representing the pipeline
+   *
+   * @throws VulkanDestroyedException If the compiler has been closed
+   */
+
+  public CompletableFuture<VulkanPipelineType> compileGraphics(
+    final int priority,
+    final VulkanGraphicsPipelineCreateInfo info)
+    throws VulkanDestroyedException
+  {
+    Objects.requireNonNull(info, "info");
+
+    return this.submit(priority, cache -> {
+      return this.device.createGraphicsPipelines(cache, List.of(info)).get(0);
+    });
+  }
+
+  /**
+   * Submit a batch of graphics pipelines for compilation. Each pipeline is
+   * compiled independently, and so the pipelines of a batch may be compiled
+   * concurrently.
+   *
+   * @param priority The priority of the requests
+   * @param infos    The pipeline create infos
+   *
+   * @return One future per create info, in the order of the create infos
+   *
+   * @throws VulkanDestroyedException If the compiler has been closed
+   */
+
+  public List<CompletableFuture<VulkanPipelineType>> compileGraphics(
+    final int priority,
+    final List<VulkanGraphicsPipelineCreateInfo> infos)
+    throws VulkanDestroyedException
+  {
+    Objects.requireNonNull(infos, "infos");
+
+    final var futures =
+      new ArrayList<CompletableFuture<VulkanPipelineType>>(infos.size());
+    for (final var info : infos) {
+      futures.add(this.compileGraphics(priority, info));
+    }
+    return List.copyOf(futures);
+  }
+
+  /**
+   * Submit a compute pipeline for compilation.
+   *
+   * @param priority The priority of the request
+   * @param info     The pipeline create info
+   *
+   * @return A future representing the pipeline
+   *
+   * @throws VulkanDestroyedException If the compiler has been closed
+   */
+
+  public CompletableFuture<VulkanPipelineType> compileCompute(
+    final int priority,
+    final VulkanComputePipelineCreateInfo info)
+    throws VulkanDestroyedException
+  {
+    Objects.requireNonNull(info, "info");
+
+    return this.submit(priority, cache -> {
+      return this.device.createComputePipelines(cache, List.of(info)).get(0);
+    });
+  }
+
+  /**
+   * Submit a batch of compute pipelines for compilation. Each pipeline is
+   * compiled independently, and so the pipelines of a batch may be compiled
+   * concurrently.
+   *
+   * @param priority The priority of the requests
+   * @param infos    The pipeline create infos
+   *
+   * @return One future per create info, in the order of the create infos
+   *
+   * @throws VulkanDestroyedException If the compiler has been closed
+   */
+
+  public List<CompletableFuture<VulkanPipelineType>> compileCompute(
+    final int priority,
+    final List<VulkanComputePipelineCreateInfo> infos)
+    throws VulkanDestroyedException
+  {
+    Objects.requireNonNull(infos, "infos");
+
+    final var futures =
+      new ArrayList<CompletableFuture<VulkanPipelineType>>(infos.size());
+    for (final var info : infos) {
+      futures.add(this.compileCompute(priority, info));
+    }
+    return List.copyOf(futures);
+  }
+
+  private CompletableFuture<VulkanPipelineType> submit(
+    final int priority,
+    final CompilationType compilation)
+    throws VulkanDestroyedException
+  {
+    final var future = new CompletableFuture<VulkanPipelineType>();
+    final var task =
+      new Task(
+        priority,
+        this.sequence.getAndIncrement(),
+        future,
+        compilation);
+
+    synchronized (this) {
+      this.checkNotClosed();
+      this.queue.add(task);
+    }
+
+    future.whenComplete((pipeline, exception) -> {
+      if (future.isCancelled()) {
+        this.queue.remove(task);
+      }
+    });
+
+    this.executor.execute(this::runNext);
+    return future;
+  }
+
+  /**
+   * @return The number of requests waiting to be compiled
+   */
+
+  public int pending()
+  {
+    return this.queue.size();
+  }
+
+  /**
+   * @return The number of worker caches that have been created
+   */
+
+  public synchronized int cacheCount()
+  {
+    return this.caches_all.size();
+  }
+
+  private void runNext()
+  {
+    final Task task;
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      task = this.queue.poll();
+      if (task == null) {
+        return;
+      }
+      ++this.running;
+    }
+
+    try {
+      if (!task.future.isDone()) {
+        this.runTask(task);
+      }
+    } finally {
+      synchronized (this) {
+        --this.running;
+        this.notifyAll();
+      }
+    }
+  }
+
+  private void runTask(
+    final Task task)
+  {
+    final VulkanPipelineCacheType cache;
+    try {
+      cache = this.takeCache();
+    } catch (final Exception e) {
+      task.future.completeExceptionally(e);
+      return;
+    }
+
+    try {
+      final var pipeline = task.compilation.compile(Optional.of(cache));
+      if (!task.future.complete(pipeline)) {
+        LOG.debug("destroying pipeline for cancelled request");
+        pipeline.close();
+      }
+    } catch (final Exception e) {
+      task.future.completeExceptionally(e);
+    } finally {
+      this.caches_idle.add(cache);
+    }
+  }
+
+  private VulkanPipelineCacheType takeCache()
+    throws VulkanException
+  {
+    final var existing = this.caches_idle.poll();
+    if (existing != null) {
+      return existing;
+    }
+
+    synchronized (this) {
+      final var cache =
+        this.device.createPipelineCache(
+          VulkanPipelineCacheCreateInfo.of(Set.of(), this.initial_data));
+      this.caches_all.add(cache);
+      return cache;
+    }
+  }
+
+  /**
+   * Merge all worker caches into the given cache. Compilations may continue
+   * while caches are being merged, but the destination cache must not be
+   * used by any other thread.
+   *
+   * @param output The destination cache
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void mergeCaches(
+    final VulkanPipelineCacheType output)
+    throws VulkanException
+  {
+    Objects.requireNonNull(output, "output");
+
+    /*
+     * The merge is counted as running work so that a concurrent close()
+     * waits for it to finish before destroying the worker caches.
+     */
+
+    final List<VulkanPipelineCacheType> caches;
+    synchronized (this) {
+      this.checkNotClosed();
+      caches = List.copyOf(this.caches_all);
+      ++this.running;
+    }
+
+    try {
+      if (!caches.isEmpty()) {
+        this.device.mergePipelineCaches(caches, output);
+      }
+    } finally {
+      synchronized (this) {
+        --this.running;
+        this.notifyAll();
+      }
+    }
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Pipeline compiler has been closed.");
+    }
+  }
+
+  /**
+   * Close the compiler. Requests that have not yet started compiling are
+   * cancelled, requests that are currently compiling and merges that are in
+   * progress are allowed to complete, and then all worker caches are
+   * destroyed.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public void close()
+    throws VulkanException
+  {
+    final List<Task> cancelled = new ArrayList<>();
+    final List<VulkanPipelineCacheType> caches;
+
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      this.queue.drainTo(cancelled);
+      this.waitForRunning();
+      caches = List.copyOf(this.caches_all);
+      this.caches_all.clear();
+      this.caches_idle.clear();
+    }
+
+    for (final var task : cancelled) {
+      task.future.cancel(false);
+    }
+    destroyCaches(caches);
+  }
+
+  private void waitForRunning()
+  {
+    var interrupted = false;
+    while (this.running > 0) {
+      try {
+        this.wait();
+      } catch (final InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void destroyCaches(
+    final List<VulkanPipelineCacheType> caches)
+    throws VulkanException
+  {
+    VulkanException failure = null;
+    for (final var cache : caches) {
+      try {
+        cache.close();
+      } catch (final VulkanException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private interface CompilationType
+  {
+    VulkanPipelineType compile(
+      Optional<VulkanPipelineCacheType> cache)
+      throws VulkanException;
+  }
+
+  private record Task(
+    int priority,
+    long sequence,
+    CompletableFuture<VulkanPipelineType> future,
+    CompilationType compilation)
+  {
+    private Task
+    {
+      Objects.requireNonNull(future, "future");
+      Objects.requireNonNull(compilation, "compilation");
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+
+/**
+ * A counted reference to a pipeline held by a {@link VulkanPipelineRegistry}.
+ * The pipeline remains valid until the reference is closed. Closing a
+ * reference more than once has no effect.
+ */
+
+public interface VulkanPipelineReferenceType extends AutoCloseable
+{
+  /**
+   * @return The referenced pipeline
+   */
+
+  VulkanPipelineType pipeline();
+
+  /**
+   * Release the reference.
+   *
+   * @throws VulkanException If releasing the reference caused an unused
+   *                         pipeline to be evicted, and destroying it failed
+   */
+
+  @Override
+  void close()
+    throws VulkanException;
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanGraphicsPipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import com.io7m.jcoronado.api.VulkanPipelineShaderStageCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>A registry that deduplicates pipelines by their creation parameters.</p>
+ *
+ * <p>Pipeline create infos are immutable values with structural equality
+ * and hash codes, so two requests with equal create infos can be served
+ * by the same pipeline. The first request for a given create info creates
+ * a pipeline (a miss); subsequent requests return a new reference to the
+ * existing pipeline (a hit). Create infos refer to shader modules, layouts
+ * and render passes by handle, so equality (and therefore sharing) is
+ * limited to a single device and the lifetime of those objects.
+ * Specialization constant data is held in a mutable buffer, so the
+ * registry copies it when a request is made; later changes to the caller's
+ * buffer do not affect the registry.</p>
+ *
+ * <p>Each request returns a {@link VulkanPipelineReferenceType} that must be
+ * closed when the pipeline is no longer needed. A pipeline with no
+ * references is not destroyed immediately, but is retained so that a later
+ * request can reuse it. At most {@code maximum_unused} unused pipelines are
+ * retained; beyond that, the least recently released unused pipelines are
+ * destroyed.</p>
+ *
+ * <p>The registry is thread-safe. Pipelines are created without holding the
+ * registry's lock, so misses for different create infos proceed
+ * concurrently. Concurrent requests for the same create info wait for the
+ * single pipeline that the first request creates. If creation fails, every
+ * waiting request fails, and the create info is removed so that a later
+ * request may try again.</p>
+ */
+
+public final class VulkanPipelineRegistry implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanPipelineRegistry.class);
+
+  private final VulkanLogicalDeviceType device;
+  private final Optional<VulkanPipelineCacheType> pipeline_cache;
+  private final int maximum_unused;
+  private final Map<Object, Entry> entries;
+  private final LinkedHashMap<Object, Entry> unused;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private boolean closed;
+
+  /**
+   * Create a pipeline registry.
+   *
+   * @param in_device         The logical device
+   * @param in_pipeline_cache The pipeline cache used to create pipelines
+   * @param in_maximum_unused The maximum number of unused pipelines retained
+   */
+
+  public VulkanPipelineRegistry(
+    final VulkanLogicalDeviceType in_device,
+    final Optional<VulkanPipelineCacheType> in_pipeline_cache,
+    final int in_maximum_unused)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.pipeline_cache =
+      Objects.requireNonNull(in_pipeline_cache, "pipeline_cache");
+
+    if (in_maximum_unused < 0) {
+      throw new IllegalArgumentException(
+        "Maximum unused pipelines must be non-negative: " + in_maximum_unused);
+    }
+
+    this.maximum_unused = in_maximum_unused;
+    this.entries = new HashMap<>();
+    this.unused = new LinkedHashMap<>();
+    this.closed = false;
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Pipeline registry has been closed.");
+    }
+  }
+
+  /**
+   * Obtain a reference to a graphics pipeline with the given parameters,
+   * creating the pipeline if necessary.
+   *
+   * @param info The pipeline create info
+   *
+   * @return A reference to the pipeline
+   *
+   * @throws VulkanException On errors
+   */
+
+  public VulkanPipelineReferenceType acquireGraphics(
+    final VulkanGraphicsPipelineCreateInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(info, "info");
+
+    final var stages =
+      new ArrayList<VulkanPipelineShaderStageCreateInfo>(info.stages().size());
+    for (final var stage : info.stages()) {
+      stages.add(snapshotStage(stage));
+    }
+
+    final var key = info.withStages(stages);
+    return this.acquire(key, () -> {
+      return this.device.createGraphicsPipelines(
+        this.pipeline_cache,
+        List.of(key)).get(0);
+    });
+  }
+
+  /**
+   * Obtain a reference to a compute pipeline with the given parameters,
+   * creating the pipeline if necessary.
+   *
+   * @param info The pipeline create info
+   *
+   * @return A reference to the pipeline
+   *
+   * @throws VulkanException On errors
+   */
+
+  public VulkanPipelineReferenceType acquireCompute(
+    final VulkanComputePipelineCreateInfo info)
+    throws VulkanException
+  {
+    Objects.requireNonNull(info, "info");
+
+    final var key = info.withStage(snapshotStage(info.stage()));
+    return this.acquire(key, () -> {
+      return this.device.createComputePipelines(
+        this.pipeline_cache,
+        List.of(key)).get(0);
+    });
+  }
+
+  /**
+   * Copy any specialization constant data so that the stage can safely be
+   * used as (part of) a key.
+   */
+
+  private static VulkanPipelineShaderStageCreateInfo snapshotStage(
+    final VulkanPipelineShaderStageCreateInfo stage)
+  {
+    final var specialization_opt = stage.specializationInfo();
+    if (specialization_opt.isEmpty()) {
+      return stage;
+    }
+
+    final var specialization = specialization_opt.get();
+    final var source = specialization.data();
+    final var copy =
+      ByteBuffer.allocateDirect(source.remaining())
+        .order(source.order());
+    copy.put(source.duplicate());
+    copy.flip();
+    return stage.withSpecializationInfo(specialization.withData(copy));
+  }
+
+  private VulkanPipelineReferenceType acquire(
+    final Object key,
+    final CreatorType creator)
+    throws VulkanException
+  {
+    final Entry entry;
+    final boolean create;
+
+    synchronized (this) {
+      this.checkNotClosed();
+
+      final var existing = this.entries.get(key);
+      if (existing != null) {
+        ++this.hits;
+        if (existing.references == 0) {
+          this.unused.remove(existing.key);
+        }
+        ++existing.references;
+        entry = existing;
+        create = false;
+      } else {
+        ++this.misses;
+        entry = new Entry(key);
+        entry.references = 1;
+        this.entries.put(key, entry);
+        create = true;
+      }
+    }
+
+    if (create) {
+      this.create(entry, creator);
+    } else {
+      awaitPipeline(entry);
+    }
+    return new Reference(entry);
+  }
+
+  private void create(
+    final Entry entry,
+    final CreatorType creator)
+    throws VulkanException
+  {
+    final VulkanPipelineType pipeline;
+    try {
+      pipeline = creator.create();
+    } catch (final VulkanException | RuntimeException e) {
+      synchronized (this) {
+        this.entries.remove(entry.key, entry);
+      }
+      entry.pipeline.completeExceptionally(e);
+      throw e;
+    }
+
+    /*
+     * The registry may have been closed while the pipeline was being
+     * created, in which case the pipeline was not destroyed by close().
+     * The check and the completion happen under the same lock as close(),
+     * so close() either sees the completed pipeline and destroys it, or
+     * this method sees the closed registry and destroys it here.
+     */
+
+    final boolean closed_now;
+    synchronized (this) {
+      closed_now = this.closed;
+      if (!closed_now) {
+        entry.pipeline.complete(pipeline);
+      }
+    }
+
+    if (closed_now) {
+      final var exception =
+        new VulkanDestroyedException("Pipeline registry has been closed.");
+      entry.pipeline.completeExceptionally(exception);
+      pipeline.close();
+      throw exception;
+    }
+  }
+
+  private static void awaitPipeline(
+    final Entry entry)
+    throws VulkanException
+  {
+    try {
+      entry.pipeline.join();
+    } catch (final CompletionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof final VulkanException ve) {
+        throw ve;
+      }
+      if (cause instanceof final RuntimeException re) {
+        throw re;
+      }
+      throw e;
+    }
+  }
+
+  private synchronized void release(
+    final Entry entry)
+    throws VulkanException
+  {
+    if (this.closed) {
+      return;
+    }
+
+    --entry.references;
+    if (entry.references == 0) {
+      this.unused.put(entry.key, entry);
+      this.evictToLimit(this.maximum_unused);
+    }
+  }
+
+  private void evictToLimit(
+    final int limit)
+    throws VulkanException
+  {
+    final var iterator = this.unused.values().iterator();
+    while (this.unused.size() > limit) {
+      final var entry = iterator.next();
+      iterator.remove();
+      this.entries.remove(entry.key);
+      ++this.evictions;
+
+      final var pipeline = entry.pipeline.join();
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("evicting pipeline {}", pipeline);
+      }
+      pipeline.close();
+    }
+  }
+
+  /**
+   * Destroy all pipelines that currently have no references.
+   *
+   * @throws VulkanException On errors
+   */
+
+  public synchronized void evictUnused()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+    this.evictToLimit(0);
+  }
+
+  /**
+   * @return The current registry statistics
+   */
+
+  public synchronized VulkanPipelineRegistryStatistics statistics()
+  {
+    return new VulkanPipelineRegistryStatistics(
+      this.hits,
+      this.misses,
+      this.evictions,
+      this.entries.size(),
+      this.unused.size());
+  }
+
+  /**
+   * Destroy all pipelines, including those that are still referenced.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public synchronized void close()
+    throws VulkanException
+  {
+    if (!this.closed) {
+      this.closed = true;
+
+      final var pipelines = new ArrayList<>(this.entries.values());
+      this.entries.clear();
+      this.unused.clear();
+
+      /*
+       * Pipelines that are still being created are destroyed by their
+       * creators once creation completes, because creators only complete
+       * their pipelines while holding this lock and the registry is open.
+       */
+
+      VulkanException exception = null;
+      for (final var entry : pipelines) {
+        final var pipeline = entry.pipeline.getNow(null);
+        if (pipeline == null) {
+          continue;
+        }
+        try {
+          pipeline.close();
+        } catch (final VulkanException e) {
+          if (exception == null) {
+            exception = e;
+          } else {
+            exception.addSuppressed(e);
+          }
+        }
+      }
+
+      if (exception != null) {
+        throw exception;
+      }
+    }
+  }
+
+  private interface CreatorType
+  {
+    VulkanPipelineType create()
+      throws VulkanException;
+  }
+
+  private static final class Entry
+  {
+    private final Object key;
+    private final CompletableFuture<VulkanPipelineType> pipeline;
+    private int references;
+
+    Entry(
+      final Object in_key)
+    {
+      this.key = Objects.requireNonNull(in_key, "key");
+      this.pipeline = new CompletableFuture<>();
+      this.references = 0;
+    }
+  }
+
+  private final class Reference implements VulkanPipelineReferenceType
+  {
+    private final Entry entry;
+    private boolean released;
+
+    Reference(
+      final Entry in_entry)
+    {
+      this.entry = Objects.requireNonNull(in_entry, "entry");
+      this.released = false;
+    }
+
+    @Override
+    public VulkanPipelineType pipeline()
+    {
+      return this.entry.pipeline.join();
+    }
+
+    @Override
+    public void close()
+      throws VulkanException
+    {
+      synchronized (VulkanPipelineRegistry.this) {
+        if (this.released) {
+          return;
+        }
+        this.released = true;
+      }
+      VulkanPipelineRegistry.this.release(this.entry);
+    }
+  }
+}
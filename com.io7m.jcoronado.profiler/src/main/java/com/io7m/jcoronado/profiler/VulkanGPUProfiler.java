@@ -0,0 +1,551 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.profiler;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanQueryKind;
+import com.io7m.jcoronado.api.VulkanQueryPoolCreateInfo;
+import com.io7m.jcoronado.api.VulkanQueryPoolType;
+import com.io7m.jcoronado.api.VulkanQueryResultFlag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT;
+
+/**
+ * <p>A scoped GPU profiler based on timestamp queries.</p>
+ *
+ * <p>The profiler owns a single timestamp query pool that is divided into one
+ * range per frame in flight. Each range holds a start and end timestamp for
+ * up to {@link #regionsPerFrame()} regions. Regions are opened with
+ * {@link #begin(VulkanCommandBufferType, String)} and closed (typically
+ * with try-with-resources) when the commands of interest have been recorded.
+ * Regions may be nested. Regions opened when a frame's range is exhausted are
+ * not measured, and are counted by {@link #regionsDropped()}.</p>
+ *
+ * <p>At the start of each frame, {@link #beginFrame(int,
+ * VulkanCommandBufferType)} must be called once the GPU has finished with the
+ * previous use of that frame (typically after waiting on the frame's fence).
+ * This reads back the timestamps written by the previous use of the frame,
+ * converts them to nanoseconds using the device's
+ * {@code VkPhysicalDeviceLimits::timestampPeriod}, makes them available via
+ * {@link #measurements(int)}, and then records a reset of the frame's query
+ * range into the given command buffer.</p>
+ *
+ * <p>The profiler is not thread-safe and, like command buffer recording, must
+ * be used by at most one thread at a time.</p>
+ */
+
+public final class VulkanGPUProfiler implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanGPUProfiler.class);
+
+  private static final int LONGS_PER_QUERY = 2;
+  private static final long STRIDE = (long) LONGS_PER_QUERY * 8L;
+
+  private final VulkanLogicalDeviceType device;
+  private final VulkanQueryPoolType pool;
+  private final double timestamp_period;
+  private final long timestamp_mask;
+  private final int regions_per_frame;
+  private final Frame[] frames;
+  private final long[] results;
+  private Frame frame_current;
+  private long regions_dropped;
+  private boolean closed;
+
+  /**
+   * Create a GPU profiler.
+   *
+   * @param in_device               The logical device
+   * @param in_timestamp_period     The number of nanoseconds required for a
+   *                                timestamp query to be incremented by 1
+   *                                ({@code VkPhysicalDeviceLimits::timestampPeriod})
+   * @param in_timestamp_valid_bits The number of valid bits in timestamps
+   *                                written on the queue family that will
+   *                                execute the profiled commands
+   *                                ({@code VkQueueFamilyProperties::timestampValidBits})
+   * @param in_frames_in_flight     The number of frames in flight
+   * @param in_regions_per_frame    The maximum number of regions per frame
+   *
+   * @throws VulkanException On errors
+   */
+
+  public VulkanGPUProfiler(
+    final VulkanLogicalDeviceType in_device,
+    final float in_timestamp_period,
+    final int in_timestamp_valid_bits,
+    final int in_frames_in_flight,
+    final int in_regions_per_frame)
+    throws VulkanException
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+
+    if (!(in_timestamp_period > 0.0f)) {
+      throw new IllegalArgumentException(
+        "Timestamp period must be positive: " + in_timestamp_period);
+    }
+    if (in_timestamp_valid_bits < 1 || in_timestamp_valid_bits > 64) {
+      throw new IllegalArgumentException(
+        "Timestamp valid bits must be in the range [1, 64]: "
+          + in_timestamp_valid_bits);
+    }
+    if (in_frames_in_flight < 1) {
+      throw new IllegalArgumentException(
+        "Frames in flight must be positive: " + in_frames_in_flight);
+    }
+    if (in_regions_per_frame < 1) {
+      throw new IllegalArgumentException(
+        "Regions per frame must be positive: " + in_regions_per_frame);
+    }
+
+    final var queries_per_frame =
+      Math.multiplyExact(in_regions_per_frame, 2);
+    final var queries =
+      Math.multiplyExact(queries_per_frame, in_frames_in_flight);
+
+    this.timestamp_period = in_timestamp_period;
+    this.timestamp_mask = timestampMask(in_timestamp_valid_bits);
+    this.regions_per_frame = in_regions_per_frame;
+    this.results = new long[queries_per_frame * LONGS_PER_QUERY];
+
+    this.frames = new Frame[in_frames_in_flight];
+    for (var index = 0; index < in_frames_in_flight; ++index) {
+      this.frames[index] =
+        new Frame(index * queries_per_frame, in_regions_per_frame);
+    }
+
+    this.pool = this.device.createQueryPool(
+      VulkanQueryPoolCreateInfo.of(
+        Set.of(),
+        VulkanQueryKind.VK_QUERY_TYPE_TIMESTAMP,
+        queries,
+        Set.of()));
+
+    LOG.debug(
+      "created profiler: {} frames, {} regions per frame, {} queries",
+      Integer.valueOf(in_frames_in_flight),
+      Integer.valueOf(in_regions_per_frame),
+      Integer.valueOf(queries));
+  }
+
+  /**
+   * @param valid_bits The number of valid timestamp bits
+   *
+   * @return A mask of the valid timestamp bits
+   */
+
+  public static long timestampMask(
+    final int valid_bits)
+  {
+    if (valid_bits >= 64) {
+      return 0xffff_ffff_ffff_ffffL;
+    }
+    return (1L << valid_bits) - 1L;
+  }
+
+  /**
+   * Calculate the number of ticks between two timestamps, accounting for
+   * timestamps that wrapped around between the start and end.
+   *
+   * @param start The start timestamp
+   * @param end   The end timestamp
+   * @param mask  The mask of valid timestamp bits
+   *
+   * @return The number of ticks elapsed
+   *
+   * @see #timestampMask(int)
+   */
+
+  public static long timestampDelta(
+    final long start,
+    final long end,
+    final long mask)
+  {
+    return (end - start) & mask;
+  }
+
+  /**
+   * Calculate the signed number of ticks from {@code reference} to
+   * {@code value}, assuming that the two timestamps are less than half of
+   * the timestamp range apart.
+   *
+   * @param reference The reference timestamp
+   * @param value     The timestamp
+   * @param mask      The mask of valid timestamp bits
+   *
+   * @return The number of ticks from the reference to the value
+   */
+
+  public static long timestampOffset(
+    final long reference,
+    final long value,
+    final long mask)
+  {
+    final var delta = timestampDelta(reference, value, mask);
+    if (Long.compareUnsigned(delta, mask >>> 1) > 0) {
+      return delta - mask - 1L;
+    }
+    return delta;
+  }
+
+  /**
+   * Convert a number of timestamp ticks to nanoseconds.
+   *
+   * @param ticks  The number of ticks
+   * @param period The number of nanoseconds per tick
+   *
+   * @return The number of nanoseconds
+   */
+
+  public static long ticksToNanoseconds(
+    final long ticks,
+    final double period)
+  {
+    return (long) ((double) ticks * period);
+  }
+
+  /**
+   * @return The number of frames in flight
+   */
+
+  public int framesInFlight()
+  {
+    return this.frames.length;
+  }
+
+  /**
+   * @return The maximum number of regions that can be measured per frame
+   */
+
+  public int regionsPerFrame()
+  {
+    return this.regions_per_frame;
+  }
+
+  /**
+   * @return The total number of regions that were not measured because a
+   * frame's query range was exhausted
+   */
+
+  public long regionsDropped()
+  {
+    return this.regions_dropped;
+  }
+
+  /**
+   * Begin a frame. Timestamps written by the previous use of the frame are
+   * read back, and a reset of the frame's query range is recorded into the
+   * given command buffer. The command buffer must be in the recording state
+   * and must not be inside a render pass instance, and must be executed
+   * before any other command buffer that contains regions for this frame.
+   *
+   * @param frame_index    The frame index
+   * @param command_buffer The command buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void beginFrame(
+    final int frame_index,
+    final VulkanCommandBufferType command_buffer)
+    throws VulkanException
+  {
+    Objects.requireNonNull(command_buffer, "command_buffer");
+
+    this.checkNotClosed();
+
+    final var frame = this.frame(frame_index);
+    if (frame.recorded) {
+      this.collect(frame);
+    }
+
+    command_buffer.resetQueryPool(
+      this.pool, frame.query_base, this.regions_per_frame * 2);
+
+    frame.region_count = 0;
+    frame.depth = 0;
+    frame.recorded = true;
+    this.frame_current = frame;
+  }
+
+  /**
+   * Open a region. A start timestamp is recorded into the given command
+   * buffer, and an end timestamp is recorded when the returned region is
+   * closed.
+   *
+   * @param command_buffer The command buffer
+   * @param name           The region name
+   *
+   * @return An open region
+   *
+   * @throws VulkanException On errors
+   */
+
+  public VulkanGPUProfilerRegionType begin(
+    final VulkanCommandBufferType command_buffer,
+    final String name)
+    throws VulkanException
+  {
+    Objects.requireNonNull(command_buffer, "command_buffer");
+    Objects.requireNonNull(name, "name");
+
+    this.checkNotClosed();
+
+    final var frame = this.frame_current;
+    if (frame == null) {
+      throw new IllegalStateException(
+        "beginFrame() must be called before regions can be opened.");
+    }
+
+    if (frame.region_count == this.regions_per_frame) {
+      ++this.regions_dropped;
+      return new RegionDropped(name);
+    }
+
+    final var region_index = frame.region_count;
+    final var query = frame.query_base + (region_index * 2);
+    frame.names[region_index] = name;
+    frame.depths[region_index] = frame.depth;
+    frame.region_count = region_index + 1;
+    ++frame.depth;
+
+    command_buffer.writeTimestamp(
+      VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, this.pool, query);
+    return new Region(frame, command_buffer, name, query + 1);
+  }
+
+  /**
+   * Retrieve the measurements produced by the most recently completed use of
+   * the given frame. The measurements become available when
+   * {@link #beginFrame(int, VulkanCommandBufferType)} is next called for the
+   * frame. Regions whose timestamps were not available are omitted.
+   *
+   * @param frame_index The frame index
+   *
+   * @return The measurements in the order in which the regions were opened
+   */
+
+  public List<VulkanGPUProfilerMeasurement> measurements(
+    final int frame_index)
+  {
+    return this.frame(frame_index).measurements;
+  }
+
+  private void collect(
+    final Frame frame)
+    throws VulkanException
+  {
+    final var count = frame.region_count;
+    if (count == 0) {
+      frame.measurements = List.of();
+      return;
+    }
+
+    /*
+     * Availability is requested rather than waiting, so that a region that
+     * was never closed (or a frame that was never submitted) cannot block
+     * the caller. Results for unavailable queries are simply skipped.
+     */
+
+    this.device.getQueryPoolResults(
+      this.pool,
+      frame.query_base,
+      count * 2,
+      this.results,
+      STRIDE,
+      Set.of(VulkanQueryResultFlag.VK_QUERY_RESULT_WITH_AVAILABILITY_BIT));
+
+    /*
+     * Only the low timestampValidBits bits of each timestamp are defined,
+     * and the counter may wrap during a frame, so the earliest start is
+     * found by comparing masked timestamps relative to the first available
+     * start rather than by comparing raw values.
+     */
+
+    var reference = 0L;
+    var reference_found = false;
+    var earliest_offset = 0L;
+    for (var index = 0; index < count; ++index) {
+      final var base = index * 2 * LONGS_PER_QUERY;
+      if (this.results[base + 1] != 0L) {
+        final var start = this.results[base] & this.timestamp_mask;
+        if (!reference_found) {
+          reference = start;
+          reference_found = true;
+        }
+        earliest_offset = Math.min(
+          earliest_offset,
+          timestampOffset(reference, start, this.timestamp_mask));
+      }
+    }
+    final var earliest = (reference + earliest_offset) & this.timestamp_mask;
+
+    final var measured = new ArrayList<VulkanGPUProfilerMeasurement>(count);
+    for (var index = 0; index < count; ++index) {
+      final var base = index * 2 * LONGS_PER_QUERY;
+      final var start = this.results[base];
+      final var start_available = this.results[base + 1] != 0L;
+      final var end = this.results[base + 2];
+      final var end_available = this.results[base + 3] != 0L;
+
+      if (start_available && end_available) {
+        measured.add(new VulkanGPUProfilerMeasurement(
+          frame.names[index],
+          frame.depths[index],
+          ticksToNanoseconds(
+            timestampDelta(earliest, start, this.timestamp_mask),
+            this.timestamp_period),
+          ticksToNanoseconds(
+            timestampDelta(start, end, this.timestamp_mask),
+            this.timestamp_period)
+        ));
+      }
+    }
+
+    frame.measurements = List.copyOf(measured);
+  }
+
+  private Frame frame(
+    final int frame_index)
+  {
+    return this.frames[Objects.checkIndex(frame_index, this.frames.length)];
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Profiler has been closed.");
+    }
+  }
+
+  /**
+   * Destroy the query pool. The caller must ensure that none of the command
+   * buffers containing regions are pending execution.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public void close()
+    throws VulkanException
+  {
+    if (!this.closed) {
+      this.closed = true;
+      this.pool.close();
+    }
+  }
+
+  private static final class Frame
+  {
+    private final int query_base;
+    private final String[] names;
+    private final int[] depths;
+    private int region_count;
+    private int depth;
+    private boolean recorded;
+    private List<VulkanGPUProfilerMeasurement> measurements;
+
+    Frame(
+      final int in_query_base,
+      final int in_regions)
+    {
+      this.query_base = in_query_base;
+      this.names = new String[in_regions];
+      this.depths = new int[in_regions];
+      this.measurements = List.of();
+    }
+  }
+
+  private final class Region implements VulkanGPUProfilerRegionType
+  {
+    private final Frame frame;
+    private final VulkanCommandBufferType command_buffer;
+    private final String name;
+    private final int query;
+    private boolean closed;
+
+    Region(
+      final Frame in_frame,
+      final VulkanCommandBufferType in_command_buffer,
+      final String in_name,
+      final int in_query)
+    {
+      this.frame = in_frame;
+      this.command_buffer = in_command_buffer;
+      this.name = in_name;
+      this.query = in_query;
+    }
+
+    @Override
+    public String name()
+    {
+      return this.name;
+    }
+
+    @Override
+    public void close()
+      throws VulkanException
+    {
+      if (!this.closed) {
+        this.closed = true;
+        --this.frame.depth;
+        this.command_buffer.writeTimestamp(
+          VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT,
+          VulkanGPUProfiler.this.pool,
+          this.query);
+      }
+    }
+  }
+
+  private static final class RegionDropped
+    implements VulkanGPUProfilerRegionType
+  {
+    private final String name;
+
+    RegionDropped(
+      final String in_name)
+    {
+      this.name = in_name;
+    }
+
+    @Override
+    public String name()
+    {
+      return this.name;
+    }
+
+    @Override
+    public void close()
+    {
+
+    }
+  }
+}
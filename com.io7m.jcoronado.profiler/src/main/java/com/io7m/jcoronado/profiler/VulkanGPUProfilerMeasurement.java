@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.profiler;
+
+import java.util.Objects;
+
+/**
+ * The measured duration of a single profiled region.
+ *
+ * @param name          The region name
+ * @param depth         The nesting depth of the region (0 for outermost
+ *                      regions)
+ * @param startNanos    The start time of the region in nanoseconds, relative
+ *                      to the earliest region start in the same frame
+ * @param durationNanos The duration of the region in nanoseconds
+ */
+
+public record VulkanGPUProfilerMeasurement(
+  String name,
+  int depth,
+  long startNanos,
+  long durationNanos)
+{
+  /**
+   * The measured duration of a single profiled region.
+   *
+   * @param name          The region name
+   * @param depth         The nesting depth of the region (0 for outermost
+   *                      regions)
+   * @param startNanos    The start time of the region in nanoseconds,
+   *                      relative to the earliest region start in the same
+   *                      frame
+   * @param durationNanos The duration of the region in nanoseconds
+   */
+
+  public VulkanGPUProfilerMeasurement
+  {
+    Objects.requireNonNull(name, "name");
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanImageSubresourceRange;
+import com.io7m.jcoronado.api.VulkanImageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>A frame graph: a list of passes along with the resources that they read
+ * and write.</p>
+ *
+ * <p>Resources are imported with {@link #importImage(String, VulkanImageType,
+ * VulkanImageSubresourceRange, VulkanRenderGraphUsage)} and
+ * {@link #importBuffer(String, VulkanBufferType, VulkanRenderGraphUsage)},
+ * passes are declared with {@link #addPass(String)}, and resources that must
+ * be left in a particular state when the graph completes (such as a
+ * swapchain image that will be presented) are declared with
+ * {@link #export(VulkanRenderGraphResourceType, VulkanRenderGraphUsage)}.</p>
+ *
+ * <p>{@link #compile()} culls passes that contribute to neither an exported
+ * resource nor a side effect, and computes the pipeline barriers and image
+ * layout transitions between the remaining passes. Passes execute in
+ * declaration order, and each pass is preceded by at most one
+ * {@code vkCmdPipelineBarrier} call. Compilation does not touch the device,
+ * and can therefore be tested without one.</p>
+ *
+ * <p>Graphs are not thread-safe, and are typically rebuilt each frame.</p>
+ */
+
+public final class VulkanRenderGraph
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanRenderGraph.class);
+
+  private final List<VulkanRenderGraphResourceType> resources;
+  private final List<VulkanRenderGraphPass> passes;
+  private final Map<VulkanRenderGraphResourceType, VulkanRenderGraphUsage> exports;
+
+  /**
+   * Create an empty graph.
+   */
+
+  public VulkanRenderGraph()
+  {
+    this.resources = new ArrayList<>();
+    this.passes = new ArrayList<>();
+    this.exports = new LinkedHashMap<>();
+  }
+
+  /**
+   * Import an image into the graph.
+   *
+   * @param name    The name of the image
+   * @param image   The image
+   * @param range   The subresource range used by the graph
+   * @param initial The usage of the image before the graph executes, such as
+   *                {@link VulkanRenderGraphUsage#UNDEFINED} for an image
+   *                whose contents can be discarded
+   *
+   * @return The imported image
+   */
+
+  public VulkanRenderGraphImage importImage(
+    final String name,
+    final VulkanImageType image,
+    final VulkanImageSubresourceRange range,
+    final VulkanRenderGraphUsage initial)
+  {
+    final var result =
+      new VulkanRenderGraphImage(this, name, image, range, initial);
+    this.resources.add(result);
+    return result;
+  }
+
+  /**
+   * Import a buffer into the graph.
+   *
+   * @param name    The name of the buffer
+   * @param buffer  The buffer
+   * @param initial The usage of the buffer before the graph executes
+   *
+   * @return The imported buffer
+   */
+
+  public VulkanRenderGraphBuffer importBuffer(
+    final String name,
+    final VulkanBufferType buffer,
+    final VulkanRenderGraphUsage initial)
+  {
+    final var result =
+      new VulkanRenderGraphBuffer(this, name, buffer, initial);
+    this.resources.add(result);
+    return result;
+  }
+
+  /**
+   * Add a pass to the graph. Passes execute in the order that they are
+   * added.
+   *
+   * @param name The name of the pass
+   *
+   * @return The new pass
+   */
+
+  public VulkanRenderGraphPass addPass(
+    final String name)
+  {
+    final var pass = new VulkanRenderGraphPass(this, name);
+    this.passes.add(pass);
+    return pass;
+  }
+
+  /**
+   * Declare that {@code resource} is used outside the graph once the graph
+   * has completed. Passes that contribute to an exported resource are never
+   * culled, and the resource is transitioned to {@code usage} after the
+   * last pass.
+   *
+   * @param resource The resource
+   * @param usage    The usage after the graph completes
+   */
+
+  public void export(
+    final VulkanRenderGraphResourceType resource,
+    final VulkanRenderGraphUsage usage)
+  {
+    Objects.requireNonNull(resource, "resource");
+    Objects.requireNonNull(usage, "usage");
+
+    if (resource.graph() != this) {
+      throw new IllegalArgumentException(
+        "Resource %s does not belong to this graph".formatted(resource.name()));
+    }
+    this.exports.put(resource, usage);
+  }
+
+  /**
+   * @return The passes in declaration order
+   */
+
+  public List<VulkanRenderGraphPass> passes()
+  {
+    return Collections.unmodifiableList(this.passes);
+  }
+
+  /**
+   * @return The resources in declaration order
+   */
+
+  public List<VulkanRenderGraphResourceType> resources()
+  {
+    return Collections.unmodifiableList(this.resources);
+  }
+
+  /**
+   * Compile the graph.
+   *
+   * @return The compiled graph
+   */
+
+  public VulkanRenderGraphCompiled compile()
+  {
+    final var compiled =
+      VulkanRenderGraphCompiler.compile(
+        this.resources,
+        this.passes,
+        this.exports);
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+        "compiled render graph: {} passes, {} culled, {} barrier calls",
+        Integer.valueOf(compiled.steps().size()),
+        Integer.valueOf(compiled.culled().size()),
+        Integer.valueOf(compiled.barrierCount()));
+    }
+    return compiled;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanImageMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A set of barriers recorded with a single {@code vkCmdPipelineBarrier}
+ * call. Buffer dependencies, and image dependencies that do not change the
+ * image layout, are merged into at most one global memory barrier; image
+ * layout transitions each require an image memory barrier.
+ *
+ * @param sourceStages   The source stage mask
+ * @param targetStages   The target stage mask
+ * @param memoryBarriers The global memory barriers
+ * @param imageBarriers  The image memory barriers
+ */
+
+public record VulkanRenderGraphBarrierBatch(
+  Set<VulkanPipelineStageFlag> sourceStages,
+  Set<VulkanPipelineStageFlag> targetStages,
+  List<VulkanMemoryBarrier> memoryBarriers,
+  List<VulkanImageMemoryBarrier> imageBarriers)
+{
+  /**
+   * An empty batch.
+   */
+
+  public static final VulkanRenderGraphBarrierBatch EMPTY =
+    new VulkanRenderGraphBarrierBatch(Set.of(), Set.of(), List.of(), List.of());
+
+  /**
+   * A set of barriers recorded with a single {@code vkCmdPipelineBarrier}
+   * call.
+   *
+   * @param sourceStages   The source stage mask
+   * @param targetStages   The target stage mask
+   * @param memoryBarriers The global memory barriers
+   * @param imageBarriers  The image memory barriers
+   */
+
+  public VulkanRenderGraphBarrierBatch
+  {
+    sourceStages = Set.copyOf(sourceStages);
+    targetStages = Set.copyOf(targetStages);
+    memoryBarriers = List.copyOf(memoryBarriers);
+    imageBarriers = List.copyOf(imageBarriers);
+  }
+
+  /**
+   * @return {@code true} if the batch contains no dependencies and records
+   * nothing
+   */
+
+  public boolean isEmpty()
+  {
+    return this.sourceStages.isEmpty() && this.targetStages.isEmpty();
+  }
+
+  /**
+   * Record the batch into the given command buffer. Nothing is recorded if
+   * the batch is empty.
+   *
+   * @param command_buffer The command buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void record(
+    final VulkanCommandBufferType command_buffer)
+    throws VulkanException
+  {
+    Objects.requireNonNull(command_buffer, "command_buffer");
+
+    if (!this.isEmpty()) {
+      command_buffer.pipelineBarrier(
+        this.sourceStages,
+        this.targetStages,
+        Set.of(),
+        this.memoryBarriers,
+        List.of(),
+        this.imageBarriers);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A compiled render graph.
+ */
+
+public final class VulkanRenderGraphCompiled
+{
+  private final List<VulkanRenderGraphStep> steps;
+  private final List<VulkanRenderGraphPass> culled;
+  private final VulkanRenderGraphBarrierBatch final_barriers;
+  private final Map<VulkanRenderGraphResourceType, VulkanRenderGraphUsage> final_usages;
+
+  VulkanRenderGraphCompiled(
+    final List<VulkanRenderGraphStep> in_steps,
+    final List<VulkanRenderGraphPass> in_culled,
+    final VulkanRenderGraphBarrierBatch in_final_barriers,
+    final Map<VulkanRenderGraphResourceType, VulkanRenderGraphUsage> in_final_usages)
+  {
+    this.steps =
+      List.copyOf(in_steps);
+    this.culled =
+      List.copyOf(in_culled);
+    this.final_barriers =
+      Objects.requireNonNull(in_final_barriers, "final_barriers");
+    this.final_usages =
+      Map.copyOf(in_final_usages);
+  }
+
+  /**
+   * @return The passes that will execute, in order, with their barriers
+   */
+
+  public List<VulkanRenderGraphStep> steps()
+  {
+    return this.steps;
+  }
+
+  /**
+   * @return The passes that were culled
+   */
+
+  public List<VulkanRenderGraphPass> culled()
+  {
+    return this.culled;
+  }
+
+  /**
+   * @return The barriers recorded after the last pass to place exported
+   * resources into their export usages
+   */
+
+  public VulkanRenderGraphBarrierBatch finalBarriers()
+  {
+    return this.final_barriers;
+  }
+
+  /**
+   * Obtain the usage of {@code resource} when the graph has completed. This
+   * is suitable as the initial usage of the resource in the next graph.
+   *
+   * @param resource The resource
+   *
+   * @return The final usage, if the resource belongs to the graph
+   */
+
+  public Optional<VulkanRenderGraphUsage> finalUsage(
+    final VulkanRenderGraphResourceType resource)
+  {
+    Objects.requireNonNull(resource, "resource");
+    return Optional.ofNullable(this.final_usages.get(resource));
+  }
+
+  /**
+   * @return The number of {@code vkCmdPipelineBarrier} calls that executing
+   * the graph will record
+   */
+
+  public int barrierCount()
+  {
+    var count = this.final_barriers.isEmpty() ? 0 : 1;
+    for (final var step : this.steps) {
+      if (!step.barriers().isEmpty()) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Record the graph into a command buffer: each pass is preceded by its
+   * barriers, and the final barriers are recorded after the last pass.
+   *
+   * @param command_buffer The command buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void execute(
+    final VulkanCommandBufferType command_buffer)
+    throws VulkanException
+  {
+    Objects.requireNonNull(command_buffer, "command_buffer");
+
+    for (final var step : this.steps) {
+      step.barriers().record(command_buffer);
+      step.pass().executor().execute(command_buffer);
+    }
+    this.final_barriers.record(command_buffer);
+  }
+}
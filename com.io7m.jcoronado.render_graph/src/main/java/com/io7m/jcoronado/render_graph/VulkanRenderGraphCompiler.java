@@ -0,0 +1,342 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanAccessFlag;
+import com.io7m.jcoronado.api.VulkanImageLayout;
+import com.io7m.jcoronado.api.VulkanImageMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanMemoryBarrier;
+import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT;
+
+/**
+ * The render graph compiler.
+ */
+
+final class VulkanRenderGraphCompiler
+{
+  private static final int QUEUE_FAMILY_IGNORED = -1;
+
+  private VulkanRenderGraphCompiler()
+  {
+
+  }
+
+  static VulkanRenderGraphCompiled compile(
+    final List<VulkanRenderGraphResourceType> resources,
+    final List<VulkanRenderGraphPass> passes,
+    final Map<VulkanRenderGraphResourceType, VulkanRenderGraphUsage> exports)
+  {
+    final var live = cull(passes, exports);
+
+    final var states = new HashMap<VulkanRenderGraphResourceType, State>();
+    for (final var resource : resources) {
+      states.put(resource, new State(resource.initialUsage()));
+    }
+
+    final var steps = new ArrayList<VulkanRenderGraphStep>();
+    final var culled = new ArrayList<VulkanRenderGraphPass>();
+    for (final var pass : passes) {
+      if (!live.contains(pass)) {
+        culled.add(pass);
+        continue;
+      }
+
+      final var batch = new BatchBuilder();
+      for (final var entry : pass.accesses().entrySet()) {
+        final var access = entry.getValue();
+        final var resource = entry.getKey();
+        apply(resource, states.get(resource), access.usage(), access.write(), batch);
+      }
+      steps.add(new VulkanRenderGraphStep(pass, batch.build()));
+    }
+
+    final var final_batch = new BatchBuilder();
+    for (final var entry : exports.entrySet()) {
+      final var usage = entry.getValue();
+      final var resource = entry.getKey();
+      apply(resource, states.get(resource), usage, usage.isWrite(), final_batch);
+    }
+
+    final var final_usages =
+      new HashMap<VulkanRenderGraphResourceType, VulkanRenderGraphUsage>();
+    for (final var entry : states.entrySet()) {
+      final_usages.put(entry.getKey(), entry.getValue().last);
+    }
+
+    return new VulkanRenderGraphCompiled(
+      steps,
+      culled,
+      final_batch.build(),
+      final_usages);
+  }
+
+  /*
+   * Walk the passes backwards from the exported resources. A pass is live
+   * if it has side effects or writes a resource that a later live pass (or
+   * an export) needs; everything a live pass touches is then needed by
+   * earlier passes. Written resources stay needed, because a write may only
+   * partially overwrite a resource.
+   */
+
+  private static Set<VulkanRenderGraphPass> cull(
+    final List<VulkanRenderGraphPass> passes,
+    final Map<VulkanRenderGraphResourceType, VulkanRenderGraphUsage> exports)
+  {
+    final var needed =
+      new HashSet<>(exports.keySet());
+    final var live =
+      new HashSet<VulkanRenderGraphPass>();
+
+    for (int index = passes.size() - 1; index >= 0; --index) {
+      final var pass = passes.get(index);
+      if (pass.hasSideEffects() || writesAny(pass, needed)) {
+        live.add(pass);
+        needed.addAll(pass.accesses().keySet());
+      }
+    }
+    return live;
+  }
+
+  private static boolean writesAny(
+    final VulkanRenderGraphPass pass,
+    final Set<VulkanRenderGraphResourceType> needed)
+  {
+    for (final var entry : pass.accesses().entrySet()) {
+      if (entry.getValue().write() && needed.contains(entry.getKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void apply(
+    final VulkanRenderGraphResourceType resource,
+    final State state,
+    final VulkanRenderGraphUsage usage,
+    final boolean write,
+    final BatchBuilder batch)
+  {
+    if (resource instanceof final VulkanRenderGraphImage image
+        && usage.layout() != state.layout) {
+      transition(image, state, usage, write, batch);
+    } else if (write) {
+      writeAfterAccess(state, usage, batch);
+    } else {
+      readAfterWrite(state, usage, batch);
+    }
+    state.last = usage;
+  }
+
+  /*
+   * A layout transition is itself a write, so it must wait for every
+   * earlier access, and it makes the image visible to the new usage.
+   */
+
+  private static void transition(
+    final VulkanRenderGraphImage image,
+    final State state,
+    final VulkanRenderGraphUsage usage,
+    final boolean write,
+    final BatchBuilder batch)
+  {
+    batch.source.addAll(state.write_stages);
+    batch.source.addAll(state.read_stages);
+    batch.target.addAll(usage.stages());
+    batch.images.add(
+      VulkanImageMemoryBarrier.of(
+        Set.copyOf(state.write_access),
+        usage.access(),
+        state.layout,
+        usage.layout(),
+        QUEUE_FAMILY_IGNORED,
+        QUEUE_FAMILY_IGNORED,
+        image.image(),
+        image.range()));
+
+    state.layout = usage.layout();
+    state.clear();
+    state.write_stages.addAll(usage.stages());
+    if (write) {
+      state.write_access.addAll(usage.writeAccess());
+    } else {
+      state.read_stages.addAll(usage.stages());
+      state.visible_stages.addAll(usage.stages());
+      state.visible_access.addAll(usage.access());
+    }
+  }
+
+  /*
+   * Writes must wait for all earlier reads (an execution dependency) and
+   * for earlier writes (a memory dependency).
+   */
+
+  private static void writeAfterAccess(
+    final State state,
+    final VulkanRenderGraphUsage usage,
+    final BatchBuilder batch)
+  {
+    if (!state.write_stages.isEmpty() || !state.read_stages.isEmpty()) {
+      batch.source.addAll(state.write_stages);
+      batch.source.addAll(state.read_stages);
+      batch.target.addAll(usage.stages());
+      if (!state.write_access.isEmpty()) {
+        batch.memory(state.write_access, usage.access());
+      }
+    }
+
+    state.clear();
+    state.write_stages.addAll(usage.stages());
+    state.write_access.addAll(usage.writeAccess());
+  }
+
+  /*
+   * Reads must wait for the last write, unless an earlier barrier has
+   * already made that write visible to the same stages and access types.
+   * Reads never need to wait for other reads.
+   */
+
+  private static void readAfterWrite(
+    final State state,
+    final VulkanRenderGraphUsage usage,
+    final BatchBuilder batch)
+  {
+    if (!state.write_stages.isEmpty() && !state.isVisibleTo(usage)) {
+      batch.source.addAll(state.write_stages);
+      batch.target.addAll(usage.stages());
+      if (!state.write_access.isEmpty() || !usage.access().isEmpty()) {
+        batch.memory(state.write_access, usage.access());
+      }
+      state.visible_stages.addAll(usage.stages());
+      state.visible_access.addAll(usage.access());
+    }
+    state.read_stages.addAll(usage.stages());
+  }
+
+  private static final class State
+  {
+    private final EnumSet<VulkanPipelineStageFlag> write_stages;
+    private final EnumSet<VulkanAccessFlag> write_access;
+    private final EnumSet<VulkanPipelineStageFlag> read_stages;
+    private final EnumSet<VulkanPipelineStageFlag> visible_stages;
+    private final EnumSet<VulkanAccessFlag> visible_access;
+    private VulkanImageLayout layout;
+    private VulkanRenderGraphUsage last;
+
+    State(
+      final VulkanRenderGraphUsage initial)
+    {
+      this.write_stages = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+      this.write_access = EnumSet.noneOf(VulkanAccessFlag.class);
+      this.read_stages = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+      this.visible_stages = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+      this.visible_access = EnumSet.noneOf(VulkanAccessFlag.class);
+      this.layout = initial.layout();
+      this.last = initial;
+
+      if (initial.isWrite()) {
+        this.write_stages.addAll(initial.stages());
+        this.write_access.addAll(initial.writeAccess());
+      } else {
+        this.read_stages.addAll(initial.stages());
+      }
+    }
+
+    void clear()
+    {
+      this.write_stages.clear();
+      this.write_access.clear();
+      this.read_stages.clear();
+      this.visible_stages.clear();
+      this.visible_access.clear();
+    }
+
+    boolean isVisibleTo(
+      final VulkanRenderGraphUsage usage)
+    {
+      return this.visible_stages.containsAll(usage.stages())
+             && this.visible_access.containsAll(usage.access());
+    }
+  }
+
+  private static final class BatchBuilder
+  {
+    private final EnumSet<VulkanPipelineStageFlag> source;
+    private final EnumSet<VulkanPipelineStageFlag> target;
+    private final EnumSet<VulkanAccessFlag> memory_source;
+    private final EnumSet<VulkanAccessFlag> memory_target;
+    private final List<VulkanImageMemoryBarrier> images;
+    private boolean memory;
+
+    BatchBuilder()
+    {
+      this.source = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+      this.target = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+      this.memory_source = EnumSet.noneOf(VulkanAccessFlag.class);
+      this.memory_target = EnumSet.noneOf(VulkanAccessFlag.class);
+      this.images = new ArrayList<>();
+    }
+
+    void memory(
+      final Set<VulkanAccessFlag> source_access,
+      final Set<VulkanAccessFlag> target_access)
+    {
+      this.memory = true;
+      this.memory_source.addAll(source_access);
+      this.memory_target.addAll(target_access);
+    }
+
+    VulkanRenderGraphBarrierBatch build()
+    {
+      if (this.source.isEmpty() && this.target.isEmpty()) {
+        return VulkanRenderGraphBarrierBatch.EMPTY;
+      }
+
+      if (this.source.isEmpty()) {
+        this.source.add(VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT);
+      }
+      if (this.target.isEmpty()) {
+        this.target.add(VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT);
+      }
+
+      final List<VulkanMemoryBarrier> memory_barriers;
+      if (this.memory) {
+        memory_barriers = List.of(
+          VulkanMemoryBarrier.of(this.memory_source, this.memory_target));
+      } else {
+        memory_barriers = List.of();
+      }
+
+      return new VulkanRenderGraphBarrierBatch(
+        this.source,
+        this.target,
+        memory_barriers,
+        this.images);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanImageSubresourceRange;
+import com.io7m.jcoronado.api.VulkanImageType;
+
+import java.util.Objects;
+
+/**
+ * An image imported into a render graph. Layouts and accesses are tracked
+ * for the whole subresource range as a unit.
+ */
+
+public final class VulkanRenderGraphImage
+  implements VulkanRenderGraphResourceType
+{
+  private final VulkanRenderGraph graph;
+  private final String name;
+  private final VulkanImageType image;
+  private final VulkanImageSubresourceRange range;
+  private final VulkanRenderGraphUsage initial;
+
+  VulkanRenderGraphImage(
+    final VulkanRenderGraph in_graph,
+    final String in_name,
+    final VulkanImageType in_image,
+    final VulkanImageSubresourceRange in_range,
+    final VulkanRenderGraphUsage in_initial)
+  {
+    this.graph = Objects.requireNonNull(in_graph, "graph");
+    this.name = Objects.requireNonNull(in_name, "name");
+    this.image = Objects.requireNonNull(in_image, "image");
+    this.range = Objects.requireNonNull(in_range, "range");
+    this.initial = Objects.requireNonNull(in_initial, "initial");
+  }
+
+  @Override
+  public VulkanRenderGraph graph()
+  {
+    return this.graph;
+  }
+
+  @Override
+  public String name()
+  {
+    return this.name;
+  }
+
+  @Override
+  public VulkanRenderGraphUsage initialUsage()
+  {
+    return this.initial;
+  }
+
+  /**
+   * @return The underlying image
+   */
+
+  public VulkanImageType image()
+  {
+    return this.image;
+  }
+
+  /**
+   * @return The subresource range tracked by the graph
+   */
+
+  public VulkanImageSubresourceRange range()
+  {
+    return this.range;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[VulkanRenderGraphImage " + this.name + "]";
+  }
+}
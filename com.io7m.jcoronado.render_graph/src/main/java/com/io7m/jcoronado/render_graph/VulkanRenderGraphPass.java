@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanAccessFlag;
+import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_PREINITIALIZED;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_UNDEFINED;
+
+/**
+ * A pass declared in a render graph. A pass declares the resources that it
+ * reads and writes, and the function that records its commands.
+ */
+
+public final class VulkanRenderGraphPass
+{
+  private final VulkanRenderGraph graph;
+  private final String name;
+  private final Map<VulkanRenderGraphResourceType, Access> accesses;
+  private final Map<VulkanRenderGraphResourceType, Access> accesses_read;
+  private VulkanRenderGraphPassExecutorType executor;
+  private boolean side_effects;
+
+  VulkanRenderGraphPass(
+    final VulkanRenderGraph in_graph,
+    final String in_name)
+  {
+    this.graph = Objects.requireNonNull(in_graph, "graph");
+    this.name = Objects.requireNonNull(in_name, "name");
+    this.accesses = new LinkedHashMap<>();
+    this.accesses_read = Collections.unmodifiableMap(this.accesses);
+    this.executor = command_buffer -> {
+
+    };
+  }
+
+  /**
+   * @return The name of the pass
+   */
+
+  public String name()
+  {
+    return this.name;
+  }
+
+  /**
+   * Declare that the pass reads {@code resource}.
+   *
+   * @param resource The resource
+   * @param usage    The manner in which the resource is read
+   *
+   * @return this
+   */
+
+  public VulkanRenderGraphPass reads(
+    final VulkanRenderGraphResourceType resource,
+    final VulkanRenderGraphUsage usage)
+  {
+    Objects.requireNonNull(usage, "usage");
+
+    if (usage.isWrite()) {
+      throw new IllegalArgumentException(
+        "Read usage of %s in pass %s includes write access: %s"
+          .formatted(resource.name(), this.name, usage.access()));
+    }
+    this.declare(resource, usage, false);
+    return this;
+  }
+
+  /**
+   * Declare that the pass writes (or reads and writes) {@code resource}.
+   *
+   * @param resource The resource
+   * @param usage    The manner in which the resource is written
+   *
+   * @return this
+   */
+
+  public VulkanRenderGraphPass writes(
+    final VulkanRenderGraphResourceType resource,
+    final VulkanRenderGraphUsage usage)
+  {
+    Objects.requireNonNull(usage, "usage");
+
+    this.declare(resource, usage, true);
+    return this;
+  }
+
+  /**
+   * Declare that the pass has effects outside the graph's resources, so
+   * that it is never culled.
+   *
+   * @return this
+   */
+
+  public VulkanRenderGraphPass sideEffects()
+  {
+    this.side_effects = true;
+    return this;
+  }
+
+  /**
+   * Set the function that records the pass's commands.
+   *
+   * @param in_executor The function
+   *
+   * @return this
+   */
+
+  public VulkanRenderGraphPass executor(
+    final VulkanRenderGraphPassExecutorType in_executor)
+  {
+    this.executor = Objects.requireNonNull(in_executor, "executor");
+    return this;
+  }
+
+  /**
+   * @return {@code true} if the pass was declared with {@link #sideEffects()}
+   */
+
+  public boolean hasSideEffects()
+  {
+    return this.side_effects;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[VulkanRenderGraphPass " + this.name + "]";
+  }
+
+  VulkanRenderGraphPassExecutorType executor()
+  {
+    return this.executor;
+  }
+
+  Map<VulkanRenderGraphResourceType, Access> accesses()
+  {
+    return this.accesses_read;
+  }
+
+  private void declare(
+    final VulkanRenderGraphResourceType resource,
+    final VulkanRenderGraphUsage usage,
+    final boolean write)
+  {
+    Objects.requireNonNull(resource, "resource");
+
+    if (resource.graph() != this.graph) {
+      throw new IllegalArgumentException(
+        "Resource %s does not belong to the graph of pass %s"
+          .formatted(resource.name(), this.name));
+    }
+
+    if (resource instanceof VulkanRenderGraphImage) {
+      final var layout = usage.layout();
+      if (layout == VK_IMAGE_LAYOUT_UNDEFINED
+          || layout == VK_IMAGE_LAYOUT_PREINITIALIZED) {
+        throw new IllegalArgumentException(
+          "Image %s cannot be used in layout %s in pass %s"
+            .formatted(resource.name(), layout, this.name));
+      }
+    }
+
+    final var existing = this.accesses.get(resource);
+    if (existing == null) {
+      this.accesses.put(resource, new Access(usage, write));
+      return;
+    }
+
+    if (resource instanceof VulkanRenderGraphImage
+        && existing.usage.layout() != usage.layout()) {
+      throw new IllegalArgumentException(
+        "Image %s is used in conflicting layouts %s and %s in pass %s"
+          .formatted(
+            resource.name(),
+            existing.usage.layout(),
+            usage.layout(),
+            this.name));
+    }
+
+    final var stages = EnumSet.noneOf(VulkanPipelineStageFlag.class);
+    stages.addAll(existing.usage.stages());
+    stages.addAll(usage.stages());
+    final var access = EnumSet.noneOf(VulkanAccessFlag.class);
+    access.addAll(existing.usage.access());
+    access.addAll(usage.access());
+
+    this.accesses.put(
+      resource,
+      new Access(
+        new VulkanRenderGraphUsage(stages, access, usage.layout()),
+        existing.write || write));
+  }
+
+  record Access(
+    VulkanRenderGraphUsage usage,
+    boolean write)
+  {
+
+  }
+}
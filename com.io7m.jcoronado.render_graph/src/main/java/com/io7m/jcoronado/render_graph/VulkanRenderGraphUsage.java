@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.render_graph;
+
+import com.io7m.jcoronado.api.VulkanAccessFlag;
+import com.io7m.jcoronado.api.VulkanImageLayout;
+import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_COLOR_ATTACHMENT_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_HOST_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_INDEX_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_INDIRECT_COMMAND_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_MEMORY_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_SHADER_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_SHADER_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_TRANSFER_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_TRANSFER_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_UNIFORM_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_DEPTH_STENCIL_ATTACHMENT_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_GENERAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_PRESENT_SRC_KHR;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_TRANSFER_SRC_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_UNDEFINED;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_DRAW_INDIRECT_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_EARLY_FRAGMENT_TESTS_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_HOST_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_LATE_FRAGMENT_TESTS_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TRANSFER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_VERTEX_INPUT_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_VERTEX_SHADER_BIT;
+
+/**
+ * The manner in which a resource is used: the pipeline stages that access
+ * it, the kinds of access they perform, and (for images) the layout that the
+ * image must be in.
+ *
+ * @param stages The pipeline stages that access the resource
+ * @param access The kinds of memory access performed
+ * @param layout The required image layout (ignored for buffers)
+ */
+
+public record VulkanRenderGraphUsage(
+  Set<VulkanPipelineStageFlag> stages,
+  Set<VulkanAccessFlag> access,
+  VulkanImageLayout layout)
+{
+  private static final Set<VulkanAccessFlag> WRITE_ACCESS =
+    EnumSet.of(
+      VK_ACCESS_SHADER_WRITE_BIT,
+      VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT,
+      VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_WRITE_BIT,
+      VK_ACCESS_TRANSFER_WRITE_BIT,
+      VK_ACCESS_HOST_WRITE_BIT,
+      VK_ACCESS_MEMORY_WRITE_BIT);
+
+  /**
+   * The state of a resource with undefined contents that has not been
+   * accessed.
+   */
+
+  public static final VulkanRenderGraphUsage UNDEFINED =
+    new VulkanRenderGraphUsage(
+      Set.of(),
+      Set.of(),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * Writing a color attachment.
+   */
+
+  public static final VulkanRenderGraphUsage COLOR_ATTACHMENT_WRITE =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+      Set.of(VK_ACCESS_COLOR_ATTACHMENT_READ_BIT, VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT),
+      VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL);
+
+  /**
+   * Reading and writing a depth/stencil attachment.
+   */
+
+  public static final VulkanRenderGraphUsage DEPTH_STENCIL_ATTACHMENT_WRITE =
+    new VulkanRenderGraphUsage(
+      Set.of(
+        VK_PIPELINE_STAGE_EARLY_FRAGMENT_TESTS_BIT,
+        VK_PIPELINE_STAGE_LATE_FRAGMENT_TESTS_BIT),
+      Set.of(
+        VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_READ_BIT,
+        VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_WRITE_BIT),
+      VK_IMAGE_LAYOUT_DEPTH_STENCIL_ATTACHMENT_OPTIMAL);
+
+  /**
+   * Sampling or reading a resource in a fragment shader.
+   */
+
+  public static final VulkanRenderGraphUsage FRAGMENT_SHADER_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT),
+      Set.of(VK_ACCESS_SHADER_READ_BIT),
+      VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL);
+
+  /**
+   * Sampling or reading a resource in a compute shader.
+   */
+
+  public static final VulkanRenderGraphUsage COMPUTE_SHADER_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT),
+      Set.of(VK_ACCESS_SHADER_READ_BIT),
+      VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL);
+
+  /**
+   * Writing a storage resource in a compute shader.
+   */
+
+  public static final VulkanRenderGraphUsage COMPUTE_SHADER_WRITE =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT),
+      Set.of(VK_ACCESS_SHADER_WRITE_BIT),
+      VK_IMAGE_LAYOUT_GENERAL);
+
+  /**
+   * Reading a uniform buffer in a vertex shader.
+   */
+
+  public static final VulkanRenderGraphUsage VERTEX_SHADER_UNIFORM_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_VERTEX_SHADER_BIT),
+      Set.of(VK_ACCESS_UNIFORM_READ_BIT),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * Reading a vertex buffer.
+   */
+
+  public static final VulkanRenderGraphUsage VERTEX_BUFFER_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_VERTEX_INPUT_BIT),
+      Set.of(VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * Reading an index buffer.
+   */
+
+  public static final VulkanRenderGraphUsage INDEX_BUFFER_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_VERTEX_INPUT_BIT),
+      Set.of(VK_ACCESS_INDEX_READ_BIT),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * Reading indirect draw or dispatch parameters.
+   */
+
+  public static final VulkanRenderGraphUsage INDIRECT_COMMAND_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_DRAW_INDIRECT_BIT),
+      Set.of(VK_ACCESS_INDIRECT_COMMAND_READ_BIT),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * The source of a transfer operation.
+   */
+
+  public static final VulkanRenderGraphUsage TRANSFER_READ =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_TRANSFER_BIT),
+      Set.of(VK_ACCESS_TRANSFER_READ_BIT),
+      VK_IMAGE_LAYOUT_TRANSFER_SRC_OPTIMAL);
+
+  /**
+   * The target of a transfer operation.
+   */
+
+  public static final VulkanRenderGraphUsage TRANSFER_WRITE =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_TRANSFER_BIT),
+      Set.of(VK_ACCESS_TRANSFER_WRITE_BIT),
+      VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL);
+
+  /**
+   * Written by the host before the graph executes.
+   */
+
+  public static final VulkanRenderGraphUsage HOST_WRITE =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_HOST_BIT),
+      Set.of(VK_ACCESS_HOST_WRITE_BIT),
+      VK_IMAGE_LAYOUT_UNDEFINED);
+
+  /**
+   * Presentation to a swapchain.
+   */
+
+  public static final VulkanRenderGraphUsage PRESENT =
+    new VulkanRenderGraphUsage(
+      Set.of(VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT),
+      Set.of(),
+      VK_IMAGE_LAYOUT_PRESENT_SRC_KHR);
+
+  /**
+   * The manner in which a resource is used.
+   *
+   * @param stages The pipeline stages that access the resource
+   * @param access The kinds of memory access performed
+   * @param layout The required image layout (ignored for buffers)
+   */
+
+  public VulkanRenderGraphUsage
+  {
+    stages = Set.copyOf(stages);
+    access = Set.copyOf(access);
+    Objects.requireNonNull(layout, "layout");
+  }
+
+  /**
+   * @return {@code true} if the usage includes any kind of write access
+   */
+
+  public boolean isWrite()
+  {
+    for (final var flag : this.access) {
+      if (WRITE_ACCESS.contains(flag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return The subset of {@link #access()} that consists of write access
+   */
+
+  public Set<VulkanAccessFlag> writeAccess()
+  {
+    final var results = EnumSet.noneOf(VulkanAccessFlag.class);
+    for (final var flag : this.access) {
+      if (WRITE_ACCESS.contains(flag)) {
+        results.add(flag);
+      }
+    }
+    return results;
+  }
+}
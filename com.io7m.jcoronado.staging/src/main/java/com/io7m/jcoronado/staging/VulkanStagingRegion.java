@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.staging;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A region of a staging ring.
+ *
+ * @param offset The offset in bytes of the region within the ring's buffer
+ * @param size   The size in bytes of the region
+ * @param data   A view of the region's mapped memory
+ */
+
+public record VulkanStagingRegion(
+  long offset,
+  long size,
+  ByteBuffer data)
+{
+  /**
+   * A region of a staging ring.
+   *
+   * @param offset The offset in bytes of the region within the ring's buffer
+   * @param size   The size in bytes of the region
+   * @param data   A view of the region's mapped memory
+   */
+
+  public VulkanStagingRegion
+  {
+    Objects.requireNonNull(data, "data");
+  }
+}
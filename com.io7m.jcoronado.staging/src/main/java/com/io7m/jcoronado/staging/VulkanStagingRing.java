@@ -0,0 +1,685 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.staging;
+
+import com.io7m.jcoronado.api.VulkanBufferCopy;
+import com.io7m.jcoronado.api.VulkanBufferCreateInfo;
+import com.io7m.jcoronado.api.VulkanBufferImageCopy;
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFenceType;
+import com.io7m.jcoronado.api.VulkanImageLayout;
+import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
+import com.io7m.jcoronado.api.VulkanMappedMemoryType;
+import com.io7m.jcoronado.api.VulkanMemoryAllocateInfo;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
+import com.io7m.jcoronado.api.VulkanMemoryRequirements;
+import com.io7m.jcoronado.api.VulkanMemoryType;
+import com.io7m.jcoronado.api.VulkanMissingRequiredMemoryTypeException;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceMemoryProperties;
+import com.io7m.jcoronado.api.VulkanSemaphoreType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanBufferUsageFlag.VK_BUFFER_USAGE_TRANSFER_SRC_BIT;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_SIGNALLED;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static com.io7m.jcoronado.api.VulkanSharingMode.VK_SHARING_MODE_EXCLUSIVE;
+
+/**
+ * <p>A persistently mapped ring buffer for staging uploads.</p>
+ *
+ * <p>The ring owns a single host-visible buffer that is mapped once, when
+ * the ring is created, and remains mapped until the ring is closed.
+ * {@link #allocate(long)} sub-allocates regions of the buffer in ring
+ * order; each region is aligned to the device's
+ * {@code optimalBufferCopyOffsetAlignment} and, if the memory is not
+ * host-coherent, to {@code nonCoherentAtomSize}. The caller writes data into
+ * a region, and then queues copies from the region with
+ * {@link #copyToBuffer(VulkanStagingRegion, VulkanBufferType, long)} and
+ * {@link #copyToImage(VulkanStagingRegion, VulkanImageType,
+ * VulkanImageLayout, VulkanBufferImageCopy)}.</p>
+ *
+ * <p>{@link #record(VulkanCommandBufferType)} flushes the written ranges
+ * in a single call (if the memory is not host-coherent) and records all
+ * queued copies into a command buffer, issuing one copy command per
+ * destination. Once the command
+ * buffer has been submitted, {@link #submitted(VulkanFenceType)} or
+ * {@link #submitted(VulkanSemaphoreType, long)} associates every region
+ * allocated since the previous submission with the submission's fence or
+ * timeline semaphore value. Regions are reclaimed, oldest first, once their
+ * submission has completed.</p>
+ *
+ * <p>The ring is not thread-safe.</p>
+ */
+
+public final class VulkanStagingRing implements AutoCloseable
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanStagingRing.class);
+
+  private final VulkanLogicalDeviceType device;
+  private final VulkanBufferType buffer;
+  private final VulkanDeviceMemoryType memory;
+  private final VulkanMappedMemoryType mapped;
+  private final ByteBuffer mapped_data;
+  private final long size;
+  private final long alignment;
+  private final boolean coherent;
+  private final ArrayDeque<Submission> submissions;
+  private final Map<VulkanBufferType, List<VulkanBufferCopy>> copies_buffer;
+  private final Map<ImageTarget, List<VulkanBufferImageCopy>> copies_image;
+  private long head;
+  private long tail;
+  private long recorded_head;
+  private long flushed;
+  private boolean closed;
+
+  private VulkanStagingRing(
+    final VulkanLogicalDeviceType in_device,
+    final VulkanBufferType in_buffer,
+    final VulkanDeviceMemoryType in_memory,
+    final VulkanMappedMemoryType in_mapped,
+    final long in_size,
+    final long in_alignment,
+    final boolean in_coherent)
+  {
+    this.device =
+      Objects.requireNonNull(in_device, "device");
+    this.buffer =
+      Objects.requireNonNull(in_buffer, "buffer");
+    this.memory =
+      Objects.requireNonNull(in_memory, "memory");
+    this.mapped =
+      Objects.requireNonNull(in_mapped, "mapped");
+
+    this.mapped_data = this.mapped.asByteBuffer();
+    this.size = in_size;
+    this.alignment = in_alignment;
+    this.coherent = in_coherent;
+    this.submissions = new ArrayDeque<>();
+    this.copies_buffer = new LinkedHashMap<>();
+    this.copies_image = new LinkedHashMap<>();
+    this.closed = false;
+  }
+
+  /**
+   * Create a staging ring. Host-coherent memory is preferred, but any
+   * host-visible memory is accepted.
+   *
+   * @param device The logical device
+   * @param size   The size of the ring in bytes
+   *
+   * @return A new staging ring
+   *
+   * @throws VulkanException On errors
+   */
+
+  public static VulkanStagingRing create(
+    final VulkanLogicalDeviceType device,
+    final long size)
+    throws VulkanException
+  {
+    Objects.requireNonNull(device, "device");
+
+    if (size <= 0L || size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+        "Staging ring size must be in the range [1, %d]: %d"
+          .formatted(
+            Integer.valueOf(Integer.MAX_VALUE),
+            Long.valueOf(size)));
+    }
+
+    final var physical = device.physicalDevice();
+    final var limits = physical.limits();
+    final var buffer =
+      device.createBuffer(
+        VulkanBufferCreateInfo.builder()
+          .setSize(size)
+          .addUsageFlags(VK_BUFFER_USAGE_TRANSFER_SRC_BIT)
+          .setSharingMode(VK_SHARING_MODE_EXCLUSIVE)
+          .build());
+
+    try {
+      final var requirements = device.getBufferMemoryRequirements(buffer);
+      final var memory_properties = physical.memory();
+
+      Set<VulkanMemoryPropertyFlag> flags =
+        Set.of(
+          VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT,
+          VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+
+      var memory_type =
+        findMemoryType(memory_properties, requirements, flags);
+      if (memory_type.isEmpty()) {
+        flags = Set.of(VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT);
+        memory_type = Optional.of(
+          memory_properties.findSuitableMemoryType(requirements, flags));
+      }
+
+      final var type = memory_type.get();
+      final var coherent =
+        type.flags().contains(VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+
+      final var memory =
+        device.allocateMemory(
+          VulkanMemoryAllocateInfo.of(requirements.size(), type.index()));
+
+      try {
+        device.bindBufferMemory(buffer, memory, 0L);
+        final var mapped = device.mapMemory(memory, 0L, size, Set.of());
+
+        final var atom_size =
+          coherent ? 1L : Math.max(1L, limits.nonCoherentAtomSize());
+        final var alignment =
+          Math.max(
+            Math.max(4L, limits.optimalBufferCopyOffsetAlignment()),
+            atom_size);
+
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(
+            "created staging ring: size {} alignment {} coherent {}",
+            Long.valueOf(size),
+            Long.valueOf(alignment),
+            Boolean.valueOf(coherent));
+        }
+
+        return new VulkanStagingRing(
+          device,
+          buffer,
+          memory,
+          mapped,
+          size,
+          alignment,
+          coherent);
+      } catch (final VulkanException e) {
+        memory.close();
+        throw e;
+      }
+    } catch (final VulkanException e) {
+      buffer.close();
+      throw e;
+    }
+  }
+
+  private static Optional<VulkanMemoryType> findMemoryType(
+    final VulkanPhysicalDeviceMemoryProperties properties,
+    final VulkanMemoryRequirements requirements,
+    final Set<VulkanMemoryPropertyFlag> flags)
+  {
+    try {
+      return Optional.of(properties.findSuitableMemoryType(requirements, flags));
+    } catch (final VulkanMissingRequiredMemoryTypeException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static long alignUp(
+    final long value,
+    final long alignment)
+  {
+    final var remainder = value % alignment;
+    return remainder == 0L ? value : value + (alignment - remainder);
+  }
+
+  /**
+   * Find the least common multiple of two positive alignments. Alignments
+   * such as the texel block size of a three-component format are not powers
+   * of two, so the larger of two alignments is not necessarily a multiple of
+   * the smaller.
+   */
+
+  private static long leastCommonMultiple(
+    final long x,
+    final long y)
+  {
+    var a = x;
+    var b = y;
+    while (b != 0L) {
+      final var t = a % b;
+      a = b;
+      b = t;
+    }
+
+    try {
+      return Math.multiplyExact(x / a, y);
+    } catch (final ArithmeticException e) {
+      throw new IllegalArgumentException(
+        "Region alignment %d is incompatible with the ring alignment %d"
+          .formatted(Long.valueOf(x), Long.valueOf(y)),
+        e);
+    }
+  }
+
+  /**
+   * @return The buffer from which all regions are allocated
+   */
+
+  public VulkanBufferType buffer()
+  {
+    return this.buffer;
+  }
+
+  /**
+   * @return The size of the ring in bytes
+   */
+
+  public long size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The minimum alignment of regions
+   */
+
+  public long alignment()
+  {
+    return this.alignment;
+  }
+
+  /**
+   * @return {@code true} if the ring's memory is host-coherent
+   */
+
+  public boolean isCoherent()
+  {
+    return this.coherent;
+  }
+
+  /**
+   * @return The number of bytes that are allocated and not yet reclaimed,
+   * including any padding used for alignment
+   */
+
+  public long used()
+  {
+    return this.head - this.tail;
+  }
+
+  /**
+   * Allocate a region of the ring using the ring's default alignment. If the
+   * ring does not have enough space, completed submissions are reclaimed
+   * first.
+   *
+   * @param region_size The size of the region in bytes
+   *
+   * @return A region, or nothing if the ring is full
+   *
+   * @throws VulkanException On errors
+   */
+
+  public Optional<VulkanStagingRegion> allocate(
+    final long region_size)
+    throws VulkanException
+  {
+    return this.allocate(region_size, this.alignment);
+  }
+
+  /**
+   * Allocate a region of the ring. The region is aligned to the least
+   * common multiple of the given alignment and the ring's default alignment,
+   * so the given alignment need not be a power of two. If the ring does
+   * not have enough space, completed submissions are reclaimed first.
+   *
+   * @param region_size      The size of the region in bytes
+   * @param region_alignment The required alignment of the region
+   *
+   * @return A region, or nothing if the ring is full
+   *
+   * @throws VulkanException On errors
+   */
+
+  public Optional<VulkanStagingRegion> allocate(
+    final long region_size,
+    final long region_alignment)
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    if (region_size <= 0L || region_size > this.size) {
+      throw new IllegalArgumentException(
+        "Region size must be in the range [1, %d]: %d"
+          .formatted(Long.valueOf(this.size), Long.valueOf(region_size)));
+    }
+    if (region_alignment <= 0L) {
+      throw new IllegalArgumentException(
+        "Region alignment must be positive: " + region_alignment);
+    }
+
+    final var align =
+      leastCommonMultiple(region_alignment, this.alignment);
+    var start = this.placement(region_size, align);
+    if (start + region_size - this.tail > this.size) {
+      this.reclaim();
+      start = this.placement(region_size, align);
+      if (start + region_size - this.tail > this.size) {
+        return Optional.empty();
+      }
+    }
+
+    this.head = start + region_size;
+
+    final var offset = start % this.size;
+    final var data =
+      this.mapped_data.slice((int) offset, (int) region_size);
+    return Optional.of(new VulkanStagingRegion(offset, region_size, data));
+  }
+
+  /**
+   * Determine the position of the next region. Positions increase
+   * monotonically; the offset within the buffer is the position modulo the
+   * ring size. A region that would straddle the end of the buffer is placed
+   * at the start of the buffer instead.
+   */
+
+  private long placement(
+    final long region_size,
+    final long align)
+  {
+    final var offset = this.head % this.size;
+    final var aligned = alignUp(offset, align);
+    if (aligned + region_size > this.size) {
+      return this.head + (this.size - offset);
+    }
+    return this.head + (aligned - offset);
+  }
+
+  /**
+   * Queue a copy from a region to a buffer.
+   *
+   * @param region        The source region
+   * @param target        The target buffer
+   * @param target_offset The offset within the target buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void copyToBuffer(
+    final VulkanStagingRegion region,
+    final VulkanBufferType target,
+    final long target_offset)
+    throws VulkanException
+  {
+    Objects.requireNonNull(region, "region");
+    Objects.requireNonNull(target, "target");
+
+    this.checkNotClosed();
+    this.copies_buffer.computeIfAbsent(target, k -> new ArrayList<>())
+      .add(VulkanBufferCopy.of(region.offset(), target_offset, region.size()));
+  }
+
+  /**
+   * Queue a copy from a region to an image. The buffer offset of the given
+   * copy is relative to the start of the region.
+   *
+   * @param region        The source region
+   * @param target        The target image
+   * @param target_layout The layout of the target image at the time of the
+   *                      copy
+   * @param copy          The copy
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void copyToImage(
+    final VulkanStagingRegion region,
+    final VulkanImageType target,
+    final VulkanImageLayout target_layout,
+    final VulkanBufferImageCopy copy)
+    throws VulkanException
+  {
+    Objects.requireNonNull(region, "region");
+    Objects.requireNonNull(target, "target");
+    Objects.requireNonNull(target_layout, "target_layout");
+    Objects.requireNonNull(copy, "copy");
+
+    this.checkNotClosed();
+    this.copies_image.computeIfAbsent(
+        new ImageTarget(target, target_layout),
+        k -> new ArrayList<>())
+      .add(copy.withBufferOffset(region.offset() + copy.bufferOffset()));
+  }
+
+  /**
+   * Flush all data written since the last call to this method (if the
+   * ring's memory is not host-coherent), and record all queued copies into
+   * the given command buffer.
+   *
+   * @param command_buffer The command buffer
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void record(
+    final VulkanCommandBufferType command_buffer)
+    throws VulkanException
+  {
+    Objects.requireNonNull(command_buffer, "command_buffer");
+
+    this.checkNotClosed();
+    this.flush();
+
+    for (final var entry : this.copies_buffer.entrySet()) {
+      command_buffer.copyBuffer(this.buffer, entry.getKey(), entry.getValue());
+    }
+    for (final var entry : this.copies_image.entrySet()) {
+      final var target = entry.getKey();
+      command_buffer.copyBufferToImage(
+        this.buffer,
+        target.image,
+        target.layout,
+        entry.getValue());
+    }
+
+    this.copies_buffer.clear();
+    this.copies_image.clear();
+    this.recorded_head = this.head;
+  }
+
+  private void flush()
+    throws VulkanException
+  {
+    if (this.coherent || this.flushed == this.head) {
+      this.flushed = this.head;
+      return;
+    }
+
+    final var start = this.flushed;
+    final var end = this.head;
+    if (end - start >= this.size) {
+      this.mapped.flush();
+    } else {
+      final var offset_start = start % this.size;
+      final var offset_end = end % this.size;
+      if (offset_start < offset_end) {
+        this.mapped.flushRanges(List.of(
+          new VulkanMappedMemoryRegion(offset_start, offset_end - offset_start)
+        ));
+      } else if (offset_end > 0L) {
+        this.mapped.flushRanges(List.of(
+          new VulkanMappedMemoryRegion(offset_start, this.size - offset_start),
+          new VulkanMappedMemoryRegion(0L, offset_end)
+        ));
+      } else {
+        this.mapped.flushRanges(List.of(
+          new VulkanMappedMemoryRegion(offset_start, this.size - offset_start)
+        ));
+      }
+    }
+    this.flushed = end;
+  }
+
+  /**
+   * Indicate that the command buffer most recently passed to
+   * {@link #record(VulkanCommandBufferType)} has been submitted, and that
+   * the given fence will be signalled when it completes. Only the regions
+   * allocated before that call to {@code record} are released when the
+   * fence is signalled; regions allocated afterwards belong to the next
+   * recorded command buffer.
+   *
+   * @param fence The fence
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void submitted(
+    final VulkanFenceType fence)
+    throws VulkanException
+  {
+    Objects.requireNonNull(fence, "fence");
+
+    this.checkNotClosed();
+    this.submissions.add(new Submission(this.recorded_head, fence, null, 0L));
+  }
+
+  /**
+   * Indicate that the command buffer most recently passed to
+   * {@link #record(VulkanCommandBufferType)} has been submitted, and that
+   * the given timeline semaphore will reach the given value when it
+   * completes. Only the regions allocated before that call to
+   * {@code record} are released when the value is reached.
+   *
+   * @param semaphore The timeline semaphore
+   * @param value     The value
+   *
+   * @throws VulkanException On errors
+   */
+
+  public void submitted(
+    final VulkanSemaphoreType semaphore,
+    final long value)
+    throws VulkanException
+  {
+    Objects.requireNonNull(semaphore, "semaphore");
+
+    this.checkNotClosed();
+    this.submissions.add(new Submission(this.recorded_head, null, semaphore, value));
+  }
+
+  /**
+   * Reclaim the regions of all completed submissions. Submissions are
+   * checked in order, stopping at the first that has not completed.
+   *
+   * @return The number of bytes reclaimed
+   *
+   * @throws VulkanException On errors
+   */
+
+  public long reclaim()
+    throws VulkanException
+  {
+    this.checkNotClosed();
+
+    final var tail_before = this.tail;
+    while (!this.submissions.isEmpty()) {
+      final var submission = this.submissions.peek();
+      if (!this.isComplete(submission)) {
+        break;
+      }
+      this.submissions.poll();
+      this.tail = submission.end;
+    }
+    return this.tail - tail_before;
+  }
+
+  private boolean isComplete(
+    final Submission submission)
+    throws VulkanException
+  {
+    if (submission.fence != null) {
+      return this.device.getFenceStatus(submission.fence)
+             == VK_FENCE_SIGNALLED;
+    }
+    return this.device.getSemaphoreCounterValue(submission.semaphore)
+           >= submission.value;
+  }
+
+  private void checkNotClosed()
+    throws VulkanDestroyedException
+  {
+    if (this.closed) {
+      throw new VulkanDestroyedException("Staging ring has been closed.");
+    }
+  }
+
+  /**
+   * Unmap and destroy the ring's memory and buffer. The caller must ensure
+   * that no submissions that use the ring are pending.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Override
+  public void close()
+    throws VulkanException
+  {
+    if (!this.closed) {
+      this.closed = true;
+      this.submissions.clear();
+      this.copies_buffer.clear();
+      this.copies_image.clear();
+
+      try {
+        this.mapped.close();
+      } finally {
+        try {
+          this.buffer.close();
+        } finally {
+          this.memory.close();
+        }
+      }
+    }
+  }
+
+  private record ImageTarget(
+    VulkanImageType image,
+    VulkanImageLayout layout)
+  {
+    private ImageTarget
+    {
+      Objects.requireNonNull(image, "image");
+      Objects.requireNonNull(layout, "layout");
+    }
+  }
+
+  private record Submission(
+    long end,
+    VulkanFenceType fence,
+    VulkanSemaphoreType semaphore,
+    long value)
+  {
+
+  }
+}
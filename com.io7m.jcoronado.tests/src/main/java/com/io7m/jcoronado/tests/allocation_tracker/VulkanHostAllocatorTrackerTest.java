@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.allocation_tracker;
+
+import com.io7m.jcoronado.allocation_tracker.VulkanHostAllocatorTracker;
+import com.io7m.jcoronado.api.VulkanHostAllocatorCallbacks;
+import com.io7m.jcoronado.api.VulkanHostAllocatorType;
+import com.io7m.jcoronado.api.VulkanInternalAllocation;
+import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_COMMAND;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_DEVICE;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_OBJECT;
+
+public final class VulkanHostAllocatorTrackerTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanHostAllocatorTrackerTest.class);
+
+  private FakeAllocator allocator;
+  private VulkanHostAllocatorTracker tracker;
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.allocator = new FakeAllocator();
+    this.tracker = new VulkanHostAllocatorTracker(this.allocator);
+  }
+
+  @Test
+  public void testAllocateFree()
+  {
+    final var a0 =
+      this.tracker.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    final var a1 =
+      this.tracker.allocate(50L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    final var a2 =
+      this.tracker.allocate(30L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_DEVICE);
+
+    Assertions.assertEquals(150L, this.tracker.allocatedObjectScopeOctets());
+    Assertions.assertEquals(30L, this.tracker.allocatedDeviceScopeOctets());
+
+    this.tracker.deallocate(a0);
+    this.tracker.deallocate(a2);
+
+    final var snapshot = this.tracker.snapshot();
+    final var object = snapshot.scope(VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    Assertions.assertEquals(50L, object.allocatedOctets());
+    Assertions.assertEquals(150L, object.peakOctets());
+    Assertions.assertEquals(1L, object.allocationCount());
+    Assertions.assertEquals(2L, object.allocationsTotal());
+
+    final var device = snapshot.scope(VK_SYSTEM_ALLOCATION_SCOPE_DEVICE);
+    Assertions.assertEquals(0L, device.allocatedOctets());
+    Assertions.assertEquals(30L, device.peakOctets());
+    Assertions.assertEquals(0L, device.allocationCount());
+
+    Assertions.assertEquals(50L, snapshot.allocatedOctets());
+    Assertions.assertEquals(1L, snapshot.allocationCount());
+
+    this.tracker.deallocate(a1);
+    Assertions.assertEquals(0L, this.tracker.snapshot().allocatedOctets());
+  }
+
+  @Test
+  public void testReallocate()
+  {
+    final var a0 =
+      this.tracker.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    final var a1 =
+      this.tracker.reallocate(a0, 300L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+
+    final var command =
+      this.tracker.snapshot().scope(VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    Assertions.assertEquals(300L, command.allocatedOctets());
+    Assertions.assertEquals(300L, command.peakOctets());
+    Assertions.assertEquals(1L, command.allocationCount());
+
+    this.tracker.deallocate(a1);
+    Assertions.assertEquals(0L, this.tracker.allocatedCommandScopeOctets());
+  }
+
+  @Test
+  public void testReallocateFails()
+  {
+    final var a0 =
+      this.tracker.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+
+    this.allocator.reallocate_fails = true;
+    final var a1 =
+      this.tracker.reallocate(a0, 300L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    Assertions.assertEquals(0L, a1);
+
+    final var command =
+      this.tracker.snapshot().scope(VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    Assertions.assertEquals(100L, command.allocatedOctets());
+    Assertions.assertEquals(100L, command.peakOctets());
+    Assertions.assertEquals(1L, command.allocationCount());
+    Assertions.assertEquals(1L, command.allocationsTotal());
+
+    this.tracker.deallocate(a0);
+    Assertions.assertEquals(0L, this.tracker.allocatedCommandScopeOctets());
+  }
+
+  @Test
+  public void testReallocateZero()
+  {
+    final var a0 =
+      this.tracker.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+
+    this.allocator.reallocate_fails = true;
+    this.tracker.reallocate(a0, 0L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+
+    Assertions.assertEquals(0L, this.tracker.allocatedCommandScopeOctets());
+    Assertions.assertThrows(IllegalStateException.class, () -> {
+      this.tracker.deallocate(a0);
+    });
+  }
+
+  @Test
+  public void testDeallocateNull()
+  {
+    this.tracker.deallocate(0L);
+    Assertions.assertEquals(0L, this.tracker.snapshot().allocationCount());
+  }
+
+  @Test
+  public void testDeallocateUnknown()
+  {
+    Assertions.assertThrows(IllegalStateException.class, () -> {
+      this.tracker.deallocate(0x1000L);
+    });
+  }
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final var threads = 8;
+    final var iterations = 2_000;
+    final var executor = Executors.newFixedThreadPool(threads);
+    final var start = new CountDownLatch(1);
+
+    try {
+      final var futures = new ArrayList<Future<?>>(threads);
+      for (var thread = 0; thread < threads; ++thread) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          final var live = new long[16];
+          for (var index = 0; index < iterations; ++index) {
+            final var slot = index % live.length;
+            if (live[slot] != 0L) {
+              this.tracker.deallocate(live[slot]);
+            }
+            live[slot] = this.tracker.allocate(
+              16L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+          }
+          for (final var address : live) {
+            this.tracker.deallocate(address);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (final var future : futures) {
+        future.get(30L, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final var object =
+      this.tracker.snapshot().scope(VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    Assertions.assertEquals(0L, object.allocatedOctets());
+    Assertions.assertEquals(0L, object.allocationCount());
+    Assertions.assertEquals((long) threads * iterations, object.allocationsTotal());
+    Assertions.assertTrue(object.peakOctets() >= 16L * 16L);
+    Assertions.assertTrue(object.peakOctets() <= 16L * 16L * threads);
+  }
+
+  private static final class FakeAllocator implements VulkanHostAllocatorType
+  {
+    private final AtomicLong next = new AtomicLong(0x1000_0000L);
+    private volatile boolean reallocate_fails;
+
+    FakeAllocator()
+    {
+
+    }
+
+    @Override
+    public VulkanHostAllocatorCallbacks createCallbacks()
+    {
+      return VulkanHostAllocatorCallbacks.of(this, this, this, this, this);
+    }
+
+    @Override
+    public long allocate(
+      final long size,
+      final long alignment,
+      final VulkanSystemAllocationScope scope)
+    {
+      return this.next.getAndAdd(256L);
+    }
+
+    @Override
+    public long reallocate(
+      final long original,
+      final long size,
+      final long alignment,
+      final VulkanSystemAllocationScope scope)
+    {
+      if (this.reallocate_fails) {
+        return 0L;
+      }
+      return this.next.getAndAdd(256L);
+    }
+
+    @Override
+    public void deallocate(
+      final long address)
+    {
+
+    }
+
+    @Override
+    public void onAllocation(
+      final long size,
+      final VulkanInternalAllocation type,
+      final VulkanSystemAllocationScope scope)
+    {
+
+    }
+
+    @Override
+    public void onFree(
+      final long size,
+      final VulkanInternalAllocation type,
+      final VulkanSystemAllocationScope scope)
+    {
+
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.api;
+
+import com.io7m.jcoronado.api.VulkanEnumIntegerMap;
+import com.io7m.jcoronado.api.VulkanEnumIntegerType;
+import com.io7m.jcoronado.api.VulkanFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.reflections.Reflections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+public final class VulkanEnumIntegerMapTest
+{
+  private enum Sparse implements VulkanEnumIntegerType
+  {
+    SPARSE_ZERO(0),
+    SPARSE_TWO(2),
+    SPARSE_NEGATIVE(-1),
+    SPARSE_EXTENSION_0(1000054000),
+    SPARSE_EXTENSION_1(1000054001),
+    SPARSE_EXTENSION_2(1000156000),
+    SPARSE_MAXIMUM(0x7fffffff);
+
+    private final int value;
+
+    Sparse(
+      final int in_value)
+    {
+      this.value = in_value;
+    }
+
+    @Override
+    public int value()
+    {
+      return this.value;
+    }
+  }
+
+  private static <T extends Enum<T> & VulkanEnumIntegerType> void checkRoundTrip(
+    final Class<T> clazz)
+  {
+    final var values = clazz.getEnumConstants();
+    final var map = VulkanEnumIntegerMap.of(values);
+    for (final var value : values) {
+      Assertions.assertSame(value, map.getOrNull(value.value()));
+      Assertions.assertEquals(Optional.of(value), map.get(value.value()));
+    }
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void testRoundTripAll()
+  {
+    final var reflections = new Reflections("com.io7m.jcoronado");
+    final var enums =
+      reflections.getSubTypesOf(VulkanEnumIntegerType.class);
+
+    Assertions.assertFalse(enums.isEmpty());
+
+    final Collection<Executable> executables = new ArrayList<>();
+    for (final var c : enums) {
+      if (c.isEnum()) {
+        executables.add(() -> checkRoundTrip((Class) c));
+      }
+    }
+    Assertions.assertAll(executables);
+  }
+
+  @Test
+  public void testSparse()
+  {
+    checkRoundTrip(Sparse.class);
+
+    final var map = VulkanEnumIntegerMap.of(Sparse.values());
+    Assertions.assertNull(map.getOrNull(1));
+    Assertions.assertNull(map.getOrNull(3));
+    Assertions.assertNull(map.getOrNull(-2));
+    Assertions.assertNull(map.getOrNull(1000054002));
+    Assertions.assertNull(map.getOrNull(Integer.MIN_VALUE));
+    Assertions.assertEquals(Optional.empty(), map.get(1000156001));
+  }
+
+  @Test
+  public void testFormat()
+  {
+    Assertions.assertEquals(
+      Optional.of(VulkanFormat.VK_FORMAT_R8G8B8A8_UNORM),
+      VulkanFormat.fromInteger(VulkanFormat.VK_FORMAT_R8G8B8A8_UNORM.value()));
+    Assertions.assertEquals(
+      Optional.empty(),
+      VulkanFormat.fromInteger(-1));
+    Assertions.assertEquals(
+      Optional.empty(),
+      VulkanFormat.fromInteger(100_000));
+  }
+}
@@ -69,12 +69,14 @@ public final class VulkanEqualsTest
     if (m.isDefault()) {
       final var ignore_names =
         Set.of(
+          "available",
           "compareTo",
           "colorType",
           "checkPreconditions",
           "findSuitableMemoryType",
           "toHumanString",
-          "type");
+          "type",
+          "usageRatio");
 
       return !ignore_names.contains(m.getName());
     }
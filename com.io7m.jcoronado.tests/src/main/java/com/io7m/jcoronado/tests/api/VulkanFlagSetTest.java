@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.api;
+
+import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanFlagSet;
+import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
+import com.io7m.jcoronado.api.VulkanQueryControlFlag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+
+public final class VulkanFlagSetTest
+{
+  private static final VulkanFlagSet<VulkanMemoryPropertyFlag> HOST =
+    VulkanFlagSet.of(
+      VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT,
+      VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+
+  @Test
+  public void testNone()
+  {
+    final var flags = VulkanFlagSet.none(VulkanMemoryPropertyFlag.class);
+    Assertions.assertTrue(flags.isEmpty());
+    Assertions.assertEquals(0, flags.value());
+    Assertions.assertFalse(flags.contains(VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT));
+    Assertions.assertEquals(Set.of(), flags.toSet());
+  }
+
+  @Test
+  public void testOf()
+  {
+    Assertions.assertEquals(VulkanMemoryPropertyFlag.class, HOST.type());
+    Assertions.assertTrue(HOST.contains(VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT));
+    Assertions.assertTrue(HOST.contains(VK_MEMORY_PROPERTY_HOST_COHERENT_BIT));
+    Assertions.assertFalse(HOST.contains(VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT));
+    Assertions.assertEquals(
+      EnumSet.of(
+        VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT,
+        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT),
+      HOST.toSet());
+  }
+
+  @Test
+  public void testOfAllMatchesPackValues()
+  {
+    final var set =
+      EnumSet.of(
+        VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+    final var flags =
+      VulkanFlagSet.ofAll(VulkanMemoryPropertyFlag.class, set);
+
+    Assertions.assertEquals(VulkanEnumMaps.packValues(set), flags.value());
+    Assertions.assertEquals(set, flags.toSet());
+  }
+
+  @Test
+  public void testWithWithoutUnion()
+  {
+    final var local =
+      VulkanFlagSet.of(VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT);
+    final var all =
+      local.union(HOST);
+
+    Assertions.assertTrue(all.containsAll(HOST));
+    Assertions.assertTrue(all.containsAll(local));
+    Assertions.assertFalse(HOST.containsAll(all));
+    Assertions.assertEquals(
+      all,
+      HOST.with(VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT));
+    Assertions.assertEquals(
+      HOST,
+      all.without(VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT));
+  }
+
+  @Test
+  public void testEquality()
+  {
+    Assertions.assertEquals(
+      VulkanFlagSet.of(
+        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT,
+        VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT),
+      HOST);
+    Assertions.assertNotEquals(
+      VulkanFlagSet.none(VulkanMemoryPropertyFlag.class),
+      VulkanFlagSet.none(VulkanQueryControlFlag.class));
+  }
+}
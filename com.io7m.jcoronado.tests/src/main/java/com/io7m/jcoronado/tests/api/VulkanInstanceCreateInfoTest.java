@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.api;
+
+import com.io7m.jcoronado.api.VulkanApplicationInfo;
+import com.io7m.jcoronado.api.VulkanInstanceCreateInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanValidationLevel.VULKAN_VALIDATION_FULL;
+import static com.io7m.jcoronado.api.VulkanValidationLevel.VULKAN_VALIDATION_NONE;
+
+public final class VulkanInstanceCreateInfoTest
+{
+  private static VulkanApplicationInfo applicationInfo()
+  {
+    return VulkanApplicationInfo.of("app", 1, "engine", 1, 1);
+  }
+
+  @Test
+  public void testValidationDefault()
+  {
+    final var info =
+      VulkanInstanceCreateInfo.of(applicationInfo(), Set.of(), Set.of());
+
+    Assertions.assertEquals(VULKAN_VALIDATION_FULL, info.validationLevel());
+  }
+
+  @Test
+  public void testValidationNone()
+  {
+    final var info =
+      VulkanInstanceCreateInfo.of(applicationInfo(), Set.of(), Set.of())
+        .withValidationLevel(VULKAN_VALIDATION_NONE);
+
+    Assertions.assertEquals(VULKAN_VALIDATION_NONE, info.validationLevel());
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcoronado.tests.contracts;
+
+import com.io7m.jcoronado.api.VulkanBufferCreateInfo;
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanInstanceType;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceType;
+import com.io7m.jcoronado.vma.VMAAllocationCreateInfo;
+import com.io7m.jcoronado.vma.VMAAllocationType;
+import com.io7m.jcoronado.vma.VMAAllocatorCreateInfo;
+import com.io7m.jcoronado.vma.VMAAllocatorProviderType;
+import com.io7m.jcoronado.vma.VMAAllocatorType;
+import com.io7m.jcoronado.vma.VMADefragmentationInfo;
+import com.io7m.jcoronado.vma.VMADefragmentationRelocationCallbackType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanBufferUsageFlag.VK_BUFFER_USAGE_TRANSFER_DST_BIT;
+import static com.io7m.jcoronado.api.VulkanBufferUsageFlag.VK_BUFFER_USAGE_TRANSFER_SRC_BIT;
+import static com.io7m.jcoronado.api.VulkanSharingMode.VK_SHARING_MODE_EXCLUSIVE;
+import static com.io7m.jcoronado.vma.VMAMemoryUsage.VMA_MEMORY_USAGE_GPU_ONLY;
+
+public abstract class VMADefragmentationContract extends VulkanOnDeviceContract
+{
+  private VulkanPhysicalDeviceType physical_device;
+  private VulkanLogicalDeviceType device;
+  private VMAAllocatorType allocator;
+
+  protected abstract VulkanInstanceType instance();
+
+  protected abstract VulkanPhysicalDeviceType createPhysicalDevice()
+    throws VulkanException;
+
+  protected abstract VulkanLogicalDeviceType createLogicalDevice(
+    VulkanPhysicalDeviceType device)
+    throws VulkanException;
+
+  protected abstract VMAAllocatorProviderType allocators();
+
+  @BeforeEach
+  public void testSetup()
+    throws VulkanException
+  {
+    Assumptions.assumeTrue(this.shouldRun(), "Test should run");
+
+    this.physical_device = this.createPhysicalDevice();
+    this.device = this.createLogicalDevice(this.physical_device);
+    this.allocator =
+      this.allocators().createAllocator(
+        VMAAllocatorCreateInfo.builder()
+          .setFrameInUseCount(OptionalInt.empty())
+          .setLogicalDevice(this.device)
+          .build());
+  }
+
+  @AfterEach
+  public void tearDown()
+    throws VulkanException
+  {
+    Assumptions.assumeTrue(this.shouldRun(), "Test should run");
+
+    this.allocator.close();
+    this.device.close();
+    this.physical_device.close();
+    this.instance().close();
+  }
+
+  /**
+   * A pass abandoned by a failing callback moves nothing, and the
+   * destination ranges it reserved are reported as abandoned and remain
+   * counted as used by the allocator.
+   *
+   * @throws VulkanException On errors
+   */
+
+  @Test
+  public final void testAbandonedPassReservesDestinations()
+    throws VulkanException
+  {
+    Assumptions.assumeTrue(this.shouldRun(), "Test should run");
+
+    final var logger = this.logger();
+
+    final var buffer_info =
+      VulkanBufferCreateInfo.builder()
+        .addQueueFamilyIndices(
+          this.device.queues()
+            .get(0)
+            .queueFamilyProperties()
+            .queueFamilyIndex())
+        .addUsageFlags(VK_BUFFER_USAGE_TRANSFER_SRC_BIT)
+        .addUsageFlags(VK_BUFFER_USAGE_TRANSFER_DST_BIT)
+        .setSharingMode(VK_SHARING_MODE_EXCLUSIVE)
+        .setSize(65536L)
+        .build();
+
+    final var alloc_info =
+      VMAAllocationCreateInfo.builder()
+        .setUsage(VMA_MEMORY_USAGE_GPU_ONLY)
+        .setMemoryTypeBits(0L)
+        .build();
+
+    /*
+     * Free every other buffer so that later buffers can be moved into
+     * the gaps.
+     */
+
+    final var buffers = new ArrayList<VulkanBufferType>();
+    final var allocations = new ArrayList<VMAAllocationType>();
+    for (var index = 0; index < 32; ++index) {
+      final var result = this.allocator.createBuffer(alloc_info, buffer_info);
+      if (index % 2 == 0) {
+        result.result().close();
+      } else {
+        buffers.add(result.result());
+        allocations.add(result.allocation());
+      }
+    }
+
+    final var used_before =
+      this.allocator.statistics().total().usedBytes();
+
+    final var defrag =
+      this.allocator.beginDefragmentation(
+        VMADefragmentationInfo.builder()
+          .setAllocations(allocations)
+          .build());
+
+    final var failure = new IllegalStateException("Relocation failed.");
+    final var created = new ArrayList<VulkanBufferType>();
+    final var callback = new VMADefragmentationRelocationCallbackType()
+    {
+      @Override
+      public void onBufferRelocated(
+        final VMAAllocationType allocation,
+        final VulkanBufferType source,
+        final VulkanBufferType target)
+      {
+        created.add(target);
+        throw failure;
+      }
+
+      @Override
+      public void onImageRelocated(
+        final VMAAllocationType allocation,
+        final VulkanImageType source,
+        final VulkanImageType target)
+      {
+        throw failure;
+      }
+    };
+
+    var abandoned = false;
+    if (!defrag.isComplete()) {
+      try {
+        Assertions.assertEquals(0, defrag.beginPass(callback));
+        defrag.endPass();
+      } catch (final IllegalStateException e) {
+        Assertions.assertSame(failure, e);
+        Assertions.assertTrue(defrag.isComplete());
+        abandoned = true;
+      }
+    }
+
+    final var statistics = defrag.end();
+    logger.debug("statistics: {}", statistics);
+
+    for (final var buffer : created) {
+      Assertions.assertTrue(buffer.isClosed(), "Target is destroyed");
+    }
+    for (final var buffer : buffers) {
+      Assertions.assertFalse(buffer.isClosed(), "Source is retained");
+    }
+
+    final var used_after =
+      this.allocator.statistics().total().usedBytes();
+
+    Assertions.assertEquals(
+      used_before + statistics.bytesAbandoned(),
+      used_after);
+
+    if (abandoned) {
+      Assertions.assertTrue(statistics.allocationsAbandoned() > 0L);
+      Assertions.assertTrue(
+        statistics.bytesAbandoned()
+          >= 65536L * statistics.allocationsAbandoned());
+    } else {
+      Assertions.assertEquals(0L, statistics.bytesAbandoned());
+    }
+
+    for (final var buffer : buffers) {
+      buffer.close();
+    }
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.deferred;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanFenceType;
+import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import com.io7m.jcoronado.api.VulkanSemaphoreType;
+import com.io7m.jcoronado.deferred.VulkanDeferredReleaseQueue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_SIGNALLED;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_UNSIGNALLED;
+
+public final class VulkanDeferredReleaseQueueTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanDeferredReleaseQueueTest.class);
+
+  private VulkanLogicalDeviceType device;
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+  }
+
+  /**
+   * Handles are destroyed only once their fence has been signalled.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFence()
+    throws Exception
+  {
+    final var buffer = Mockito.mock(VulkanBufferType.class);
+    final var image = Mockito.mock(VulkanImageType.class);
+    final var fence = Mockito.mock(VulkanFenceType.class);
+
+    Mockito.when(this.device.getFenceStatus(fence))
+      .thenReturn(VK_FENCE_UNSIGNALLED);
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      queue.release(buffer, 1000L);
+      queue.release(image, 24L);
+
+      var stats = queue.statistics();
+      Assertions.assertEquals(2L, stats.pending());
+      Assertions.assertEquals(1024L, stats.pendingBytes());
+      Assertions.assertEquals(2L, stats.unsubmitted());
+      Assertions.assertEquals(0, stats.submissions());
+
+      Assertions.assertEquals(0L, queue.collect());
+
+      queue.submitted(fence);
+      stats = queue.statistics();
+      Assertions.assertEquals(0L, stats.unsubmitted());
+      Assertions.assertEquals(1, stats.submissions());
+
+      Assertions.assertEquals(0L, queue.collect());
+      Mockito.verify(buffer, Mockito.never()).close();
+
+      Mockito.when(this.device.getFenceStatus(fence))
+        .thenReturn(VK_FENCE_SIGNALLED);
+
+      Assertions.assertEquals(2L, queue.collect());
+      Mockito.verify(buffer, Mockito.times(1)).close();
+      Mockito.verify(image, Mockito.times(1)).close();
+
+      stats = queue.statistics();
+      Assertions.assertEquals(0L, stats.pending());
+      Assertions.assertEquals(0L, stats.pendingBytes());
+      Assertions.assertEquals(0, stats.submissions());
+      Assertions.assertEquals(2L, stats.destroyed());
+      Assertions.assertEquals(1024L, stats.destroyedBytes());
+    }
+  }
+
+  /**
+   * Submissions retire in order against a timeline semaphore.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testTimelineInOrder()
+    throws Exception
+  {
+    final var pipeline0 = Mockito.mock(VulkanPipelineType.class);
+    final var pipeline1 = Mockito.mock(VulkanPipelineType.class);
+    final var semaphore = Mockito.mock(VulkanSemaphoreType.class);
+
+    Mockito.when(this.device.getSemaphoreCounterValue(semaphore))
+      .thenReturn(Long.valueOf(1L));
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      queue.release(pipeline0);
+      queue.submitted(semaphore, 1L);
+      queue.release(pipeline1);
+      queue.submitted(semaphore, 2L);
+
+      Assertions.assertEquals(1L, queue.collect());
+      Mockito.verify(pipeline0, Mockito.times(1)).close();
+      Mockito.verify(pipeline1, Mockito.never()).close();
+      Assertions.assertEquals(1L, queue.pending());
+
+      Mockito.when(this.device.getSemaphoreCounterValue(semaphore))
+        .thenReturn(Long.valueOf(2L));
+
+      Assertions.assertEquals(1L, queue.collect());
+      Mockito.verify(pipeline1, Mockito.times(1)).close();
+      Assertions.assertEquals(0L, queue.pending());
+    }
+  }
+
+  /**
+   * Submissions with no released handles are not tracked, and handles that
+   * were closed elsewhere are not closed again.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testEmptyAndAlreadyClosed()
+    throws Exception
+  {
+    final var buffer = Mockito.mock(VulkanBufferType.class);
+    final var fence = Mockito.mock(VulkanFenceType.class);
+
+    Mockito.when(this.device.getFenceStatus(fence))
+      .thenReturn(VK_FENCE_SIGNALLED);
+    Mockito.when(buffer.isClosed())
+      .thenReturn(Boolean.TRUE);
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      queue.submitted(fence);
+      Assertions.assertEquals(0, queue.statistics().submissions());
+
+      queue.release(buffer);
+      queue.submitted(fence);
+      Assertions.assertEquals(1L, queue.collect());
+      Mockito.verify(buffer, Mockito.never()).close();
+    }
+  }
+
+  /**
+   * A failure to destroy one handle does not prevent others from being
+   * destroyed.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDestroyFailure()
+    throws Exception
+  {
+    final var buffer0 = Mockito.mock(VulkanBufferType.class);
+    final var buffer1 = Mockito.mock(VulkanBufferType.class);
+    final var fence = Mockito.mock(VulkanFenceType.class);
+
+    Mockito.when(this.device.getFenceStatus(fence))
+      .thenReturn(VK_FENCE_SIGNALLED);
+    Mockito.doThrow(new VulkanDestroyedException("Failed!"))
+      .when(buffer0)
+      .close();
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      queue.release(buffer0);
+      queue.release(buffer1);
+      queue.submitted(fence);
+
+      Assertions.assertThrows(VulkanException.class, queue::collect);
+      Mockito.verify(buffer1, Mockito.times(1)).close();
+      Assertions.assertEquals(0L, queue.pending());
+      Assertions.assertEquals(2L, queue.statistics().destroyed());
+    }
+  }
+
+  /**
+   * A failure to query the status of a later submission does not lose the
+   * handles of earlier, completed submissions.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testStatusFailure()
+    throws Exception
+  {
+    final var buffer0 = Mockito.mock(VulkanBufferType.class);
+    final var buffer1 = Mockito.mock(VulkanBufferType.class);
+    final var fence0 = Mockito.mock(VulkanFenceType.class);
+    final var fence1 = Mockito.mock(VulkanFenceType.class);
+    final var failure = new VulkanDestroyedException("Device lost!");
+
+    Mockito.when(this.device.getFenceStatus(fence0))
+      .thenReturn(VK_FENCE_SIGNALLED);
+    Mockito.when(this.device.getFenceStatus(fence1))
+      .thenThrow(failure);
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      queue.release(buffer0, 100L);
+      queue.submitted(fence0);
+      queue.release(buffer1, 10L);
+      queue.submitted(fence1);
+
+      final var ex =
+        Assertions.assertThrows(VulkanException.class, queue::collect);
+      Assertions.assertSame(failure, ex);
+
+      Mockito.verify(buffer0, Mockito.times(1)).close();
+      Mockito.verify(buffer1, Mockito.never()).close();
+      Assertions.assertEquals(1L, queue.pending());
+      Assertions.assertEquals(10L, queue.pendingBytes());
+      Assertions.assertEquals(1, queue.statistics().submissions());
+
+      Mockito.reset(this.device);
+      Mockito.when(this.device.getFenceStatus(fence1))
+        .thenReturn(VK_FENCE_SIGNALLED);
+
+      Assertions.assertEquals(1L, queue.collect());
+      Mockito.verify(buffer1, Mockito.times(1)).close();
+      Assertions.assertEquals(0L, queue.pending());
+    }
+  }
+
+  /**
+   * Closing the queue destroys everything immediately, and the queue then
+   * rejects further use.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final var buffer0 = Mockito.mock(VulkanBufferType.class);
+    final var buffer1 = Mockito.mock(VulkanBufferType.class);
+    final var fence = Mockito.mock(VulkanFenceType.class);
+
+    Mockito.when(this.device.getFenceStatus(fence))
+      .thenReturn(VK_FENCE_UNSIGNALLED);
+
+    final var queue = new VulkanDeferredReleaseQueue(this.device);
+    queue.release(buffer0);
+    queue.submitted(fence);
+    queue.release(buffer1);
+    queue.close();
+
+    Mockito.verify(buffer0, Mockito.times(1)).close();
+    Mockito.verify(buffer1, Mockito.times(1)).close();
+    Assertions.assertEquals(0L, queue.pending());
+
+    Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+      queue.release(buffer0);
+    });
+    Assertions.assertThrows(VulkanDestroyedException.class, queue::collect);
+    queue.close();
+  }
+
+  /**
+   * Negative sizes are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testNegativeSize()
+    throws Exception
+  {
+    final var buffer = Mockito.mock(VulkanBufferType.class);
+
+    try (var queue = new VulkanDeferredReleaseQueue(this.device)) {
+      Assertions.assertThrows(IllegalArgumentException.class, () -> {
+        queue.release(buffer, -1L);
+      });
+    }
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.descriptors;
+
+import com.io7m.jcoronado.api.VulkanCallFailedException;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolSize;
+import com.io7m.jcoronado.api.VulkanDescriptorPoolType;
+import com.io7m.jcoronado.api.VulkanDescriptorSetAllocateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutBinding;
+import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorSetLayoutType;
+import com.io7m.jcoronado.api.VulkanDescriptorSetType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.descriptors.VulkanDescriptorAllocator;
+import com.io7m.jcoronado.descriptors.VulkanDescriptorAllocatorStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER;
+import static org.mockito.ArgumentMatchers.any;
+
+public final class VulkanDescriptorAllocatorTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanDescriptorAllocatorTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private VulkanDescriptorSetLayoutType layout;
+  private VulkanDescriptorSetLayoutCreateInfo layout_info;
+  private List<VulkanDescriptorPoolCreateInfo> pool_infos;
+  private List<VulkanDescriptorPoolType> pools;
+  private Map<VulkanDescriptorPoolType, PoolState> pool_states;
+  private int exhaustion_code;
+  private boolean fail_next;
+
+  private static final class PoolState
+  {
+    private final int capacity;
+    private int remaining;
+
+    PoolState(
+      final int in_capacity)
+    {
+      this.capacity = in_capacity;
+      this.remaining = in_capacity;
+    }
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.layout = Mockito.mock(VulkanDescriptorSetLayoutType.class);
+    this.layout_info =
+      VulkanDescriptorSetLayoutCreateInfo.builder()
+        .addBindings(VulkanDescriptorSetLayoutBinding.of(
+          0, VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 1, Set.of(), List.of()))
+        .addBindings(VulkanDescriptorSetLayoutBinding.of(
+          1, VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 2, Set.of(), List.of()))
+        .build();
+
+    this.pool_infos = new ArrayList<>();
+    this.pools = new ArrayList<>();
+    this.pool_states = new HashMap<>();
+    this.exhaustion_code = -1000069000;
+    this.fail_next = false;
+
+    Mockito.when(this.device.createDescriptorPool(any()))
+      .thenAnswer(invocation -> {
+        final VulkanDescriptorPoolCreateInfo info = invocation.getArgument(0);
+        final var pool = Mockito.mock(VulkanDescriptorPoolType.class);
+        this.pool_infos.add(info);
+        this.pools.add(pool);
+        this.pool_states.put(pool, new PoolState(info.maxSets()));
+        return pool;
+      });
+
+    Mockito.when(this.device.allocateDescriptorSets(any()))
+      .thenAnswer(invocation -> {
+        final VulkanDescriptorSetAllocateInfo info = invocation.getArgument(0);
+        final var state = this.pool_states.get(info.descriptorPool());
+        if (this.fail_next) {
+          this.fail_next = false;
+          throw new VulkanCallFailedException(
+            -4,
+            "vkAllocateDescriptorSets",
+            "VK_ERROR_DEVICE_LOST");
+        }
+        if (state.remaining == 0) {
+          throw new VulkanCallFailedException(
+            this.exhaustion_code,
+            "vkAllocateDescriptorSets",
+            "VK_ERROR_OUT_OF_POOL_MEMORY");
+        }
+        --state.remaining;
+        return List.of(Mockito.mock(VulkanDescriptorSetType.class));
+      });
+
+    Mockito.doAnswer(invocation -> {
+      final VulkanDescriptorPoolType pool = invocation.getArgument(0);
+      final var state = this.pool_states.get(pool);
+      state.remaining = state.capacity;
+      return null;
+    }).when(this.device).resetDescriptorPool(any());
+  }
+
+  /**
+   * Exhausted pools are followed by new, larger pools sized from demand.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testGrowth()
+    throws Exception
+  {
+    try (var allocator =
+           new VulkanDescriptorAllocator(this.device, 2, 2, 4)) {
+      for (var index = 0; index < 12; ++index) {
+        allocator.allocate(0, this.layout, this.layout_info);
+      }
+
+      Assertions.assertEquals(4, allocator.poolCount(0));
+      Assertions.assertEquals(0, allocator.poolCount(1));
+      Assertions.assertEquals(
+        List.of(2, 4, 4, 4),
+        this.pool_infos.stream()
+          .map(VulkanDescriptorPoolCreateInfo::maxSets)
+          .toList());
+
+      Assertions.assertEquals(
+        List.of(
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 4),
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 2)),
+        sortedSizes(this.pool_infos.get(0)));
+      Assertions.assertEquals(
+        List.of(
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 8),
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 4)),
+        sortedSizes(this.pool_infos.get(1)));
+
+      final var statistics = allocator.statistics();
+      Assertions.assertEquals(
+        new VulkanDescriptorAllocatorStatistics(4, 12L, 14L, 4L, 3L, 0L),
+        statistics);
+      Assertions.assertEquals(12.0 / 14.0, statistics.utilization(), 0.0001);
+    }
+  }
+
+  private static List<VulkanDescriptorPoolSize> sortedSizes(
+    final VulkanDescriptorPoolCreateInfo info)
+  {
+    return info.poolSizes()
+      .stream()
+      .sorted((x, y) -> x.type().name().compareTo(y.type().name()))
+      .toList();
+  }
+
+  /**
+   * Resetting a frame resets its pools, which are then reused.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testResetReuses()
+    throws Exception
+  {
+    try (var allocator =
+           new VulkanDescriptorAllocator(this.device, 2, 2, 2)) {
+      for (var index = 0; index < 4; ++index) {
+        allocator.allocate(1, this.layout, this.layout_info);
+      }
+      Assertions.assertEquals(2, allocator.poolCount(1));
+
+      allocator.reset(1);
+      Mockito.verify(this.device, Mockito.times(2))
+        .resetDescriptorPool(any());
+
+      for (var index = 0; index < 4; ++index) {
+        allocator.allocate(1, this.layout, this.layout_info);
+      }
+      Assertions.assertEquals(2, allocator.poolCount(1));
+      Mockito.verify(this.device, Mockito.times(2))
+        .createDescriptorPool(any());
+
+      Assertions.assertEquals(
+        new VulkanDescriptorAllocatorStatistics(2, 4L, 4L, 2L, 2L, 1L),
+        allocator.statistics());
+    }
+  }
+
+  /**
+   * Failures other than pool exhaustion are propagated.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testOtherFailure()
+    throws Exception
+  {
+    Mockito.doThrow(new VulkanCallFailedException(
+        -4, "vkAllocateDescriptorSets", "VK_ERROR_DEVICE_LOST"))
+      .when(this.device)
+      .allocateDescriptorSets(any());
+
+    try (var allocator =
+           new VulkanDescriptorAllocator(this.device, 1, 2, 2)) {
+      final var ex =
+        Assertions.assertThrows(
+          VulkanCallFailedException.class,
+          () -> allocator.allocate(0, this.layout, this.layout_info));
+      Assertions.assertEquals(-4, ex.errorCode());
+      Assertions.assertEquals(1, allocator.poolCount(0));
+    }
+  }
+
+  /**
+   * Implementations without VK_KHR_maintenance1 may report an exhausted
+   * pool as being out of host or device memory.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testExhaustionOutOfMemory()
+    throws Exception
+  {
+    for (final var code : List.of(Integer.valueOf(-1), Integer.valueOf(-2))) {
+      this.exhaustion_code = code.intValue();
+
+      try (var allocator =
+             new VulkanDescriptorAllocator(this.device, 1, 2, 2)) {
+        for (var index = 0; index < 3; ++index) {
+          allocator.allocate(0, this.layout, this.layout_info);
+        }
+        Assertions.assertEquals(2, allocator.poolCount(0));
+      }
+    }
+  }
+
+  /**
+   * Failed allocations do not contribute to the demand used to size pools.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailedAllocationNotCounted()
+    throws Exception
+  {
+    final var layout_large =
+      VulkanDescriptorSetLayoutCreateInfo.builder()
+        .addBindings(VulkanDescriptorSetLayoutBinding.of(
+          0, VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 10, Set.of(), List.of()))
+        .build();
+
+    try (var allocator =
+           new VulkanDescriptorAllocator(this.device, 1, 2, 2)) {
+      this.fail_next = true;
+      Assertions.assertThrows(
+        VulkanCallFailedException.class,
+        () -> allocator.allocate(0, this.layout, layout_large));
+
+      for (var index = 0; index < 3; ++index) {
+        allocator.allocate(0, this.layout, this.layout_info);
+      }
+
+      Assertions.assertEquals(2, allocator.poolCount(0));
+      Assertions.assertEquals(
+        List.of(
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 4),
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 2)),
+        sortedSizes(this.pool_infos.get(1)));
+    }
+  }
+
+  /**
+   * Pools created before demand for a descriptor type appeared are
+   * recreated when the frame is reset.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testResetRecreatesUndersized()
+    throws Exception
+  {
+    final var layout_uniform =
+      VulkanDescriptorSetLayoutCreateInfo.builder()
+        .addBindings(VulkanDescriptorSetLayoutBinding.of(
+          0, VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 1, Set.of(), List.of()))
+        .build();
+    final var layout_sampler =
+      VulkanDescriptorSetLayoutCreateInfo.builder()
+        .addBindings(VulkanDescriptorSetLayoutBinding.of(
+          0, VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 1, Set.of(), List.of()))
+        .build();
+
+    try (var allocator =
+           new VulkanDescriptorAllocator(this.device, 2, 4, 4)) {
+      allocator.allocate(0, this.layout, layout_uniform);
+      allocator.allocate(1, this.layout, layout_uniform);
+      allocator.allocate(1, this.layout, layout_sampler);
+      allocator.allocate(1, this.layout, layout_sampler);
+
+      Assertions.assertEquals(
+        List.of(VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 4)),
+        sortedSizes(this.pool_infos.get(0)));
+
+      final var original = this.pools.get(0);
+      allocator.reset(0);
+      Mockito.verify(original, Mockito.times(1)).close();
+      Mockito.verify(this.device, Mockito.never()).resetDescriptorPool(original);
+
+      Assertions.assertEquals(1, allocator.poolCount(0));
+      Assertions.assertEquals(
+        List.of(
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 2),
+          VulkanDescriptorPoolSize.of(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 2)),
+        sortedSizes(this.pool_infos.get(2)));
+
+      /*
+       * A pool with adequate sizes is reset rather than recreated.
+       */
+
+      allocator.reset(0);
+      Mockito.verify(this.device, Mockito.times(1))
+        .resetDescriptorPool(this.pools.get(2));
+    }
+  }
+
+  /**
+   * Closing the allocator destroys all pools.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final var allocator =
+      new VulkanDescriptorAllocator(this.device, 2, 1, 1);
+
+    allocator.allocate(0, this.layout, this.layout_info);
+    allocator.allocate(1, this.layout, this.layout_info);
+    allocator.close();
+    allocator.close();
+
+    for (final var pool : this.pools) {
+      Mockito.verify(pool, Mockito.times(1)).close();
+    }
+
+    Assertions.assertThrows(
+      VulkanDestroyedException.class,
+      () -> allocator.allocate(0, this.layout, this.layout_info));
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.lwjgl.VMALWJGLDefragmentationMoves;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class VMALWJGLDefragmentationMovesTest
+{
+  @Test
+  public void testProcessAll()
+    throws Exception
+  {
+    final var processor = new Processor(-1, -1);
+    final var relocations = new ArrayList<Integer>();
+
+    VMALWJGLDefragmentationMoves.processMoves(3, processor, relocations);
+
+    assertEquals(List.of(0, 1, 2), relocations);
+    assertEquals(List.of(0, 1, 2), processor.reported);
+    assertEquals(List.of(), processor.discarded);
+  }
+
+  @Test
+  public void testCreateFails()
+  {
+    final var processor = new Processor(2, -1);
+    final var relocations = new ArrayList<Integer>();
+
+    final var ex = assertThrows(VulkanException.class, () -> {
+      VMALWJGLDefragmentationMoves.processMoves(4, processor, relocations);
+    });
+
+    assertSame(processor.create_failure, ex);
+    assertEquals(List.of(), relocations);
+    assertEquals(List.of(0, 1), processor.reported);
+    assertEquals(List.of(0, 1), processor.discarded);
+  }
+
+  @Test
+  public void testReportFails()
+  {
+    final var processor = new Processor(-1, 1);
+    final var relocations = new ArrayList<Integer>();
+
+    final var ex = assertThrows(IllegalStateException.class, () -> {
+      VMALWJGLDefragmentationMoves.processMoves(4, processor, relocations);
+    });
+
+    assertSame(processor.report_failure, ex);
+    assertEquals(List.of(), relocations);
+    assertEquals(List.of(0, 1), processor.reported);
+    assertEquals(List.of(0, 1), processor.discarded);
+  }
+
+  @Test
+  public void testDiscardFailsSuppressed()
+  {
+    final var processor = new Processor(-1, 1);
+    processor.discard_fails = true;
+    final var relocations = new ArrayList<Integer>();
+
+    final var ex = assertThrows(IllegalStateException.class, () -> {
+      VMALWJGLDefragmentationMoves.processMoves(4, processor, relocations);
+    });
+
+    assertEquals(2, ex.getSuppressed().length);
+    assertEquals(List.of(), relocations);
+    assertEquals(List.of(0, 1), processor.discarded);
+  }
+
+  private static final class Processor
+    implements VMALWJGLDefragmentationMoves.MoveProcessorType<Integer>
+  {
+    private final int create_fails_at;
+    private final int report_fails_at;
+    private final List<Integer> reported;
+    private final List<Integer> discarded;
+    private final VulkanException create_failure;
+    private final IllegalStateException report_failure;
+    private boolean discard_fails;
+
+    Processor(
+      final int in_create_fails_at,
+      final int in_report_fails_at)
+    {
+      this.create_fails_at = in_create_fails_at;
+      this.report_fails_at = in_report_fails_at;
+      this.reported = new ArrayList<>();
+      this.discarded = new ArrayList<>();
+      this.create_failure = new VulkanDestroyedException("create");
+      this.report_failure = new IllegalStateException("report");
+    }
+
+    @Override
+    public Integer create(
+      final int index)
+      throws VulkanException
+    {
+      if (index == this.create_fails_at) {
+        throw this.create_failure;
+      }
+      return Integer.valueOf(index);
+    }
+
+    @Override
+    public void report(
+      final Integer relocation)
+    {
+      if (relocation.intValue() == this.report_fails_at) {
+        this.reported.add(relocation);
+        throw this.report_failure;
+      }
+      this.reported.add(relocation);
+    }
+
+    @Override
+    public void discard(
+      final Integer relocation)
+    {
+      this.discarded.add(relocation);
+      if (this.discard_fails) {
+        throw new IllegalStateException("discard");
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import com.io7m.jcoronado.lwjgl.VMALWJGLPoolCreateInfos;
+import com.io7m.jcoronado.vma.VMAPoolCreateInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.util.vma.Vma;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.jcoronado.vma.VMAPoolCreateFlag.VMA_POOL_CREATE_LINEAR_ALGORITHM_BIT;
+
+public final class VMALWJGLPoolCreateInfosTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VMALWJGLPoolCreateInfosTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testPoolCreateInfo()
+  {
+    final var info =
+      VMAPoolCreateInfo.builder()
+        .addFlags(VMA_POOL_CREATE_LINEAR_ALGORITHM_BIT)
+        .setMemoryTypeIndex(new VulkanMemoryTypeIndex(3))
+        .setBlockSize(65536L)
+        .setMinBlockCount(1L)
+        .setMaxBlockCount(1L)
+        .build();
+
+    final var packed = VMALWJGLPoolCreateInfos.pack(this.stack, info);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(3, packed.memoryTypeIndex());
+      },
+      () -> {
+        Assertions.assertEquals(
+          Vma.VMA_POOL_CREATE_LINEAR_ALGORITHM_BIT,
+          packed.flags());
+      },
+      () -> {
+        Assertions.assertEquals(65536L, packed.blockSize());
+      },
+      () -> {
+        Assertions.assertEquals(1L, packed.minBlockCount());
+      },
+      () -> {
+        Assertions.assertEquals(1L, packed.maxBlockCount());
+      },
+      () -> {
+        Assertions.assertEquals(0L, packed.pMemoryAllocateNext());
+      }
+    );
+  }
+
+  @Test
+  public void testPoolCreateInfoDefaults()
+  {
+    final var info =
+      VMAPoolCreateInfo.builder()
+        .setMemoryTypeIndex(new VulkanMemoryTypeIndex(0))
+        .build();
+
+    final var packed = VMALWJGLPoolCreateInfos.pack(this.stack, info);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(0, packed.flags());
+      },
+      () -> {
+        Assertions.assertEquals(0L, packed.blockSize());
+      },
+      () -> {
+        Assertions.assertEquals(0L, packed.maxBlockCount());
+      }
+    );
+  }
+
+  @Test
+  public void testPoolCreateInfoInvalidBlockCounts()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VMAPoolCreateInfo.builder()
+        .setMemoryTypeIndex(new VulkanMemoryTypeIndex(0))
+        .setMinBlockCount(2L)
+        .setMaxBlockCount(1L)
+        .build();
+    });
+  }
+
+  @Test
+  public void testPoolCreateInfoInvalidBlockSize()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VMAPoolCreateInfo.builder()
+        .setMemoryTypeIndex(new VulkanMemoryTypeIndex(0))
+        .setBlockSize(-1L)
+        .build();
+    });
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanMemoryHeapIndex;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import com.io7m.jcoronado.lwjgl.VMALWJGLStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.util.vma.VmaBudget;
+import org.lwjgl.util.vma.VmaDefragmentationStats;
+import org.lwjgl.util.vma.VmaPoolStats;
+import org.lwjgl.util.vma.VmaStatInfo;
+import org.lwjgl.util.vma.VmaStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.lwjgl.system.MemoryUtil.memPutInt;
+import static org.lwjgl.system.MemoryUtil.memPutLong;
+
+public final class VMALWJGLStatisticsTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VMALWJGLStatisticsTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  private static void fillStatInfo(
+    final VmaStatInfo info,
+    final int base)
+  {
+    final var address = info.address();
+    memPutInt(address + VmaStatInfo.BLOCKCOUNT, base);
+    memPutInt(address + VmaStatInfo.ALLOCATIONCOUNT, base + 1);
+    memPutInt(address + VmaStatInfo.UNUSEDRANGECOUNT, base + 2);
+    memPutLong(address + VmaStatInfo.USEDBYTES, base + 3L);
+    memPutLong(address + VmaStatInfo.UNUSEDBYTES, base + 4L);
+    memPutLong(address + VmaStatInfo.ALLOCATIONSIZEMIN, base + 5L);
+    memPutLong(address + VmaStatInfo.ALLOCATIONSIZEAVG, base + 6L);
+    memPutLong(address + VmaStatInfo.ALLOCATIONSIZEMAX, base + 7L);
+    memPutLong(address + VmaStatInfo.UNUSEDRANGESIZEMIN, base + 8L);
+    memPutLong(address + VmaStatInfo.UNUSEDRANGESIZEAVG, base + 9L);
+    memPutLong(address + VmaStatInfo.UNUSEDRANGESIZEMAX, base + 10L);
+  }
+
+  @Test
+  public void testBudget()
+  {
+    final var vk_budget = VmaBudget.calloc(this.stack);
+    final var address = vk_budget.address();
+    memPutLong(address + VmaBudget.BLOCKBYTES, 1000L);
+    memPutLong(address + VmaBudget.ALLOCATIONBYTES, 800L);
+    memPutLong(address + VmaBudget.USAGE, 1500L);
+    memPutLong(address + VmaBudget.BUDGET, 2000L);
+
+    final var budget = VMALWJGLStatistics.unpackBudget(2, vk_budget);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(new VulkanMemoryHeapIndex(2), budget.heapIndex());
+      },
+      () -> {
+        Assertions.assertEquals(1000L, budget.blockBytes());
+      },
+      () -> {
+        Assertions.assertEquals(800L, budget.allocationBytes());
+      },
+      () -> {
+        Assertions.assertEquals(1500L, budget.usage());
+      },
+      () -> {
+        Assertions.assertEquals(2000L, budget.budget());
+      },
+      () -> {
+        Assertions.assertEquals(500L, budget.available());
+      },
+      () -> {
+        Assertions.assertEquals(0.75, budget.usageRatio(), 0.0001);
+      }
+    );
+  }
+
+  @Test
+  public void testBudgetExceeded()
+  {
+    final var vk_budget = VmaBudget.calloc(this.stack);
+    final var address = vk_budget.address();
+    memPutLong(address + VmaBudget.USAGE, 3000L);
+    memPutLong(address + VmaBudget.BUDGET, 2000L);
+
+    final var budget = VMALWJGLStatistics.unpackBudget(0, vk_budget);
+    Assertions.assertEquals(0L, budget.available());
+    Assertions.assertEquals(1.5, budget.usageRatio(), 0.0001);
+  }
+
+  @Test
+  public void testStatistics()
+  {
+    final var vk_stats = VmaStats.calloc(this.stack);
+    fillStatInfo(vk_stats.memoryType(0), 100);
+    fillStatInfo(vk_stats.memoryType(1), 200);
+    fillStatInfo(vk_stats.memoryHeap(0), 300);
+    fillStatInfo(vk_stats.total(), 400);
+
+    final var stats = VMALWJGLStatistics.unpackStatistics(2, 1, vk_stats);
+
+    Assertions.assertEquals(2, stats.memoryTypes().size());
+    Assertions.assertEquals(1, stats.memoryHeaps().size());
+
+    final var type1 = stats.memoryTypes().get(new VulkanMemoryTypeIndex(1));
+    Assertions.assertEquals(200L, type1.blockCount());
+    Assertions.assertEquals(201L, type1.allocationCount());
+    Assertions.assertEquals(202L, type1.unusedRangeCount());
+    Assertions.assertEquals(203L, type1.usedBytes());
+    Assertions.assertEquals(204L, type1.unusedBytes());
+    Assertions.assertEquals(205L, type1.allocationSizeMin());
+    Assertions.assertEquals(206L, type1.allocationSizeAvg());
+    Assertions.assertEquals(207L, type1.allocationSizeMax());
+    Assertions.assertEquals(208L, type1.unusedRangeSizeMin());
+    Assertions.assertEquals(209L, type1.unusedRangeSizeAvg());
+    Assertions.assertEquals(210L, type1.unusedRangeSizeMax());
+
+    final var heap0 = stats.memoryHeaps().get(new VulkanMemoryHeapIndex(0));
+    Assertions.assertEquals(300L, heap0.blockCount());
+    Assertions.assertEquals(400L, stats.total().blockCount());
+  }
+
+  @Test
+  public void testPoolStatistics()
+  {
+    final var vk_stats = VmaPoolStats.calloc(this.stack);
+    final var address = vk_stats.address();
+    memPutLong(address + VmaPoolStats.SIZE, 4096L);
+    memPutLong(address + VmaPoolStats.UNUSEDSIZE, 1024L);
+    memPutLong(address + VmaPoolStats.ALLOCATIONCOUNT, 3L);
+    memPutLong(address + VmaPoolStats.UNUSEDRANGECOUNT, 2L);
+    memPutLong(address + VmaPoolStats.UNUSEDRANGESIZEMAX, 512L);
+    memPutLong(address + VmaPoolStats.BLOCKCOUNT, 1L);
+
+    final var stats = VMALWJGLStatistics.unpackPoolStatistics(vk_stats);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(4096L, stats.size());
+      },
+      () -> {
+        Assertions.assertEquals(1024L, stats.unusedSize());
+      },
+      () -> {
+        Assertions.assertEquals(3L, stats.allocationCount());
+      },
+      () -> {
+        Assertions.assertEquals(2L, stats.unusedRangeCount());
+      },
+      () -> {
+        Assertions.assertEquals(512L, stats.unusedRangeSizeMax());
+      },
+      () -> {
+        Assertions.assertEquals(1L, stats.blockCount());
+      }
+    );
+  }
+
+  @Test
+  public void testDefragmentationStatistics()
+  {
+    final var vk_stats = VmaDefragmentationStats.calloc(this.stack);
+    final var address = vk_stats.address();
+    memPutLong(address + VmaDefragmentationStats.BYTESMOVED, 65536L);
+    memPutLong(address + VmaDefragmentationStats.BYTESFREED, 262144L);
+    memPutInt(address + VmaDefragmentationStats.ALLOCATIONSMOVED, 12);
+    memPutInt(address + VmaDefragmentationStats.DEVICEMEMORYBLOCKSFREED, 2);
+
+    final var stats =
+      VMALWJGLStatistics.unpackDefragmentationStatistics(vk_stats);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(65536L, stats.bytesMoved());
+      },
+      () -> {
+        Assertions.assertEquals(262144L, stats.bytesFreed());
+      },
+      () -> {
+        Assertions.assertEquals(12L, stats.allocationsMoved());
+      },
+      () -> {
+        Assertions.assertEquals(2L, stats.deviceMemoryBlocksFreed());
+      },
+      () -> {
+        Assertions.assertEquals(0L, stats.bytesAbandoned());
+      },
+      () -> {
+        Assertions.assertEquals(0L, stats.allocationsAbandoned());
+      }
+    );
+  }
+}
@@ -17,19 +17,28 @@
 package com.io7m.jcoronado.tests.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferInheritanceInfo;
 import com.io7m.jcoronado.api.VulkanCommandBufferUsageFlag;
 import com.io7m.jcoronado.api.VulkanEnumMaps;
+import com.io7m.jcoronado.api.VulkanQueryControlFlag;
 import com.io7m.jcoronado.lwjgl.VulkanLWJGLCommandBufferBeginInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLFramebuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLRenderPass;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
+@ExtendWith(MockitoExtension.class)
 public final class VulkanLWJGLCommandBufferBeginInfosTest
 {
   private static final Logger LOG = LoggerFactory.getLogger(
@@ -46,6 +55,7 @@ public final class VulkanLWJGLCommandBufferBeginInfosTest
 
   @Test
   public void testCommandPoolCreateInfo()
+    throws Exception
   {
     final var info =
       VulkanCommandBufferBeginInfo.builder()
@@ -68,6 +78,67 @@ public final class VulkanLWJGLCommandBufferBeginInfosTest
         Assertions.assertEquals(
           VulkanEnumMaps.packValues(List.of(VulkanCommandBufferUsageFlag.values())),
           packed.flags());
+      },
+      () -> {
+        Assertions.assertNull(packed.pInheritanceInfo());
+      }
+    );
+  }
+
+  @Test
+  public void testCommandBufferInheritanceInfo(
+    final @Mock VulkanLWJGLRenderPass render_pass,
+    final @Mock VulkanLWJGLFramebuffer framebuffer)
+    throws Exception
+  {
+    Mockito.when(render_pass.handle())
+      .thenReturn(100L);
+    Mockito.when(framebuffer.handle())
+      .thenReturn(200L);
+
+    final var info =
+      VulkanCommandBufferBeginInfo.builder()
+        .addFlags(VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_RENDER_PASS_CONTINUE_BIT)
+        .setInheritanceInfo(
+          VulkanCommandBufferInheritanceInfo.builder()
+            .setRenderPass(render_pass)
+            .setFramebuffer(framebuffer)
+            .setSubpass(2)
+            .setOcclusionQueryEnable(true)
+            .addQueryFlags(VulkanQueryControlFlag.VK_QUERY_CONTROL_PRECISE_BIT)
+            .build())
+        .build();
+
+    final var packed =
+      VulkanLWJGLCommandBufferBeginInfos.pack(this.stack, info);
+    final var inheritance =
+      packed.pInheritanceInfo();
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK10.VK_STRUCTURE_TYPE_COMMAND_BUFFER_INHERITANCE_INFO,
+          inheritance.sType());
+      },
+      () -> {
+        Assertions.assertEquals(100L, inheritance.renderPass());
+      },
+      () -> {
+        Assertions.assertEquals(200L, inheritance.framebuffer());
+      },
+      () -> {
+        Assertions.assertEquals(2, inheritance.subpass());
+      },
+      () -> {
+        Assertions.assertTrue(inheritance.occlusionQueryEnable());
+      },
+      () -> {
+        Assertions.assertEquals(
+          VK10.VK_QUERY_CONTROL_PRECISE_BIT,
+          inheritance.queryFlags());
+      },
+      () -> {
+        Assertions.assertEquals(0, inheritance.pipelineStatistics());
       }
     );
   }
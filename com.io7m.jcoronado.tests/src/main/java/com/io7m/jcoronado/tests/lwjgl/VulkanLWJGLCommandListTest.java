@@ -0,0 +1,632 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanExtent2D;
+import com.io7m.jcoronado.api.VulkanFlagSet;
+import com.io7m.jcoronado.api.VulkanIndexType;
+import com.io7m.jcoronado.api.VulkanOffset2D;
+import com.io7m.jcoronado.api.VulkanPipelineBindPoint;
+import com.io7m.jcoronado.api.VulkanRectangle2D;
+import com.io7m.jcoronado.api.VulkanShaderStageFlag;
+import com.io7m.jcoronado.api.VulkanStencilFaceFlag;
+import com.io7m.jcoronado.api.VulkanViewport;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLCommandList;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLCommandListReceiverType;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLDescriptorSet;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLPipeline;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLPipelineLayout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VK10;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public final class VulkanLWJGLCommandListTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLCommandListTest.class);
+
+  private VulkanLWJGLCommandList list;
+  private Recorder recorder;
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.list = new VulkanLWJGLCommandList();
+    this.recorder = new Recorder();
+  }
+
+  @AfterEach
+  public void testTearDown()
+  {
+    this.list.close();
+  }
+
+  @Test
+  public void testEmpty()
+    throws Exception
+  {
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(0, this.list.commandCount());
+    Assertions.assertEquals(0L, this.list.sizeBytes());
+    Assertions.assertEquals(List.of(), this.recorder.commands);
+  }
+
+  @Test
+  public void testBindPipeline(
+    final @Mock VulkanLWJGLPipeline pipeline)
+    throws Exception
+  {
+    Mockito.when(pipeline.handle())
+      .thenReturn(0x1000L);
+
+    this.list.bindPipeline(
+      VulkanPipelineBindPoint.VK_PIPELINE_BIND_POINT_COMPUTE,
+      pipeline);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of(String.format(
+        "bindPipeline %d 4096",
+        Integer.valueOf(VK10.VK_PIPELINE_BIND_POINT_COMPUTE))),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testBindVertexBuffers(
+    final @Mock VulkanLWJGLBuffer buffer_0,
+    final @Mock VulkanLWJGLBuffer buffer_1)
+    throws Exception
+  {
+    Mockito.when(buffer_0.handle())
+      .thenReturn(10L);
+    Mockito.when(buffer_1.handle())
+      .thenReturn(11L);
+
+    this.list.bindVertexBuffers(
+      3,
+      2,
+      List.of(buffer_0, buffer_1),
+      new long[]{99L, 128L, 256L},
+      1);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of("bindVertexBuffers 3 2 [10, 11] [128, 256]"),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testBindVertexBuffersOutOfRange(
+    final @Mock VulkanLWJGLBuffer buffer_0)
+  {
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+      this.list.bindVertexBuffers(
+        0, 2, List.of(buffer_0), new long[]{0L, 0L}, 0);
+    });
+    Assertions.assertEquals(0, this.list.commandCount());
+  }
+
+  @Test
+  public void testBindIndexBuffer(
+    final @Mock VulkanLWJGLBuffer buffer)
+    throws Exception
+  {
+    Mockito.when(buffer.handle())
+      .thenReturn(20L);
+
+    this.list.bindIndexBuffer(
+      buffer, 64L, VulkanIndexType.VK_INDEX_TYPE_UINT32);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of(String.format(
+        "bindIndexBuffer 20 64 %d",
+        Integer.valueOf(VK10.VK_INDEX_TYPE_UINT32))),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testBindDescriptorSets(
+    final @Mock VulkanLWJGLPipelineLayout layout,
+    final @Mock VulkanLWJGLDescriptorSet set_0,
+    final @Mock VulkanLWJGLDescriptorSet set_1)
+    throws Exception
+  {
+    Mockito.when(layout.handle())
+      .thenReturn(30L);
+    Mockito.when(set_0.handle())
+      .thenReturn(31L);
+    Mockito.when(set_1.handle())
+      .thenReturn(32L);
+
+    this.list.bindDescriptorSets(
+      VulkanPipelineBindPoint.VK_PIPELINE_BIND_POINT_GRAPHICS,
+      layout,
+      1,
+      List.of(set_0, set_1),
+      new int[]{5, 6, 7},
+      1,
+      2);
+    this.list.bindDescriptorSets(
+      VulkanPipelineBindPoint.VK_PIPELINE_BIND_POINT_GRAPHICS,
+      layout,
+      0,
+      List.of(set_1),
+      new int[0],
+      0,
+      0);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of(
+        String.format(
+          "bindDescriptorSets %d 30 1 [31, 32] [6, 7]",
+          Integer.valueOf(VK10.VK_PIPELINE_BIND_POINT_GRAPHICS)),
+        String.format(
+          "bindDescriptorSets %d 30 0 [32] null",
+          Integer.valueOf(VK10.VK_PIPELINE_BIND_POINT_GRAPHICS))),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testSetViewportScissor()
+    throws Exception
+  {
+    this.list.setViewport(
+      1,
+      List.of(VulkanViewport.of(1.0f, 2.0f, 3.0f, 4.0f, 0.0f, 1.0f)));
+    this.list.setScissor(
+      2,
+      List.of(
+        VulkanRectangle2D.of(
+          VulkanOffset2D.of(5, 6),
+          VulkanExtent2D.of(7, 8))));
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of(
+        "setViewport 1 1 [1.0, 2.0, 3.0, 4.0, 0.0, 1.0]",
+        "setScissor 2 1 [5, 6, 7, 8]"),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testSimpleCommands(
+    final @Mock VulkanLWJGLBuffer buffer)
+    throws Exception
+  {
+    Mockito.when(buffer.handle())
+      .thenReturn(40L);
+
+    this.list.setStencilReference(
+      Set.of(VulkanStencilFaceFlag.VK_STENCIL_FACE_FRONT_BIT), 3);
+    this.list.draw(1, 2, 3, 4);
+    this.list.drawIndexed(1, 2, 3, 4, 5);
+    this.list.drawIndirect(buffer, 8L, 2, 16);
+    this.list.drawIndexedIndirect(buffer, 16L, 3, 20);
+    this.list.dispatch(7, 8, 9);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(6, this.list.commandCount());
+    Assertions.assertEquals(
+      List.of(
+        String.format(
+          "setStencilReference %d 3",
+          Integer.valueOf(VK10.VK_STENCIL_FACE_FRONT_BIT)),
+        "draw 1 2 3 4",
+        "drawIndexed 1 2 3 4 5",
+        "drawIndirect 40 8 2 16",
+        "drawIndexedIndirect 40 16 3 20",
+        "dispatch 7 8 9"),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testPushConstants(
+    final @Mock VulkanLWJGLPipelineLayout layout)
+    throws Exception
+  {
+    Mockito.when(layout.handle())
+      .thenReturn(50L);
+
+    final var values =
+      ByteBuffer.allocateDirect(16)
+        .order(ByteOrder.nativeOrder());
+    values.putInt(0, 1);
+    values.putInt(4, 2);
+    values.putInt(8, 3);
+    values.putInt(12, 4);
+    values.position(4);
+
+    this.list.pushConstants(
+      layout,
+      Set.of(VulkanShaderStageFlag.VK_SHADER_STAGE_VERTEX_BIT),
+      16,
+      values);
+
+    Assertions.assertEquals(4, values.position());
+    values.putInt(8, 99);
+
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(1, this.list.commandCount());
+    Assertions.assertEquals(
+      List.of(String.format(
+        "pushConstants 50 %d 16 12 [2, 3, 4]",
+        Integer.valueOf(VK10.VK_SHADER_STAGE_VERTEX_BIT))),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testPushConstantsInvalid(
+    final @Mock VulkanLWJGLPipelineLayout layout)
+  {
+    final var stages =
+      Set.of(VulkanShaderStageFlag.VK_SHADER_STAGE_VERTEX_BIT);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.list.pushConstants(layout, stages, 0, ByteBuffer.allocate(16));
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.list.pushConstants(layout, stages, 0, ByteBuffer.allocateDirect(6));
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.list.pushConstants(layout, stages, 2, ByteBuffer.allocateDirect(8));
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.list.pushConstants(layout, stages, 0, ByteBuffer.allocateDirect(0));
+    });
+    Assertions.assertEquals(0, this.list.commandCount());
+  }
+
+  @Test
+  public void testPushConstantsFlagSet(
+    final @Mock VulkanLWJGLPipelineLayout layout)
+    throws Exception
+  {
+    Mockito.when(layout.handle())
+      .thenReturn(50L);
+
+    final var values =
+      ByteBuffer.allocateDirect(8)
+        .order(ByteOrder.nativeOrder());
+    values.putInt(0, 5);
+    values.putInt(4, 6);
+
+    this.list.pushConstants(
+      layout,
+      VulkanFlagSet.of(
+        VulkanShaderStageFlag.VK_SHADER_STAGE_VERTEX_BIT,
+        VulkanShaderStageFlag.VK_SHADER_STAGE_FRAGMENT_BIT),
+      0,
+      values);
+
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(
+      List.of(String.format(
+        "pushConstants 50 %d 0 8 [5, 6]",
+        Integer.valueOf(
+          VK10.VK_SHADER_STAGE_VERTEX_BIT
+          | VK10.VK_SHADER_STAGE_FRAGMENT_BIT))),
+      this.recorder.commands);
+  }
+
+  @Test
+  public void testGrowthAndReplayRepeated()
+    throws Exception
+  {
+    final var count = 10_000;
+    for (var index = 0; index < count; ++index) {
+      this.list.draw(index, 1, 0, 0);
+    }
+
+    Assertions.assertEquals(count, this.list.commandCount());
+    Assertions.assertEquals(count * 24L, this.list.sizeBytes());
+
+    this.list.replay(this.recorder);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(count * 2, this.recorder.commands.size());
+    Assertions.assertEquals("draw 0 1 0 0", this.recorder.commands.get(0));
+    Assertions.assertEquals(
+      "draw 9999 1 0 0",
+      this.recorder.commands.get(count - 1));
+    Assertions.assertEquals(
+      "draw 9999 1 0 0",
+      this.recorder.commands.get((count * 2) - 1));
+  }
+
+  @Test
+  public void testReset()
+    throws Exception
+  {
+    this.list.draw(1, 1, 1, 1);
+    this.list.reset();
+    this.list.dispatch(1, 2, 3);
+    this.list.replay(this.recorder);
+
+    Assertions.assertEquals(1, this.list.commandCount());
+    Assertions.assertEquals(List.of("dispatch 1 2 3"), this.recorder.commands);
+  }
+
+  @Test
+  public void testClosed()
+  {
+    this.list.close();
+    this.list.close();
+
+    Assertions.assertTrue(this.list.isClosed());
+    Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+      this.list.draw(1, 1, 1, 1);
+    });
+    Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+      this.list.replay(this.recorder);
+    });
+  }
+
+  private static List<Long> longs(
+    final long address,
+    final int count)
+  {
+    final var results = new ArrayList<Long>(count);
+    for (var index = 0; index < count; ++index) {
+      results.add(
+        Long.valueOf(MemoryUtil.memGetLong(address + (index * 8L))));
+    }
+    return results;
+  }
+
+  private static List<Integer> ints(
+    final long address,
+    final int count)
+  {
+    final var results = new ArrayList<Integer>(count);
+    for (var index = 0; index < count; ++index) {
+      results.add(
+        Integer.valueOf(MemoryUtil.memGetInt(address + (index * 4L))));
+    }
+    return results;
+  }
+
+  private static final class Recorder
+    implements VulkanLWJGLCommandListReceiverType
+  {
+    private final List<String> commands = new ArrayList<>();
+
+    Recorder()
+    {
+
+    }
+
+    @Override
+    public void bindPipeline(
+      final int bind_point,
+      final long pipeline)
+    {
+      this.commands.add(
+        String.format("bindPipeline %d %d",
+                      Integer.valueOf(bind_point),
+                      Long.valueOf(pipeline)));
+    }
+
+    @Override
+    public void bindVertexBuffers(
+      final int first_binding,
+      final int binding_count,
+      final long buffers_address,
+      final long offsets_address)
+    {
+      this.commands.add(
+        String.format("bindVertexBuffers %d %d %s %s",
+                      Integer.valueOf(first_binding),
+                      Integer.valueOf(binding_count),
+                      longs(buffers_address, binding_count),
+                      longs(offsets_address, binding_count)));
+    }
+
+    @Override
+    public void bindIndexBuffer(
+      final long buffer,
+      final long offset,
+      final int index_type)
+    {
+      this.commands.add(
+        String.format("bindIndexBuffer %d %d %d",
+                      Long.valueOf(buffer),
+                      Long.valueOf(offset),
+                      Integer.valueOf(index_type)));
+    }
+
+    @Override
+    public void bindDescriptorSets(
+      final int bind_point,
+      final long layout,
+      final int first_set,
+      final int set_count,
+      final long sets_address,
+      final int dynamic_offsets_count,
+      final long dynamic_offsets_address)
+    {
+      this.commands.add(
+        String.format(
+          "bindDescriptorSets %d %d %d %s %s",
+          Integer.valueOf(bind_point),
+          Long.valueOf(layout),
+          Integer.valueOf(first_set),
+          longs(sets_address, set_count),
+          dynamic_offsets_address == MemoryUtil.NULL
+            ? "null"
+            : ints(dynamic_offsets_address, dynamic_offsets_count)));
+    }
+
+    @Override
+    public void setViewport(
+      final int first_viewport,
+      final int viewport_count,
+      final long viewports_address)
+    {
+      final var values = new ArrayList<Float>();
+      for (var index = 0; index < viewport_count * 6; ++index) {
+        values.add(Float.valueOf(
+          MemoryUtil.memGetFloat(viewports_address + (index * 4L))));
+      }
+      this.commands.add(
+        String.format("setViewport %d %d %s",
+                      Integer.valueOf(first_viewport),
+                      Integer.valueOf(viewport_count),
+                      values));
+    }
+
+    @Override
+    public void setScissor(
+      final int first_scissor,
+      final int scissor_count,
+      final long rectangles_address)
+    {
+      this.commands.add(
+        String.format("setScissor %d %d %s",
+                      Integer.valueOf(first_scissor),
+                      Integer.valueOf(scissor_count),
+                      ints(rectangles_address, scissor_count * 4)));
+    }
+
+    @Override
+    public void pushConstants(
+      final long layout,
+      final int stage_flags,
+      final int offset,
+      final int size,
+      final long values_address)
+    {
+      this.commands.add(
+        String.format("pushConstants %d %d %d %d %s",
+                      Long.valueOf(layout),
+                      Integer.valueOf(stage_flags),
+                      Integer.valueOf(offset),
+                      Integer.valueOf(size),
+                      ints(values_address, size / 4)));
+    }
+
+    @Override
+    public void setStencilReference(
+      final int face_mask,
+      final int reference)
+    {
+      this.commands.add(
+        String.format("setStencilReference %d %d",
+                      Integer.valueOf(face_mask),
+                      Integer.valueOf(reference)));
+    }
+
+    @Override
+    public void draw(
+      final int vertex_count,
+      final int instance_count,
+      final int first_vertex,
+      final int first_instance)
+    {
+      this.commands.add(
+        String.format("draw %d %d %d %d",
+                      Integer.valueOf(vertex_count),
+                      Integer.valueOf(instance_count),
+                      Integer.valueOf(first_vertex),
+                      Integer.valueOf(first_instance)));
+    }
+
+    @Override
+    public void drawIndexed(
+      final int vertex_count,
+      final int instance_count,
+      final int first_vertex,
+      final int vertex_offset,
+      final int first_instance)
+    {
+      this.commands.add(
+        String.format("drawIndexed %d %d %d %d %d",
+                      Integer.valueOf(vertex_count),
+                      Integer.valueOf(instance_count),
+                      Integer.valueOf(first_vertex),
+                      Integer.valueOf(vertex_offset),
+                      Integer.valueOf(first_instance)));
+    }
+
+    @Override
+    public void drawIndirect(
+      final long buffer,
+      final long offset,
+      final int draw_count,
+      final int stride)
+    {
+      this.commands.add(
+        String.format("drawIndirect %d %d %d %d",
+                      Long.valueOf(buffer),
+                      Long.valueOf(offset),
+                      Integer.valueOf(draw_count),
+                      Integer.valueOf(stride)));
+    }
+
+    @Override
+    public void drawIndexedIndirect(
+      final long buffer,
+      final long offset,
+      final int draw_count,
+      final int stride)
+    {
+      this.commands.add(
+        String.format("drawIndexedIndirect %d %d %d %d",
+                      Long.valueOf(buffer),
+                      Long.valueOf(offset),
+                      Integer.valueOf(draw_count),
+                      Integer.valueOf(stride)));
+    }
+
+    @Override
+    public void dispatch(
+      final int group_count_x,
+      final int group_count_y,
+      final int group_count_z)
+    {
+      this.commands.add(
+        String.format("dispatch %d %d %d",
+                      Integer.valueOf(group_count_x),
+                      Integer.valueOf(group_count_y),
+                      Integer.valueOf(group_count_z)));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDescriptorBufferInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateCreateInfo;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateDataType;
+import com.io7m.jcoronado.api.VulkanDescriptorUpdateTemplateEntry;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanIncompatibleClassException;
+import com.io7m.jcoronado.api.VulkanSamplerType;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBuffer;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLBufferView;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLDescriptorSetLayout;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLDescriptorUpdateTemplateCreateInfos;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLDescriptorUpdateTemplateData;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLImageView;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSampler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VK11;
+import org.lwjgl.vulkan.VkDescriptorBufferInfo;
+import org.lwjgl.vulkan.VkDescriptorImageInfo;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+import static com.io7m.jcoronado.api.VulkanDescriptorType.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+
+@ExtendWith(MockitoExtension.class)
+public final class VulkanLWJGLDescriptorUpdateTemplatesTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLDescriptorUpdateTemplatesTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testCreateInfo(
+    final @Mock VulkanLWJGLDescriptorSetLayout layout)
+    throws Exception
+  {
+    Mockito.when(layout.handle())
+      .thenReturn(23L);
+
+    final var info =
+      VulkanDescriptorUpdateTemplateCreateInfo.builder()
+        .setDescriptorSetLayout(layout)
+        .addDescriptorUpdateEntries(VulkanDescriptorUpdateTemplateEntry.of(
+          0, 0, 1, VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER, 0L, 24L))
+        .addDescriptorUpdateEntries(VulkanDescriptorUpdateTemplateEntry.of(
+          2, 1, 3, VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 24L, 32L))
+        .build();
+
+    final var packed =
+      VulkanLWJGLDescriptorUpdateTemplateCreateInfos.pack(this.stack, info);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK11.VK_STRUCTURE_TYPE_DESCRIPTOR_UPDATE_TEMPLATE_CREATE_INFO,
+          packed.sType());
+      },
+      () -> {
+        Assertions.assertEquals(
+          VK11.VK_DESCRIPTOR_UPDATE_TEMPLATE_TYPE_DESCRIPTOR_SET,
+          packed.templateType());
+      },
+      () -> {
+        Assertions.assertEquals(23L, packed.descriptorSetLayout());
+      },
+      () -> {
+        Assertions.assertEquals(2, packed.descriptorUpdateEntryCount());
+      },
+      () -> {
+        final var entry = packed.pDescriptorUpdateEntries().get(1);
+        Assertions.assertEquals(2, entry.dstBinding());
+        Assertions.assertEquals(1, entry.dstArrayElement());
+        Assertions.assertEquals(3, entry.descriptorCount());
+        Assertions.assertEquals(
+          VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER.value(),
+          entry.descriptorType());
+        Assertions.assertEquals(24L, entry.offset());
+        Assertions.assertEquals(32L, entry.stride());
+      }
+    );
+  }
+
+  @Test
+  public void testDataSizes()
+  {
+    Assertions.assertEquals(
+      VkDescriptorBufferInfo.SIZEOF,
+      VulkanDescriptorUpdateTemplateDataType.BUFFER_INFO_SIZE);
+    Assertions.assertEquals(
+      VkDescriptorImageInfo.SIZEOF,
+      VulkanDescriptorUpdateTemplateDataType.IMAGE_INFO_SIZE);
+    Assertions.assertEquals(
+      8L,
+      VulkanDescriptorUpdateTemplateDataType.BUFFER_VIEW_SIZE);
+  }
+
+  @Test
+  public void testData(
+    final @Mock VulkanLWJGLBuffer buffer,
+    final @Mock VulkanLWJGLSampler sampler,
+    final @Mock VulkanLWJGLImageView view,
+    final @Mock VulkanLWJGLBufferView buffer_view)
+    throws Exception
+  {
+    Mockito.when(buffer.handle())
+      .thenReturn(100L);
+    Mockito.when(sampler.handle())
+      .thenReturn(200L);
+    Mockito.when(view.handle())
+      .thenReturn(300L);
+    Mockito.when(buffer_view.handle())
+      .thenReturn(400L);
+
+    try (var data = new VulkanLWJGLDescriptorUpdateTemplateData(56L)) {
+      data.putBufferInfo(0L, VulkanDescriptorBufferInfo.of(buffer, 16L, 256L));
+      data.putImageInfo(
+        24L, sampler, view, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL);
+      data.putBufferView(48L, buffer_view);
+
+      final var buffer_info =
+        VkDescriptorBufferInfo.create(data.address());
+      Assertions.assertEquals(100L, buffer_info.buffer());
+      Assertions.assertEquals(16L, buffer_info.offset());
+      Assertions.assertEquals(256L, buffer_info.range());
+
+      final var image_info =
+        VkDescriptorImageInfo.create(data.address() + 24L);
+      Assertions.assertEquals(200L, image_info.sampler());
+      Assertions.assertEquals(300L, image_info.imageView());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL.value(),
+        image_info.imageLayout());
+
+      Assertions.assertEquals(
+        400L,
+        MemoryUtil.memGetLong(data.address() + 48L));
+
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> data.putBufferView(49L, buffer_view));
+      Assertions.assertThrows(
+        VulkanIncompatibleClassException.class,
+        () -> data.putImageInfo(
+          24L,
+          Mockito.mock(VulkanSamplerType.class),
+          view,
+          VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL));
+    }
+  }
+
+  @Test
+  public void testDataClosed()
+  {
+    final var data = new VulkanLWJGLDescriptorUpdateTemplateData(8L);
+    data.close();
+    data.close();
+
+    Assertions.assertThrows(VulkanDestroyedException.class, data::address);
+  }
+}
@@ -80,7 +80,8 @@ public final class VulkanLWJGLEqualsTest
   {
     EqualsVerifier.forClass(VulkanLWJGLCommandBuffer.class)
       .withIgnoredFields(
-        "stack_initial",
+        "list_executor",
+        "validation",
         "ownership",
         "closed",
         "host_allocator_proxy")
@@ -296,6 +297,8 @@ public final class VulkanLWJGLEqualsTest
       .withIgnoredFields(
         "ownership",
         "device",
+        "properties",
+        "property_flags",
         "closed",
         "host_allocator_proxy")
       .withNonnullFields("handle")
@@ -322,6 +325,7 @@ public final class VulkanLWJGLEqualsTest
       .withIgnoredFields(
         "ownership",
         "device",
+        "results_per_query",
         "closed",
         "host_allocator_proxy")
       .withNonnullFields("handle")
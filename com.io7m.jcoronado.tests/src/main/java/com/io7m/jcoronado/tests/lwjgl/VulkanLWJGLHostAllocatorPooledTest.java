@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanSystemAllocationScope;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLHostAllocatorPooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_COMMAND;
+import static com.io7m.jcoronado.api.VulkanSystemAllocationScope.VK_SYSTEM_ALLOCATION_SCOPE_OBJECT;
+import static org.lwjgl.system.MemoryUtil.memGetByte;
+import static org.lwjgl.system.MemoryUtil.memSet;
+
+public final class VulkanLWJGLHostAllocatorPooledTest
+{
+  private VulkanLWJGLHostAllocatorPooled allocator;
+
+  @BeforeEach
+  public void testSetup()
+  {
+    this.allocator = new VulkanLWJGLHostAllocatorPooled();
+  }
+
+  @AfterEach
+  public void testTearDown()
+  {
+    this.allocator.close();
+  }
+
+  @Test
+  public void testAllocateSizesAndAlignments()
+  {
+    for (final var scope : VulkanSystemAllocationScope.values()) {
+      this.checkSizesAndAlignments(scope);
+    }
+  }
+
+  private void checkSizesAndAlignments(
+    final VulkanSystemAllocationScope scope)
+  {
+    final var addresses = new ArrayList<Long>();
+    final long[] sizes = {1L, 15L, 16L, 17L, 100L, 1000L, 4080L, 4081L, 100_000L};
+    final long[] alignments = {1L, 4L, 8L, 16L, 64L, 256L};
+
+    for (final var size : sizes) {
+      for (final var alignment : alignments) {
+        final var address = this.allocator.allocate(size, alignment, scope);
+        Assertions.assertNotEquals(0L, address);
+        Assertions.assertEquals(
+          0L,
+          address % alignment,
+          String.format("Alignment %d of size %d", alignment, size));
+
+        memSet(address, 0x7f, size);
+        addresses.add(Long.valueOf(address));
+      }
+    }
+
+    Assertions.assertEquals(
+      addresses.size(),
+      new HashSet<>(addresses).size(),
+      "Addresses are unique");
+
+    for (final var address : addresses) {
+      this.allocator.deallocate(address.longValue());
+    }
+  }
+
+  @Test
+  public void testCommandScopeReusesFreedBlock()
+  {
+    final var a0 =
+      this.allocator.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    this.allocator.deallocate(a0);
+    final var a1 =
+      this.allocator.allocate(90L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    Assertions.assertEquals(a0, a1);
+    this.allocator.deallocate(a1);
+  }
+
+  @Test
+  public void testObjectScopeReusesFreedBlock()
+  {
+    final var a0 =
+      this.allocator.allocate(300L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    this.allocator.deallocate(a0);
+    final var a1 =
+      this.allocator.allocate(300L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    Assertions.assertEquals(a0, a1);
+    this.allocator.deallocate(a1);
+  }
+
+  @Test
+  public void testReallocatePreservesContents()
+  {
+    final var a0 =
+      this.allocator.allocate(20L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    memSet(a0, 0x23, 20L);
+
+    final var a1 =
+      this.allocator.reallocate(a0, 24L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    Assertions.assertEquals(a0, a1, "Small growth stays in place");
+
+    final var a2 =
+      this.allocator.reallocate(a1, 10_000L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    for (var index = 0L; index < 20L; ++index) {
+      Assertions.assertEquals(0x23, memGetByte(a2 + index));
+    }
+
+    memSet(a2, 0x42, 10_000L);
+    final var a3 =
+      this.allocator.reallocate(a2, 64L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    for (var index = 0L; index < 64L; ++index) {
+      Assertions.assertEquals(0x42, memGetByte(a3 + index));
+    }
+
+    Assertions.assertEquals(
+      0L,
+      this.allocator.reallocate(a3, 0L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT));
+  }
+
+  @Test
+  public void testReallocateNull()
+  {
+    final var a0 =
+      this.allocator.reallocate(0L, 32L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    Assertions.assertNotEquals(0L, a0);
+    this.allocator.deallocate(a0);
+    this.allocator.deallocate(0L);
+  }
+
+  @Test
+  public void testTerminatedThreadCacheReclaimed()
+    throws Exception
+  {
+    final var slab_blocks = 16;
+
+    final var first = new Thread(() -> {
+      final var addresses = new long[slab_blocks];
+      for (var index = 0; index < slab_blocks; ++index) {
+        addresses[index] =
+          this.allocator.allocate(4000L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+      }
+      for (final var address : addresses) {
+        this.allocator.deallocate(address);
+      }
+    });
+    first.start();
+    first.join();
+    Assertions.assertEquals(1L, this.allocator.slabCount());
+
+    final var second = new Thread(() -> {
+      final var addresses = new long[slab_blocks];
+      for (var index = 0; index < slab_blocks; ++index) {
+        addresses[index] =
+          this.allocator.allocate(4000L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+      }
+      for (final var address : addresses) {
+        this.allocator.deallocate(address);
+      }
+    });
+    second.start();
+    second.join();
+    Assertions.assertEquals(1L, this.allocator.slabCount());
+  }
+
+  @Test
+  public void testCloseReleasesSlabs()
+  {
+    final var a0 =
+      this.allocator.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_COMMAND);
+    final var a1 =
+      this.allocator.allocate(100L, 8L, VK_SYSTEM_ALLOCATION_SCOPE_OBJECT);
+    this.allocator.deallocate(a0);
+    this.allocator.deallocate(a1);
+    Assertions.assertEquals(2L, this.allocator.slabCount());
+
+    this.allocator.close();
+    Assertions.assertEquals(0L, this.allocator.slabCount());
+    this.allocator.close();
+  }
+
+  @Test
+  public void testConcurrentCrossThreadFrees()
+    throws Exception
+  {
+    final var threads = 4;
+    final var executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      final var allocated = new ArrayList<Future<long[]>>();
+      for (var thread = 0; thread < threads; ++thread) {
+        allocated.add(executor.submit(() -> {
+          final var addresses = new long[1000];
+          for (var index = 0; index < addresses.length; ++index) {
+            final var scope =
+              (index % 2 == 0)
+                ? VK_SYSTEM_ALLOCATION_SCOPE_COMMAND
+                : VK_SYSTEM_ALLOCATION_SCOPE_OBJECT;
+            addresses[index] =
+              this.allocator.allocate(16L + (index % 500), 8L, scope);
+            memSet(addresses[index], index, 16L);
+          }
+          return addresses;
+        }));
+      }
+
+      final var all = new HashSet<Long>();
+      final var results = new ArrayList<long[]>();
+      for (final var future : allocated) {
+        final var addresses = future.get(30L, TimeUnit.SECONDS);
+        for (final var address : addresses) {
+          Assertions.assertTrue(all.add(Long.valueOf(address)));
+        }
+        results.add(addresses);
+      }
+
+      /*
+       * Free each thread's allocations on a different thread.
+       */
+
+      final var freed = new ArrayList<Future<?>>();
+      for (var thread = 0; thread < threads; ++thread) {
+        final var addresses = results.get((thread + 1) % threads);
+        freed.add(executor.submit(() -> {
+          for (final var address : addresses) {
+            this.allocator.deallocate(address);
+          }
+          return null;
+        }));
+      }
+      for (final var future : freed) {
+        future.get(30L, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLInlineData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+public final class VulkanLWJGLInlineDataTest
+{
+  @Test
+  public void testAddress()
+  {
+    final var data = ByteBuffer.allocateDirect(16);
+    data.position(8);
+
+    Assertions.assertEquals(
+      MemoryUtil.memAddress0(data) + 8L,
+      VulkanLWJGLInlineData.address(data));
+    Assertions.assertEquals(8, data.position());
+  }
+
+  @Test
+  public void testAddressNotDirect()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.address(ByteBuffer.allocate(16));
+    });
+  }
+
+  @Test
+  public void testPushConstants()
+  {
+    VulkanLWJGLInlineData.checkPushConstants(0, 4);
+    VulkanLWJGLInlineData.checkPushConstants(128, 128);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkPushConstants(-4, 4);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkPushConstants(1, 4);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkPushConstants(0, 0);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkPushConstants(0, 3);
+    });
+  }
+
+  @Test
+  public void testUpdateBuffer()
+  {
+    VulkanLWJGLInlineData.checkUpdateBuffer(0L, 4);
+    VulkanLWJGLInlineData.checkUpdateBuffer(
+      0x1_0000_0000L,
+      VulkanLWJGLInlineData.UPDATE_BUFFER_SIZE_MAXIMUM);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkUpdateBuffer(2L, 4);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkUpdateBuffer(0L, 6);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLInlineData.checkUpdateBuffer(
+        0L,
+        VulkanLWJGLInlineData.UPDATE_BUFFER_SIZE_MAXIMUM + 4);
+    });
+  }
+}
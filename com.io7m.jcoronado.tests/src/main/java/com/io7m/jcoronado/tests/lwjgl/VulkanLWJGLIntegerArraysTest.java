@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLIntegerArrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public final class VulkanLWJGLIntegerArraysTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLIntegerArraysTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testPackLongsRawArray()
+  {
+    final var values = new long[]{1L, 2L, 3L, 4L, 5L};
+    final var address =
+      VulkanLWJGLIntegerArrays.packLongsRaw(this.stack, values, 1, 3);
+
+    Assertions.assertEquals(2L, MemoryUtil.memGetLong(address));
+    Assertions.assertEquals(3L, MemoryUtil.memGetLong(address + 8L));
+    Assertions.assertEquals(4L, MemoryUtil.memGetLong(address + 16L));
+  }
+
+  @Test
+  public void testPackLongsRawArrayOutOfRange()
+  {
+    final var values = new long[]{1L, 2L, 3L};
+
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+      VulkanLWJGLIntegerArrays.packLongsRaw(this.stack, values, 1, 3);
+    });
+  }
+
+  @Test
+  public void testPackLongsRawList()
+    throws Exception
+  {
+    final var values = List.of("a", "bb", "ccc");
+    final var address =
+      VulkanLWJGLIntegerArrays.packLongsRaw(
+        this.stack, values, 2, x -> (long) x.length());
+
+    Assertions.assertEquals(1L, MemoryUtil.memGetLong(address));
+    Assertions.assertEquals(2L, MemoryUtil.memGetLong(address + 8L));
+  }
+
+  @Test
+  public void testPackLongsRawListOutOfRange()
+  {
+    final var values = List.of("a");
+
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+      VulkanLWJGLIntegerArrays.packLongsRaw(
+        this.stack, values, 2, x -> (long) x.length());
+    });
+  }
+
+  @Test
+  public void testPackIntsRawOrNull()
+  {
+    final var values = new int[]{10, 20, 30, 40};
+    final var address =
+      VulkanLWJGLIntegerArrays.packIntsRawOrNull(this.stack, values, 2, 2);
+
+    Assertions.assertEquals(30, MemoryUtil.memGetInt(address));
+    Assertions.assertEquals(40, MemoryUtil.memGetInt(address + 4L));
+  }
+
+  @Test
+  public void testPackIntsRawOrNullEmpty()
+  {
+    final var values = new int[]{10, 20, 30, 40};
+    final var address =
+      VulkanLWJGLIntegerArrays.packIntsRawOrNull(this.stack, values, 4, 0);
+
+    Assertions.assertEquals(MemoryUtil.NULL, address);
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRange;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLMappedMemoryRanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.vulkan.VK10;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class VulkanLWJGLMappedMemoryRangesTest
+{
+  private VulkanDeviceMemoryType memory;
+
+  @BeforeEach
+  public void setup()
+  {
+    this.memory = Mockito.mock(VulkanDeviceMemoryType.class);
+  }
+
+  /**
+   * Regions are widened to multiples of the atom size.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignWidens()
+    throws Exception
+  {
+    final var ranges =
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        0L,
+        1024L,
+        64L,
+        List.of(
+          new VulkanMappedMemoryRegion(10L, 20L),
+          new VulkanMappedMemoryRegion(64L, 64L),
+          new VulkanMappedMemoryRegion(100L, 100L)
+        ));
+
+    assertEquals(
+      List.of(
+        VulkanMappedMemoryRange.of(this.memory, 0L, 64L),
+        VulkanMappedMemoryRange.of(this.memory, 64L, 64L),
+        VulkanMappedMemoryRange.of(this.memory, 64L, 192L)
+      ),
+      ranges);
+  }
+
+  /**
+   * Offsets are relative to the mapping, and ranges never begin before it.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignMappingOffset()
+    throws Exception
+  {
+    final var ranges =
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        256L,
+        1024L,
+        256L,
+        List.of(new VulkanMappedMemoryRegion(0L, 1L)));
+
+    assertEquals(
+      List.of(VulkanMappedMemoryRange.of(this.memory, 256L, 256L)),
+      ranges);
+  }
+
+  /**
+   * Regions of a view that begins at an unaligned offset within an aligned
+   * mapping produce aligned ranges that never begin before the mapping.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignUnalignedView()
+    throws Exception
+  {
+    final var ranges =
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        256L,
+        10L,
+        1024L,
+        256L,
+        List.of(
+          new VulkanMappedMemoryRegion(0L, 1L),
+          new VulkanMappedMemoryRegion(250L, 10L),
+          new VulkanMappedMemoryRegion(1000L, 24L)
+        ));
+
+    assertEquals(
+      List.of(
+        VulkanMappedMemoryRange.of(this.memory, 256L, 256L),
+        VulkanMappedMemoryRange.of(this.memory, 512L, 256L),
+        VulkanMappedMemoryRange.of(this.memory, 1024L, VK10.VK_WHOLE_SIZE)
+      ),
+      ranges);
+  }
+
+  /**
+   * Mappings that do not begin on an atom boundary are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignUnalignedMappingOffset()
+    throws Exception
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        10L,
+        1024L,
+        256L,
+        List.of(new VulkanMappedMemoryRegion(0L, 1L)));
+    });
+  }
+
+  /**
+   * Ranges reaching the end of the mapping use VK_WHOLE_SIZE, and empty
+   * regions are dropped.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignEndOfMapping()
+    throws Exception
+  {
+    final var ranges =
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        0L,
+        1000L,
+        64L,
+        List.of(
+          new VulkanMappedMemoryRegion(900L, 90L),
+          new VulkanMappedMemoryRegion(500L, 0L)
+        ));
+
+    assertEquals(
+      List.of(VulkanMappedMemoryRange.of(this.memory, 896L, VK10.VK_WHOLE_SIZE)),
+      ranges);
+  }
+
+  /**
+   * Regions outside the mapping are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAlignOutOfBounds()
+    throws Exception
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      VulkanLWJGLMappedMemoryRanges.alignRegions(
+        this.memory,
+        0L,
+        128L,
+        64L,
+        List.of(new VulkanMappedMemoryRegion(100L, 29L)));
+    });
+  }
+
+  /**
+   * Negative regions are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRegionNegative()
+    throws Exception
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanMappedMemoryRegion(-1L, 1L);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanMappedMemoryRegion(1L, -1L);
+    });
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLPackingArenas;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLPackingArenas.ARENA_SIZE_INITIAL;
+import static com.io7m.jcoronado.lwjgl.VulkanLWJGLPackingArenas.ARENA_SIZE_MAXIMUM;
+
+public final class VulkanLWJGLPackingArenasTest
+{
+  private static <T> T onNewThread(
+    final Callable<T> task)
+    throws Exception
+  {
+    final var executor = Executors.newSingleThreadExecutor();
+    try {
+      return executor.submit(task).get();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameArenaPerThread()
+    throws Exception
+  {
+    final var same = onNewThread(() -> {
+      final MemoryStack outer;
+      final MemoryStack inner;
+      try (var stack_0 = VulkanLWJGLPackingArenas.push()) {
+        outer = stack_0;
+        try (var stack_1 = VulkanLWJGLPackingArenas.push()) {
+          inner = stack_1;
+          Assertions.assertEquals(2, stack_1.getFrameIndex());
+        }
+      }
+      try (var stack_2 = VulkanLWJGLPackingArenas.push()) {
+        return Boolean.valueOf(outer == inner && inner == stack_2);
+      }
+    });
+
+    Assertions.assertTrue(same.booleanValue());
+  }
+
+  @Test
+  public void testDistinctArenasPerThread()
+    throws Exception
+  {
+    final var address_0 =
+      onNewThread(() -> {
+        try (var stack = VulkanLWJGLPackingArenas.push()) {
+          return Long.valueOf(stack.getAddress());
+        }
+      });
+    final var address_1 =
+      onNewThread(() -> {
+        try (var stack = VulkanLWJGLPackingArenas.push()) {
+          return Long.valueOf(stack.getAddress());
+        }
+      });
+
+    Assertions.assertNotEquals(address_0, address_1);
+  }
+
+  @Test
+  public void testHighWater()
+    throws Exception
+  {
+    onNewThread(() -> {
+      try (var stack = VulkanLWJGLPackingArenas.push()) {
+        Assertions.assertEquals(ARENA_SIZE_INITIAL, stack.getSize());
+        stack.malloc(1000);
+      }
+      return null;
+    });
+
+    final var statistics = VulkanLWJGLPackingArenas.statistics();
+    Assertions.assertTrue(statistics.highWaterBytes() >= 1000L);
+    Assertions.assertTrue(statistics.capacityBytes() >= ARENA_SIZE_INITIAL);
+  }
+
+  @Test
+  public void testOverflowAndGrowth()
+    throws Exception
+  {
+    final var before = VulkanLWJGLPackingArenas.statistics();
+    final var size = ARENA_SIZE_INITIAL + 4096;
+
+    final var new_size = onNewThread(() -> {
+      try (var outer = VulkanLWJGLPackingArenas.push()) {
+        final var small = outer.malloc(64);
+        try (var inner = VulkanLWJGLPackingArenas.push()) {
+          final var large = inner.malloc(8, size);
+          MemoryUtil.memSet(large, 0x7f);
+          Assertions.assertEquals(size, large.capacity());
+          Assertions.assertEquals(0x7f, large.get(size - 1));
+        }
+        small.put(0, (byte) 1);
+      }
+
+      try (var stack = VulkanLWJGLPackingArenas.push()) {
+        final var large = stack.malloc(8, size);
+        Assertions.assertEquals(
+          MemoryUtil.memAddress(large),
+          stack.getPointerAddress());
+        return Integer.valueOf(stack.getSize());
+      }
+    });
+
+    final var after = VulkanLWJGLPackingArenas.statistics();
+    Assertions.assertTrue(new_size.intValue() >= size);
+    Assertions.assertEquals(1, Integer.bitCount(new_size.intValue()));
+    Assertions.assertTrue(after.overflows() >= before.overflows() + 1L);
+    Assertions.assertTrue(after.overflowBytes() >= before.overflowBytes() + size);
+    Assertions.assertTrue(after.growths() >= before.growths() + 1L);
+  }
+
+  @Test
+  public void testMaximum()
+    throws Exception
+  {
+    final var size = ARENA_SIZE_MAXIMUM + 1;
+
+    final var sizes = onNewThread(() -> {
+      final var results = new int[3];
+      for (var index = 0; index < results.length; ++index) {
+        try (var stack = VulkanLWJGLPackingArenas.push()) {
+          results[index] = stack.getSize();
+          final var large = stack.malloc(size);
+          MemoryUtil.memSet(large, 0);
+        }
+      }
+      return results;
+    });
+
+    Assertions.assertEquals(ARENA_SIZE_INITIAL, sizes[0]);
+    Assertions.assertEquals(ARENA_SIZE_MAXIMUM, sizes[1]);
+    Assertions.assertEquals(ARENA_SIZE_MAXIMUM, sizes[2]);
+  }
+}
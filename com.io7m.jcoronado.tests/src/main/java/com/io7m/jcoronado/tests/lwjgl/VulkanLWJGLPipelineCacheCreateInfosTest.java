@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLPipelineCacheCreateInfos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.vulkan.VK10;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+public final class VulkanLWJGLPipelineCacheCreateInfosTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLPipelineCacheCreateInfosTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testInitialData()
+  {
+    final var data = ByteBuffer.allocateDirect(48);
+    final var info = VulkanPipelineCacheCreateInfo.of(Set.of(), data);
+
+    final var packed =
+      VulkanLWJGLPipelineCacheCreateInfos.pack(this.stack, info);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK10.VK_STRUCTURE_TYPE_PIPELINE_CACHE_CREATE_INFO,
+          packed.sType());
+      },
+      () -> {
+        Assertions.assertEquals(0L, packed.pNext());
+      },
+      () -> {
+        Assertions.assertEquals(48L, packed.initialDataSize());
+      },
+      () -> {
+        Assertions.assertEquals(
+          MemoryUtil.memAddress(data),
+          MemoryUtil.memAddress(packed.pInitialData()));
+      }
+    );
+  }
+
+  @Test
+  public void testNoInitialData()
+  {
+    final var info =
+      VulkanPipelineCacheCreateInfo.of(Set.of(), ByteBuffer.allocateDirect(0));
+
+    final var packed =
+      VulkanLWJGLPipelineCacheCreateInfos.pack(this.stack, info);
+
+    Assertions.assertEquals(0L, packed.initialDataSize());
+    Assertions.assertNull(packed.pInitialData());
+  }
+}
@@ -18,12 +18,15 @@ package com.io7m.jcoronado.tests.lwjgl;
 
 import com.io7m.jcoronado.api.VulkanSemaphoreCreateFlag;
 import com.io7m.jcoronado.api.VulkanSemaphoreCreateInfo;
+import com.io7m.jcoronado.api.VulkanSemaphoreKind;
 import com.io7m.jcoronado.lwjgl.VulkanLWJGLSemaphoreCreateInfos;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VK12;
+import org.lwjgl.vulkan.VkSemaphoreTypeCreateInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,4 +78,38 @@ public final class VulkanLWJGLSemaphoreCreateInfosTest
       }
     );
   }
+
+  @Test
+  public void testSemaphoreCreateInfoTimeline()
+  {
+    final var info =
+      VulkanSemaphoreCreateInfo.builder()
+        .setSemaphoreKind(VulkanSemaphoreKind.VK_SEMAPHORE_TYPE_TIMELINE)
+        .setInitialValue(23L)
+        .build();
+
+    final var packed =
+      VulkanLWJGLSemaphoreCreateInfos.pack(this.stack, info);
+    final var type_info =
+      VkSemaphoreTypeCreateInfo.create(packed.pNext());
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK12.VK_STRUCTURE_TYPE_SEMAPHORE_TYPE_CREATE_INFO,
+          type_info.sType());
+      },
+      () -> {
+        Assertions.assertEquals(
+          VK12.VK_SEMAPHORE_TYPE_TIMELINE,
+          type_info.semaphoreType());
+      },
+      () -> {
+        Assertions.assertEquals(23L, type_info.initialValue());
+      },
+      () -> {
+        Assertions.assertEquals(0L, type_info.pNext());
+      }
+    );
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanSemaphoreWaitFlag;
+import com.io7m.jcoronado.api.VulkanSemaphoreWaitInfo;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSemaphore;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSemaphoreWaitInfos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VK12;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public final class VulkanLWJGLSemaphoreWaitInfosTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLSemaphoreWaitInfosTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testWaitInfo(
+    final @Mock VulkanLWJGLSemaphore semaphore_0,
+    final @Mock VulkanLWJGLSemaphore semaphore_1)
+    throws Exception
+  {
+    Mockito.when(semaphore_0.handle())
+      .thenReturn(100L);
+    Mockito.when(semaphore_1.handle())
+      .thenReturn(200L);
+
+    final var info =
+      VulkanSemaphoreWaitInfo.of(
+        Set.of(VulkanSemaphoreWaitFlag.VK_SEMAPHORE_WAIT_ANY_BIT),
+        List.of(semaphore_0, semaphore_1),
+        List.of(Long.valueOf(1L), Long.valueOf(2L)));
+
+    final var packed =
+      VulkanLWJGLSemaphoreWaitInfos.pack(this.stack, info);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK12.VK_STRUCTURE_TYPE_SEMAPHORE_WAIT_INFO,
+          packed.sType());
+      },
+      () -> {
+        Assertions.assertEquals(
+          VK12.VK_SEMAPHORE_WAIT_ANY_BIT,
+          packed.flags());
+      },
+      () -> {
+        Assertions.assertEquals(2, packed.semaphoreCount());
+      },
+      () -> {
+        Assertions.assertEquals(100L, packed.pSemaphores().get(0));
+      },
+      () -> {
+        Assertions.assertEquals(200L, packed.pSemaphores().get(1));
+      },
+      () -> {
+        Assertions.assertEquals(1L, packed.pValues().get(0));
+      },
+      () -> {
+        Assertions.assertEquals(2L, packed.pValues().get(1));
+      }
+    );
+  }
+
+  @Test
+  public void testWaitInfoMismatch(
+    final @Mock VulkanLWJGLSemaphore semaphore_0)
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanSemaphoreWaitInfo.of(
+        Set.of(),
+        List.of(semaphore_0),
+        List.of());
+    });
+  }
+}
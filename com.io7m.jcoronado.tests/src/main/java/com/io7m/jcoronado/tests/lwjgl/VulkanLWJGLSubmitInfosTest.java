@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanPipelineStageFlag;
+import com.io7m.jcoronado.api.VulkanSubmitInfo;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSemaphore;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLSubmitInfos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VK12;
+import org.lwjgl.vulkan.VkSubmitInfo;
+import org.lwjgl.vulkan.VkTimelineSemaphoreSubmitInfo;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public final class VulkanLWJGLSubmitInfosTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanLWJGLSubmitInfosTest.class);
+
+  private MemoryStack stack = MemoryStack.create();
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.stack = this.stack.push();
+  }
+
+  @Test
+  public void testSubmitInfoBinary(
+    final @Mock VulkanLWJGLSemaphore wait,
+    final @Mock VulkanLWJGLSemaphore signal)
+    throws Exception
+  {
+    Mockito.when(wait.handle())
+      .thenReturn(100L);
+    Mockito.when(signal.handle())
+      .thenReturn(200L);
+
+    final var info =
+      VulkanSubmitInfo.builder()
+        .addWaitSemaphores(wait)
+        .addWaitStageMasks(VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT)
+        .addSignalSemaphores(signal)
+        .build();
+
+    final var packed = VkSubmitInfo.malloc(1, this.stack);
+    VulkanLWJGLSubmitInfos.packInfos(this.stack, List.of(info), packed);
+    final var result = packed.get(0);
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK10.VK_STRUCTURE_TYPE_SUBMIT_INFO,
+          result.sType());
+      },
+      () -> {
+        Assertions.assertEquals(0L, result.pNext());
+      },
+      () -> {
+        Assertions.assertEquals(1, result.waitSemaphoreCount());
+      },
+      () -> {
+        Assertions.assertEquals(100L, result.pWaitSemaphores().get(0));
+      },
+      () -> {
+        Assertions.assertEquals(200L, result.pSignalSemaphores().get(0));
+      }
+    );
+  }
+
+  @Test
+  public void testSubmitInfoTimeline(
+    final @Mock VulkanLWJGLSemaphore wait,
+    final @Mock VulkanLWJGLSemaphore signal)
+    throws Exception
+  {
+    Mockito.when(wait.handle())
+      .thenReturn(100L);
+    Mockito.when(signal.handle())
+      .thenReturn(200L);
+
+    final var info =
+      VulkanSubmitInfo.builder()
+        .addWaitSemaphores(wait)
+        .addWaitStageMasks(VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT)
+        .addWaitSemaphoreValues(Long.valueOf(3L))
+        .addSignalSemaphores(signal)
+        .addSignalSemaphoreValues(Long.valueOf(4L))
+        .build();
+
+    final var packed = VkSubmitInfo.malloc(1, this.stack);
+    VulkanLWJGLSubmitInfos.packInfos(this.stack, List.of(info), packed);
+    final var result = packed.get(0);
+    final var timeline =
+      VkTimelineSemaphoreSubmitInfo.create(result.pNext());
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(
+          VK12.VK_STRUCTURE_TYPE_TIMELINE_SEMAPHORE_SUBMIT_INFO,
+          timeline.sType());
+      },
+      () -> {
+        Assertions.assertEquals(1, timeline.waitSemaphoreValueCount());
+      },
+      () -> {
+        Assertions.assertEquals(3L, timeline.pWaitSemaphoreValues().get(0));
+      },
+      () -> {
+        Assertions.assertEquals(1, timeline.signalSemaphoreValueCount());
+      },
+      () -> {
+        Assertions.assertEquals(4L, timeline.pSignalSemaphoreValues().get(0));
+      }
+    );
+  }
+
+  @Test
+  public void testSubmitInfoTimelineSignalOnly(
+    final @Mock VulkanLWJGLSemaphore signal)
+    throws Exception
+  {
+    Mockito.when(signal.handle())
+      .thenReturn(200L);
+
+    final var info =
+      VulkanSubmitInfo.builder()
+        .addSignalSemaphores(signal)
+        .addSignalSemaphoreValues(Long.valueOf(4L))
+        .build();
+
+    final var packed = VkSubmitInfo.malloc(1, this.stack);
+    VulkanLWJGLSubmitInfos.packInfos(this.stack, List.of(info), packed);
+    final var timeline =
+      VkTimelineSemaphoreSubmitInfo.create(packed.get(0).pNext());
+
+    Assertions.assertAll(
+      () -> {
+        Assertions.assertEquals(0, timeline.waitSemaphoreValueCount());
+      },
+      () -> {
+        Assertions.assertEquals(1, timeline.signalSemaphoreValueCount());
+      }
+    );
+  }
+
+  @Test
+  public void testSubmitInfoTimelineMismatch(
+    final @Mock VulkanLWJGLSemaphore signal)
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      VulkanSubmitInfo.builder()
+        .addSignalSemaphores(signal)
+        .addSignalSemaphoreValues(Long.valueOf(4L), Long.valueOf(5L))
+        .build();
+    });
+  }
+}
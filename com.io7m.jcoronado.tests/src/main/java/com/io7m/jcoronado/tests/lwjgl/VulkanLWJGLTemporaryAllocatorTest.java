@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.lwjgl;
+
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanHostMemoryType;
+import com.io7m.jcoronado.lwjgl.VulkanLWJGLTemporaryAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class VulkanLWJGLTemporaryAllocatorTest
+{
+  /**
+   * Arrays can be copied in and out of memory at arbitrary offsets.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCopyArrays()
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+
+    allocator.withAllocationMemory(256L, 16L, memory -> {
+      assertEquals(256L, memory.size());
+
+      memory.copyFrom(100L, new byte[]{1, 2, 3, 4, 5}, 1, 3);
+
+      final var out = new byte[5];
+      memory.copyTo(99L, out, 1, 4);
+      assertEquals(2, out[2]);
+      assertEquals(3, out[3]);
+      assertEquals(4, out[4]);
+
+      final var window = memory.asByteBuffer(100L, 3);
+      assertEquals(3, window.capacity());
+      assertEquals(2, window.get(0));
+      return null;
+    });
+  }
+
+  /**
+   * Byte buffers can be copied in and out of memory.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCopyBuffers()
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+
+    allocator.withAllocationMemory(64L, 16L, memory -> {
+      final var source = ByteBuffer.wrap(new byte[]{9, 8, 7, 6});
+      memory.copyFrom(60L, source);
+      assertEquals(4, source.position());
+
+      final var target = ByteBuffer.allocate(4);
+      memory.copyTo(60L, target);
+      assertEquals(4, target.position());
+      assertArrayEquals(new byte[]{9, 8, 7, 6}, target.array());
+      return null;
+    });
+  }
+
+  /**
+   * Accesses outside the allocation are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testOutOfBounds()
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+
+    allocator.withAllocationMemory(64L, 16L, memory -> {
+      assertThrows(IndexOutOfBoundsException.class, () -> {
+        memory.asByteBuffer(60L, 5);
+      });
+      assertThrows(IndexOutOfBoundsException.class, () -> {
+        memory.asByteBuffer(-1L, 1);
+      });
+      assertThrows(IndexOutOfBoundsException.class, () -> {
+        memory.copyFrom(62L, new byte[4]);
+      });
+      return null;
+    });
+  }
+
+  /**
+   * Memory cannot be accessed after the receiver returns.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReleased()
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+
+    final VulkanHostMemoryType escaped =
+      allocator.withAllocationMemory(64L, 16L, memory -> memory);
+
+    assertThrows(VulkanDestroyedException.class, () -> {
+      escaped.asByteBuffer(0L, 1);
+    });
+  }
+
+  /**
+   * Byte buffer allocations larger than a byte buffer can address are
+   * rejected before allocating.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testBufferTooLarge()
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      allocator.withAllocationBuffer(
+        Integer.MAX_VALUE + 1L, 16L, buffer -> null);
+    });
+  }
+
+  /**
+   * File channels can be read into and written from memory directly.
+   *
+   * @param directory A temporary directory
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFileChannels(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var allocator = VulkanLWJGLTemporaryAllocator.create();
+    final var input = directory.resolve("input.bin");
+    final var output = directory.resolve("output.bin");
+
+    final var data = new byte[100];
+    for (int index = 0; index < data.length; ++index) {
+      data[index] = (byte) index;
+    }
+    Files.write(input, data);
+
+    allocator.withAllocationMemory(128L, 16L, memory -> {
+      try (var channel = FileChannel.open(input, READ)) {
+        assertEquals(90L, memory.readFrom(channel, 10L, 8L, 120L));
+        assertEquals(0L, channel.position());
+      }
+
+      try (var channel = FileChannel.open(output, CREATE, WRITE)) {
+        memory.writeTo(channel, 0L, 8L, 90L);
+      }
+      return null;
+    });
+
+    final var result = Files.readAllBytes(output);
+    assertEquals(90, result.length);
+    for (int index = 0; index < result.length; ++index) {
+      assertEquals(data[index + 10], result[index]);
+    }
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.parallel_recording;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferBeginInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferInheritanceInfo;
+import com.io7m.jcoronado.api.VulkanCommandBufferLevel;
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanCommandBufferUsageFlag;
+import com.io7m.jcoronado.api.VulkanCommandPoolType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanQueueFamilyIndex;
+import com.io7m.jcoronado.api.VulkanRenderPassType;
+import com.io7m.jcoronado.parallel_recording.VulkanParallelRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+
+public final class VulkanParallelRecorderTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanParallelRecorderTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private ExecutorService executor;
+  private List<VulkanCommandPoolType> pools;
+  private List<VulkanCommandBufferType> buffers;
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.pools = Collections.synchronizedList(new ArrayList<>());
+    this.buffers = Collections.synchronizedList(new ArrayList<>());
+    this.executor = Executors.newFixedThreadPool(4);
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+
+    Mockito.when(this.device.createCommandPool(any()))
+      .thenAnswer(invocation -> {
+        final var pool = Mockito.mock(VulkanCommandPoolType.class);
+        this.pools.add(pool);
+        return pool;
+      });
+
+    Mockito.when(this.device.createCommandBuffers(any()))
+      .thenAnswer(invocation -> {
+        final var buffer = Mockito.mock(VulkanCommandBufferType.class);
+        this.buffers.add(buffer);
+        return List.of(buffer);
+      });
+  }
+
+  @AfterEach
+  public void testTearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  private static List<Integer> partitions(
+    final int count)
+  {
+    return IntStream.range(0, count)
+      .boxed()
+      .toList();
+  }
+
+  @Test
+  public void testRecordOrdered()
+    throws Exception
+  {
+    try (var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 2, this.executor)) {
+
+      final var results =
+        recorder.record(
+          0,
+          VulkanCommandBufferInheritanceInfo.builder().build(),
+          partitions(64),
+          (buffer, partition) -> {
+            buffer.draw(partition.intValue(), 1, 0, 0);
+          });
+
+      Assertions.assertEquals(64, results.size());
+      for (var index = 0; index < 64; ++index) {
+        final var buffer = results.get(index);
+        final var order = Mockito.inOrder(buffer);
+        order.verify(buffer).beginCommandBuffer(any(VulkanCommandBufferBeginInfo.class));
+        order.verify(buffer).draw(index, 1, 0, 0);
+        order.verify(buffer).endCommandBuffer();
+      }
+
+      Assertions.assertEquals(64, this.buffers.size());
+      Assertions.assertTrue(recorder.commandPoolCount(0) >= 1);
+      Assertions.assertTrue(recorder.commandPoolCount(0) <= 4);
+      Assertions.assertEquals(0, recorder.commandPoolCount(1));
+    }
+  }
+
+  @Test
+  public void testRecordSecondaryLevel()
+    throws Exception
+  {
+    try (var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 1, Runnable::run)) {
+
+      final var render_pass = Mockito.mock(VulkanRenderPassType.class);
+      final var results =
+        recorder.record(
+          0,
+          VulkanCommandBufferInheritanceInfo.builder()
+            .setRenderPass(render_pass)
+            .build(),
+          partitions(1),
+          (buffer, partition) -> {
+
+          });
+
+      final var captor =
+        ArgumentCaptor.forClass(VulkanCommandBufferBeginInfo.class);
+      Mockito.verify(results.get(0)).beginCommandBuffer(captor.capture());
+
+      final var info = captor.getValue();
+      Assertions.assertEquals(
+        Set.of(
+          VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT,
+          VulkanCommandBufferUsageFlag.VK_COMMAND_BUFFER_USAGE_RENDER_PASS_CONTINUE_BIT),
+        info.flags());
+      Assertions.assertEquals(
+        render_pass,
+        info.inheritanceInfo().orElseThrow().renderPass().orElseThrow());
+
+      Mockito.verify(this.device).createCommandBuffers(
+        Mockito.argThat(create -> create.level()
+          == VulkanCommandBufferLevel.VK_COMMAND_BUFFER_LEVEL_SECONDARY));
+    }
+  }
+
+  @Test
+  public void testRecordAndExecute()
+    throws Exception
+  {
+    final var primary = Mockito.mock(VulkanCommandBufferType.class);
+
+    try (var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 1, this.executor)) {
+
+      final var results =
+        recorder.recordAndExecute(
+          0,
+          primary,
+          VulkanCommandBufferInheritanceInfo.builder().build(),
+          partitions(8),
+          (buffer, partition) -> {
+
+          });
+
+      Mockito.verify(primary).executeCommands(results);
+    }
+  }
+
+  @Test
+  public void testFrameRecycling()
+    throws Exception
+  {
+    try (var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 2, Runnable::run)) {
+
+      for (var frame = 0; frame < 6; ++frame) {
+        final var frame_index = frame % 2;
+        recorder.beginFrame(frame_index);
+        recorder.record(
+          frame_index,
+          VulkanCommandBufferInheritanceInfo.builder().build(),
+          partitions(3),
+          (buffer, partition) -> {
+
+          });
+      }
+
+      /*
+       * The executor runs tasks on the calling thread, so each frame only
+       * ever needs a single pool, and the three command buffers per frame
+       * are reused after each reset.
+       */
+
+      Assertions.assertEquals(1, recorder.commandPoolCount(0));
+      Assertions.assertEquals(1, recorder.commandPoolCount(1));
+      Assertions.assertEquals(2, this.pools.size());
+      Assertions.assertEquals(6, this.buffers.size());
+
+      for (final var pool : this.pools) {
+        Mockito.verify(this.device, Mockito.times(2))
+          .resetCommandPool(Mockito.eq(pool), anySet());
+      }
+    }
+
+    for (final var pool : this.pools) {
+      Mockito.verify(pool).close();
+    }
+  }
+
+  @Test
+  public void testRecordFailure()
+    throws Exception
+  {
+    try (var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 1, this.executor)) {
+
+      final var ex =
+        Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+          recorder.record(
+            0,
+            VulkanCommandBufferInheritanceInfo.builder().build(),
+            partitions(4),
+            (buffer, partition) -> {
+              throw new VulkanDestroyedException("Failed " + partition);
+            });
+        });
+
+      Assertions.assertEquals(3, ex.getSuppressed().length);
+    }
+  }
+
+  @Test
+  public void testClosed()
+    throws Exception
+  {
+    final var recorder = new VulkanParallelRecorder(
+      this.device, new VulkanQueueFamilyIndex(0), 1, this.executor);
+
+    recorder.close();
+    recorder.close();
+
+    Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+      recorder.beginFrame(0);
+    });
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> {
+      recorder.commandPoolCount(1);
+    });
+  }
+
+  @Test
+  public void testFramesInFlightInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanParallelRecorder(
+        this.device, new VulkanQueueFamilyIndex(0), 0, this.executor);
+    });
+  }
+}
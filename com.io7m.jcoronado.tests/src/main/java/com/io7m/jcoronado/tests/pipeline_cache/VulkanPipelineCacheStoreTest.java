@@ -0,0 +1,350 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceProperties;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import com.io7m.jcoronado.api.VulkanVersion;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheHeader;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanPipelineCacheDataResult.VK_PIPELINE_CACHE_INCOMPLETE;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanPipelineCacheDataResult.VK_PIPELINE_CACHE_SUCCESS;
+import static com.io7m.jcoronado.api.VulkanPhysicalDevicePropertiesType.Type.VK_PHYSICAL_DEVICE_TYPE_DISCRETE_GPU;
+import static com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheStore.LoadStatus.INCOMPATIBLE;
+import static com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheStore.LoadStatus.LOADED;
+import static com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheStore.LoadStatus.NOT_FOUND;
+import static com.io7m.jcoronado.pipeline_cache.VulkanPipelineCacheStore.LoadStatus.UNREADABLE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public final class VulkanPipelineCacheStoreTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanPipelineCacheStoreTest.class);
+
+  private static final UUID CACHE_UUID =
+    UUID.fromString("0a1b2c3d-4e5f-6071-8293-a4b5c6d7e8f9");
+  private static final int VENDOR = 0x10de;
+  private static final int DEVICE = 0x2204;
+
+  @TempDir
+  public Path directory;
+
+  private VulkanLogicalDeviceType device;
+  private VulkanPipelineCacheType cache_main;
+  private VulkanPipelineCacheType cache_thread;
+  private ArgumentCaptor<VulkanPipelineCacheCreateInfo> create_infos;
+  private Path file;
+
+  private static byte[] cacheData(
+    final int vendor,
+    final int device,
+    final UUID uuid,
+    final int extra)
+  {
+    final var data =
+      ByteBuffer.allocate(VulkanPipelineCacheHeader.VERSION_ONE_SIZE + extra)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    data.putInt(VulkanPipelineCacheHeader.VERSION_ONE_SIZE);
+    data.putInt(VulkanPipelineCacheHeader.VERSION_ONE);
+    data.putInt(vendor);
+    data.putInt(device);
+    data.order(ByteOrder.BIG_ENDIAN);
+    data.putLong(uuid.getMostSignificantBits());
+    data.putLong(uuid.getLeastSignificantBits());
+    for (var index = 0; index < extra; ++index) {
+      data.put((byte) index);
+    }
+    return data.array();
+  }
+
+  private static byte[] bytesOf(
+    final ByteBuffer buffer)
+  {
+    final var view = buffer.duplicate();
+    final var bytes = new byte[view.remaining()];
+    view.get(bytes);
+    return bytes;
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.file = this.directory.resolve("cache").resolve("pipelines.bin");
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.cache_main = Mockito.mock(VulkanPipelineCacheType.class);
+    this.cache_thread = Mockito.mock(VulkanPipelineCacheType.class);
+    this.create_infos =
+      ArgumentCaptor.forClass(VulkanPipelineCacheCreateInfo.class);
+
+    final var physical = Mockito.mock(VulkanPhysicalDeviceType.class);
+    Mockito.when(this.device.physicalDevice())
+      .thenReturn(physical);
+    Mockito.when(physical.properties())
+      .thenReturn(VulkanPhysicalDeviceProperties.of(
+        "GPU",
+        VK_PHYSICAL_DEVICE_TYPE_DISCRETE_GPU,
+        DEVICE,
+        VENDOR,
+        VulkanVersion.of(1, 3, 0),
+        VulkanVersion.of(1, 0, 0),
+        CACHE_UUID));
+
+    Mockito.when(this.device.createPipelineCache(this.create_infos.capture()))
+      .thenReturn(this.cache_main, this.cache_thread);
+  }
+
+  private void cacheContents(
+    final byte[] data)
+    throws Exception
+  {
+    Mockito.when(this.device.getPipelineCacheDataSize(this.cache_main))
+      .thenReturn(Long.valueOf(data.length));
+    Mockito.when(this.device.getPipelineCacheData(eq(this.cache_main), any()))
+      .thenAnswer(invocation -> {
+        final ByteBuffer target = invocation.getArgument(1);
+        target.put(0, data);
+        return VK_PIPELINE_CACHE_SUCCESS;
+      });
+  }
+
+  @Test
+  public void testHeaderParse()
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 0);
+    final var header =
+      VulkanPipelineCacheHeader.parse(ByteBuffer.wrap(data)).orElseThrow();
+
+    Assertions.assertEquals(32, header.headerSize());
+    Assertions.assertEquals(1, header.headerVersion());
+    Assertions.assertEquals(VENDOR, header.vendorId());
+    Assertions.assertEquals(DEVICE, header.deviceId());
+    Assertions.assertEquals(CACHE_UUID, header.pipelineCacheUUID());
+  }
+
+  @Test
+  public void testHeaderTooShort()
+  {
+    Assertions.assertTrue(
+      VulkanPipelineCacheHeader.parse(ByteBuffer.allocate(31)).isEmpty());
+  }
+
+  @Test
+  public void testOpenMissing()
+    throws Exception
+  {
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      this.cacheContents(cacheData(VENDOR, DEVICE, CACHE_UUID, 8));
+      Assertions.assertEquals(NOT_FOUND, store.loadStatus());
+      Assertions.assertEquals(this.cache_main, store.cache());
+      Assertions.assertEquals(
+        0, this.create_infos.getValue().initialData().remaining());
+    }
+  }
+
+  @Test
+  public void testOpenLoaded()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 100);
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, data);
+
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      this.cacheContents(data);
+      Assertions.assertEquals(LOADED, store.loadStatus());
+
+      final var initial = this.create_infos.getValue().initialData();
+      Assertions.assertTrue(initial.isDirect());
+      Assertions.assertArrayEquals(data, bytesOf(initial));
+    }
+  }
+
+  @Test
+  public void testOpenIncompatibleVendor()
+    throws Exception
+  {
+    this.checkIncompatible(cacheData(VENDOR + 1, DEVICE, CACHE_UUID, 10));
+  }
+
+  @Test
+  public void testOpenIncompatibleDevice()
+    throws Exception
+  {
+    this.checkIncompatible(cacheData(VENDOR, DEVICE + 1, CACHE_UUID, 10));
+  }
+
+  @Test
+  public void testOpenIncompatibleUUID()
+    throws Exception
+  {
+    this.checkIncompatible(cacheData(VENDOR, DEVICE, UUID.randomUUID(), 10));
+  }
+
+  private void checkIncompatible(
+    final byte[] data)
+    throws Exception
+  {
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, data);
+
+    final var store = VulkanPipelineCacheStore.open(this.device, this.file);
+    Assertions.assertEquals(INCOMPATIBLE, store.loadStatus());
+    Assertions.assertEquals(
+      0, this.create_infos.getValue().initialData().remaining());
+  }
+
+  @Test
+  public void testOpenTruncated()
+    throws Exception
+  {
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, new byte[]{32, 0, 0, 0, 1, 0, 0, 0});
+
+    final var store = VulkanPipelineCacheStore.open(this.device, this.file);
+    Assertions.assertEquals(UNREADABLE, store.loadStatus());
+  }
+
+  @Test
+  public void testSaveWritesAtomically()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 64);
+
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      this.cacheContents(data);
+      Assertions.assertTrue(store.save());
+      Assertions.assertArrayEquals(data, Files.readAllBytes(this.file));
+      Assertions.assertFalse(store.save(), "Unchanged data is not written");
+    }
+
+    try (var stream = Files.list(this.file.getParent())) {
+      Assertions.assertEquals(List.of(this.file), stream.toList());
+    }
+  }
+
+  @Test
+  public void testSaveRetriesIncomplete()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 16);
+
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      Mockito.when(this.device.getPipelineCacheDataSize(this.cache_main))
+        .thenReturn(Long.valueOf(8L), Long.valueOf(data.length));
+      Mockito.when(this.device.getPipelineCacheData(eq(this.cache_main), any()))
+        .thenReturn(VK_PIPELINE_CACHE_INCOMPLETE)
+        .thenAnswer(invocation -> {
+          final ByteBuffer target = invocation.getArgument(1);
+          target.put(0, data);
+          return VK_PIPELINE_CACHE_SUCCESS;
+        });
+
+      Assertions.assertTrue(store.save());
+      Assertions.assertArrayEquals(data, Files.readAllBytes(this.file));
+    }
+  }
+
+  @Test
+  public void testThreadCachesMergedOnSave()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 100);
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, data);
+
+    final var store = VulkanPipelineCacheStore.open(this.device, this.file);
+    this.cacheContents(cacheData(VENDOR, DEVICE, CACHE_UUID, 200));
+
+    final var thread = store.createThreadCache();
+    Assertions.assertEquals(this.cache_thread, thread);
+    Assertions.assertArrayEquals(
+      data,
+      bytesOf(this.create_infos.getValue().initialData()),
+      "Thread caches start with the loaded data");
+
+    store.close();
+
+    Mockito.verify(this.device)
+      .mergePipelineCaches(List.of(this.cache_thread), this.cache_main);
+    Mockito.verify(this.cache_thread).close();
+    Mockito.verify(this.cache_main).close();
+    Assertions.assertEquals(232L, Files.size(this.file));
+  }
+
+  @Test
+  public void testThreadCachesUseSavedData()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 100);
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, data);
+
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      final var saved = cacheData(VENDOR, DEVICE, CACHE_UUID, 200);
+      this.cacheContents(saved);
+      Assertions.assertTrue(store.save());
+
+      store.createThreadCache();
+      Assertions.assertArrayEquals(
+        saved,
+        bytesOf(this.create_infos.getValue().initialData()),
+        "Thread caches start with the saved data");
+    }
+  }
+
+  @Test
+  public void testOpenDoesNotRetainFile()
+    throws Exception
+  {
+    final var data = cacheData(VENDOR, DEVICE, CACHE_UUID, 100);
+    Files.createDirectories(this.file.getParent());
+    Files.write(this.file, data);
+
+    try (var store = VulkanPipelineCacheStore.open(this.device, this.file)) {
+      Files.write(this.file, new byte[0]);
+
+      final var initial = this.create_infos.getValue().initialData();
+      Assertions.assertTrue(initial.isDirect());
+      Assertions.assertArrayEquals(data, bytesOf(initial));
+      this.cacheContents(data);
+    }
+  }
+}
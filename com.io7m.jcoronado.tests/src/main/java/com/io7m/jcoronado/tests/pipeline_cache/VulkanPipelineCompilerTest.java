@@ -0,0 +1,346 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import com.io7m.jcoronado.api.VulkanPipelineLayoutType;
+import com.io7m.jcoronado.api.VulkanPipelineShaderStageCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import com.io7m.jcoronado.api.VulkanShaderModuleType;
+import com.io7m.jcoronado.api.VulkanUncheckedException;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineCompiler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanShaderStageFlag.VK_SHADER_STAGE_COMPUTE_BIT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public final class VulkanPipelineCompilerTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanPipelineCompilerTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private VulkanShaderModuleType module;
+  private VulkanPipelineLayoutType layout;
+  private VulkanPipelineCacheType cache;
+  private ArrayDeque<Runnable> runnables;
+  private Executor executor;
+  private List<String> compiled;
+
+  private VulkanComputePipelineCreateInfo compute(
+    final String entry)
+  {
+    return VulkanComputePipelineCreateInfo.of(
+      Set.of(),
+      VulkanPipelineShaderStageCreateInfo.of(
+        Set.of(),
+        VK_SHADER_STAGE_COMPUTE_BIT,
+        this.module,
+        entry,
+        Optional.empty()),
+      this.layout,
+      Optional.empty(),
+      OptionalInt.empty());
+  }
+
+  private void runAll()
+  {
+    while (!this.runnables.isEmpty()) {
+      this.runnables.poll().run();
+    }
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.module = Mockito.mock(VulkanShaderModuleType.class);
+    this.layout = Mockito.mock(VulkanPipelineLayoutType.class);
+    this.cache = Mockito.mock(VulkanPipelineCacheType.class);
+    this.runnables = new ArrayDeque<>();
+    this.executor = this.runnables::add;
+    this.compiled = new ArrayList<>();
+
+    Mockito.when(this.device.createPipelineCache(any()))
+      .thenReturn(this.cache);
+    Mockito.when(this.device.createComputePipelines(
+      Mockito.<Optional<VulkanPipelineCacheType>>any(),
+      any()))
+      .thenAnswer(invocation -> {
+        final List<VulkanComputePipelineCreateInfo> infos =
+          invocation.getArgument(1);
+        final var name = infos.get(0).stage().shaderEntryPoint();
+        if ("fail".equals(name)) {
+          throw new VulkanUncheckedException(
+            new VulkanDestroyedException("Failed."));
+        }
+        this.compiled.add(name);
+        return List.of(Mockito.mock(VulkanPipelineType.class));
+      });
+  }
+
+  /**
+   * Requests are compiled in priority order, and then in submission order.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testPriorityOrder()
+    throws Exception
+  {
+    try (var compiler = new VulkanPipelineCompiler(this.device, this.executor)) {
+      final var f0 = compiler.compileCompute(0, this.compute("low"));
+      final var f1 = compiler.compileCompute(10, this.compute("high0"));
+      final var f2 = compiler.compileCompute(5, this.compute("mid"));
+      final var f3 = compiler.compileCompute(10, this.compute("high1"));
+
+      Assertions.assertEquals(4, compiler.pending());
+      this.runAll();
+      Assertions.assertEquals(0, compiler.pending());
+
+      Assertions.assertEquals(
+        List.of("high0", "high1", "mid", "low"),
+        this.compiled);
+
+      Assertions.assertNotNull(f0.get());
+      Assertions.assertNotNull(f1.get());
+      Assertions.assertNotNull(f2.get());
+      Assertions.assertNotNull(f3.get());
+      Assertions.assertEquals(1, compiler.cacheCount());
+
+      Mockito.verify(this.device, Mockito.times(4))
+        .createComputePipelines(eq(Optional.of(this.cache)), any());
+    }
+  }
+
+  /**
+   * Batches produce one future per create info.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testBatch()
+    throws Exception
+  {
+    try (var compiler = new VulkanPipelineCompiler(this.device, this.executor)) {
+      final var futures =
+        compiler.compileCompute(
+          0,
+          List.of(this.compute("a"), this.compute("b"), this.compute("c")));
+
+      Assertions.assertEquals(3, futures.size());
+      this.runAll();
+
+      for (final var future : futures) {
+        Assertions.assertNotNull(future.get());
+      }
+      Assertions.assertEquals(List.of("a", "b", "c"), this.compiled);
+    }
+  }
+
+  /**
+   * Cancelled requests are not compiled.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCancelled()
+    throws Exception
+  {
+    try (var compiler = new VulkanPipelineCompiler(this.device, this.executor)) {
+      final var f0 = compiler.compileCompute(0, this.compute("a"));
+      final var f1 = compiler.compileCompute(0, this.compute("b"));
+      f0.cancel(false);
+
+      Assertions.assertEquals(1, compiler.pending());
+      this.runAll();
+
+      Assertions.assertEquals(List.of("b"), this.compiled);
+      Assertions.assertNotNull(f1.get());
+    }
+  }
+
+  /**
+   * Compilation failures complete the future exceptionally.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testFailure()
+    throws Exception
+  {
+    try (var compiler = new VulkanPipelineCompiler(this.device, this.executor)) {
+      final var f0 = compiler.compileCompute(0, this.compute("fail"));
+      this.runAll();
+
+      final var ex =
+        Assertions.assertThrows(ExecutionException.class, f0::get);
+      Assertions.assertInstanceOf(
+        VulkanUncheckedException.class,
+        ex.getCause());
+    }
+  }
+
+  /**
+   * Worker caches are merged into the given cache.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testMerge()
+    throws Exception
+  {
+    final var output = Mockito.mock(VulkanPipelineCacheType.class);
+
+    try (var compiler = new VulkanPipelineCompiler(this.device, this.executor)) {
+      compiler.mergeCaches(output);
+      Mockito.verify(this.device, Mockito.never())
+        .mergePipelineCaches(any(), any());
+
+      compiler.compileCompute(0, this.compute("a"));
+      this.runAll();
+      compiler.mergeCaches(output);
+
+      Mockito.verify(this.device, Mockito.times(1))
+        .mergePipelineCaches(List.of(this.cache), output);
+      Mockito.verify(this.device, Mockito.times(1))
+        .createPipelineCache(VulkanPipelineCacheCreateInfo.of(
+          Set.of(),
+          ByteBuffer.allocate(0)));
+    }
+  }
+
+  /**
+   * Closing the compiler waits for merges that are in progress before
+   * destroying caches.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCloseDuringMerge()
+    throws Exception
+  {
+    final var output = Mockito.mock(VulkanPipelineCacheType.class);
+    final var merging = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+
+    Mockito.doAnswer(invocation -> {
+      merging.countDown();
+      release.await();
+      return null;
+    }).when(this.device).mergePipelineCaches(any(), any());
+
+    final var compiler =
+      new VulkanPipelineCompiler(this.device, this.executor);
+
+    compiler.compileCompute(0, this.compute("a"));
+    this.runAll();
+
+    final var merge = CompletableFuture.runAsync(() -> {
+      try {
+        compiler.mergeCaches(output);
+      } catch (final VulkanException e) {
+        throw new VulkanUncheckedException(e);
+      }
+    });
+    merging.await(30L, TimeUnit.SECONDS);
+
+    final var close = CompletableFuture.runAsync(() -> {
+      try {
+        compiler.close();
+      } catch (final VulkanException e) {
+        throw new VulkanUncheckedException(e);
+      }
+    });
+
+    Thread.sleep(100L);
+    Assertions.assertFalse(close.isDone());
+    Mockito.verify(this.cache, Mockito.never()).close();
+
+    release.countDown();
+    merge.get(30L, TimeUnit.SECONDS);
+    close.get(30L, TimeUnit.SECONDS);
+    Mockito.verify(this.cache, Mockito.times(1)).close();
+  }
+
+  /**
+   * Closing the compiler cancels pending requests and destroys caches.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final var compiler =
+      new VulkanPipelineCompiler(this.device, this.executor);
+
+    compiler.compileCompute(0, this.compute("a"));
+    this.runAll();
+    final var f1 = compiler.compileCompute(0, this.compute("b"));
+
+    compiler.close();
+    Assertions.assertTrue(f1.isCancelled());
+    Mockito.verify(this.cache, Mockito.times(1)).close();
+
+    this.runAll();
+    Assertions.assertEquals(List.of("a"), this.compiled);
+
+    Assertions.assertThrows(
+      VulkanDestroyedException.class,
+      () -> compiler.compileCompute(0, this.compute("c")));
+    Assertions.assertThrows(
+      CancellationException.class,
+      f1::join);
+  }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.pipeline_cache;
+
+import com.io7m.jcoronado.api.VulkanComputePipelineCreateInfo;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanPipelineCacheType;
+import com.io7m.jcoronado.api.VulkanPipelineLayoutType;
+import com.io7m.jcoronado.api.VulkanPipelineShaderStageCreateInfo;
+import com.io7m.jcoronado.api.VulkanPipelineType;
+import com.io7m.jcoronado.api.VulkanShaderModuleType;
+import com.io7m.jcoronado.api.VulkanSpecializationMap;
+import com.io7m.jcoronado.api.VulkanSpecializationMapEntry;
+import com.io7m.jcoronado.api.VulkanUncheckedException;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineReferenceType;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineRegistry;
+import com.io7m.jcoronado.pipeline_cache.VulkanPipelineRegistryStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.io7m.jcoronado.api.VulkanShaderStageFlag.VK_SHADER_STAGE_COMPUTE_BIT;
+import static org.mockito.ArgumentMatchers.any;
+
+public final class VulkanPipelineRegistryTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanPipelineRegistryTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private VulkanShaderModuleType module;
+  private VulkanPipelineLayoutType layout;
+  private CountDownLatch creating;
+  private CountDownLatch release;
+  private VulkanPipelineRegistry closing;
+  private VulkanPipelineType created;
+
+  private VulkanComputePipelineCreateInfo compute(
+    final String entry)
+  {
+    return VulkanComputePipelineCreateInfo.of(
+      Set.of(),
+      VulkanPipelineShaderStageCreateInfo.of(
+        Set.of(),
+        VK_SHADER_STAGE_COMPUTE_BIT,
+        this.module,
+        entry,
+        Optional.empty()),
+      this.layout,
+      Optional.empty(),
+      OptionalInt.empty());
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.module = Mockito.mock(VulkanShaderModuleType.class);
+    this.layout = Mockito.mock(VulkanPipelineLayoutType.class);
+    this.creating = new CountDownLatch(1);
+    this.release = new CountDownLatch(1);
+
+    Mockito.when(this.device.createComputePipelines(
+        Mockito.<Optional<VulkanPipelineCacheType>>any(),
+        any()))
+      .thenAnswer(invocation -> {
+        final List<VulkanComputePipelineCreateInfo> infos =
+          invocation.getArgument(1);
+        final var name = infos.get(0).stage().shaderEntryPoint();
+        if ("fail".equals(name)) {
+          throw new VulkanUncheckedException(
+            new VulkanDestroyedException("Failed."));
+        }
+        if ("slow".equals(name)) {
+          this.creating.countDown();
+          this.release.await();
+        }
+        if ("close".equals(name)) {
+          this.closing.close();
+        }
+        this.created = Mockito.mock(VulkanPipelineType.class);
+        return List.of(this.created);
+      });
+  }
+
+  /**
+   * Equal create infos share a single pipeline.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testDeduplicates()
+    throws Exception
+  {
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 4)) {
+      final var r0 = registry.acquireCompute(this.compute("main"));
+      final var r1 = registry.acquireCompute(this.compute("main"));
+      final var r2 = registry.acquireCompute(this.compute("other"));
+
+      Assertions.assertSame(r0.pipeline(), r1.pipeline());
+      Assertions.assertNotSame(r0.pipeline(), r2.pipeline());
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(1L, 2L, 0L, 2, 0),
+        registry.statistics());
+
+      Mockito.verify(this.device, Mockito.times(2))
+        .createComputePipelines(
+          Mockito.<Optional<VulkanPipelineCacheType>>any(),
+          any());
+    }
+  }
+
+  /**
+   * Unreferenced pipelines are retained and can be reused.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testUnusedRetained()
+    throws Exception
+  {
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 4)) {
+      final var r0 = registry.acquireCompute(this.compute("main"));
+      final var pipeline = r0.pipeline();
+      r0.close();
+      r0.close();
+
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(0L, 1L, 0L, 1, 1),
+        registry.statistics());
+
+      final var r1 = registry.acquireCompute(this.compute("main"));
+      Assertions.assertSame(pipeline, r1.pipeline());
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(1L, 1L, 0L, 1, 0),
+        registry.statistics());
+      Mockito.verify(pipeline, Mockito.never()).close();
+    }
+  }
+
+  /**
+   * The least recently released unused pipelines are evicted first.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testEvictsLeastRecentlyReleased()
+    throws Exception
+  {
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 1)) {
+      final var r0 = registry.acquireCompute(this.compute("a"));
+      final var r1 = registry.acquireCompute(this.compute("b"));
+      final var p0 = r0.pipeline();
+      final var p1 = r1.pipeline();
+
+      r0.close();
+      Mockito.verify(p0, Mockito.never()).close();
+      r1.close();
+      Mockito.verify(p0, Mockito.times(1)).close();
+      Mockito.verify(p1, Mockito.never()).close();
+
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(0L, 2L, 1L, 1, 1),
+        registry.statistics());
+
+      registry.evictUnused();
+      Mockito.verify(p1, Mockito.times(1)).close();
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(0L, 2L, 2L, 0, 0),
+        registry.statistics());
+    }
+  }
+
+  /**
+   * Closing the registry destroys all pipelines, and the registry cannot be
+   * used afterwards.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCloseDestroysAll()
+    throws Exception
+  {
+    final var registry =
+      new VulkanPipelineRegistry(this.device, Optional.empty(), 4);
+    final var r0 = registry.acquireCompute(this.compute("a"));
+    final var r1 = registry.acquireCompute(this.compute("b"));
+    r1.close();
+
+    registry.close();
+    Mockito.verify(r0.pipeline(), Mockito.times(1)).close();
+    Mockito.verify(r1.pipeline(), Mockito.times(1)).close();
+
+    r0.close();
+    Mockito.verify(r0.pipeline(), Mockito.times(1)).close();
+
+    Assertions.assertThrows(
+      VulkanDestroyedException.class,
+      () -> registry.acquireCompute(this.compute("a")));
+  }
+
+  /**
+   * Specialization data is copied when a pipeline is requested, so changing
+   * the caller's buffer afterwards does not affect the registry.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSpecializationDataSnapshot()
+    throws Exception
+  {
+    final var data = ByteBuffer.allocateDirect(4);
+    data.putInt(0, 1);
+
+    final var info =
+      VulkanComputePipelineCreateInfo.of(
+        Set.of(),
+        VulkanPipelineShaderStageCreateInfo.of(
+          Set.of(),
+          VK_SHADER_STAGE_COMPUTE_BIT,
+          this.module,
+          "main",
+          Optional.of(VulkanSpecializationMap.of(
+            List.of(VulkanSpecializationMapEntry.of(0, 0, 4L)),
+            data))),
+        this.layout,
+        Optional.empty(),
+        OptionalInt.empty());
+
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 4)) {
+      final var r0 = registry.acquireCompute(info);
+      data.putInt(0, 2);
+      final var r1 = registry.acquireCompute(info);
+      Assertions.assertNotSame(r0.pipeline(), r1.pipeline());
+
+      data.putInt(0, 1);
+      final var r2 = registry.acquireCompute(info);
+      Assertions.assertSame(r0.pipeline(), r2.pipeline());
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(1L, 2L, 0L, 2, 0),
+        registry.statistics());
+    }
+  }
+
+  /**
+   * Pipelines are created outside the registry's lock. Other create infos
+   * can be acquired while a pipeline is being created, and concurrent
+   * requests for the same create info share one pipeline.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testConcurrentMisses()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(2);
+
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 4)) {
+      final Future<VulkanPipelineReferenceType> f0 =
+        executor.submit(() -> registry.acquireCompute(this.compute("slow")));
+      Assertions.assertTrue(this.creating.await(30L, TimeUnit.SECONDS));
+
+      final var other = registry.acquireCompute(this.compute("other"));
+      Assertions.assertNotNull(other.pipeline());
+
+      final Future<VulkanPipelineReferenceType> f1 =
+        executor.submit(() -> registry.acquireCompute(this.compute("slow")));
+      while (registry.statistics().hits() == 0L) {
+        Thread.sleep(1L);
+      }
+      Assertions.assertFalse(f1.isDone());
+
+      this.release.countDown();
+      final var r0 = f0.get(30L, TimeUnit.SECONDS);
+      final var r1 = f1.get(30L, TimeUnit.SECONDS);
+      Assertions.assertSame(r0.pipeline(), r1.pipeline());
+
+      Mockito.verify(this.device, Mockito.times(2))
+        .createComputePipelines(
+          Mockito.<Optional<VulkanPipelineCacheType>>any(),
+          any());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * A failed creation is not retained, and a later request tries again.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCreationFailure()
+    throws Exception
+  {
+    try (var registry =
+           new VulkanPipelineRegistry(this.device, Optional.empty(), 4)) {
+      Assertions.assertThrows(
+        VulkanUncheckedException.class,
+        () -> registry.acquireCompute(this.compute("fail")));
+      Assertions.assertEquals(0, registry.statistics().pipelines());
+
+      Assertions.assertThrows(
+        VulkanUncheckedException.class,
+        () -> registry.acquireCompute(this.compute("fail")));
+      Assertions.assertEquals(
+        new VulkanPipelineRegistryStatistics(0L, 2L, 0L, 0, 0),
+        registry.statistics());
+    }
+  }
+
+  /**
+   * A pipeline whose creation completes after the registry has been closed
+   * is destroyed rather than leaked.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCloseDuringCreation()
+    throws Exception
+  {
+    final var registry =
+      new VulkanPipelineRegistry(this.device, Optional.empty(), 4);
+    this.closing = registry;
+
+    Assertions.assertThrows(
+      VulkanDestroyedException.class,
+      () -> registry.acquireCompute(this.compute("close")));
+
+    Assertions.assertNotNull(this.created);
+    Mockito.verify(this.created, Mockito.times(1)).close();
+    Assertions.assertEquals(0, registry.statistics().pipelines());
+  }
+}
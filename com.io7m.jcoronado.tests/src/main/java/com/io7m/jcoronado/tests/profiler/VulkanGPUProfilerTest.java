@@ -0,0 +1,364 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.profiler;
+
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanQueryKind;
+import com.io7m.jcoronado.api.VulkanQueryPoolCreateInfo;
+import com.io7m.jcoronado.api.VulkanQueryPoolType;
+import com.io7m.jcoronado.api.VulkanQueryResultFlag;
+import com.io7m.jcoronado.profiler.VulkanGPUProfiler;
+import com.io7m.jcoronado.profiler.VulkanGPUProfilerMeasurement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanQueryResultStatus.VK_QUERY_RESULT_NOT_READY;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanQueryResultStatus.VK_QUERY_RESULT_READY;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+
+public final class VulkanGPUProfilerTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanGPUProfilerTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private VulkanQueryPoolType pool;
+  private VulkanCommandBufferType commands;
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.pool = Mockito.mock(VulkanQueryPoolType.class);
+    this.commands = Mockito.mock(VulkanCommandBufferType.class);
+
+    Mockito.when(this.device.createQueryPool(any()))
+      .thenReturn(this.pool);
+  }
+
+  private void results(
+    final long[] values)
+    throws Exception
+  {
+    Mockito.when(this.device.getQueryPoolResults(
+      eq(this.pool),
+      anyInt(),
+      anyInt(),
+      any(long[].class),
+      anyLong(),
+      anySet()))
+      .thenAnswer(invocation -> {
+        final long[] data = invocation.getArgument(3);
+        System.arraycopy(values, 0, data, 0, values.length);
+        return VK_QUERY_RESULT_READY;
+      });
+  }
+
+  @Test
+  public void testTimestampMask()
+  {
+    Assertions.assertEquals(0xffL, VulkanGPUProfiler.timestampMask(8));
+    Assertions.assertEquals(
+      0xffff_ffff_ffff_ffffL,
+      VulkanGPUProfiler.timestampMask(64));
+  }
+
+  @Test
+  public void testTimestampDeltaWrapped()
+  {
+    final var mask = VulkanGPUProfiler.timestampMask(8);
+    Assertions.assertEquals(
+      10L, VulkanGPUProfiler.timestampDelta(250L, 4L, mask));
+    Assertions.assertEquals(
+      10L, VulkanGPUProfiler.timestampDelta(4L, 14L, mask));
+  }
+
+  @Test
+  public void testTimestampOffset()
+  {
+    final var mask = VulkanGPUProfiler.timestampMask(8);
+    Assertions.assertEquals(
+      -5L, VulkanGPUProfiler.timestampOffset(255L, 250L, mask));
+    Assertions.assertEquals(
+      5L, VulkanGPUProfiler.timestampOffset(250L, 255L, mask));
+    Assertions.assertEquals(
+      10L, VulkanGPUProfiler.timestampOffset(250L, 4L, mask));
+
+    final var mask64 = VulkanGPUProfiler.timestampMask(64);
+    Assertions.assertEquals(
+      -2L, VulkanGPUProfiler.timestampOffset(1L, -1L, mask64));
+  }
+
+  @Test
+  public void testMeasurementsMaskedWrapped()
+    throws Exception
+  {
+    this.results(new long[]{
+      0xf00L | 250L, 1L,
+      20L, 1L,
+      255L, 1L,
+      0xa00L | 4L, 1L,
+    });
+
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 8, 1, 4)) {
+      profiler.beginFrame(0, this.commands);
+      try (var ignored0 = profiler.begin(this.commands, "outer")) {
+        try (var ignored1 = profiler.begin(this.commands, "inner")) {
+          Assertions.assertEquals("inner", ignored1.name());
+        }
+      }
+      profiler.beginFrame(0, this.commands);
+
+      Assertions.assertEquals(
+        List.of(
+          new VulkanGPUProfilerMeasurement("outer", 0, 0L, 26L),
+          new VulkanGPUProfilerMeasurement("inner", 1, 5L, 5L)
+        ),
+        profiler.measurements(0)
+      );
+    }
+  }
+
+  @Test
+  public void testTicksToNanoseconds()
+  {
+    Assertions.assertEquals(
+      250L, VulkanGPUProfiler.ticksToNanoseconds(100L, 2.5));
+    Assertions.assertEquals(
+      100L, VulkanGPUProfiler.ticksToNanoseconds(100L, 1.0));
+  }
+
+  @Test
+  public void testCreatesTimestampPool()
+    throws Exception
+  {
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 3, 8)) {
+      Assertions.assertEquals(3, profiler.framesInFlight());
+      Assertions.assertEquals(8, profiler.regionsPerFrame());
+    }
+
+    final var captor =
+      ArgumentCaptor.forClass(VulkanQueryPoolCreateInfo.class);
+    Mockito.verify(this.device).createQueryPool(captor.capture());
+    Mockito.verify(this.pool).close();
+
+    final var info = captor.getValue();
+    Assertions.assertEquals(VulkanQueryKind.VK_QUERY_TYPE_TIMESTAMP, info.queryType());
+    Assertions.assertEquals(3 * 8 * 2, info.queryCount());
+  }
+
+  @Test
+  public void testInvalidArguments()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanGPUProfiler(this.device, 0.0f, 64, 1, 1);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanGPUProfiler(this.device, 1.0f, 0, 1, 1);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanGPUProfiler(this.device, 1.0f, 64, 0, 1);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 0);
+    });
+  }
+
+  @Test
+  public void testRegionsRecorded()
+    throws Exception
+  {
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 2, 4)) {
+      profiler.beginFrame(1, this.commands);
+      try (var ignored0 = profiler.begin(this.commands, "outer")) {
+        try (var ignored1 = profiler.begin(this.commands, "inner")) {
+          this.commands.draw(3, 1, 0, 0);
+        }
+      }
+
+      final var order = Mockito.inOrder(this.commands);
+      order.verify(this.commands)
+        .resetQueryPool(this.pool, 8, 8);
+      order.verify(this.commands)
+        .writeTimestamp(VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, this.pool, 8);
+      order.verify(this.commands)
+        .writeTimestamp(VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, this.pool, 10);
+      order.verify(this.commands)
+        .draw(3, 1, 0, 0);
+      order.verify(this.commands)
+        .writeTimestamp(VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, this.pool, 11);
+      order.verify(this.commands)
+        .writeTimestamp(VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, this.pool, 9);
+    }
+  }
+
+  @Test
+  public void testMeasurements()
+    throws Exception
+  {
+    this.results(new long[]{
+      100L, 1L,
+      300L, 1L,
+      150L, 1L,
+      200L, 1L,
+    });
+
+    try (var profiler = new VulkanGPUProfiler(this.device, 2.0f, 64, 2, 4)) {
+      profiler.beginFrame(0, this.commands);
+      Assertions.assertEquals(List.of(), profiler.measurements(0));
+
+      try (var ignored0 = profiler.begin(this.commands, "outer")) {
+        try (var ignored1 = profiler.begin(this.commands, "inner")) {
+          Assertions.assertEquals("inner", ignored1.name());
+        }
+      }
+
+      profiler.beginFrame(1, this.commands);
+      Assertions.assertEquals(List.of(), profiler.measurements(0));
+      profiler.beginFrame(0, this.commands);
+
+      Assertions.assertEquals(
+        List.of(
+          new VulkanGPUProfilerMeasurement("outer", 0, 0L, 400L),
+          new VulkanGPUProfilerMeasurement("inner", 1, 100L, 100L)
+        ),
+        profiler.measurements(0)
+      );
+
+      Mockito.verify(this.device, Mockito.times(1))
+        .getQueryPoolResults(
+          eq(this.pool),
+          eq(0),
+          eq(4),
+          any(long[].class),
+          eq(16L),
+          eq(Set.of(VulkanQueryResultFlag.VK_QUERY_RESULT_WITH_AVAILABILITY_BIT)));
+    }
+  }
+
+  @Test
+  public void testMeasurementsUnavailableOmitted()
+    throws Exception
+  {
+    Mockito.when(this.device.getQueryPoolResults(
+      eq(this.pool),
+      anyInt(),
+      anyInt(),
+      any(long[].class),
+      anyLong(),
+      anySet()))
+      .thenAnswer(invocation -> {
+        final long[] data = invocation.getArgument(3);
+        final var values = new long[]{
+          100L, 1L,
+          300L, 1L,
+          150L, 1L,
+          0L, 0L,
+        };
+        System.arraycopy(values, 0, data, 0, values.length);
+        return VK_QUERY_RESULT_NOT_READY;
+      });
+
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 4)) {
+      profiler.beginFrame(0, this.commands);
+      profiler.begin(this.commands, "a").close();
+      profiler.begin(this.commands, "b");
+      profiler.beginFrame(0, this.commands);
+
+      Assertions.assertEquals(
+        List.of(new VulkanGPUProfilerMeasurement("a", 0, 0L, 200L)),
+        profiler.measurements(0)
+      );
+    }
+  }
+
+  @Test
+  public void testRegionsDropped()
+    throws Exception
+  {
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 1)) {
+      profiler.beginFrame(0, this.commands);
+      profiler.begin(this.commands, "a").close();
+      profiler.begin(this.commands, "b").close();
+      profiler.begin(this.commands, "c").close();
+
+      Assertions.assertEquals(2L, profiler.regionsDropped());
+      Mockito.verify(this.commands, Mockito.times(2))
+        .writeTimestamp(any(), any(), anyInt());
+    }
+  }
+
+  @Test
+  public void testRegionClosedTwice()
+    throws Exception
+  {
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 1)) {
+      profiler.beginFrame(0, this.commands);
+      final var region = profiler.begin(this.commands, "a");
+      region.close();
+      region.close();
+
+      Mockito.verify(this.commands, Mockito.times(2))
+        .writeTimestamp(any(), any(), anyInt());
+    }
+  }
+
+  @Test
+  public void testBeginWithoutFrame()
+    throws Exception
+  {
+    try (var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 1)) {
+      Assertions.assertThrows(IllegalStateException.class, () -> {
+        profiler.begin(this.commands, "a");
+      });
+    }
+  }
+
+  @Test
+  public void testClosed()
+    throws Exception
+  {
+    final var profiler = new VulkanGPUProfiler(this.device, 1.0f, 64, 1, 1);
+    profiler.close();
+    profiler.close();
+
+    Mockito.verify(this.pool, Mockito.times(1)).close();
+    Assertions.assertThrows(VulkanDestroyedException.class, () -> {
+      profiler.beginFrame(0, this.commands);
+    });
+  }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.render_graph;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanImageAspectFlag;
+import com.io7m.jcoronado.api.VulkanImageSubresourceRange;
+import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanMemoryBarrier;
+import com.io7m.jcoronado.render_graph.VulkanRenderGraph;
+import com.io7m.jcoronado.render_graph.VulkanRenderGraphImage;
+import com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_COLOR_ATTACHMENT_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_INDEX_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_SHADER_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_SHADER_WRITE_BIT;
+import static com.io7m.jcoronado.api.VulkanAccessFlag.VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_PRESENT_SRC_KHR;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_UNDEFINED;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_TRANSFER_BIT;
+import static com.io7m.jcoronado.api.VulkanPipelineStageFlag.VK_PIPELINE_STAGE_VERTEX_INPUT_BIT;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.COLOR_ATTACHMENT_WRITE;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.COMPUTE_SHADER_WRITE;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.FRAGMENT_SHADER_READ;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.INDEX_BUFFER_READ;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.PRESENT;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.TRANSFER_WRITE;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.UNDEFINED;
+import static com.io7m.jcoronado.render_graph.VulkanRenderGraphUsage.VERTEX_BUFFER_READ;
+
+public final class VulkanRenderGraphTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(VulkanRenderGraphTest.class);
+
+  private static final VulkanImageSubresourceRange RANGE =
+    VulkanImageSubresourceRange.of(
+      Set.of(VulkanImageAspectFlag.VK_IMAGE_ASPECT_COLOR_BIT),
+      0,
+      1,
+      0,
+      1);
+
+  private VulkanRenderGraph graph;
+
+  @BeforeEach
+  public void testSetup()
+  {
+    LOG.debug("testSetup");
+    this.graph = new VulkanRenderGraph();
+  }
+
+  private VulkanRenderGraphImage image(
+    final String name)
+  {
+    return this.graph.importImage(
+      name,
+      Mockito.mock(VulkanImageType.class),
+      RANGE,
+      UNDEFINED);
+  }
+
+  /**
+   * Passes that contribute nothing to exported resources are culled.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCulling()
+    throws Exception
+  {
+    final var gbuffer = this.image("gbuffer");
+    final var debug = this.image("debug");
+    final var swapchain = this.image("swapchain");
+
+    final var p0 =
+      this.graph.addPass("geometry")
+        .writes(gbuffer, COLOR_ATTACHMENT_WRITE);
+    final var p1 =
+      this.graph.addPass("debug")
+        .reads(gbuffer, FRAGMENT_SHADER_READ)
+        .writes(debug, COLOR_ATTACHMENT_WRITE);
+    final var p2 =
+      this.graph.addPass("lighting")
+        .reads(gbuffer, FRAGMENT_SHADER_READ)
+        .writes(swapchain, COLOR_ATTACHMENT_WRITE);
+
+    this.graph.export(swapchain, PRESENT);
+
+    final var compiled = this.graph.compile();
+    Assertions.assertEquals(List.of(p1), compiled.culled());
+    Assertions.assertEquals(2, compiled.steps().size());
+    Assertions.assertEquals(p0, compiled.steps().get(0).pass());
+    Assertions.assertEquals(p2, compiled.steps().get(1).pass());
+    Assertions.assertEquals(
+      Optional.of(UNDEFINED),
+      compiled.finalUsage(debug));
+  }
+
+  /**
+   * Passes with side effects are never culled, and neither are the passes
+   * that they depend upon.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testCullingSideEffects()
+    throws Exception
+  {
+    final var buffer =
+      this.graph.importBuffer(
+        "buffer",
+        Mockito.mock(VulkanBufferType.class),
+        UNDEFINED);
+
+    final var p0 =
+      this.graph.addPass("upload")
+        .writes(buffer, TRANSFER_WRITE);
+    final var p1 =
+      this.graph.addPass("readback")
+        .reads(buffer, VERTEX_BUFFER_READ)
+        .sideEffects();
+
+    final var compiled = this.graph.compile();
+    Assertions.assertEquals(List.of(), compiled.culled());
+    Assertions.assertEquals(p0, compiled.steps().get(0).pass());
+    Assertions.assertEquals(p1, compiled.steps().get(1).pass());
+    Assertions.assertTrue(p1.hasSideEffects());
+  }
+
+  /**
+   * Images are transitioned between the layouts required by each pass, and
+   * into the exported layout at the end of the graph.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testLayoutTransitions()
+    throws Exception
+  {
+    final var gbuffer = this.image("gbuffer");
+    final var swapchain = this.image("swapchain");
+
+    this.graph.addPass("geometry")
+      .writes(gbuffer, COLOR_ATTACHMENT_WRITE);
+    this.graph.addPass("lighting")
+      .reads(gbuffer, FRAGMENT_SHADER_READ)
+      .writes(swapchain, COLOR_ATTACHMENT_WRITE);
+    this.graph.export(swapchain, PRESENT);
+
+    final var compiled = this.graph.compile();
+
+    {
+      final var batch = compiled.steps().get(0).barriers();
+      Assertions.assertEquals(
+        Set.of(VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT),
+        batch.sourceStages());
+      Assertions.assertEquals(
+        Set.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+        batch.targetStages());
+      Assertions.assertEquals(List.of(), batch.memoryBarriers());
+      Assertions.assertEquals(1, batch.imageBarriers().size());
+
+      final var barrier = batch.imageBarriers().get(0);
+      Assertions.assertEquals(gbuffer.image(), barrier.image());
+      Assertions.assertEquals(RANGE, barrier.subresourceRange());
+      Assertions.assertEquals(VK_IMAGE_LAYOUT_UNDEFINED, barrier.oldLayout());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL,
+        barrier.newLayout());
+      Assertions.assertEquals(Set.of(), barrier.sourceAccessMask());
+    }
+
+    {
+      final var batch = compiled.steps().get(1).barriers();
+      Assertions.assertEquals(
+        Set.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+        batch.sourceStages());
+      Assertions.assertEquals(
+        Set.of(
+          VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT,
+          VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+        batch.targetStages());
+      Assertions.assertEquals(2, batch.imageBarriers().size());
+
+      final var read = batch.imageBarriers().get(0);
+      Assertions.assertEquals(gbuffer.image(), read.image());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL,
+        read.oldLayout());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL,
+        read.newLayout());
+      Assertions.assertEquals(
+        Set.of(VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT),
+        read.sourceAccessMask());
+      Assertions.assertEquals(
+        Set.of(VK_ACCESS_SHADER_READ_BIT),
+        read.targetAccessMask());
+
+      final var write = batch.imageBarriers().get(1);
+      Assertions.assertEquals(swapchain.image(), write.image());
+      Assertions.assertEquals(VK_IMAGE_LAYOUT_UNDEFINED, write.oldLayout());
+    }
+
+    {
+      final var batch = compiled.finalBarriers();
+      Assertions.assertEquals(
+        Set.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+        batch.sourceStages());
+      Assertions.assertEquals(
+        Set.of(VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT),
+        batch.targetStages());
+      Assertions.assertEquals(1, batch.imageBarriers().size());
+
+      final var present = batch.imageBarriers().get(0);
+      Assertions.assertEquals(swapchain.image(), present.image());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL,
+        present.oldLayout());
+      Assertions.assertEquals(
+        VK_IMAGE_LAYOUT_PRESENT_SRC_KHR,
+        present.newLayout());
+      Assertions.assertEquals(
+        Set.of(VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT),
+        present.sourceAccessMask());
+    }
+
+    Assertions.assertEquals(
+      Optional.of(PRESENT),
+      compiled.finalUsage(swapchain));
+    Assertions.assertEquals(3, compiled.barrierCount());
+  }
+
+  /**
+   * Read-after-write hazards on several buffers are merged into a single
+   * global memory barrier.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReadAfterWriteMerged()
+    throws Exception
+  {
+    final var vertices =
+      this.graph.importBuffer(
+        "vertices",
+        Mockito.mock(VulkanBufferType.class),
+        UNDEFINED);
+    final var indices =
+      this.graph.importBuffer(
+        "indices",
+        Mockito.mock(VulkanBufferType.class),
+        UNDEFINED);
+
+    this.graph.addPass("generate")
+      .writes(vertices, COMPUTE_SHADER_WRITE)
+      .writes(indices, COMPUTE_SHADER_WRITE);
+    this.graph.addPass("draw")
+      .reads(vertices, VERTEX_BUFFER_READ)
+      .reads(indices, INDEX_BUFFER_READ)
+      .sideEffects();
+
+    final var compiled = this.graph.compile();
+    Assertions.assertTrue(compiled.steps().get(0).barriers().isEmpty());
+
+    final var batch = compiled.steps().get(1).barriers();
+    Assertions.assertEquals(
+      Set.of(VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT),
+      batch.sourceStages());
+    Assertions.assertEquals(
+      Set.of(VK_PIPELINE_STAGE_VERTEX_INPUT_BIT),
+      batch.targetStages());
+    Assertions.assertEquals(
+      List.of(
+        VulkanMemoryBarrier.of(
+          Set.of(VK_ACCESS_SHADER_WRITE_BIT),
+          Set.of(
+            VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT,
+            VK_ACCESS_INDEX_READ_BIT))),
+      batch.memoryBarriers());
+    Assertions.assertEquals(List.of(), batch.imageBarriers());
+    Assertions.assertEquals(1, compiled.barrierCount());
+  }
+
+  /**
+   * A second read of a resource that an earlier barrier has already made
+   * visible requires no further barrier.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReadAfterReadNoBarrier()
+    throws Exception
+  {
+    final var buffer =
+      this.graph.importBuffer(
+        "buffer",
+        Mockito.mock(VulkanBufferType.class),
+        UNDEFINED);
+
+    this.graph.addPass("generate")
+      .writes(buffer, COMPUTE_SHADER_WRITE);
+    this.graph.addPass("draw0")
+      .reads(buffer, VERTEX_BUFFER_READ)
+      .sideEffects();
+    this.graph.addPass("draw1")
+      .reads(buffer, VERTEX_BUFFER_READ)
+      .sideEffects();
+
+    final var compiled = this.graph.compile();
+    Assertions.assertFalse(compiled.steps().get(1).barriers().isEmpty());
+    Assertions.assertTrue(compiled.steps().get(2).barriers().isEmpty());
+    Assertions.assertEquals(1, compiled.barrierCount());
+  }
+
+  /**
+   * Write-after-read hazards produce execution dependencies without
+   * memory barriers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testWriteAfterRead()
+    throws Exception
+  {
+    final var buffer =
+      this.graph.importBuffer(
+        "buffer",
+        Mockito.mock(VulkanBufferType.class),
+        UNDEFINED);
+
+    this.graph.addPass("draw")
+      .reads(buffer, VERTEX_BUFFER_READ)
+      .sideEffects();
+    this.graph.addPass("upload")
+      .writes(buffer, TRANSFER_WRITE)
+      .sideEffects();
+
+    final var compiled = this.graph.compile();
+    Assertions.assertTrue(compiled.steps().get(0).barriers().isEmpty());
+
+    final var batch = compiled.steps().get(1).barriers();
+    Assertions.assertEquals(
+      Set.of(VK_PIPELINE_STAGE_VERTEX_INPUT_BIT),
+      batch.sourceStages());
+    Assertions.assertEquals(
+      Set.of(VK_PIPELINE_STAGE_TRANSFER_BIT),
+      batch.targetStages());
+    Assertions.assertEquals(List.of(), batch.memoryBarriers());
+  }
+
+  /**
+   * Executing a compiled graph records one barrier call per non-empty
+   * batch, interleaved with the pass executors.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testExecute()
+    throws Exception
+  {
+    final var gbuffer = this.image("gbuffer");
+    final var swapchain = this.image("swapchain");
+    final var cmd = Mockito.mock(VulkanCommandBufferType.class);
+
+    this.graph.addPass("geometry")
+      .writes(gbuffer, COLOR_ATTACHMENT_WRITE)
+      .executor(c -> c.draw(3, 1, 0, 0));
+    this.graph.addPass("lighting")
+      .reads(gbuffer, FRAGMENT_SHADER_READ)
+      .writes(swapchain, COLOR_ATTACHMENT_WRITE)
+      .executor(c -> c.draw(6, 1, 0, 0));
+    this.graph.export(swapchain, PRESENT);
+
+    final var compiled = this.graph.compile();
+    compiled.execute(cmd);
+
+    final var order = Mockito.inOrder(cmd);
+    order.verify(cmd).pipelineBarrier(
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any());
+    order.verify(cmd).draw(3, 1, 0, 0);
+    order.verify(cmd).pipelineBarrier(
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any());
+    order.verify(cmd).draw(6, 1, 0, 0);
+    order.verify(cmd).pipelineBarrier(
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.anySet(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any());
+    order.verifyNoMoreInteractions();
+  }
+
+  /**
+   * Resources from other graphs are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testForeignResource()
+    throws Exception
+  {
+    final var other = new VulkanRenderGraph();
+    final var image =
+      other.importImage(
+        "image",
+        Mockito.mock(VulkanImageType.class),
+        RANGE,
+        UNDEFINED);
+
+    final var pass = this.graph.addPass("pass");
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      pass.writes(image, COLOR_ATTACHMENT_WRITE);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.graph.export(image, PRESENT);
+    });
+  }
+
+  /**
+   * Invalid usages are rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testInvalidUsages()
+    throws Exception
+  {
+    final var image = this.image("image");
+    final var pass = this.graph.addPass("pass");
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      pass.reads(image, COLOR_ATTACHMENT_WRITE);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      pass.writes(image, UNDEFINED);
+    });
+
+    pass.writes(image, COLOR_ATTACHMENT_WRITE);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      pass.reads(image, FRAGMENT_SHADER_READ);
+    });
+  }
+
+  /**
+   * Repeated declarations of the same resource in a pass are merged.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testMergedDeclarations()
+    throws Exception
+  {
+    final var image = this.image("image");
+
+    final var reading =
+      new VulkanRenderGraphUsage(
+        Set.of(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT),
+        Set.of(VK_ACCESS_COLOR_ATTACHMENT_READ_BIT),
+        VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL);
+
+    this.graph.addPass("pass")
+      .reads(image, reading)
+      .writes(image, COLOR_ATTACHMENT_WRITE);
+    this.graph.export(image, FRAGMENT_SHADER_READ);
+
+    final var compiled = this.graph.compile();
+    Assertions.assertEquals(1, compiled.steps().size());
+
+    final var batch = compiled.steps().get(0).barriers();
+    Assertions.assertEquals(1, batch.imageBarriers().size());
+    Assertions.assertEquals(
+      Set.of(
+        VK_ACCESS_COLOR_ATTACHMENT_READ_BIT,
+        VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT),
+      batch.imageBarriers().get(0).targetAccessMask());
+  }
+}
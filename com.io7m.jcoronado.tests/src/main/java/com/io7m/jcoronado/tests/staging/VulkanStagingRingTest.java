@@ -0,0 +1,435 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.tests.staging;
+
+import com.io7m.jcoronado.api.VulkanBufferCopy;
+import com.io7m.jcoronado.api.VulkanBufferImageCopy;
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanCommandBufferType;
+import com.io7m.jcoronado.api.VulkanDestroyedException;
+import com.io7m.jcoronado.api.VulkanDeviceMemoryType;
+import com.io7m.jcoronado.api.VulkanExtent3D;
+import com.io7m.jcoronado.api.VulkanFenceType;
+import com.io7m.jcoronado.api.VulkanImageSubresourceLayers;
+import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanLogicalDeviceType;
+import com.io7m.jcoronado.api.VulkanMappedMemoryRegion;
+import com.io7m.jcoronado.api.VulkanMappedMemoryType;
+import com.io7m.jcoronado.api.VulkanMemoryHeapIndex;
+import com.io7m.jcoronado.api.VulkanMemoryRequirements;
+import com.io7m.jcoronado.api.VulkanMemoryType;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import com.io7m.jcoronado.api.VulkanMissingRequiredMemoryTypeException;
+import com.io7m.jcoronado.api.VulkanOffset3D;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceLimits;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceMemoryProperties;
+import com.io7m.jcoronado.api.VulkanPhysicalDeviceType;
+import com.io7m.jcoronado.api.VulkanSemaphoreType;
+import com.io7m.jcoronado.staging.VulkanStagingRing;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.io7m.jcoronado.api.VulkanImageAspectFlag.VK_IMAGE_ASPECT_COLOR_BIT;
+import static com.io7m.jcoronado.api.VulkanImageLayout.VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_SIGNALLED;
+import static com.io7m.jcoronado.api.VulkanLogicalDeviceType.VulkanFenceStatus.VK_FENCE_UNSIGNALLED;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static com.io7m.jcoronado.api.VulkanMemoryPropertyFlag.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+
+public final class VulkanStagingRingTest
+{
+  private static final Logger LOG = LoggerFactory.getLogger(
+    VulkanStagingRingTest.class);
+
+  private VulkanLogicalDeviceType device;
+  private VulkanPhysicalDeviceLimits limits;
+  private VulkanPhysicalDeviceMemoryProperties memory_properties;
+  private VulkanBufferType buffer;
+  private VulkanDeviceMemoryType memory;
+  private VulkanMappedMemoryType mapped;
+  private ByteBuffer mapped_data;
+
+  private static VulkanMemoryType memoryType(
+    final boolean coherent)
+  {
+    return VulkanMemoryType.of(
+      new VulkanMemoryTypeIndex(1),
+      new VulkanMemoryHeapIndex(0),
+      coherent
+        ? Set.of(
+        VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT,
+        VK_MEMORY_PROPERTY_HOST_COHERENT_BIT)
+        : Set.of(VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT));
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws Exception
+  {
+    LOG.debug("testSetup");
+
+    this.device = Mockito.mock(VulkanLogicalDeviceType.class);
+    this.limits = Mockito.mock(VulkanPhysicalDeviceLimits.class);
+    this.memory_properties =
+      Mockito.mock(VulkanPhysicalDeviceMemoryProperties.class);
+    this.buffer = Mockito.mock(VulkanBufferType.class);
+    this.memory = Mockito.mock(VulkanDeviceMemoryType.class);
+    this.mapped = Mockito.mock(VulkanMappedMemoryType.class);
+    this.mapped_data = ByteBuffer.allocateDirect(1024);
+
+    final var physical = Mockito.mock(VulkanPhysicalDeviceType.class);
+    Mockito.when(this.device.physicalDevice())
+      .thenReturn(physical);
+    Mockito.when(physical.limits())
+      .thenReturn(this.limits);
+    Mockito.when(physical.memory())
+      .thenReturn(this.memory_properties);
+    Mockito.when(this.limits.optimalBufferCopyOffsetAlignment())
+      .thenReturn(64L);
+    Mockito.when(this.limits.nonCoherentAtomSize())
+      .thenReturn(256L);
+
+    Mockito.when(this.device.createBuffer(any()))
+      .thenReturn(this.buffer);
+    Mockito.when(this.device.getBufferMemoryRequirements(this.buffer))
+      .thenReturn(VulkanMemoryRequirements.of(1024L, 256L, 0xff));
+    Mockito.when(this.device.allocateMemory(any()))
+      .thenReturn(this.memory);
+    Mockito.when(this.device.mapMemory(eq(this.memory), anyLong(), anyLong(), anySet()))
+      .thenReturn(this.mapped);
+    Mockito.when(this.mapped.asByteBuffer())
+      .thenReturn(this.mapped_data);
+  }
+
+  private void useCoherentMemory()
+    throws Exception
+  {
+    Mockito.when(this.memory_properties.findSuitableMemoryType(any(), any()))
+      .thenReturn(memoryType(true));
+  }
+
+  private void useNonCoherentMemory()
+    throws Exception
+  {
+    Mockito.when(this.memory_properties.findSuitableMemoryType(
+        any(),
+        eq(Set.of(
+          VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT,
+          VK_MEMORY_PROPERTY_HOST_COHERENT_BIT))))
+      .thenThrow(VulkanMissingRequiredMemoryTypeException.class);
+    Mockito.when(this.memory_properties.findSuitableMemoryType(
+        any(),
+        eq(Set.of(VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT))))
+      .thenReturn(memoryType(false));
+  }
+
+  /**
+   * Regions are aligned to the optimal copy alignment, and are views of the
+   * mapped memory.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAllocateAligned()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      Assertions.assertTrue(ring.isCoherent());
+      Assertions.assertEquals(64L, ring.alignment());
+
+      final var r0 = ring.allocate(10L).orElseThrow();
+      final var r1 = ring.allocate(10L).orElseThrow();
+      final var r2 = ring.allocate(10L, 128L).orElseThrow();
+
+      Assertions.assertEquals(0L, r0.offset());
+      Assertions.assertEquals(64L, r1.offset());
+      Assertions.assertEquals(128L, r2.offset());
+      Assertions.assertEquals(138L, ring.used());
+
+      r1.data().put(0, (byte) 0x7f);
+      Assertions.assertEquals((byte) 0x7f, this.mapped_data.get(64));
+      Assertions.assertEquals(10, r1.data().capacity());
+    }
+
+    Mockito.verify(this.device, Mockito.times(1))
+      .mapMemory(this.memory, 0L, 1024L, Set.of());
+    Mockito.verify(this.device, Mockito.times(1))
+      .bindBufferMemory(this.buffer, this.memory, 0L);
+  }
+
+  /**
+   * Alignments that are not powers of two, such as the texel block size of
+   * {@code VK_FORMAT_R32G32B32_SFLOAT}, are combined with the ring's
+   * alignment using their least common multiple.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testAllocateAlignedNonPowerOfTwo()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      Assertions.assertEquals(64L, ring.alignment());
+
+      final var r0 = ring.allocate(10L).orElseThrow();
+      final var r1 = ring.allocate(12L, 12L).orElseThrow();
+      final var r2 = ring.allocate(12L, 12L).orElseThrow();
+
+      Assertions.assertEquals(0L, r0.offset());
+      Assertions.assertEquals(192L, r1.offset());
+      Assertions.assertEquals(384L, r2.offset());
+      Assertions.assertEquals(0L, r1.offset() % 12L);
+      Assertions.assertEquals(0L, r2.offset() % 12L);
+
+      Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> ring.allocate(1L, Long.MAX_VALUE));
+    }
+  }
+
+  /**
+   * A full ring reclaims regions once their fence is signalled, and regions
+   * that would straddle the end of the ring wrap to the start.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testWrapReclaimFence()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    final var fence = Mockito.mock(VulkanFenceType.class);
+    final var command_buffer = Mockito.mock(VulkanCommandBufferType.class);
+    Mockito.when(this.device.getFenceStatus(fence))
+      .thenReturn(VK_FENCE_UNSIGNALLED);
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      final var r0 = ring.allocate(500L).orElseThrow();
+      final var r1 = ring.allocate(400L).orElseThrow();
+      Assertions.assertEquals(0L, r0.offset());
+      Assertions.assertEquals(512L, r1.offset());
+
+      Assertions.assertTrue(ring.allocate(200L).isEmpty());
+      ring.record(command_buffer);
+      ring.submitted(fence);
+      Assertions.assertTrue(ring.allocate(200L).isEmpty());
+
+      Mockito.when(this.device.getFenceStatus(fence))
+        .thenReturn(VK_FENCE_SIGNALLED);
+
+      final var r2 = ring.allocate(200L).orElseThrow();
+      Assertions.assertEquals(0L, r2.offset());
+      // The 112 bytes skipped at the end of the ring remain in use.
+      Assertions.assertEquals(312L, ring.used());
+    }
+  }
+
+  /**
+   * Regions are reclaimed once their timeline semaphore value is reached.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testReclaimTimeline()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    final var semaphore = Mockito.mock(VulkanSemaphoreType.class);
+    final var command_buffer = Mockito.mock(VulkanCommandBufferType.class);
+    Mockito.when(this.device.getSemaphoreCounterValue(semaphore))
+      .thenReturn(4L);
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      ring.allocate(100L).orElseThrow();
+      ring.record(command_buffer);
+      ring.submitted(semaphore, 5L);
+      ring.allocate(100L).orElseThrow();
+      ring.record(command_buffer);
+      ring.submitted(semaphore, 6L);
+
+      Assertions.assertEquals(0L, ring.reclaim());
+
+      Mockito.when(this.device.getSemaphoreCounterValue(semaphore))
+        .thenReturn(5L);
+      Assertions.assertEquals(100L, ring.reclaim());
+
+      Mockito.when(this.device.getSemaphoreCounterValue(semaphore))
+        .thenReturn(6L);
+      Assertions.assertEquals(128L, ring.reclaim());
+      Assertions.assertEquals(0L, ring.used());
+    }
+  }
+
+  /**
+   * A region allocated after a command buffer was recorded is not released
+   * by the submission of that command buffer; it belongs to the next one.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testSubmittedAfterAllocate()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    final var fence0 = Mockito.mock(VulkanFenceType.class);
+    final var fence1 = Mockito.mock(VulkanFenceType.class);
+    final var command_buffer0 = Mockito.mock(VulkanCommandBufferType.class);
+    final var command_buffer1 = Mockito.mock(VulkanCommandBufferType.class);
+    Mockito.when(this.device.getFenceStatus(fence0))
+      .thenReturn(VK_FENCE_SIGNALLED);
+    Mockito.when(this.device.getFenceStatus(fence1))
+      .thenReturn(VK_FENCE_UNSIGNALLED);
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      ring.allocate(100L).orElseThrow();
+      ring.record(command_buffer0);
+      ring.allocate(100L).orElseThrow();
+      ring.submitted(fence0);
+
+      Assertions.assertEquals(100L, ring.reclaim());
+      Assertions.assertEquals(128L, ring.used());
+
+      ring.record(command_buffer1);
+      ring.submitted(fence1);
+
+      Assertions.assertEquals(0L, ring.reclaim());
+      Assertions.assertEquals(128L, ring.used());
+
+      /*
+       * The second region is still in flight, so a region that wraps around
+       * to the start of the buffer would overlap it.
+       */
+
+      ring.allocate(700L).orElseThrow();
+      Assertions.assertEquals(Optional.empty(), ring.allocate(200L));
+    }
+  }
+
+  /**
+   * Copies are batched per destination, and non-coherent memory is flushed
+   * in whole atoms.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testRecordBatched()
+    throws Exception
+  {
+    this.useNonCoherentMemory();
+
+    final var target = Mockito.mock(VulkanBufferType.class);
+    final var image = Mockito.mock(VulkanImageType.class);
+    final var command_buffer = Mockito.mock(VulkanCommandBufferType.class);
+    final var copy =
+      VulkanBufferImageCopy.of(
+        4L,
+        0,
+        0,
+        VulkanImageSubresourceLayers.of(
+          Set.of(VK_IMAGE_ASPECT_COLOR_BIT), 0, 0, 1),
+        VulkanOffset3D.of(0, 0, 0),
+        VulkanExtent3D.of(1, 1, 1));
+
+    try (var ring = VulkanStagingRing.create(this.device, 1024L)) {
+      Assertions.assertFalse(ring.isCoherent());
+      Assertions.assertEquals(256L, ring.alignment());
+
+      final var r0 = ring.allocate(10L).orElseThrow();
+      ring.copyToBuffer(r0, target, 0L);
+      final var r1 = ring.allocate(10L).orElseThrow();
+      ring.copyToBuffer(r1, target, 100L);
+      final var r2 = ring.allocate(10L).orElseThrow();
+      ring.copyToImage(r2, image, VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL, copy);
+
+      ring.record(command_buffer);
+
+      Mockito.verify(command_buffer, Mockito.times(1))
+        .copyBuffer(
+          this.buffer,
+          target,
+          List.of(
+            VulkanBufferCopy.of(0L, 0L, 10L),
+            VulkanBufferCopy.of(256L, 100L, 10L)));
+      Mockito.verify(command_buffer, Mockito.times(1))
+        .copyBufferToImage(
+          this.buffer,
+          image,
+          VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL,
+          List.of(copy.withBufferOffset(516L)));
+      Mockito.verify(this.mapped, Mockito.times(1))
+        .flushRanges(List.of(new VulkanMappedMemoryRegion(0L, 522L)));
+
+      ring.record(command_buffer);
+      Mockito.verify(this.mapped, Mockito.times(1))
+        .flushRanges(any());
+      Mockito.verify(command_buffer, Mockito.times(1))
+        .copyBuffer(any(), any(), any());
+    }
+  }
+
+  /**
+   * Closing the ring releases its resources.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    this.useCoherentMemory();
+
+    final var ring = VulkanStagingRing.create(this.device, 1024L);
+    ring.close();
+    ring.close();
+
+    Mockito.verify(this.mapped, Mockito.times(1)).close();
+    Mockito.verify(this.buffer, Mockito.times(1)).close();
+    Mockito.verify(this.memory, Mockito.times(1)).close();
+
+    Assertions.assertThrows(
+      VulkanDestroyedException.class,
+      () -> ring.allocate(1L));
+  }
+}
@@ -20,6 +20,7 @@ import com.io7m.immutables.styles.ImmutablesStyleType;
 import com.io7m.jcoronado.api.VulkanMemoryPropertyFlag;
 import org.immutables.value.Value;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -64,4 +65,12 @@ public interface VMAAllocationCreateInfoType
 
   @Value.Parameter
   long memoryTypeBits();
+
+  /**
+   * @return The pool from which the allocation will be made. If no pool is
+   * specified, the allocation is made from the default pool for the chosen
+   * memory type.
+   */
+
+  Optional<VMAPoolType> pool();
 }
@@ -22,6 +22,9 @@ import com.io7m.jcoronado.api.VulkanException;
 import com.io7m.jcoronado.api.VulkanHandleDispatchableType;
 import com.io7m.jcoronado.api.VulkanImageCreateInfo;
 import com.io7m.jcoronado.api.VulkanImageType;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+
+import java.util.List;
 
 /**
  * A configured VMA allocator.
@@ -74,4 +77,108 @@ public interface VMAAllocatorType extends VulkanHandleDispatchableType
   VMAMappedMemoryType mapMemory(
     VMAAllocationType allocation)
     throws VulkanException;
+
+  /**
+   * Create a custom memory pool.
+   *
+   * @param create_info The pool creation info
+   *
+   * @return A new pool
+   *
+   * @throws VulkanException On errors
+   * @see VMAPoolCreateFlag#VMA_POOL_CREATE_LINEAR_ALGORITHM_BIT
+   */
+
+  VMAPoolType createPool(
+    VMAPoolCreateInfo create_info)
+    throws VulkanException;
+
+  /**
+   * Find the memory type index that would be used for a buffer with the
+   * given properties. This is typically used to determine the memory type
+   * of a custom pool.
+   *
+   * @param alloc_create_info  The allocation creation info
+   * @param buffer_create_info The buffer creation info
+   *
+   * @return A memory type index
+   *
+   * @throws VulkanException On errors
+   */
+
+  VulkanMemoryTypeIndex findMemoryTypeIndexForBuffer(
+    VMAAllocationCreateInfo alloc_create_info,
+    VulkanBufferCreateInfo buffer_create_info)
+    throws VulkanException;
+
+  /**
+   * Find the memory type index that would be used for an image with the
+   * given properties. This is typically used to determine the memory type
+   * of a custom pool.
+   *
+   * @param alloc_create_info The allocation creation info
+   * @param image_create_info The image creation info
+   *
+   * @return A memory type index
+   *
+   * @throws VulkanException On errors
+   */
+
+  VulkanMemoryTypeIndex findMemoryTypeIndexForImage(
+    VMAAllocationCreateInfo alloc_create_info,
+    VulkanImageCreateInfo image_create_info)
+    throws VulkanException;
+
+  /**
+   * Set the index of the current frame. Budget information is refreshed
+   * at most once per frame, so this should be called at the start of each
+   * frame.
+   *
+   * @param frame_index The current frame index
+   *
+   * @throws VulkanException On errors
+   */
+
+  void setCurrentFrameIndex(
+    int frame_index)
+    throws VulkanException;
+
+  /**
+   * Retrieve the current memory usage and budget for each memory heap.
+   *
+   * @return A budget snapshot for each memory heap, in heap index order
+   *
+   * @throws VulkanException On errors
+   */
+
+  List<VMABudget> heapBudgets()
+    throws VulkanException;
+
+  /**
+   * Calculate statistics of the current state of the allocator. This is
+   * relatively slow, as it traverses all allocations, and is intended for
+   * debugging and telemetry rather than per-frame use.
+   *
+   * @return A statistics snapshot
+   *
+   * @throws VulkanException On errors
+   */
+
+  VMAStatistics statistics()
+    throws VulkanException;
+
+  /**
+   * Begin an incremental defragmentation of the given allocations.
+   *
+   * @param info The defragmentation parameters
+   *
+   * @return A defragmentation in progress
+   *
+   * @throws VulkanException On errors
+   * @see VMADefragmentationType
+   */
+
+  VMADefragmentationType beginDefragmentation(
+    VMADefragmentationInfo info)
+    throws VulkanException;
 }
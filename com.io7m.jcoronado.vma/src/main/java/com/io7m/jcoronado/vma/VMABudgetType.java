@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jcoronado.api.VulkanMemoryHeapIndex;
+import org.immutables.value.Value;
+
+/**
+ * Statistics of the current memory usage and available budget for a single
+ * memory heap. This is an immutable snapshot.
+ *
+ * @see "VmaBudget"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMABudgetType
+{
+  /**
+   * @return The memory heap
+   */
+
+  @Value.Parameter
+  VulkanMemoryHeapIndex heapIndex();
+
+  /**
+   * @return The sum size of all {@code VkDeviceMemory} blocks allocated from
+   * the heap, in bytes
+   */
+
+  @Value.Parameter
+  long blockBytes();
+
+  /**
+   * @return The sum size of all allocations created in the heap, in bytes
+   */
+
+  @Value.Parameter
+  long allocationBytes();
+
+  /**
+   * @return The estimated current memory usage of the program, in bytes. This
+   * may include memory used by other processes if the implementation cannot
+   * distinguish them.
+   */
+
+  @Value.Parameter
+  long usage();
+
+  /**
+   * @return The estimated amount of memory available to the program, in bytes
+   */
+
+  @Value.Parameter
+  long budget();
+
+  /**
+   * @return The number of bytes that can be allocated before the budget is
+   * exceeded, or {@code 0} if the budget is already exceeded
+   */
+
+  default long available()
+  {
+    return Math.max(0L, this.budget() - this.usage());
+  }
+
+  /**
+   * @return The fraction of the budget that is currently in use
+   */
+
+  default double usageRatio()
+  {
+    final var b = this.budget();
+    if (b <= 0L) {
+      return 1.0;
+    }
+    return (double) this.usage() / (double) b;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * Parameters for an incremental defragmentation.
+ *
+ * @see "VmaDefragmentationInfo2"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMADefragmentationInfoType
+{
+  /**
+   * @return The allocations that may be moved. Only allocations created with
+   * {@link VMAAllocatorType#createBuffer} or
+   * {@link VMAAllocatorType#createImage} can be moved.
+   */
+
+  List<VMAAllocationType> allocations();
+
+  /**
+   * @return The maximum total number of bytes that may be moved over the
+   * lifetime of the defragmentation
+   */
+
+  @Value.Default
+  default long maxBytesToMove()
+  {
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * @return The maximum total number of allocations that may be moved over
+   * the lifetime of the defragmentation
+   */
+
+  @Value.Default
+  default int maxAllocationsToMove()
+  {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return The maximum number of allocations that may be moved in a single
+   * pass
+   */
+
+  @Value.Default
+  default int maxAllocationsPerPass()
+  {
+    return 64;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maxBytesToMove() < 0L) {
+      throw new IllegalArgumentException(
+        "Maximum bytes to move must be non-negative: " + this.maxBytesToMove());
+    }
+    if (this.maxAllocationsToMove() < 0) {
+      throw new IllegalArgumentException(
+        "Maximum allocations to move must be non-negative: "
+          + this.maxAllocationsToMove());
+    }
+    if (this.maxAllocationsPerPass() <= 0) {
+      throw new IllegalArgumentException(
+        "Maximum allocations per pass must be positive: "
+          + this.maxAllocationsPerPass());
+    }
+  }
+}
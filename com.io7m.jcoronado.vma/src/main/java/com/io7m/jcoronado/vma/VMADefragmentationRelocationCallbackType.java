@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.jcoronado.api.VulkanBufferType;
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanImageType;
+
+/**
+ * <p>A callback notified of each allocation that is moved during a
+ * defragmentation pass.</p>
+ *
+ * <p>For each move, a new buffer or image has been created and bound to the
+ * allocation's new location. The receiver is expected to record commands
+ * that copy the contents of the source to the target, and to replace all
+ * uses of the source (such as descriptor sets) with the target. Once the
+ * copy commands have completed execution, the pass is ended with
+ * {@link VMADefragmentationType#endPass()}, at which point the source is
+ * destroyed and the target becomes the resource associated with the
+ * allocation.</p>
+ */
+
+public interface VMADefragmentationRelocationCallbackType
+{
+  /**
+   * A buffer allocation is being moved.
+   *
+   * @param allocation The allocation
+   * @param source     The buffer at the old location
+   * @param target     The buffer at the new location
+   *
+   * @throws VulkanException On errors
+   */
+
+  void onBufferRelocated(
+    VMAAllocationType allocation,
+    VulkanBufferType source,
+    VulkanBufferType target)
+    throws VulkanException;
+
+  /**
+   * An image allocation is being moved. The target image is in the
+   * {@code VK_IMAGE_LAYOUT_UNDEFINED} layout.
+   *
+   * @param allocation The allocation
+   * @param source     The image at the old location
+   * @param target     The image at the new location
+   *
+   * @throws VulkanException On errors
+   */
+
+  void onImageRelocated(
+    VMAAllocationType allocation,
+    VulkanImageType source,
+    VulkanImageType target)
+    throws VulkanException;
+}
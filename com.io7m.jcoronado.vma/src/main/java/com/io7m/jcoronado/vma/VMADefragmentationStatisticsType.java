@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Statistics returned by a completed defragmentation.
+ *
+ * @see "VmaDefragmentationStats"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMADefragmentationStatisticsType
+{
+  /**
+   * @return The total number of bytes that have been copied while moving
+   * allocations to different places
+   */
+
+  @Value.Parameter
+  long bytesMoved();
+
+  /**
+   * @return The total number of bytes that have been released to the system
+   * by freeing empty {@code VkDeviceMemory} objects
+   */
+
+  @Value.Parameter
+  long bytesFreed();
+
+  /**
+   * @return The number of allocations that have been moved to different
+   * places
+   */
+
+  @Value.Parameter
+  long allocationsMoved();
+
+  /**
+   * @return The number of empty {@code VkDeviceMemory} objects that have been
+   * released to the system
+   */
+
+  @Value.Parameter
+  long deviceMemoryBlocksFreed();
+
+  /**
+   * @return The number of bytes of destination ranges reserved by passes
+   * that were abandoned because a move failed. These ranges remain reserved
+   * until the pool or allocator that owns them is destroyed.
+   *
+   * @see VMADefragmentationType#beginPass(VMADefragmentationRelocationCallbackType)
+   */
+
+  @Value.Default
+  default long bytesAbandoned()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The number of moves in passes that were abandoned because a move
+   * failed
+   *
+   * @see VMADefragmentationType#beginPass(VMADefragmentationRelocationCallbackType)
+   */
+
+  @Value.Default
+  default long allocationsAbandoned()
+  {
+    return 0L;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanHandleNonDispatchableType;
+
+/**
+ * <p>An incremental defragmentation in progress.</p>
+ *
+ * <p>Defragmentation proceeds in passes. Each pass moves at most
+ * {@link VMADefragmentationInfoType#maxAllocationsPerPass()} allocations, so
+ * that the work can be spread across frames. A pass is started with
+ * {@link #beginPass(VMADefragmentationRelocationCallbackType)}, which
+ * reports each moved allocation to the given callback. The caller then
+ * submits the copy commands recorded by the callback, waits for them to
+ * complete, and calls {@link #endPass()}. Passes are repeated until
+ * {@link #endPass()} reports that defragmentation is complete, and the
+ * defragmentation is then finished with {@link #end()}.</p>
+ *
+ * <p>Closing the defragmentation without calling {@link #end()} finishes
+ * the defragmentation and discards the statistics.</p>
+ */
+
+public interface VMADefragmentationType extends VulkanHandleNonDispatchableType
+{
+  /**
+   * @return {@code true} if no further passes are required
+   */
+
+  boolean isComplete();
+
+  /**
+   * <p>Begin a defragmentation pass.</p>
+   *
+   * <p>If this method raises an exception, the pass is abandoned: no
+   * allocations are moved, any items created for the pass are destroyed,
+   * and no further passes are started. Commands recorded by the callback
+   * for the pass must be discarded. The destination ranges that the pass
+   * had already reserved are not released, and remain unusable until the
+   * pool or allocator that owns them is destroyed. The size of these ranges
+   * is reported by {@link VMADefragmentationStatistics#bytesAbandoned()}.</p>
+   *
+   * @param callback The callback notified of each moved allocation
+   *
+   * @return The number of allocations moved in this pass
+   *
+   * @throws VulkanException On errors
+   */
+
+  int beginPass(
+    VMADefragmentationRelocationCallbackType callback)
+    throws VulkanException;
+
+  /**
+   * End a defragmentation pass. The caller must ensure that any commands
+   * that copy data for the moved allocations have completed execution.
+   *
+   * @return {@link VMADefragmentationStatus#VMA_DEFRAGMENTATION_INCOMPLETE}
+   * if further passes are required
+   *
+   * @throws VulkanException On errors
+   */
+
+  VMADefragmentationStatus endPass()
+    throws VulkanException;
+
+  /**
+   * Finish the defragmentation.
+   *
+   * @return The defragmentation statistics
+   *
+   * @throws VulkanException On errors
+   */
+
+  VMADefragmentationStatistics end()
+    throws VulkanException;
+
+  /**
+   * The status of a defragmentation.
+   */
+
+  enum VMADefragmentationStatus
+  {
+    /**
+     * Defragmentation is complete.
+     */
+
+    VMA_DEFRAGMENTATION_COMPLETE,
+
+    /**
+     * Defragmentation requires further passes.
+     */
+
+    VMA_DEFRAGMENTATION_INCOMPLETE
+  }
+}
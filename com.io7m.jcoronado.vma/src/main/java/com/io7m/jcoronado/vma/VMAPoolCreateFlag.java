@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.jcoronado.api.VulkanEnumBitmaskType;
+
+/**
+ * @see "VmaPoolCreateFlagBits"
+ */
+
+public enum VMAPoolCreateFlag implements VulkanEnumBitmaskType
+{
+  /**
+   * Use this flag if you always allocate only buffers and linear images or
+   * only optimal images out of this pool and so buffer-image granularity can
+   * be ignored.
+   */
+
+  VMA_POOL_CREATE_IGNORE_BUFFER_IMAGE_GRANULARITY_BIT(0x00000002),
+
+  /**
+   * Enables an alternative, linear allocation algorithm in this pool.
+   *
+   * Specify this flag to enable linear allocation algorithm, which always
+   * creates new allocations after last one and doesn't reuse space from
+   * allocations freed in between. It trades memory consumption for simplified
+   * algorithm and data structure, which has better performance and uses less
+   * memory for metadata.
+   *
+   * By using this flag, you can achieve behavior of free-at-once, stack,
+   * ring buffer, and double stack.
+   */
+
+  VMA_POOL_CREATE_LINEAR_ALGORITHM_BIT(0x00000004),
+
+  /**
+   * Enables an alternative, buddy allocation algorithm in this pool.
+   *
+   * It operates on a tree of blocks, each having size that is a power of two
+   * and a half of its parent's size. Comparing to default algorithm, this one
+   * provides faster allocation and deallocation and decreased external
+   * fragmentation, at the expense of more memory wasted (internal
+   * fragmentation).
+   */
+
+  VMA_POOL_CREATE_BUDDY_ALGORITHM_BIT(0x00000008);
+
+  private final int value;
+
+  VMAPoolCreateFlag(
+    final int i)
+  {
+    this.value = i;
+  }
+
+  @Override
+  public int value()
+  {
+    return this.value;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import org.immutables.value.Value;
+
+import java.util.Set;
+
+/**
+ * Information required to create a custom memory pool.
+ *
+ * @see "VmaPoolCreateInfo"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMAPoolCreateInfoType
+{
+  /**
+   * @return The creation flags
+   */
+
+  Set<VMAPoolCreateFlag> flags();
+
+  /**
+   * @return The Vulkan memory type index from which allocations in the pool
+   * will be made
+   */
+
+  VulkanMemoryTypeIndex memoryTypeIndex();
+
+  /**
+   * @return The size of a single {@code VkDeviceMemory} block to be allocated
+   * as part of this pool, in bytes. If {@code 0}, the default block size is
+   * used.
+   */
+
+  @Value.Default
+  default long blockSize()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The minimum number of blocks that will always be allocated in
+   * this pool, even if they stay empty
+   */
+
+  @Value.Default
+  default long minBlockCount()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The maximum number of blocks that can be allocated in this pool.
+   * If {@code 0}, the pool is unlimited.
+   */
+
+  @Value.Default
+  default long maxBlockCount()
+  {
+    return 0L;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.blockSize() < 0L) {
+      throw new IllegalArgumentException(
+        "Block size must be non-negative: " + this.blockSize());
+    }
+
+    final var max = this.maxBlockCount();
+    if (max != 0L && this.minBlockCount() > max) {
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("Minimum block count must not exceed the maximum.")
+          .append(System.lineSeparator())
+          .append("  Minimum: ")
+          .append(this.minBlockCount())
+          .append(System.lineSeparator())
+          .append("  Maximum: ")
+          .append(max)
+          .append(System.lineSeparator())
+          .toString());
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Statistics of the current state of a custom pool. This is an immutable
+ * snapshot.
+ *
+ * @see "VmaPoolStats"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMAPoolStatisticsType
+{
+  /**
+   * @return The total amount of {@code VkDeviceMemory} allocated from Vulkan
+   * for this pool, in bytes
+   */
+
+  long size();
+
+  /**
+   * @return The total number of bytes in the pool not used by any allocation
+   */
+
+  long unusedSize();
+
+  /**
+   * @return The number of allocations in the pool
+   */
+
+  long allocationCount();
+
+  /**
+   * @return The number of continuous memory ranges in the pool not used by
+   * any allocation
+   */
+
+  long unusedRangeCount();
+
+  /**
+   * @return The size of the largest continuous free memory region available
+   * for a new allocation
+   */
+
+  long unusedRangeSizeMax();
+
+  /**
+   * @return The number of {@code VkDeviceMemory} blocks allocated for this
+   * pool
+   */
+
+  long blockCount();
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.jcoronado.api.VulkanException;
+import com.io7m.jcoronado.api.VulkanHandleNonDispatchableType;
+
+/**
+ * A custom memory pool. Allocations are made from a pool by specifying the
+ * pool in {@link VMAAllocationCreateInfoType#pool()}. All allocations made
+ * from a pool must be freed before the pool is closed.
+ *
+ * @see "VmaPool"
+ */
+
+public interface VMAPoolType extends VulkanHandleNonDispatchableType
+{
+  /**
+   * @return The information used to create the pool
+   */
+
+  VMAPoolCreateInfo info();
+
+  /**
+   * Retrieve statistics of the current state of the pool.
+   *
+   * @return A snapshot of the pool statistics
+   *
+   * @throws VulkanException On errors
+   */
+
+  VMAPoolStatistics statistics()
+    throws VulkanException;
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Statistics of memory allocated from a memory type, a memory heap, or the
+ * allocator as a whole. This is an immutable snapshot.
+ *
+ * @see "VmaStatInfo"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMAStatisticsInfoType
+{
+  /**
+   * @return The number of {@code VkDeviceMemory} blocks allocated
+   */
+
+  long blockCount();
+
+  /**
+   * @return The number of allocations
+   */
+
+  long allocationCount();
+
+  /**
+   * @return The number of free ranges of memory between allocations
+   */
+
+  long unusedRangeCount();
+
+  /**
+   * @return The total number of bytes occupied by all allocations
+   */
+
+  long usedBytes();
+
+  /**
+   * @return The total number of bytes occupied by unused ranges
+   */
+
+  long unusedBytes();
+
+  /**
+   * @return The size of the smallest allocation
+   */
+
+  long allocationSizeMin();
+
+  /**
+   * @return The average allocation size
+   */
+
+  long allocationSizeAvg();
+
+  /**
+   * @return The size of the largest allocation
+   */
+
+  long allocationSizeMax();
+
+  /**
+   * @return The size of the smallest unused range
+   */
+
+  long unusedRangeSizeMin();
+
+  /**
+   * @return The average unused range size
+   */
+
+  long unusedRangeSizeAvg();
+
+  /**
+   * @return The size of the largest unused range
+   */
+
+  long unusedRangeSizeMax();
+}
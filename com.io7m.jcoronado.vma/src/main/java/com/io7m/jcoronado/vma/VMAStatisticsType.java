@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcoronado.vma;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jcoronado.api.VulkanMemoryHeapIndex;
+import com.io7m.jcoronado.api.VulkanMemoryTypeIndex;
+import org.immutables.value.Value;
+
+import java.util.SortedMap;
+
+/**
+ * General statistics from the current state of an allocator. This is an
+ * immutable snapshot.
+ *
+ * @see "VmaStats"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface VMAStatisticsType
+{
+  /**
+   * @return The statistics for each memory type
+   */
+
+  @Value.Parameter
+  SortedMap<VulkanMemoryTypeIndex, VMAStatisticsInfo> memoryTypes();
+
+  /**
+   * @return The statistics for each memory heap
+   */
+
+  @Value.Parameter
+  SortedMap<VulkanMemoryHeapIndex, VMAStatisticsInfo> memoryHeaps();
+
+  /**
+   * @return The statistics for the allocator as a whole
+   */
+
+  @Value.Parameter
+  VMAStatisticsInfo total();
+}